@@ -0,0 +1,51 @@
+#include <benchmark/benchmark.h>
+
+#include <mbgl/storage/offline_database.hpp>
+#include <mbgl/storage/resource.hpp>
+#include <mbgl/storage/response.hpp>
+
+#include <unistd.h>
+
+using namespace mbgl;
+
+namespace {
+
+const char* path = "benchmark/fixtures/offline_database.db";
+const int32_t tileCount = 10000;
+
+// Writes a region worth of tiles, as done by an offline download.
+void putTiles(::benchmark::State& state, uint32_t batchSize) {
+    Response response;
+    response.data = std::make_shared<std::string>(4096, 'x');
+
+    while (state.KeepRunning()) {
+        state.PauseTiming();
+        unlink(path);
+        OfflineDatabase db(path);
+        db.setWriteBatching(batchSize, Seconds(1));
+        auto region = db.createRegion({ "", LatLngBounds::world(), 0, 0, 1.0 }, {});
+        state.ResumeTiming();
+
+        for (int32_t i = 0; i < tileCount; i++) {
+            auto resource = Resource::tile("mapbox://tiles/{z}/{x}/{y}.vector.pbf", 1.0, i % 1024, i / 1024, 10, Tileset::Scheme::XYZ);
+            db.putRegionResource(region.getID(), resource, response);
+        }
+        db.flushWrites();
+    }
+
+    state.SetItemsProcessed(state.iterations() * tileCount);
+    unlink(path);
+}
+
+} // namespace
+
+static void Storage_OfflineDatabasePutTiles(::benchmark::State& state) {
+    putTiles(state, 1);
+}
+
+static void Storage_OfflineDatabasePutTilesBatched(::benchmark::State& state) {
+    putTiles(state, 256);
+}
+
+BENCHMARK(Storage_OfflineDatabasePutTiles)->Unit(benchmark::kMillisecond);
+BENCHMARK(Storage_OfflineDatabasePutTilesBatched)->Unit(benchmark::kMillisecond);
@@ -0,0 +1,136 @@
+#include <benchmark/benchmark.h>
+
+#include <mbgl/util/mpsc_queue.hpp>
+
+#include <atomic>
+#include <condition_variable>
+#include <mutex>
+#include <queue>
+#include <string>
+#include <thread>
+#include <vector>
+
+using namespace mbgl;
+
+namespace {
+
+// Stands in for the pipe that wakes up the looper of a run loop.
+class Waker {
+public:
+    void wake() {
+        std::lock_guard<std::mutex> lock(mutex);
+        pending = true;
+        wakeups++;
+        condition.notify_one();
+    }
+
+    void wait() {
+        std::unique_lock<std::mutex> lock(mutex);
+        condition.wait(lock, [&] { return pending; });
+        pending = false;
+    }
+
+    std::size_t wakeups = 0;
+
+private:
+    std::mutex mutex;
+    std::condition_variable condition;
+    bool pending = false;
+};
+
+const int producerCount = 4;
+
+// Posts bursts of messages from several threads to a consumer and reports the
+// amount of consumer wakeups per message.
+template <class Push, class Drain>
+void runProducers(::benchmark::State& state, Waker& waker, Push push, Drain drain) {
+    const int messageCount = state.range_x();
+    std::size_t messages = 0;
+
+    while (state.KeepRunning()) {
+        std::atomic<int> received { 0 };
+        std::atomic<bool> done { false };
+
+        std::thread consumer([&] {
+            while (!done) {
+                waker.wait();
+                received += drain();
+            }
+        });
+
+        std::vector<std::thread> producers;
+        for (int i = 0; i < producerCount; i++) {
+            producers.emplace_back([&] {
+                for (int j = 0; j < messageCount; j++) {
+                    push(j);
+                }
+            });
+        }
+
+        for (auto& producer : producers) {
+            producer.join();
+        }
+
+        while (received < producerCount * messageCount) {
+            std::this_thread::yield();
+        }
+
+        done = true;
+        waker.wake();
+        consumer.join();
+
+        messages += producerCount * messageCount;
+    }
+
+    state.SetItemsProcessed(messages);
+    state.SetLabel("wakeups/message: " + std::to_string(double(waker.wakeups) / messages));
+}
+
+} // namespace
+
+// Lock-free queue that coalesces wakeups, as used by the Android run loop.
+static void Util_MPSCQueueWakeups(::benchmark::State& state) {
+    Waker waker;
+    util::MPSCQueue<int> queue;
+
+    runProducers(state, waker, [&] (int message) {
+        if (queue.push(message)) {
+            waker.wake();
+        }
+    }, [&] {
+        int count = 0;
+        queue.acknowledge();
+        while (queue.pop()) {
+            count++;
+        }
+        if (!queue.empty() && queue.notify()) {
+            waker.wake();
+        }
+        return count;
+    });
+}
+
+// Mutex-protected queue that wakes the consumer for every message.
+static void Util_MutexQueueWakeups(::benchmark::State& state) {
+    Waker waker;
+    std::mutex mutex;
+    std::queue<int> queue;
+
+    runProducers(state, waker, [&] (int message) {
+        {
+            std::lock_guard<std::mutex> lock(mutex);
+            queue.push(message);
+        }
+        waker.wake();
+    }, [&] {
+        std::queue<int> drained;
+        {
+            std::lock_guard<std::mutex> lock(mutex);
+            drained.swap(queue);
+        }
+        return int(drained.size());
+    });
+}
+
+BENCHMARK(Util_MPSCQueueWakeups)->Arg(16)->Arg(256)->Arg(4096);
+BENCHMARK(Util_MutexQueueWakeups)->Arg(16)->Arg(256)->Arg(4096);
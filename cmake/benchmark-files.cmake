@@ -20,6 +20,10 @@ set(MBGL_BENCHMARK_FILES
     benchmark/src/mbgl/benchmark/util.cpp
     benchmark/src/mbgl/benchmark/util.hpp
 
+    # storage
+    benchmark/storage/offline_database.benchmark.cpp
+
     # util
     benchmark/util/dtoa.benchmark.cpp
+    benchmark/util/mpsc_queue.benchmark.cpp
 )
@@ -77,6 +77,7 @@ set(MBGL_TEST_FILES
     test/storage/offline_download.test.cpp
     test/storage/online_file_source.test.cpp
     test/storage/resource.test.cpp
+    test/storage/resource_cache.test.cpp
     test/storage/sqlite.test.cpp
 
     # style/conversion
@@ -114,7 +115,9 @@ set(MBGL_TEST_FILES
     test/tile/geojson_tile.test.cpp
     test/tile/geometry_tile_data.test.cpp
     test/tile/raster_tile.test.cpp
+    test/tile/tile_cache.test.cpp
     test/tile/tile_coordinate.test.cpp
+    test/tile/tile_data_pool.test.cpp
     test/tile/tile_id.test.cpp
     test/tile/vector_tile.test.cpp
 
@@ -127,6 +130,7 @@ set(MBGL_TEST_FILES
     test/util/mapbox.test.cpp
     test/util/memory.test.cpp
     test/util/merge_lines.test.cpp
+    test/util/mpsc_queue.test.cpp
     test/util/number_conversions.test.cpp
     test/util/offscreen_texture.test.cpp
     test/util/position.test.cpp
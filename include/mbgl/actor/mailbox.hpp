@@ -1,5 +1,7 @@
 #pragma once
 
+#include <atomic>
+#include <cstdint>
 #include <memory>
 #include <mutex>
 #include <queue>
@@ -11,8 +13,21 @@ class Message;
 
 class Mailbox : public std::enable_shared_from_this<Mailbox> {
 public:
+    // Schedulers that support it process mailboxes with a higher priority
+    // first. Mailboxes with the same priority are processed in order. A
+    // mailbox with pending messages is scheduled again when its priority
+    // changes.
+    enum class Priority : uint8_t {
+        Low,
+        Normal,
+        High,
+    };
+
     Mailbox(Scheduler&);
 
+    void setPriority(Priority);
+    Priority getPriority() const;
+
     void push(std::unique_ptr<Message>);
 
     void close();
@@ -28,6 +43,8 @@ private:
 
     bool closed { false };
 
+    std::atomic<Priority> priority { Priority::Normal };
+
     std::mutex queueMutex;
     std::queue<std::unique_ptr<Message>> queue;
 };
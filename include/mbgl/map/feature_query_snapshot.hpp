@@ -0,0 +1,39 @@
+#pragma once
+
+#include <mbgl/util/feature.hpp>
+#include <mbgl/util/noncopyable.hpp>
+
+#include <atomic>
+#include <vector>
+
+namespace mbgl {
+
+/**
+ * A feature query captured from the render state of a map. The snapshot shares the tile data,
+ * feature indexes and collision state of the tiles it covers and holds a copy of the evaluated
+ * layer properties, so it can be executed on any thread while the map keeps rendering.
+ */
+class FeatureQuerySnapshot : private util::noncopyable {
+public:
+    virtual ~FeatureQuerySnapshot() = default;
+
+    // Runs the query. Safe to call from any thread. Returns no features once canceled.
+    virtual std::vector<Feature> execute() const = 0;
+
+    // Makes a running or future execute() return early. Safe to call from any thread.
+    void cancel() {
+        canceled = true;
+    }
+
+    bool isCanceled() const {
+        return canceled;
+    }
+
+protected:
+    FeatureQuerySnapshot() = default;
+
+private:
+    std::atomic<bool> canceled { false };
+};
+
+} // namespace mbgl
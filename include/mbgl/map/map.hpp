@@ -7,14 +7,17 @@
 #include <mbgl/util/geo.hpp>
 #include <mbgl/util/feature.hpp>
 #include <mbgl/util/noncopyable.hpp>
+#include <mbgl/util/tile_statistics.hpp>
 #include <mbgl/util/size.hpp>
 #include <mbgl/annotation/annotation.hpp>
 #include <mbgl/map/camera.hpp>
 #include <mbgl/map/query.hpp>
+#include <mbgl/map/feature_query_snapshot.hpp>
 
 #include <cstdint>
 #include <string>
 #include <functional>
+#include <map>
 #include <vector>
 #include <memory>
 
@@ -147,6 +150,17 @@ public:
 
     AnnotationID addAnnotation(const Annotation&);
     void updateAnnotation(AnnotationID, const Annotation&);
+    // Appends points to a line annotation with a LineString geometry. Unlike
+    // updateAnnotation, this only retiles the end of the line.
+    void extendLineAnnotation(AnnotationID, const LineString<double>&);
+    // Moves symbol annotations to new positions. Positions are interpolated
+    // linearly at render time, without rebuilding tiles on every frame. The
+    // callback is called from the run loop after the animation ended, with
+    // false if any of the annotations was updated or removed before it reached
+    // its destination.
+    void animateSymbolAnnotations(const std::map<AnnotationID, Point<double>>& destinations,
+                                  Duration,
+                                  std::function<void (bool)> callback = {});
     void removeAnnotation(AnnotationID);
 
     // Feature queries
@@ -154,6 +168,13 @@ public:
     std::vector<Feature> queryRenderedFeatures(const ScreenBox&,        const RenderedQueryOptions& options = {});
     std::vector<Feature> querySourceFeatures(const std::string& sourceID, const SourceQueryOptions& options = {});
 
+    // Captures the same queries against the current render state without running them. The
+    // snapshot can be executed on another thread, and returns the features the queries above
+    // returned at the time the snapshot was taken.
+    std::unique_ptr<FeatureQuerySnapshot> snapshotRenderedFeatures(const ScreenCoordinate&, const RenderedQueryOptions& options = {});
+    std::unique_ptr<FeatureQuerySnapshot> snapshotRenderedFeatures(const ScreenBox&,        const RenderedQueryOptions& options = {});
+    std::unique_ptr<FeatureQuerySnapshot> snapshotSourceFeatures(const std::string& sourceID, const SourceQueryOptions& options = {});
+
     AnnotationIDs queryPointAnnotations(const ScreenBox&);
 
     // Tile prefetching
@@ -165,9 +186,35 @@ public:
     void setPrefetchZoomDelta(uint8_t delta);
     uint8_t getPrefetchZoomDelta() const;
 
+    // While an animated camera transition is in progress, e.g. after a fling, the tiles for the
+    // camera at the end of the transition are requested and parsed ahead of time when predictive
+    // prefetching is enabled. Their requests have a low priority. Disabled by default.
+    void setPredictivePrefetchEnabled(bool);
+    bool isPredictivePrefetchEnabled() const;
+
+    util::TilePrefetchStatistics getTilePrefetchStatistics() const;
+
     // Memory
+    //
+    // Tiles that are no longer visible are cached for reuse. By default, the cache is sized
+    // after the viewport and the zoom range. A tile count of 0 restores the default size, a
+    // byte size of 0 removes the memory limit. Both limits apply to the whole map and are
+    // shared evenly by its tiled sources.
+    void setMaximumTileCacheSize(size_t tiles);
+    size_t getMaximumTileCacheSize() const;
+    void setMaximumTileCacheByteSize(size_t bytes);
+    size_t getMaximumTileCacheByteSize() const;
+
+    // Evicts the least recently used cached tiles, keeping the given fraction of them.
+    // onLowMemory() additionally releases all cached tiles and unused GPU resources.
+    void trimMemory(float fraction);
     void onLowMemory();
 
+    util::TileMemoryUsage getTileMemoryUsage() const;
+
+    // Counters of the tiles this map loaded, parsed and uploaded.
+    util::TileStatistics getTileStatistics() const;
+
     // Debug
     void setDebug(MapDebugOptions);
     void cycleDebugOptions();
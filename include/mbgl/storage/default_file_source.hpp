@@ -3,6 +3,7 @@
 #include <mbgl/actor/actor_ref.hpp>
 #include <mbgl/storage/file_source.hpp>
 #include <mbgl/storage/offline.hpp>
+#include <mbgl/util/chrono.hpp>
 #include <mbgl/util/constants.hpp>
 #include <mbgl/util/optional.hpp>
 
@@ -16,6 +17,7 @@ template <typename T> class Thread;
 } // namespace util
 
 class ResourceTransform;
+class ResourceCache;
 
 class DefaultFileSource : public FileSource {
 public:
@@ -47,6 +49,7 @@ public:
     void setResourceTransform(optional<ActorRef<ResourceTransform>>&&);
 
     std::unique_ptr<AsyncRequest> request(const Resource&, Callback) override;
+    void setPriority(AsyncRequest&, Resource::Priority) override;
 
     /*
      * Retrieve all regions in the offline database.
@@ -100,6 +103,20 @@ public:
     void getOfflineRegionStatus(OfflineRegion&, std::function<void (std::exception_ptr,
                                                                     optional<OfflineRegionStatus>)>) const;
 
+    /*
+     * Compute the resources an offline region with the given definition requires:
+     * the number of tiles per source and zoom level, glyph and sprite resources, and
+     * an estimate of their size based on resources that are already cached.
+     *
+     * The plan is computed from the cached style and TileJSON resources only; no
+     * network requests are made, and no region needs to be created. The callback
+     * will be executed on the database thread; it is the responsibility of the SDK
+     * bindings to re-execute a user-provided callback on the main thread.
+     */
+    void getOfflineRegionDownloadPlan(const OfflineRegionDefinition&,
+                                      std::function<void (std::exception_ptr,
+                                                          optional<OfflineRegionDownloadPlan>)>) const;
+
     /*
      * Remove an offline region from the database and perform any resources evictions
      * necessary as a result.
@@ -123,6 +140,40 @@ public:
      */
     void setOfflineMapboxTileCountLimit(uint64_t) const;
 
+    /*
+     * Change the limit applied to resources cached for ambient use. Least-recently
+     * used resources are evicted in the background until the cache fits the new
+     * limit.
+     */
+    void setMaximumCacheSize(uint64_t size);
+
+    /*
+     * Change the limit of the in-memory cache that holds decompressed resources
+     * in front of the database. A size of zero disables the in-memory cache.
+     */
+    void setMemoryCacheSize(uint64_t size);
+
+    /*
+     * The amount of requests that were answered from, or missed, the in-memory
+     * cache. Requests that aren't looked up in the cache, e.g. asset requests,
+     * aren't counted.
+     */
+    uint64_t getMemoryCacheHitCount() const;
+    uint64_t getMemoryCacheMissCount() const;
+
+    /*
+     * Group-commit writes to the offline database to increase the throughput of
+     * offline downloads and ambient caching.
+     *
+     * By default, every resource is committed and synced to disk before the write
+     * completes. With a batch size larger than one, the database uses a write-ahead
+     * log and commits once the batch size is reached or the batch interval elapsed.
+     * Writes that weren't committed yet are lost if the process terminates, the
+     * database itself stays consistent. A batch size of zero or one restores the
+     * default behavior.
+     */
+    void setOfflineDatabaseWriteBatching(uint32_t batchSize, Duration batchInterval);
+
     /*
      * Pause file request activity.
      *
@@ -147,6 +198,7 @@ public:
 private:
     // Shared so destruction is done on this thread
     const std::shared_ptr<FileSource> assetFileSource;
+    const std::shared_ptr<ResourceCache> memoryCache;
     const std::unique_ptr<util::Thread<Impl>> impl;
 
     std::mutex cachedBaseURLMutex;
@@ -30,6 +30,7 @@ public:
     OfflineTilePyramidRegionDefinition(std::string, LatLngBounds, double, double, float);
 
     /* Private */
+    Range<uint8_t> coveringZoomRange(SourceType, uint16_t tileSize, const Range<uint8_t>& zoomRange) const;
     std::vector<CanonicalTileID> tileCover(SourceType, uint16_t tileSize, const Range<uint8_t>& zoomRange) const;
 
     const std::string styleURL;
@@ -133,6 +134,72 @@ public:
     }
 };
 
+/*
+ * A download plan describes the resources an offline region requires before any of
+ * them is downloaded: the number of tiles per source and zoom level, the glyph and
+ * sprite resources, and an estimate of the storage they occupy.
+ *
+ * The plan is computed from the region definition and the style and TileJSON
+ * resources that are already in the cache; no network requests are made. Sizes are
+ * estimated from the average size of cached resources of the same kind, and for
+ * tiles, of the same tile source and zoom level.
+ */
+class OfflineRegionDownloadPlan {
+public:
+    /**
+     * The tiles required from a tile source at a single zoom level.
+     */
+    struct Tiles {
+        std::string sourceID;
+        uint8_t z = 0;
+        uint64_t count = 0;
+
+        /**
+         * The estimated cumulative size, in bytes, of the tiles. Zero if no tiles of
+         * this source are cached.
+         */
+        uint64_t estimatedSize = 0;
+    };
+
+    std::vector<Tiles> tiles;
+
+    /**
+     * The number of style, TileJSON, GeoJSON and image resources.
+     */
+    uint64_t styleResourceCount = 0;
+    uint64_t glyphResourceCount = 0;
+    uint64_t spriteResourceCount = 0;
+
+    /**
+     * The estimated cumulative size, in bytes, of all required resources.
+     */
+    uint64_t estimatedSize = 0;
+
+    /**
+     * The number of required resources for which no cached sample was available,
+     * and which consequently aren't accounted for in `estimatedSize`.
+     */
+    uint64_t unestimatedResourceCount = 0;
+
+    /**
+     * This property is false when the style or one of its TileJSON resources isn't
+     * cached, in which case the resource counts are merely a lower bound.
+     */
+    bool resourceCountIsPrecise = false;
+
+    uint64_t tileCount() const {
+        uint64_t count = 0;
+        for (const auto& level : tiles) {
+            count += level.count;
+        }
+        return count;
+    }
+
+    uint64_t resourceCount() const {
+        return styleResourceCount + glyphResourceCount + spriteResourceCount + tileCount();
+    }
+};
+
 /*
  * A region can have a single observer, which gets notified whenever a change
  * to the region's status occurs.
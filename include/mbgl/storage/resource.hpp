@@ -35,6 +35,13 @@ public:
         Required = true,
     };
 
+    // Low priority requests, e.g. for tiles that are prefetched ahead of the camera, are only
+    // sent to the network when no regular request is waiting for a connection.
+    enum Priority : bool {
+        Regular = false,
+        Low = true,
+    };
+
     Resource(Kind kind_, std::string url_, optional<TileData> tileData_ = {}, Necessity necessity_ = Required)
         : kind(kind_),
           necessity(necessity_),
@@ -60,6 +67,7 @@ public:
     
     Kind kind;
     Necessity necessity;
+    Priority priority = Regular;
     std::string url;
 
     // Includes auxiliary data if this is a tile request.
@@ -23,6 +23,10 @@ void setCurrentThreadName(const std::string& name);
 // Makes the current thread low priority.
 void makeThreadLowPriority();
 
+// Sets the priority of the current thread as a nice value, from -20 (highest)
+// to 19 (lowest). Platforms without nice values map it to their own range.
+void setCurrentThreadPriority(int priority);
+
 // Shows an alpha image with the specified dimensions in a named window.
 void showDebugImage(std::string name, const char *data, size_t width, size_t height);
 
@@ -0,0 +1,37 @@
+#pragma once
+
+#include <cstdint>
+
+namespace mbgl {
+namespace util {
+
+// Process-wide pool of vector tile data. When enabled, maps that load the same
+// tile of the same source share the tile buffer and its parsed layer index
+// instead of holding a copy each. The pool is consulted before a tile is
+// requested: a map that finds the tile skips fetching, decompressing and
+// indexing it, and only revalidates the data with its file source once it
+// expired. Layout depends on the style of each map and still runs per map.
+//
+// Data is reference counted, a tile stays in the pool as long as a map uses it.
+// The maximum size covers all tiles in the pool. When it is exceeded, unused
+// tiles are released, least recently used first. Tiles in use are never
+// released, so the pool may exceed its maximum size.
+//
+// The pool is disabled by default. Disabling it releases all unused tiles.
+void setTileDataPoolEnabled(bool);
+bool isTileDataPoolEnabled();
+
+void setTileDataPoolMaximumSize(uint64_t bytes);
+
+struct TileDataPoolStatistics {
+    uint64_t tiles = 0;
+    uint64_t bytes = 0;
+    // Tiles that were found in the pool, or had to be added to it.
+    uint64_t hits = 0;
+    uint64_t misses = 0;
+};
+
+TileDataPoolStatistics getTileDataPoolStatistics();
+
+} // namespace util
+} // namespace mbgl
@@ -0,0 +1,37 @@
+#pragma once
+
+#include <cstdint>
+
+namespace mbgl {
+namespace util {
+
+// Counters of the work a map performed on its tiles. Counters only ever
+// increase, consumers are expected to compute deltas between two snapshots.
+struct TileStatistics {
+    uint64_t loaded = 0;
+    uint64_t parsed = 0;
+    uint64_t uploaded = 0;
+    // Wall-clock time spent laying out tiles on worker threads, in nanoseconds,
+    // summed over all tiles.
+    uint64_t layoutTime = 0;
+};
+
+// Tiles held by a map and the approximate memory they use, in bytes. Tiles
+// in use are those currently needed for rendering, cached tiles are kept for
+// reuse when the camera moves back.
+struct TileMemoryUsage {
+    uint64_t tiles = 0;
+    uint64_t bytes = 0;
+    uint64_t cachedTiles = 0;
+    uint64_t cachedBytes = 0;
+};
+
+// Tiles a map loaded ahead of a camera transition, and how many of them were rendered
+// afterwards. The hit rate is `rendered / prefetched`.
+struct TilePrefetchStatistics {
+    uint64_t prefetched = 0;
+    uint64_t rendered = 0;
+};
+
+} // namespace util
+} // namespace mbgl
@@ -45,7 +45,7 @@ public abstract class BasePointCollection extends Annotation {
    */
   public void addPoint(LatLng point) {
     points.add(point);
-    update();
+    onPointAdded(point);
   }
 
   /**
@@ -67,5 +67,23 @@ public abstract class BasePointCollection extends Annotation {
     update();
   }
 
+  /**
+   * Returns the points without copying them, for subclasses that need to modify them in place.
+   *
+   * @return the mutable list of points
+   */
+  List<LatLng> getPointList() {
+    return points;
+  }
+
+  /**
+   * Called after a point was added. Updates the whole annotation, subclasses can transfer the added point only.
+   *
+   * @param point the added point
+   */
+  void onPointAdded(LatLng point) {
+    update();
+  }
+
   abstract void update();
 }
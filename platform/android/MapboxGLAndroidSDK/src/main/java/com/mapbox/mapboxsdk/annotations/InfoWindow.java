@@ -3,6 +3,8 @@ package com.mapbox.mapboxsdk.annotations;
 import android.content.res.Resources;
 import android.graphics.PointF;
 import android.support.annotation.LayoutRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.text.TextUtils;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -41,6 +43,12 @@ public class InfoWindow {
   private PointF coordinates;
   private boolean isVisible;
 
+  // reuses the view and binds content loaded off the main thread, for InfoWindows of an InfoWindowViewAdapter
+  private MapboxMap.InfoWindowViewAdapter viewAdapter;
+  private WeakReference<MapView> mapView;
+  private int offsetX;
+  private int offsetY;
+
   @LayoutRes
   private int layoutRes;
 
@@ -51,6 +59,11 @@ public class InfoWindow {
   }
 
   InfoWindow(View view, MapboxMap mapboxMap) {
+    this(view, mapboxMap, null);
+  }
+
+  InfoWindow(View view, MapboxMap mapboxMap, @Nullable MapboxMap.InfoWindowViewAdapter viewAdapter) {
+    this.viewAdapter = viewAdapter;
     initialize(view, mapboxMap);
   }
 
@@ -122,86 +135,133 @@ public class InfoWindow {
     MapboxMap mapboxMap = this.mapboxMap.get();
     View view = this.view.get();
     if (view != null && mapboxMap != null) {
-      view.measure(View.MeasureSpec.UNSPECIFIED, View.MeasureSpec.UNSPECIFIED);
+      layout(mapView, view, mapboxMap, position, offsetX, offsetY);
 
-      // Calculate y-offset for update method
-      markerHeightOffset = -view.getMeasuredHeight() + offsetY;
-      markerWidthOffset = -offsetX;
+      close(); // if it was already opened
+      mapView.addView(view, lp);
+      isVisible = true;
 
-      // Calculate default Android x,y coordinate
-      coordinates = mapboxMap.getProjection().toScreenLocation(position);
-      float x = coordinates.x - (view.getMeasuredWidth() / 2) + offsetX;
-      float y = coordinates.y - view.getMeasuredHeight() + offsetY;
+      if (viewAdapter != null) {
+        this.mapView = new WeakReference<>(mapView);
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        loadContent(boundMarker);
+      }
+    }
+    return this;
+  }
 
-      if (view instanceof BubbleLayout) {
-        // only apply repositioning/margin for InfoWindowView
-        Resources resources = mapView.getContext().getResources();
-
-        // get right/left popup window
-        float rightSideInfowWindow = x + view.getMeasuredWidth();
-        float leftSideInfoWindow = x;
-
-        // get right/left map view
-        final float mapRight = mapView.getRight();
-        final float mapLeft = mapView.getLeft();
-
-        float marginHorizontal = resources.getDimension(R.dimen.mapbox_infowindow_margin);
-        float tipViewOffset = resources.getDimension(R.dimen.mapbox_infowindow_tipview_width) / 2;
-        float tipViewMarginLeft = view.getMeasuredWidth() / 2 - tipViewOffset;
-
-        boolean outOfBoundsLeft = false;
-        boolean outOfBoundsRight = false;
-
-        // only optimise margins if view is inside current viewport
-        if (coordinates.x >= 0 && coordinates.x <= mapView.getWidth()
-          && coordinates.y >= 0 && coordinates.y <= mapView.getHeight()) {
-
-          // if out of bounds right
-          if (rightSideInfowWindow > mapRight) {
-            outOfBoundsRight = true;
-            x -= rightSideInfowWindow - mapRight;
-            tipViewMarginLeft += rightSideInfowWindow - mapRight + tipViewOffset;
-            rightSideInfowWindow = x + view.getMeasuredWidth();
-          }
+  private void layout(MapView mapView, View view, MapboxMap mapboxMap, LatLng position, int offsetX, int offsetY) {
+    view.measure(View.MeasureSpec.UNSPECIFIED, View.MeasureSpec.UNSPECIFIED);
 
-          // fit screen left
-          if (leftSideInfoWindow < mapLeft) {
-            outOfBoundsLeft = true;
-            x += mapLeft - leftSideInfoWindow;
-            tipViewMarginLeft -= mapLeft - leftSideInfoWindow + tipViewOffset;
-            leftSideInfoWindow = x;
-          }
+    // Calculate y-offset for update method
+    markerHeightOffset = -view.getMeasuredHeight() + offsetY;
+    markerWidthOffset = -offsetX;
 
-          // Add margin right
-          if (outOfBoundsRight && mapRight - rightSideInfowWindow < marginHorizontal) {
-            x -= marginHorizontal - (mapRight - rightSideInfowWindow);
-            tipViewMarginLeft += marginHorizontal - (mapRight - rightSideInfowWindow) - tipViewOffset;
-            leftSideInfoWindow = x;
-          }
+    // Calculate default Android x,y coordinate
+    coordinates = mapboxMap.getProjection().toScreenLocation(position);
+    float x = coordinates.x - (view.getMeasuredWidth() / 2) + offsetX;
+    float y = coordinates.y - view.getMeasuredHeight() + offsetY;
 
-          // Add margin left
-          if (outOfBoundsLeft && leftSideInfoWindow - mapLeft < marginHorizontal) {
-            x += marginHorizontal - (leftSideInfoWindow - mapLeft);
-            tipViewMarginLeft -= (marginHorizontal - (leftSideInfoWindow - mapLeft)) - tipViewOffset;
-          }
+    if (view instanceof BubbleLayout) {
+      // only apply repositioning/margin for InfoWindowView
+      Resources resources = mapView.getContext().getResources();
+
+      // get right/left popup window
+      float rightSideInfowWindow = x + view.getMeasuredWidth();
+      float leftSideInfoWindow = x;
+
+      // get right/left map view
+      final float mapRight = mapView.getRight();
+      final float mapLeft = mapView.getLeft();
+
+      float marginHorizontal = resources.getDimension(R.dimen.mapbox_infowindow_margin);
+      float tipViewOffset = resources.getDimension(R.dimen.mapbox_infowindow_tipview_width) / 2;
+      float tipViewMarginLeft = view.getMeasuredWidth() / 2 - tipViewOffset;
+
+      boolean outOfBoundsLeft = false;
+      boolean outOfBoundsRight = false;
+
+      // only optimise margins if view is inside current viewport
+      if (coordinates.x >= 0 && coordinates.x <= mapView.getWidth()
+        && coordinates.y >= 0 && coordinates.y <= mapView.getHeight()) {
+
+        // if out of bounds right
+        if (rightSideInfowWindow > mapRight) {
+          outOfBoundsRight = true;
+          x -= rightSideInfowWindow - mapRight;
+          tipViewMarginLeft += rightSideInfowWindow - mapRight + tipViewOffset;
+          rightSideInfowWindow = x + view.getMeasuredWidth();
+        }
+
+        // fit screen left
+        if (leftSideInfoWindow < mapLeft) {
+          outOfBoundsLeft = true;
+          x += mapLeft - leftSideInfoWindow;
+          tipViewMarginLeft -= mapLeft - leftSideInfoWindow + tipViewOffset;
+          leftSideInfoWindow = x;
+        }
+
+        // Add margin right
+        if (outOfBoundsRight && mapRight - rightSideInfowWindow < marginHorizontal) {
+          x -= marginHorizontal - (mapRight - rightSideInfowWindow);
+          tipViewMarginLeft += marginHorizontal - (mapRight - rightSideInfowWindow) - tipViewOffset;
+          leftSideInfoWindow = x;
+        }
+
+        // Add margin left
+        if (outOfBoundsLeft && leftSideInfoWindow - mapLeft < marginHorizontal) {
+          x += marginHorizontal - (leftSideInfoWindow - mapLeft);
+          tipViewMarginLeft -= (marginHorizontal - (leftSideInfoWindow - mapLeft)) - tipViewOffset;
         }
+      }
+
+      // Adjust tipView
+      ((BubbleLayout) view).setArrowPosition(tipViewMarginLeft);
+    }
+
+    // set anchor popupwindowview
+    view.setX(x);
+    view.setY(y);
 
-        // Adjust tipView
-        ((BubbleLayout) view).setArrowPosition(tipViewMarginLeft);
+    // Calculate x-offset for update method
+    viewWidthOffset = x - coordinates.x - offsetX;
+  }
+
+  private void loadContent(final Marker marker) {
+    InfoWindowContentLoader.getInstance().load(viewAdapter, marker, new InfoWindowContentLoader.Callback() {
+      @Override
+      public void onContentLoaded(@NonNull Object content) {
+        bindContent(marker, content);
       }
+    });
+  }
 
-      // set anchor popupwindowview
-      view.setX(x);
-      view.setY(y);
+  /**
+   * Binds loaded content to this {@link InfoWindow} if it is still open for the marker the content was loaded for.
+   */
+  @SuppressWarnings("unchecked")
+  private void bindContent(Marker marker, Object content) {
+    MapboxMap mapboxMap = this.mapboxMap.get();
+    MapView mapView = this.mapView.get();
+    View view = this.view.get();
+    if (!isVisible || getBoundMarker() != marker || mapboxMap == null || mapView == null || view == null) {
+      return;
+    }
 
-      // Calculate x-offset for update method
-      viewWidthOffset = x - coordinates.x - offsetX;
+    View boundView = viewAdapter.getInfoWindow(marker, content, view);
+    if (boundView == null) {
+      return;
+    }
 
-      close(); // if it was already opened
-      mapView.addView(view, lp);
-      isVisible = true;
+    if (boundView != view) {
+      mapView.removeView(view);
+      viewAdapter.releaseView(view);
+      initialize(boundView, mapboxMap);
+      mapView.addView(boundView, new MapView.LayoutParams(MapView.LayoutParams.WRAP_CONTENT,
+        MapView.LayoutParams.WRAP_CONTENT));
     }
-    return this;
+    layout(mapView, boundView, mapboxMap, marker.getPosition(), offsetX, offsetY);
   }
 
   /**
@@ -217,6 +277,11 @@ public class InfoWindow {
       if (view != null && view.getParent() != null) {
         ((ViewGroup) view.getParent()).removeView(view);
       }
+      if (view != null && viewAdapter != null) {
+        // the view is reused by the next InfoWindow of the adapter
+        viewAdapter.releaseView(view);
+        this.view = new WeakReference<>(null);
+      }
 
       Marker marker = getBoundMarker();
       MapboxMap.OnInfoWindowCloseListener listener = mapboxMap.getOnInfoWindowCloseListener();
@@ -278,10 +343,22 @@ public class InfoWindow {
    */
   public void update() {
     MapboxMap mapboxMap = this.mapboxMap.get();
-    Marker marker = boundMarker.get();
+    Marker marker = getBoundMarker();
+    if (mapboxMap != null && marker != null) {
+      update(mapboxMap.getProjection().toScreenLocation(marker.getPosition()));
+    }
+  }
+
+  /**
+   * Do not use this method, used internally by the SDK. Updates the view being displayed to a screen location
+   * projected ahead of time.
+   *
+   * @param screenLocation the screen location of the bound marker
+   */
+  public void update(@NonNull PointF screenLocation) {
     View view = this.view.get();
-    if (mapboxMap != null && marker != null && view != null) {
-      coordinates = mapboxMap.getProjection().toScreenLocation(marker.getPosition());
+    if (getBoundMarker() != null && view != null) {
+      coordinates = screenLocation;
 
       if (view instanceof BubbleLayout) {
         view.setX(coordinates.x + viewWidthOffset - markerWidthOffset);
@@ -0,0 +1,97 @@
+package com.mapbox.mapboxsdk.annotations;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import android.support.annotation.NonNull;
+
+import com.mapbox.mapboxsdk.maps.MapboxMap;
+
+import timber.log.Timber;
+
+/**
+ * Loads the content of InfoWindows on a background thread.
+ * <p>
+ * Content is loaded with {@link MapboxMap.InfoWindowViewAdapter#loadContent(Marker)} and delivered on the main thread.
+ * The background thread is started on demand and stopped when no more content is requested.
+ * </p>
+ */
+class InfoWindowContentLoader {
+
+  interface Callback {
+
+    /**
+     * Invoked on the main thread with the loaded content.
+     *
+     * @param content the loaded content
+     */
+    void onContentLoaded(@NonNull Object content);
+  }
+
+  private static InfoWindowContentLoader instance;
+
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private HandlerThread thread;
+  private Handler workerHandler;
+  private int pendingCount;
+
+  static InfoWindowContentLoader getInstance() {
+    if (instance == null) {
+      instance = new InfoWindowContentLoader();
+    }
+    return instance;
+  }
+
+  /**
+   * Requests the content of an InfoWindow.
+   *
+   * @param adapter  the adapter to load the content with
+   * @param marker   the marker the InfoWindow is shown for
+   * @param callback the callback invoked with the loaded content
+   */
+  void load(@NonNull final MapboxMap.InfoWindowViewAdapter<?> adapter, @NonNull final Marker marker,
+            @NonNull final Callback callback) {
+    pendingCount++;
+    if (thread == null) {
+      thread = new HandlerThread("InfoWindowContentLoader", Process.THREAD_PRIORITY_BACKGROUND);
+      thread.start();
+      workerHandler = new Handler(thread.getLooper());
+    }
+
+    workerHandler.post(new Runnable() {
+      @Override
+      public void run() {
+        final Object content = load(adapter, marker);
+        mainHandler.post(new Runnable() {
+          @Override
+          public void run() {
+            onLoaded();
+            if (content != null) {
+              callback.onContentLoaded(content);
+            }
+          }
+        });
+      }
+    });
+  }
+
+  private static Object load(MapboxMap.InfoWindowViewAdapter<?> adapter, Marker marker) {
+    try {
+      return adapter.loadContent(marker);
+    } catch (RuntimeException exception) {
+      // the InfoWindow keeps showing the content bound without loading
+      Timber.e(exception, "Exception while loading InfoWindow content");
+      return null;
+    }
+  }
+
+  private void onLoaded() {
+    pendingCount--;
+    if (pendingCount == 0) {
+      thread.quit();
+      thread = null;
+      workerHandler = null;
+    }
+  }
+}
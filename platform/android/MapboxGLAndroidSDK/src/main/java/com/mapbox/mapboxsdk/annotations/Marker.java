@@ -9,6 +9,9 @@ import com.mapbox.mapboxsdk.geometry.LatLng;
 import com.mapbox.mapboxsdk.maps.MapView;
 import com.mapbox.mapboxsdk.maps.MapboxMap;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Marker is an annotation that shows an icon image at a geographical location. The default marker
  * uses a provided icon. This icon can be customized using {@link IconFactory} to generate an
@@ -127,6 +130,38 @@ public class Marker extends Annotation {
     }
   }
 
+  /**
+   * Animates the marker to a new location. The position of the marker is set to the destination right away, while
+   * the map interpolates the rendered position over the duration of the animation.
+   *
+   * @param destination A {@link LatLng} defining the marker destination.
+   * @param durationMs  The duration of the animation in milliseconds.
+   * @param callback    An optional callback to be notified once the animation finished, or was cancelled because the
+   *                    marker was updated or removed beforehand.
+   * @see MapboxMap#animateMarkers(List, List, long, MapboxMap.CancelableCallback)
+   */
+  public void animateTo(@NonNull LatLng destination, long durationMs, @Nullable MapboxMap.CancelableCallback callback) {
+    MapboxMap map = getMapboxMap();
+    if (map != null) {
+      map.animateMarkers(Collections.singletonList(this), Collections.singletonList(destination), durationMs, callback);
+      return;
+    }
+
+    this.position = destination;
+    if (callback != null) {
+      callback.onFinish();
+    }
+  }
+
+  /**
+   * Do not use this method, used internally by the SDK.
+   *
+   * @param destination the position the marker is animated to.
+   */
+  public void setAnimationDestination(LatLng destination) {
+    this.position = destination;
+  }
+
   /**
    * Sets the snippet of the marker.
    *
@@ -217,7 +252,9 @@ public class Marker extends Annotation {
       // end developer is using a custom InfoWindowAdapter
       View content = infoWindowAdapter.getInfoWindow(this);
       if (content != null) {
-        infoWindow = new InfoWindow(content, mapboxMap);
+        MapboxMap.InfoWindowViewAdapter viewAdapter = infoWindowAdapter instanceof MapboxMap.InfoWindowViewAdapter
+          ? (MapboxMap.InfoWindowViewAdapter) infoWindowAdapter : null;
+        infoWindow = new InfoWindow(content, mapboxMap, viewAdapter);
         showInfoWindow(infoWindow, mapView);
         return infoWindow;
       }
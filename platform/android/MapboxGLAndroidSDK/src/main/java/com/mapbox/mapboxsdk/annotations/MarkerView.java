@@ -49,6 +49,8 @@ public class MarkerView extends Marker {
   private float alpha = 1;
 
   private Icon markerViewIcon;
+  private Icon symbolIcon;
+  private Object symbolKey;
 
   private boolean selected;
 
@@ -317,12 +319,53 @@ public class MarkerView extends Marker {
     if (icon != null) {
       markerViewIcon = IconFactory.recreate(IconFactory.ICON_MARKERVIEW_ID, icon.getBitmap());
     }
-    Icon transparentIcon = IconFactory.recreate(IconFactory.ICON_MARKERVIEW_ID,
-      IconFactory.ICON_MARKERVIEW_BITMAP);
     if (markerViewManager != null) {
       markerViewManager.updateIcon(this);
     }
-    super.setIcon(transparentIcon);
+    super.setIcon(symbolIcon != null ? symbolIcon : createTransparentIcon());
+  }
+
+  /**
+   * Get the icon the MarkerView is drawn with by the map instead of its View.
+   * <p>
+   * MarkerViews beyond {@link MarkerViewManager#setMaxViewCount(int)} or outside
+   * {@link MarkerViewManager#setFocusArea(android.graphics.RectF)} are drawn as a symbol of their rasterized View.
+   * </p>
+   *
+   * @return the symbol icon, null if the MarkerView is shown as View.
+   */
+  @Nullable
+  public Icon getSymbolIcon() {
+    return symbolIcon;
+  }
+
+  /**
+   * For internal use only, draws the MarkerView with the given icon instead of its View.
+   *
+   * @param symbolIcon the icon to draw, null to draw nothing
+   */
+  void setSymbolIcon(@Nullable Icon symbolIcon) {
+    if (symbolIcon == null) {
+      symbolKey = null;
+    }
+    if (this.symbolIcon == symbolIcon) {
+      return;
+    }
+    this.symbolIcon = symbolIcon;
+    super.setIcon(symbolIcon != null ? symbolIcon : createTransparentIcon());
+  }
+
+  /**
+   * For internal use only, references the key the symbol icon is cached with while the MarkerView is drawn with it.
+   *
+   * @param symbolKey the key of the symbol icon
+   */
+  void setSymbolKey(@Nullable Object symbolKey) {
+    this.symbolKey = symbolKey;
+  }
+
+  private static Icon createTransparentIcon() {
+    return IconFactory.recreate(IconFactory.ICON_MARKERVIEW_ID, IconFactory.ICON_MARKERVIEW_BITMAP);
   }
 
   /**
@@ -1,6 +1,8 @@
 package com.mapbox.mapboxsdk.annotations;
 
 import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
 import android.graphics.PointF;
 import android.graphics.RectF;
 import android.os.SystemClock;
@@ -17,13 +19,20 @@ import com.mapbox.mapboxsdk.R;
 import com.mapbox.mapboxsdk.constants.MapboxConstants;
 import com.mapbox.mapboxsdk.maps.MapView;
 import com.mapbox.mapboxsdk.maps.MapboxMap;
+import com.mapbox.mapboxsdk.maps.Projection;
 import com.mapbox.mapboxsdk.utils.AnimatorUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 /**
  * Interface for interacting with ViewMarkers objects inside of a MapView.
@@ -33,7 +42,27 @@ import java.util.Map;
  */
 public class MarkerViewManager implements MapView.OnMapChangedListener {
 
+  // time spent inflating views in a single invalidation, remaining views are created ahead of the next one
+  private static final long INFLATION_BUDGET_NANOS = 8_000_000;
+
+  /**
+   * Source of the time the inflation budget is measured with.
+   */
+  interface Clock {
+
+    long nanoTime();
+  }
+
+  private static final Clock SYSTEM_CLOCK = new Clock() {
+    @Override
+    public long nanoTime() {
+      return System.nanoTime();
+    }
+  };
+
   private final ViewGroup markerViewContainer;
+  private final Clock clock;
+  private final MarkerViewPreInflater preInflater;
   private final ViewTreeObserver.OnPreDrawListener markerViewPreDrawObserver =
     new ViewTreeObserver.OnPreDrawListener() {
       @Override
@@ -44,8 +73,26 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
       }
     };
   private final Map<MarkerView, View> markerViewMap = new HashMap<>();
+  // by identity, the id of a MarkerView changes when the map is reloaded
+  private final Set<MarkerView> symbolMarkers = Collections.newSetFromMap(new IdentityHashMap<MarkerView, Boolean>());
+  private final Map<Object, Icon> symbolIconCache = new WeakHashMap<>();
   private final LongSparseArray<OnMarkerViewAddedListener> markerViewAddedListenerMap = new LongSparseArray<>();
   private final List<MapboxMap.MarkerViewAdapter> markerViewAdapters = new ArrayList<>();
+  private final Map<Class<? extends MarkerView>, MapboxMap.MarkerViewAdapter> markerViewAdapterMap = new HashMap<>();
+  private final MarkerViewPreInflater.Callback onViewsInflatedCallback = new MarkerViewPreInflater.Callback() {
+    @Override
+    public void onViewsInflated(@NonNull MapboxMap.MarkerViewAdapter adapter, @NonNull List<View> views) {
+      for (View view : views) {
+        view.setVisibility(View.GONE);
+        if (adapter.getViewReusePool().release(view)) {
+          markerViewContainer.addView(view);
+        }
+      }
+      if (enabled && mapboxMap != null) {
+        invalidateViewMarkersInVisibleRegion();
+      }
+    }
+  };
 
   // TODO refactor MapboxMap out for Projection and Transform
   // Requires removing MapboxMap from Annotations by using Peer model from #6912
@@ -55,6 +102,9 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
   private long updateTime;
   private MapboxMap.OnMarkerViewClickListener onMarkerViewClickListener;
   private boolean isWaitingForRenderInvoke;
+  private int maxViewCount = Integer.MAX_VALUE;
+  private RectF focusArea;
+  private int symbolIconCount;
 
   /**
    * Creates an instance of MarkerViewManager.
@@ -62,8 +112,23 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
    * @param container the ViewGroup associated with the MarkerViewManager
    */
   public MarkerViewManager(@NonNull ViewGroup container) {
+    this(container, SYSTEM_CLOCK, new MarkerViewPreInflater());
+  }
+
+  MarkerViewManager(@NonNull ViewGroup container, @NonNull Clock clock, @NonNull MarkerViewPreInflater preInflater) {
     this.markerViewContainer = container;
-    this.markerViewAdapters.add(new ImageMarkerViewAdapter(container.getContext()));
+    this.clock = clock;
+    this.preInflater = preInflater;
+    ImageMarkerViewAdapter imageMarkerViewAdapter = new ImageMarkerViewAdapter(container.getContext());
+    this.markerViewAdapters.add(imageMarkerViewAdapter);
+    this.markerViewAdapterMap.put(MarkerView.class, imageMarkerViewAdapter);
+  }
+
+  /**
+   * Releases the resources of the MarkerViewManager, called when the map is destroyed.
+   */
+  public void onDestroy() {
+    preInflater.release();
   }
 
   // TODO refactor MapboxMap out for Projection and Transform
@@ -98,6 +163,85 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
     isWaitingForRenderInvoke = waitingForRenderInvoke;
   }
 
+  /**
+   * Set the maximum amount of MarkerViews shown as View.
+   * <p>
+   * Visible MarkerViews beyond this amount are drawn by the map as a symbol of their rasterized View. Selected
+   * MarkerViews are always shown as View, the remaining Views are given to the MarkerViews closest to the center of the
+   * focus area, or to the center of the map when no focus area is set.
+   * </p>
+   * <p>
+   * Symbols are drawn upright, unrotated and opaque: the rotation, tilt, alpha and flat setting of a MarkerView only
+   * apply to its View.
+   * </p>
+   *
+   * @param maxViewCount the maximum amount of Views, {@link Integer#MAX_VALUE} to show every MarkerView as View.
+   */
+  public void setMaxViewCount(int maxViewCount) {
+    if (maxViewCount < 0) {
+      throw new IllegalArgumentException("The maximum amount of MarkerView Views can't be negative");
+    }
+    this.maxViewCount = maxViewCount;
+    onSymbolFallbackChanged();
+  }
+
+  /**
+   * Get the maximum amount of MarkerViews shown as View.
+   *
+   * @return the maximum amount of Views.
+   */
+  public int getMaxViewCount() {
+    return maxViewCount;
+  }
+
+  /**
+   * Set the area of the map, in screen pixels, where MarkerViews are shown as View.
+   * <p>
+   * MarkerViews outside this area are drawn by the map as a symbol of their rasterized View, unless they are selected.
+   * </p>
+   *
+   * @param focusArea the focus area, null to show MarkerViews in the whole map as View.
+   */
+  public void setFocusArea(@Nullable RectF focusArea) {
+    this.focusArea = focusArea != null ? new RectF(focusArea) : null;
+    onSymbolFallbackChanged();
+  }
+
+  /**
+   * Get the area of the map, in screen pixels, where MarkerViews are shown as View.
+   *
+   * @return the focus area, null if not set.
+   */
+  @Nullable
+  public RectF getFocusArea() {
+    return focusArea != null ? new RectF(focusArea) : null;
+  }
+
+  private boolean isSymbolFallbackEnabled() {
+    return maxViewCount != Integer.MAX_VALUE || focusArea != null;
+  }
+
+  private void onSymbolFallbackChanged() {
+    if (!isSymbolFallbackEnabled()) {
+      if (!symbolMarkers.isEmpty()) {
+        // each symbol icon change updates a marker, apply them at once
+        mapboxMap.beginUpdates();
+        try {
+          for (MarkerView marker : symbolMarkers) {
+            marker.setSymbolIcon(null);
+          }
+        } finally {
+          mapboxMap.commitUpdates();
+        }
+      }
+      symbolMarkers.clear();
+      symbolIconCache.clear();
+    }
+    if (enabled && mapboxMap != null) {
+      invalidateViewMarkersInVisibleRegion();
+    }
+  }
+
   /**
    * Animate a MarkerView to a given rotation.
    * <p>
@@ -178,6 +322,8 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
     View convertView = markerViewMap.get(marker);
     if (convertView != null) {
       convertView.setVisibility(visible ? View.VISIBLE : View.GONE);
+    } else if (symbolMarkers.contains(marker)) {
+      marker.setSymbolIcon(visible ? obtainSymbolIcon(marker) : null);
     }
   }
 
@@ -251,6 +397,13 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
     if (convertView != null && convertView instanceof ImageView) {
       ((ImageView) convertView).setImageBitmap(markerView.getIcon().getBitmap());
       markerView.invalidate();
+    } else if (markerView.getSymbolIcon() != null) {
+      // the View changed, rasterize it again
+      MapboxMap.MarkerViewAdapter adapter = getViewAdapter(markerView);
+      if (adapter != null) {
+        symbolIconCache.remove(adapter.getSymbolKey(markerView));
+      }
+      markerView.setSymbolIcon(obtainSymbolIcon(markerView));
     }
   }
 
@@ -279,12 +432,9 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
    */
   public void deselect(@NonNull MarkerView marker, boolean callbackToMap) {
     final View convertView = markerViewMap.get(marker);
-    if (convertView != null) {
-      for (MapboxMap.MarkerViewAdapter adapter : markerViewAdapters) {
-        if (adapter.getMarkerClass().equals(marker.getClass())) {
-          adapter.onDeselect(marker, convertView);
-        }
-      }
+    MapboxMap.MarkerViewAdapter adapter = getViewAdapter(marker);
+    if (convertView != null && adapter != null) {
+      adapter.onDeselect(marker, convertView);
     }
     if (callbackToMap) {
       mapboxMap.deselectMarker(marker);
@@ -309,10 +459,9 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
    */
   public void select(@NonNull MarkerView marker, boolean callbackToMap) {
     final View convertView = markerViewMap.get(marker);
-    for (MapboxMap.MarkerViewAdapter adapter : markerViewAdapters) {
-      if (adapter.getMarkerClass().equals(marker.getClass())) {
-        select(marker, convertView, adapter, callbackToMap);
-      }
+    MapboxMap.MarkerViewAdapter adapter = getViewAdapter(marker);
+    if (adapter != null) {
+      select(marker, convertView, adapter, callbackToMap);
     }
   }
 
@@ -377,13 +526,7 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
    */
   @Nullable
   public MapboxMap.MarkerViewAdapter getViewAdapter(MarkerView markerView) {
-    MapboxMap.MarkerViewAdapter adapter = null;
-    for (MapboxMap.MarkerViewAdapter a : markerViewAdapters) {
-      if (a.getMarkerClass().equals(markerView.getClass())) {
-        adapter = a;
-      }
-    }
-    return adapter;
+    return markerViewAdapterMap.get(markerView.getClass());
   }
 
   /**
@@ -399,17 +542,17 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
    */
   public void removeMarkerView(MarkerView marker) {
     final View viewHolder = markerViewMap.get(marker);
-    if (viewHolder != null && marker != null) {
-      for (final MapboxMap.MarkerViewAdapter<?> adapter : markerViewAdapters) {
-        if (adapter.getMarkerClass().equals(marker.getClass())) {
-          if (adapter.prepareViewForReuse(marker, viewHolder)) {
-            // reset offset for reuse
-            marker.setOffset(MapboxConstants.UNMEASURED, MapboxConstants.UNMEASURED);
-            adapter.releaseView(viewHolder);
-          }
-        }
+    final MapboxMap.MarkerViewAdapter<?> adapter = marker != null ? getViewAdapter(marker) : null;
+    if (viewHolder != null && adapter != null) {
+      if (adapter.prepareViewForReuse(marker, viewHolder)) {
+        // reset offset for reuse
+        marker.setOffset(MapboxConstants.UNMEASURED, MapboxConstants.UNMEASURED);
+        adapter.releaseView(viewHolder);
       }
     }
+    if (symbolMarkers.remove(marker)) {
+      marker.setSymbolIcon(null);
+    }
     marker.setMapboxMap(null);
     markerViewMap.remove(marker);
   }
@@ -429,6 +572,7 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
 
     if (!markerViewAdapters.contains(markerViewAdapter)) {
       markerViewAdapters.add(markerViewAdapter);
+      markerViewAdapterMap.put(markerViewAdapter.getMarkerClass(), markerViewAdapter);
       invalidateViewMarkersInVisibleRegion();
     }
   }
@@ -480,73 +624,299 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
   public void invalidateViewMarkersInVisibleRegion() {
     RectF mapViewRect = new RectF(0, 0, markerViewContainer.getWidth(), markerViewContainer.getHeight());
     List<MarkerView> markers = mapboxMap.getMarkerViewsInRect(mapViewRect);
+    List<MarkerView> symbolMarkersInRect = null;
+    if (isSymbolFallbackEnabled()) {
+      symbolMarkersInRect = new ArrayList<>();
+      markers = partitionMarkers(markers, symbolMarkersInRect);
+    }
+    Set<MarkerView> visibleMarkers = new HashSet<>(markers);
+    MapboxMap.MarkerViewAdapter adapter;
     View convertView;
 
     // remove old markers
     Iterator<MarkerView> iterator = markerViewMap.keySet().iterator();
     while (iterator.hasNext()) {
       MarkerView marker = iterator.next();
-      if (!markers.contains(marker)) {
+      adapter = getViewAdapter(marker);
+      if (!visibleMarkers.contains(marker) && adapter != null) {
         // remove marker
         convertView = markerViewMap.get(marker);
-        for (MapboxMap.MarkerViewAdapter adapter : markerViewAdapters) {
-          if (adapter.getMarkerClass().equals(marker.getClass())) {
-            adapter.prepareViewForReuse(marker, convertView);
-            adapter.releaseView(convertView);
-            iterator.remove();
+        adapter.prepareViewForReuse(marker, convertView);
+        adapter.releaseView(convertView);
+        iterator.remove();
+      }
+    }
+
+    // symbol icon changes below each update a marker, apply them at once
+    mapboxMap.beginUpdates();
+    try {
+      introduceViewMarkers(markers);
+      if (symbolMarkersInRect != null) {
+        updateSymbolMarkers(symbolMarkersInRect);
+      }
+    } finally {
+      mapboxMap.commitUpdates();
+    }
+
+    // trigger update to make newly added ViewMarker visible,
+    // these would only be updated when the map is moved.
+    updateMarkerViewsPosition();
+  }
+
+  /**
+   * Shows the MarkerViews that aren't shown yet as View, promoting MarkerViews drawn as symbol back to a View.
+   *
+   * @param markers the MarkerViews shown as View
+   */
+  private void introduceViewMarkers(List<MarkerView> markers) {
+    MapboxMap.MarkerViewAdapter adapter;
+    View convertView;
+    long inflationDeadline = clock.nanoTime() + INFLATION_BUDGET_NANOS;
+    int inflatedCount = 0;
+    List<MarkerView> deferredMarkers = null;
+    for (final MarkerView marker : markers) {
+      adapter = getViewAdapter(marker);
+      if (markerViewMap.containsKey(marker) || adapter == null) {
+        continue;
+      }
+
+      if (symbolMarkers.remove(marker)) {
+        // promoted back to a View
+        marker.setSymbolIcon(null);
+      }
+
+      convertView = (View) adapter.getViewReusePool().acquire();
+      if (convertView == null) {
+        if (inflatedCount > 0 && clock.nanoTime() > inflationDeadline) {
+          // out of time, the view is created ahead of the next invalidation
+          if (deferredMarkers == null) {
+            deferredMarkers = new ArrayList<>();
+          }
+          deferredMarkers.add(marker);
+          continue;
+        }
+        inflatedCount++;
+      }
+
+      // Inflate View
+      final View adaptedView = adapter.getView(marker, convertView, markerViewContainer);
+      if (adaptedView != null) {
+        adaptedView.setRotationX(marker.getTilt());
+        adaptedView.setRotation(marker.getRotation());
+        adaptedView.setAlpha(marker.getAlpha());
+        adaptedView.setVisibility(View.GONE);
+
+        if (mapboxMap.getSelectedMarkers().contains(marker)) {
+          // if a marker to be shown was selected
+          // replay that animation with duration 0
+          if (adapter.onSelect(marker, adaptedView, true)) {
+            mapboxMap.selectMarker(marker);
           }
         }
+
+        marker.setMapboxMap(mapboxMap);
+        markerViewMap.put(marker, adaptedView);
+        if (convertView == null) {
+          adaptedView.setVisibility(View.GONE);
+          markerViewContainer.addView(adaptedView);
+        }
+      }
+
+      // notify listener is marker view is rendered
+      OnMarkerViewAddedListener onViewAddedListener = markerViewAddedListenerMap.get(marker.getId());
+      if (onViewAddedListener != null) {
+        onViewAddedListener.onViewAdded(marker);
+        markerViewAddedListenerMap.remove(marker.getId());
       }
     }
 
-    // introduce new markers
-    for (final MarkerView marker : markers) {
-      if (!markerViewMap.containsKey(marker)) {
-        for (final MapboxMap.MarkerViewAdapter adapter : markerViewAdapters) {
-          if (adapter.getMarkerClass().equals(marker.getClass())) {
-
-            // Inflate View
-            convertView = (View) adapter.getViewReusePool().acquire();
-            final View adaptedView = adapter.getView(marker, convertView, markerViewContainer);
-            if (adaptedView != null) {
-              adaptedView.setRotationX(marker.getTilt());
-              adaptedView.setRotation(marker.getRotation());
-              adaptedView.setAlpha(marker.getAlpha());
-              adaptedView.setVisibility(View.GONE);
-
-              if (mapboxMap.getSelectedMarkers().contains(marker)) {
-                // if a marker to be shown was selected
-                // replay that animation with duration 0
-                if (adapter.onSelect(marker, adaptedView, true)) {
-                  mapboxMap.selectMarker(marker);
-                }
-              }
-
-              marker.setMapboxMap(mapboxMap);
-              markerViewMap.put(marker, adaptedView);
-              if (convertView == null) {
-                adaptedView.setVisibility(View.GONE);
-                markerViewContainer.addView(adaptedView);
-              }
-            }
-
-            // notify listener is marker view is rendered
-            OnMarkerViewAddedListener onViewAddedListener = markerViewAddedListenerMap.get(marker.getId());
-            if (onViewAddedListener != null) {
-              onViewAddedListener.onViewAdded(marker);
-              markerViewAddedListenerMap.remove(marker.getId());
-            }
+    if (deferredMarkers == null) {
+      // clear map, don't keep references to MarkerView listeners that are not found in the bounds of the map.
+      markerViewAddedListenerMap.clear();
+    } else {
+      retainOnMarkerViewAddedListeners(deferredMarkers);
+      preInflateViews(deferredMarkers);
+    }
+  }
+
+  /**
+   * Splits the MarkerViews in the visible region in MarkerViews shown as View and MarkerViews drawn as symbol.
+   *
+   * @param markers          the MarkerViews in the visible region
+   * @param symbolMarkerList the list to add the MarkerViews drawn as symbol to
+   * @return the MarkerViews shown as View
+   */
+  private List<MarkerView> partitionMarkers(List<MarkerView> markers, List<MarkerView> symbolMarkerList) {
+    List<MarkerView> viewMarkers = new ArrayList<>();
+    List<MarkerView> candidates = new ArrayList<>();
+    final Map<MarkerView, Float> distances = new HashMap<>();
+    float centerX = focusArea != null ? focusArea.centerX() : markerViewContainer.getWidth() / 2f;
+    float centerY = focusArea != null ? focusArea.centerY() : markerViewContainer.getHeight() / 2f;
+    Projection projection = mapboxMap.getProjection();
+    for (MarkerView marker : markers) {
+      if (marker.isSelected()) {
+        viewMarkers.add(marker);
+        continue;
+      }
+
+      PointF point = projection.toScreenLocation(marker.getPosition());
+      if (focusArea != null && !focusArea.contains(point.x, point.y)) {
+        symbolMarkerList.add(marker);
+        continue;
+      }
+
+      distances.put(marker, (float) Math.hypot(point.x - centerX, point.y - centerY));
+      candidates.add(marker);
+    }
+
+    int availableCount = Math.max(0, maxViewCount - viewMarkers.size());
+    if (candidates.size() > availableCount) {
+      Collections.sort(candidates, new Comparator<MarkerView>() {
+        @Override
+        public int compare(MarkerView first, MarkerView second) {
+          return Float.compare(distances.get(first), distances.get(second));
+        }
+      });
+      symbolMarkerList.addAll(candidates.subList(availableCount, candidates.size()));
+      candidates = candidates.subList(0, availableCount);
+    }
+    viewMarkers.addAll(candidates);
+    return viewMarkers;
+  }
+
+  private void updateSymbolMarkers(List<MarkerView> markers) {
+    long rasterizationDeadline = clock.nanoTime() + INFLATION_BUDGET_NANOS;
+    boolean deferred = false;
+    for (MarkerView marker : markers) {
+      if (!marker.isVisible()) {
+        marker.setSymbolIcon(null);
+        continue;
+      }
+
+      if (marker.getSymbolIcon() != null) {
+        continue;
+      }
+
+      MapboxMap.MarkerViewAdapter adapter = getViewAdapter(marker);
+      if (adapter == null) {
+        continue;
+      }
+
+      if (!symbolIconCache.containsKey(adapter.getSymbolKey(marker)) && clock.nanoTime() > rasterizationDeadline) {
+        // out of time, rasterized on the next frame
+        deferred = true;
+        continue;
+      }
+
+      symbolMarkers.add(marker);
+      marker.setMapboxMap(mapboxMap);
+      marker.setSymbolIcon(obtainSymbolIcon(marker));
+    }
+
+    if (deferred) {
+      markerViewContainer.post(new Runnable() {
+        @Override
+        public void run() {
+          if (enabled && mapboxMap != null) {
+            invalidateViewMarkersInVisibleRegion();
           }
         }
+      });
+    }
+  }
+
+  @Nullable
+  private Icon obtainSymbolIcon(MarkerView marker) {
+    MapboxMap.MarkerViewAdapter adapter = getViewAdapter(marker);
+    if (adapter == null) {
+      return null;
+    }
+
+    Object key = adapter.getSymbolKey(marker);
+    Icon icon = symbolIconCache.get(key);
+    if (icon == null) {
+      icon = createSymbolIcon(marker, adapter);
+      if (icon != null) {
+        symbolIconCache.put(key, icon);
+      }
+    }
+    // keys are weakly cached, the MarkerView references its key while drawn with the icon
+    marker.setSymbolKey(icon != null ? key : null);
+    return icon;
+  }
+
+  /**
+   * Rasterizes the View of a MarkerView into an icon the map draws centered on the position of the MarkerView.
+   */
+  @Nullable
+  private Icon createSymbolIcon(MarkerView marker, MapboxMap.MarkerViewAdapter adapter) {
+    View convertView = (View) adapter.getViewReusePool().acquire();
+    View view = adapter.getView(marker, convertView, markerViewContainer);
+    if (view == null) {
+      return null;
+    }
+
+    Bitmap bitmap = null;
+    view.measure(View.MeasureSpec.UNSPECIFIED, View.MeasureSpec.UNSPECIFIED);
+    int width = view.getMeasuredWidth();
+    int height = view.getMeasuredHeight();
+    if (width > 0 && height > 0) {
+      view.layout(0, 0, width, height);
+      // icons are centered on their position, pad the bitmap to move the anchor to its center
+      float anchorX = marker.getAnchorU() * width;
+      float anchorY = marker.getAnchorV() * height;
+      int bitmapWidth = (int) Math.ceil(2 * Math.max(anchorX, width - anchorX));
+      int bitmapHeight = (int) Math.ceil(2 * Math.max(anchorY, height - anchorY));
+      bitmap = Bitmap.createBitmap(bitmapWidth, bitmapHeight, Bitmap.Config.ARGB_8888);
+      Canvas canvas = new Canvas(bitmap);
+      canvas.translate(bitmapWidth / 2f - anchorX, bitmapHeight / 2f - anchorY);
+      view.draw(canvas);
+    }
+
+    adapter.prepareViewForReuse(marker, view);
+    if (view.getParent() == null) {
+      view.setVisibility(View.GONE);
+      if (adapter.getViewReusePool().release(view)) {
+        markerViewContainer.addView(view);
+      }
+    } else {
+      adapter.releaseView(view);
+    }
+
+    if (bitmap == null) {
+      return null;
+    }
+    return IconFactory.recreate(IconFactory.ICON_MARKERVIEW_ID + "_symbol_" + ++symbolIconCount, bitmap);
+  }
+
+  private void retainOnMarkerViewAddedListeners(List<MarkerView> markers) {
+    LongSparseArray<OnMarkerViewAddedListener> listeners = new LongSparseArray<>();
+    for (MarkerView marker : markers) {
+      OnMarkerViewAddedListener listener = markerViewAddedListenerMap.get(marker.getId());
+      if (listener != null) {
+        listeners.put(marker.getId(), listener);
       }
     }
 
-    // clear map, don't keep references to MarkerView listeners that are not found in the bounds of the map.
     markerViewAddedListenerMap.clear();
+    for (int i = 0; i < listeners.size(); i++) {
+      markerViewAddedListenerMap.put(listeners.keyAt(i), listeners.valueAt(i));
+    }
+  }
 
-    // trigger update to make newly added ViewMarker visible,
-    // these would only be updated when the map is moved.
-    updateMarkerViewsPosition();
+  private void preInflateViews(List<MarkerView> markers) {
+    Map<MapboxMap.MarkerViewAdapter, Integer> viewCounts = new HashMap<>();
+    for (MarkerView marker : markers) {
+      MapboxMap.MarkerViewAdapter adapter = getViewAdapter(marker);
+      Integer count = viewCounts.get(adapter);
+      viewCounts.put(adapter, count != null ? count + 1 : 1);
+    }
+
+    for (Map.Entry<MapboxMap.MarkerViewAdapter, Integer> entry : viewCounts.entrySet()) {
+      MapboxMap.MarkerViewAdapter adapter = entry.getKey();
+      int count = Math.min(entry.getValue(), adapter.getViewPoolSize());
+      preInflater.request(adapter, markerViewContainer, count, onViewsInflatedCallback);
+    }
   }
 
   /**
@@ -588,12 +958,10 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
     if (markerViewMap.containsKey(marker)) {
       view = markerViewMap.get(marker);
     } else {
-      for (final MapboxMap.MarkerViewAdapter adapter : markerViewAdapters) {
-        if (adapter.getMarkerClass().equals(marker.getClass())) {
-          View convertView = (View) adapter.getViewReusePool().acquire();
-          view = adapter.getView(marker, convertView, markerViewContainer);
-          break;
-        }
+      MapboxMap.MarkerViewAdapter adapter = getViewAdapter(marker);
+      if (adapter != null) {
+        View convertView = (View) adapter.getViewReusePool().acquire();
+        view = adapter.getView(marker, convertView, markerViewContainer);
       }
     }
 
@@ -646,23 +1014,70 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
     @Nullable
     @Override
     public View getView(@NonNull MarkerView marker, @Nullable View convertView, @NonNull ViewGroup parent) {
-      ViewHolder viewHolder;
       if (convertView == null) {
-        viewHolder = new ViewHolder();
-        convertView = inflater.inflate(R.layout.mapbox_view_image_marker, parent, false);
-        viewHolder.imageView = (ImageView) convertView.findViewById(R.id.image);
-        convertView.setTag(viewHolder);
-      } else {
-        viewHolder = (ViewHolder) convertView.getTag();
+        convertView = createView(parent);
       }
+      ViewHolder viewHolder = (ViewHolder) convertView.getTag();
       viewHolder.imageView.setImageBitmap(marker.getIcon().getBitmap());
       viewHolder.imageView.setContentDescription(marker.getTitle());
       return convertView;
     }
 
+    @NonNull
+    @Override
+    public Object getSymbolKey(@NonNull MarkerView marker) {
+      // MarkerViews showing the same bitmap with the same anchor share their symbol
+      return new SymbolKey(marker.getIcon().getBitmap(), marker.getAnchorU(), marker.getAnchorV());
+    }
+
+    @NonNull
+    @Override
+    public View createView(@NonNull ViewGroup parent) {
+      ViewHolder viewHolder = new ViewHolder();
+      View view = inflater.inflate(R.layout.mapbox_view_image_marker, parent, false);
+      viewHolder.imageView = (ImageView) view.findViewById(R.id.image);
+      view.setTag(viewHolder);
+      return view;
+    }
+
     private static class ViewHolder {
       ImageView imageView;
     }
+
+    private static class SymbolKey {
+      private final Bitmap bitmap;
+      private final float anchorU;
+      private final float anchorV;
+
+      SymbolKey(Bitmap bitmap, float anchorU, float anchorV) {
+        this.bitmap = bitmap;
+        this.anchorU = anchorU;
+        this.anchorV = anchorV;
+      }
+
+      @Override
+      public boolean equals(Object o) {
+        if (this == o) {
+          return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+          return false;
+        }
+
+        SymbolKey symbolKey = (SymbolKey) o;
+        return bitmap == symbolKey.bitmap
+          && Float.compare(symbolKey.anchorU, anchorU) == 0
+          && Float.compare(symbolKey.anchorV, anchorV) == 0;
+      }
+
+      @Override
+      public int hashCode() {
+        int result = System.identityHashCode(bitmap);
+        result = 31 * result + (anchorU != +0.0f ? Float.floatToIntBits(anchorU) : 0);
+        result = 31 * result + (anchorV != +0.0f ? Float.floatToIntBits(anchorV) : 0);
+        return result;
+      }
+    }
   }
 
   /**
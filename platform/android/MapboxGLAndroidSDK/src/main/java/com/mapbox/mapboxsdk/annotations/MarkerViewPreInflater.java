@@ -0,0 +1,199 @@
+package com.mapbox.mapboxsdk.annotations;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import android.support.annotation.NonNull;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.mapbox.mapboxsdk.maps.MapboxMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import timber.log.Timber;
+
+/**
+ * Creates the Views of MarkerViews ahead of time on a background thread.
+ * <p>
+ * Views are created with {@link MapboxMap.MarkerViewAdapter#createView(ViewGroup)} and delivered on the main thread,
+ * where they are added to the reuse pool of the adapter. The background thread is started on demand and stopped when
+ * no more views are requested.
+ * </p>
+ */
+class MarkerViewPreInflater {
+
+  interface Callback {
+
+    /**
+     * Invoked on the main thread with the views created for an adapter.
+     *
+     * @param adapter the adapter the views were created with
+     * @param views   the created views, empty if the adapter doesn't support pre-inflation
+     */
+    void onViewsInflated(@NonNull MapboxMap.MarkerViewAdapter adapter, @NonNull List<View> views);
+  }
+
+  /**
+   * The background thread views are created on.
+   */
+  interface Worker {
+
+    void start();
+
+    void post(@NonNull Runnable runnable);
+
+    void quit();
+  }
+
+  private final Worker worker;
+  private final Executor mainThread;
+  private final Map<MapboxMap.MarkerViewAdapter, Integer> pendingCounts = new HashMap<>();
+  private boolean started;
+
+  MarkerViewPreInflater() {
+    this(new HandlerThreadWorker(), new MainThreadExecutor());
+  }
+
+  MarkerViewPreInflater(@NonNull Worker worker, @NonNull Executor mainThread) {
+    this.worker = worker;
+    this.mainThread = mainThread;
+  }
+
+  /**
+   * Requests views for an adapter, views that are already requested and not yet delivered are taken into account.
+   *
+   * @param adapter  the adapter to create the views with
+   * @param parent   the parent the views will be added to
+   * @param count    the amount of views required
+   * @param callback the callback invoked with the created views
+   */
+  void request(@NonNull final MapboxMap.MarkerViewAdapter adapter, @NonNull final ViewGroup parent, int count,
+               @NonNull final Callback callback) {
+    Integer pendingCount = pendingCounts.get(adapter);
+    final int missingCount = count - (pendingCount != null ? pendingCount : 0);
+    if (missingCount <= 0) {
+      return;
+    }
+
+    pendingCounts.put(adapter, count);
+    if (!started) {
+      worker.start();
+      started = true;
+    }
+
+    worker.post(new Runnable() {
+      @Override
+      public void run() {
+        final List<View> views = inflate(adapter, parent, missingCount);
+        mainThread.execute(new Runnable() {
+          @Override
+          public void run() {
+            if (onInflated(adapter, missingCount)) {
+              callback.onViewsInflated(adapter, views);
+            }
+          }
+        });
+      }
+    });
+  }
+
+  /**
+   * Returns the amount of views requested for an adapter that are not yet delivered.
+   *
+   * @param adapter the adapter the views are requested for
+   * @return the amount of pending views
+   */
+  int getPendingCount(@NonNull MapboxMap.MarkerViewAdapter adapter) {
+    Integer pendingCount = pendingCounts.get(adapter);
+    return pendingCount != null ? pendingCount : 0;
+  }
+
+  /**
+   * Stops the background thread, views that are still being created are not delivered.
+   */
+  void release() {
+    pendingCounts.clear();
+    if (started) {
+      worker.quit();
+      started = false;
+    }
+  }
+
+  private static List<View> inflate(MapboxMap.MarkerViewAdapter adapter, ViewGroup parent, int count) {
+    List<View> views = new ArrayList<>(count);
+    try {
+      for (int i = 0; i < count; i++) {
+        View view = adapter.createView(parent);
+        if (view == null) {
+          break;
+        }
+        views.add(view);
+      }
+    } catch (RuntimeException exception) {
+      // eg. a layout that requires the main thread, the remaining views are created by getView
+      Timber.e(exception, "Exception while pre-inflating MarkerView views");
+    }
+    return views;
+  }
+
+  private boolean onInflated(MapboxMap.MarkerViewAdapter adapter, int count) {
+    Integer pendingCount = pendingCounts.get(adapter);
+    if (pendingCount == null) {
+      // released in the meantime
+      return false;
+    }
+
+    if (pendingCount > count) {
+      pendingCounts.put(adapter, pendingCount - count);
+      return true;
+    }
+
+    pendingCounts.remove(adapter);
+    if (pendingCounts.isEmpty()) {
+      worker.quit();
+      started = false;
+    }
+    return true;
+  }
+
+  private static class HandlerThreadWorker implements Worker {
+
+    private HandlerThread thread;
+    private Handler handler;
+
+    @Override
+    public void start() {
+      thread = new HandlerThread("MarkerViewInflater", Process.THREAD_PRIORITY_BACKGROUND);
+      thread.start();
+      handler = new Handler(thread.getLooper());
+    }
+
+    @Override
+    public void post(@NonNull Runnable runnable) {
+      handler.post(runnable);
+    }
+
+    @Override
+    public void quit() {
+      thread.quit();
+      thread = null;
+      handler = null;
+    }
+  }
+
+  private static class MainThreadExecutor implements Executor {
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    @Override
+    public void execute(@NonNull Runnable runnable) {
+      handler.post(runnable);
+    }
+  }
+}
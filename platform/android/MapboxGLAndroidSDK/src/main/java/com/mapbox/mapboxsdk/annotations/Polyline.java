@@ -2,8 +2,11 @@ package com.mapbox.mapboxsdk.annotations;
 
 import android.graphics.Color;
 
+import com.mapbox.mapboxsdk.geometry.LatLng;
 import com.mapbox.mapboxsdk.maps.MapboxMap;
 
+import java.util.List;
+
 /**
  * Polyline is a geometry feature with an unclosed list of coordinates drawn as a line
  */
@@ -11,6 +14,8 @@ public final class Polyline extends BasePointCollection {
 
   private int color = Color.BLACK; // default color is black
   private float width = 10; // As specified by Google API Docs (in pixels)
+  private int maxPointCount; // 0 is unlimited
+  private boolean simplifyBeyondMaxPointCount;
 
   Polyline() {
     super();
@@ -54,6 +59,74 @@ public final class Polyline extends BasePointCollection {
     update();
   }
 
+  /**
+   * Gets the maximum amount of points of this polyline.
+   *
+   * @return the maximum amount of points, 0 if unlimited
+   */
+  public int getMaxPointCount() {
+    return maxPointCount;
+  }
+
+  /**
+   * Limits the amount of points of this polyline, for lines that grow continuously through
+   * {@link #addPoint(LatLng)}, eg. a track of user locations.
+   * <p>
+   * Adding a point beyond the limit either drops the oldest quarter of the points, or, when simplifying, every second
+   * point except for the first and the last one, which keeps the full extent of the line at a lower resolution. Both
+   * are done in bulk, so that the whole line only needs to be transferred to the renderer occasionally.
+   * </p>
+   *
+   * @param maxPointCount the maximum amount of points, 0 for unlimited
+   * @param simplify      true to simplify the line, false to drop the oldest points
+   */
+  public void setMaxPointCount(int maxPointCount, boolean simplify) {
+    if (maxPointCount < 0) {
+      throw new IllegalArgumentException("maxPointCount must not be negative");
+    }
+    this.maxPointCount = maxPointCount;
+    this.simplifyBeyondMaxPointCount = simplify;
+    if (limitPoints()) {
+      update();
+    }
+  }
+
+  @Override
+  void onPointAdded(LatLng point) {
+    if (limitPoints()) {
+      update();
+      return;
+    }
+
+    MapboxMap mapboxMap = getMapboxMap();
+    if (mapboxMap != null) {
+      mapboxMap.updatePolylineAddedPoint(this, point);
+    }
+  }
+
+  private boolean limitPoints() {
+    List<LatLng> points = getPointList();
+    if (maxPointCount == 0 || points.size() <= maxPointCount) {
+      return false;
+    }
+
+    if (simplifyBeyondMaxPointCount && maxPointCount > 2) {
+      while (points.size() > maxPointCount) {
+        int last = points.size() - 1;
+        int kept = 1;
+        for (int i = 2; i < last; i += 2) {
+          points.set(kept++, points.get(i));
+        }
+        points.set(kept++, points.get(last));
+        points.subList(kept, points.size()).clear();
+      }
+    } else {
+      int keep = maxPointCount - maxPointCount / 4;
+      points.subList(0, points.size() - keep).clear();
+    }
+    return true;
+  }
+
   @Override
   void update() {
     MapboxMap mapboxMap = getMapboxMap();
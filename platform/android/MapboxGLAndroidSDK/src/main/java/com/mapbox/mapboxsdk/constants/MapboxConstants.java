@@ -47,6 +47,11 @@ public class MapboxConstants {
    */
   public static final long VELOCITY_THRESHOLD_IGNORE_FLING = 1000;
 
+  /**
+   * Frame rate of MyLocationView animations in low power mode
+   */
+  public static final int LOW_POWER_ANIMATION_FRAME_RATE = 10;
+
   /**
    * The currently supported minimum zoom level.
    */
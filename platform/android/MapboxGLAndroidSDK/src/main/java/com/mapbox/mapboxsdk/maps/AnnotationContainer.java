@@ -6,7 +6,6 @@ import android.support.v4.util.LongSparseArray;
 
 import com.mapbox.mapboxsdk.annotations.Annotation;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -27,15 +26,6 @@ class AnnotationContainer implements Annotations {
     return annotations.get(id);
   }
 
-  @Override
-  public List<Annotation> obtainAll() {
-    List<Annotation> annotations = new ArrayList<>();
-    for (int i = 0; i < this.annotations.size(); i++) {
-      annotations.add(this.annotations.get(this.annotations.keyAt(i)));
-    }
-    return annotations;
-  }
-
   @Override
   public void removeBy(long id) {
     if (nativeMapView != null) {
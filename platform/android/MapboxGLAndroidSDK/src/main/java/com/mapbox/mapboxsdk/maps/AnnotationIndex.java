@@ -0,0 +1,385 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.support.annotation.NonNull;
+import android.support.v4.util.LongSparseArray;
+
+import com.mapbox.mapboxsdk.annotations.Annotation;
+import com.mapbox.mapboxsdk.annotations.BasePointCollection;
+import com.mapbox.mapboxsdk.annotations.Marker;
+import com.mapbox.mapboxsdk.annotations.Polygon;
+import com.mapbox.mapboxsdk.annotations.Polyline;
+import com.mapbox.mapboxsdk.geometry.LatLng;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Indexes the annotations added to the map by type and by geographic bounds.
+ * <p>
+ * Every annotation type is kept in its own collection, exposed as live read-only views that don't copy the underlying
+ * store. Bounds queries are answered from a uniform grid over the annotation bounds, annotations spanning many cells
+ * are kept aside and tested on every query.
+ * </p>
+ */
+class AnnotationIndex {
+
+  // roughly 0.35 degrees per cell
+  private static final int COLUMNS = 1024;
+  private static final int ROWS = 512;
+  private static final int MAX_CELLS_PER_ENTRY = 16;
+
+  private final LongSparseArray<Entry> entries = new LongSparseArray<>();
+  private final LongSparseArray<List<Entry>> cells = new LongSparseArray<>();
+  private final List<Entry> largeEntries = new ArrayList<>();
+
+  private final LongSparseArray<Marker> markers = new LongSparseArray<>();
+  private final LongSparseArray<Polyline> polylines = new LongSparseArray<>();
+  private final LongSparseArray<Polygon> polygons = new LongSparseArray<>();
+
+  private final AnnotationList<Annotation> annotationList;
+  private final AnnotationList<Marker> markerList = new AnnotationList<>(markers);
+  private final AnnotationList<Polyline> polylineList = new AnnotationList<>(polylines);
+  private final AnnotationList<Polygon> polygonList = new AnnotationList<>(polygons);
+
+  private int queryStamp;
+
+  AnnotationIndex(LongSparseArray<Annotation> annotations) {
+    annotationList = new AnnotationList<>(annotations);
+  }
+
+  void add(@NonNull Annotation annotation) {
+    long id = annotation.getId();
+    if (id == -1) {
+      // not added to the map
+      return;
+    }
+
+    remove(id);
+    if (annotation instanceof Marker) {
+      markers.put(id, (Marker) annotation);
+    } else if (annotation instanceof Polyline) {
+      polylines.put(id, (Polyline) annotation);
+    } else if (annotation instanceof Polygon) {
+      polygons.put(id, (Polygon) annotation);
+    }
+
+    Entry entry = new Entry(annotation);
+    entries.put(id, entry);
+    if (entry.computeBounds()) {
+      insert(entry);
+    }
+    onModified();
+  }
+
+  void add(@NonNull List<? extends Annotation> annotationList) {
+    for (int i = 0; i < annotationList.size(); i++) {
+      add(annotationList.get(i));
+    }
+  }
+
+  /**
+   * Reindexes an annotation whose geometry changed.
+   *
+   * @param annotation the updated annotation
+   */
+  void update(@NonNull Annotation annotation) {
+    Entry entry = entries.get(annotation.getId());
+    if (entry == null || entry.annotation != annotation) {
+      add(annotation);
+      return;
+    }
+
+    erase(entry);
+    if (entry.computeBounds()) {
+      insert(entry);
+    }
+  }
+
+  /**
+   * Grows the indexed bounds of a polyline by a single appended point.
+   *
+   * @param polyline the polyline the point was added to
+   * @param point    the added point
+   */
+  void extend(@NonNull Polyline polyline, @NonNull LatLng point) {
+    Entry entry = entries.get(polyline.getId());
+    if (entry == null || !entry.hasBounds) {
+      update(polyline);
+      return;
+    }
+
+    if (entry.contains(point)) {
+      return;
+    }
+
+    erase(entry);
+    entry.include(point);
+    insert(entry);
+  }
+
+  void remove(long id) {
+    Entry entry = entries.get(id);
+    if (entry == null) {
+      return;
+    }
+
+    erase(entry);
+    entries.remove(id);
+    markers.remove(id);
+    polylines.remove(id);
+    polygons.remove(id);
+    onModified();
+  }
+
+  void remove(@NonNull List<? extends Annotation> annotationList) {
+    for (int i = 0; i < annotationList.size(); i++) {
+      remove(annotationList.get(i).getId());
+    }
+  }
+
+  void clear() {
+    entries.clear();
+    cells.clear();
+    largeEntries.clear();
+    markers.clear();
+    polylines.clear();
+    polygons.clear();
+    onModified();
+  }
+
+  List<Annotation> getAnnotations() {
+    return annotationList;
+  }
+
+  List<Marker> getMarkers() {
+    return markerList;
+  }
+
+  List<Polyline> getPolylines() {
+    return polylineList;
+  }
+
+  List<Polygon> getPolygons() {
+    return polygonList;
+  }
+
+  /**
+   * Returns the annotations whose bounds intersect the given bounds.
+   *
+   * @param bounds the bounds to query
+   * @return a new list of the intersecting annotations
+   */
+  List<Annotation> query(@NonNull LatLngBounds bounds) {
+    List<Annotation> result = new ArrayList<>();
+    queryStamp++;
+    double west = bounds.getLonWest();
+    double east = bounds.getLonEast();
+    if (west > east) {
+      // crosses the antimeridian
+      query(bounds.getLatNorth(), 180, bounds.getLatSouth(), west, result);
+      query(bounds.getLatNorth(), east, bounds.getLatSouth(), -180, result);
+    } else {
+      query(bounds.getLatNorth(), east, bounds.getLatSouth(), west, result);
+    }
+    return result;
+  }
+
+  private void query(double north, double east, double south, double west, List<Annotation> result) {
+    int minColumn = column(west);
+    int maxColumn = column(east);
+    int minRow = row(south);
+    int maxRow = row(north);
+    long cellCount = (long) (maxColumn - minColumn + 1) * (maxRow - minRow + 1);
+
+    if (cellCount > entries.size()) {
+      // visiting the cells is more expensive than testing every annotation
+      for (int i = 0; i < entries.size(); i++) {
+        collect(entries.valueAt(i), north, east, south, west, result);
+      }
+      return;
+    }
+
+    for (int row = minRow; row <= maxRow; row++) {
+      for (int column = minColumn; column <= maxColumn; column++) {
+        List<Entry> cell = cells.get(cellKey(column, row));
+        if (cell != null) {
+          for (int i = 0; i < cell.size(); i++) {
+            collect(cell.get(i), north, east, south, west, result);
+          }
+        }
+      }
+    }
+
+    for (int i = 0; i < largeEntries.size(); i++) {
+      collect(largeEntries.get(i), north, east, south, west, result);
+    }
+  }
+
+  private void collect(Entry entry, double north, double east, double south, double west, List<Annotation> result) {
+    if (entry.stamp != queryStamp && entry.intersects(north, east, south, west)) {
+      entry.stamp = queryStamp;
+      result.add(entry.annotation);
+    }
+  }
+
+  private void insert(Entry entry) {
+    int minColumn = column(entry.west);
+    int maxColumn = column(entry.east);
+    int minRow = row(entry.south);
+    int maxRow = row(entry.north);
+    if ((maxColumn - minColumn + 1) * (maxRow - minRow + 1) > MAX_CELLS_PER_ENTRY) {
+      entry.large = true;
+      largeEntries.add(entry);
+      return;
+    }
+
+    for (int row = minRow; row <= maxRow; row++) {
+      for (int column = minColumn; column <= maxColumn; column++) {
+        long key = cellKey(column, row);
+        List<Entry> cell = cells.get(key);
+        if (cell == null) {
+          cell = new ArrayList<>(4);
+          cells.put(key, cell);
+        }
+        cell.add(entry);
+      }
+    }
+  }
+
+  private void erase(Entry entry) {
+    if (!entry.hasBounds) {
+      return;
+    }
+
+    if (entry.large) {
+      entry.large = false;
+      largeEntries.remove(entry);
+      return;
+    }
+
+    for (int row = row(entry.south); row <= row(entry.north); row++) {
+      for (int column = column(entry.west); column <= column(entry.east); column++) {
+        long key = cellKey(column, row);
+        List<Entry> cell = cells.get(key);
+        if (cell != null) {
+          cell.remove(entry);
+          if (cell.isEmpty()) {
+            cells.remove(key);
+          }
+        }
+      }
+    }
+  }
+
+  private void onModified() {
+    annotationList.onModified();
+    markerList.onModified();
+    polylineList.onModified();
+    polygonList.onModified();
+  }
+
+  private static int column(double longitude) {
+    int column = (int) Math.floor((longitude + 180) / 360 * COLUMNS);
+    return Math.max(0, Math.min(COLUMNS - 1, column));
+  }
+
+  private static int row(double latitude) {
+    int row = (int) Math.floor((latitude + 90) / 180 * ROWS);
+    return Math.max(0, Math.min(ROWS - 1, row));
+  }
+
+  private static long cellKey(int column, int row) {
+    return (long) row * COLUMNS + column;
+  }
+
+  private static class Entry {
+
+    private final Annotation annotation;
+    private boolean hasBounds;
+    private boolean large;
+    private int stamp;
+
+    private double north;
+    private double east;
+    private double south;
+    private double west;
+
+    Entry(Annotation annotation) {
+      this.annotation = annotation;
+    }
+
+    boolean computeBounds() {
+      hasBounds = false;
+      if (annotation instanceof Marker) {
+        LatLng position = ((Marker) annotation).getPosition();
+        if (position != null) {
+          include(position);
+        }
+      } else if (annotation instanceof BasePointCollection) {
+        // holes of polygons are within the outer ring
+        List<LatLng> points = ((BasePointCollection) annotation).getPoints();
+        for (int i = 0; i < points.size(); i++) {
+          include(points.get(i));
+        }
+      }
+      return hasBounds;
+    }
+
+    void include(LatLng point) {
+      double latitude = point.getLatitude();
+      double longitude = point.getLongitude();
+      if (!hasBounds) {
+        hasBounds = true;
+        north = south = latitude;
+        east = west = longitude;
+        return;
+      }
+
+      north = Math.max(north, latitude);
+      south = Math.min(south, latitude);
+      east = Math.max(east, longitude);
+      west = Math.min(west, longitude);
+    }
+
+    boolean contains(LatLng point) {
+      return point.getLatitude() <= north && point.getLatitude() >= south
+        && point.getLongitude() <= east && point.getLongitude() >= west;
+    }
+
+    boolean intersects(double north, double east, double south, double west) {
+      return hasBounds && this.south <= north && this.north >= south && this.west <= east && this.east >= west;
+    }
+  }
+
+  /**
+   * Live, read-only list over an annotation store, iterators fail fast when the store is modified.
+   */
+  private static class AnnotationList<T extends Annotation> extends AbstractList<T> implements RandomAccess {
+
+    private final LongSparseArray<T> store;
+
+    AnnotationList(LongSparseArray<T> store) {
+      this.store = store;
+    }
+
+    @Override
+    public T get(int index) {
+      if (index < 0 || index >= store.size()) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + store.size());
+      }
+      return store.valueAt(index);
+    }
+
+    @Override
+    public int size() {
+      return store.size();
+    }
+
+    void onModified() {
+      modCount++;
+    }
+  }
+}
@@ -19,8 +19,11 @@ import com.mapbox.mapboxsdk.annotations.Polygon;
 import com.mapbox.mapboxsdk.annotations.PolygonOptions;
 import com.mapbox.mapboxsdk.annotations.Polyline;
 import com.mapbox.mapboxsdk.annotations.PolylineOptions;
+import com.mapbox.mapboxsdk.geometry.LatLng;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -36,11 +39,13 @@ import java.util.List;
  */
 class AnnotationManager {
 
+  private final NativeMapView nativeMapView;
   private final MapView mapView;
   private final IconManager iconManager;
   private final InfoWindowManager infoWindowManager = new InfoWindowManager();
   private final MarkerViewManager markerViewManager;
   private final LongSparseArray<Annotation> annotationsArray;
+  private final AnnotationIndex annotationIndex;
   private final List<Marker> selectedMarkers = new ArrayList<>();
 
   private MapboxMap mapboxMap;
@@ -53,8 +58,10 @@ class AnnotationManager {
   AnnotationManager(NativeMapView view, MapView mapView, LongSparseArray<Annotation> annotationsArray,
                     MarkerViewManager markerViewManager, IconManager iconManager, Annotations annotations,
                     Markers markers, Polygons polygons, Polylines polylines) {
+    this.nativeMapView = view;
     this.mapView = mapView;
     this.annotationsArray = annotationsArray;
+    this.annotationIndex = new AnnotationIndex(annotationsArray);
     this.markerViewManager = markerViewManager;
     this.iconManager = iconManager;
     this.annotations = annotations;
@@ -77,7 +84,7 @@ class AnnotationManager {
 
   void update() {
     markerViewManager.update();
-    infoWindowManager.update();
+    infoWindowManager.update(mapboxMap.getProjection());
   }
 
   //
@@ -89,11 +96,20 @@ class AnnotationManager {
   }
 
   List<Annotation> getAnnotations() {
-    return annotations.obtainAll();
+    return new ArrayList<>(annotationIndex.getAnnotations());
+  }
+
+  List<Annotation> getAnnotationsView() {
+    return annotationIndex.getAnnotations();
+  }
+
+  List<Annotation> getAnnotationsIn(@NonNull LatLngBounds bounds) {
+    return annotationIndex.query(bounds);
   }
 
   void removeAnnotation(long id) {
     annotations.removeBy(id);
+    annotationIndex.remove(id);
   }
 
   void removeAnnotation(@NonNull Annotation annotation) {
@@ -109,10 +125,13 @@ class AnnotationManager {
       }
     }
     annotations.removeBy(annotation);
+    annotationIndex.remove(annotation.getId());
   }
 
   void removeAnnotations(@NonNull List<? extends Annotation> annotationList) {
-    for (Annotation annotation : annotationList) {
+    // copied, the list can be a view of the annotations that are being removed
+    List<Annotation> removedAnnotations = new ArrayList<Annotation>(annotationList);
+    for (Annotation annotation : removedAnnotations) {
       if (annotation instanceof Marker) {
         Marker marker = (Marker) annotation;
         marker.hideInfoWindow();
@@ -125,7 +144,8 @@ class AnnotationManager {
         }
       }
     }
-    annotations.removeBy(annotationList);
+    annotations.removeBy(removedAnnotations);
+    annotationIndex.remove(removedAnnotations);
   }
 
   void removeAnnotations() {
@@ -145,6 +165,7 @@ class AnnotationManager {
       }
     }
     annotations.removeAll();
+    annotationIndex.clear();
   }
 
   //
@@ -152,19 +173,28 @@ class AnnotationManager {
   //
 
   Marker addMarker(@NonNull BaseMarkerOptions markerOptions, @NonNull MapboxMap mapboxMap) {
-    return markers.addBy(markerOptions, mapboxMap);
+    Marker marker = markers.addBy(markerOptions, mapboxMap);
+    annotationIndex.add(marker);
+    return marker;
   }
 
   List<Marker> addMarkers(@NonNull List<? extends BaseMarkerOptions> markerOptionsList, @NonNull MapboxMap mapboxMap) {
-    return markers.addBy(markerOptionsList, mapboxMap);
+    List<Marker> markerList = markers.addBy(markerOptionsList, mapboxMap);
+    annotationIndex.add(markerList);
+    return markerList;
   }
 
   void updateMarker(@NonNull Marker updatedMarker, @NonNull MapboxMap mapboxMap) {
     markers.update(updatedMarker, mapboxMap);
+    annotationIndex.update(updatedMarker);
   }
 
   List<Marker> getMarkers() {
-    return markers.obtainAll();
+    return new ArrayList<>(annotationIndex.getMarkers());
+  }
+
+  List<Marker> getMarkersView() {
+    return annotationIndex.getMarkers();
   }
 
   @NonNull
@@ -174,12 +204,16 @@ class AnnotationManager {
 
   MarkerView addMarker(@NonNull BaseMarkerViewOptions markerOptions, @NonNull MapboxMap mapboxMap,
                        @Nullable MarkerViewManager.OnMarkerViewAddedListener onMarkerViewAddedListener) {
-    return markers.addViewBy(markerOptions, mapboxMap, onMarkerViewAddedListener);
+    MarkerView markerView = markers.addViewBy(markerOptions, mapboxMap, onMarkerViewAddedListener);
+    annotationIndex.add(markerView);
+    return markerView;
   }
 
   List<MarkerView> addMarkerViews(@NonNull List<? extends BaseMarkerViewOptions> markerViewOptions,
                                   @NonNull MapboxMap mapboxMap) {
-    return markers.addViewsBy(markerViewOptions, mapboxMap);
+    List<MarkerView> markerViews = markers.addViewsBy(markerViewOptions, mapboxMap);
+    annotationIndex.add(markerViews);
+    return markerViews;
   }
 
   List<MarkerView> getMarkerViewsInRect(@NonNull RectF rectangle) {
@@ -188,6 +222,9 @@ class AnnotationManager {
 
   void reloadMarkers() {
     markers.reload();
+    // reloading assigns new ids
+    annotationIndex.clear();
+    annotationIndex.add(annotationIndex.getAnnotations());
   }
 
   //
@@ -195,19 +232,28 @@ class AnnotationManager {
   //
 
   Polygon addPolygon(@NonNull PolygonOptions polygonOptions, @NonNull MapboxMap mapboxMap) {
-    return polygons.addBy(polygonOptions, mapboxMap);
+    Polygon polygon = polygons.addBy(polygonOptions, mapboxMap);
+    annotationIndex.add(polygon);
+    return polygon;
   }
 
   List<Polygon> addPolygons(@NonNull List<PolygonOptions> polygonOptionsList, @NonNull MapboxMap mapboxMap) {
-    return polygons.addBy(polygonOptionsList, mapboxMap);
+    List<Polygon> polygonList = polygons.addBy(polygonOptionsList, mapboxMap);
+    annotationIndex.add(polygonList);
+    return polygonList;
   }
 
   void updatePolygon(Polygon polygon) {
     polygons.update(polygon);
+    annotationIndex.update(polygon);
   }
 
   List<Polygon> getPolygons() {
-    return polygons.obtainAll();
+    return new ArrayList<>(annotationIndex.getPolygons());
+  }
+
+  List<Polygon> getPolygonsView() {
+    return annotationIndex.getPolygons();
   }
 
   //
@@ -215,19 +261,63 @@ class AnnotationManager {
   //
 
   Polyline addPolyline(@NonNull PolylineOptions polylineOptions, @NonNull MapboxMap mapboxMap) {
-    return polylines.addBy(polylineOptions, mapboxMap);
+    Polyline polyline = polylines.addBy(polylineOptions, mapboxMap);
+    annotationIndex.add(polyline);
+    return polyline;
   }
 
   List<Polyline> addPolylines(@NonNull List<PolylineOptions> polylineOptionsList, @NonNull MapboxMap mapboxMap) {
-    return polylines.addBy(polylineOptionsList, mapboxMap);
+    List<Polyline> polylineList = polylines.addBy(polylineOptionsList, mapboxMap);
+    annotationIndex.add(polylineList);
+    return polylineList;
   }
 
   void updatePolyline(Polyline polyline) {
     polylines.update(polyline);
+    annotationIndex.update(polyline);
+  }
+
+  void addPolylinePoint(Polyline polyline, LatLng point) {
+    polylines.addPoint(polyline, point);
+    annotationIndex.extend(polyline, point);
+  }
+
+  void animateMarkers(@NonNull List<? extends Marker> markerList, @NonNull List<LatLng> destinations, long duration,
+                      @Nullable MapboxMap.CancelableCallback callback) {
+    if (markerList.size() != destinations.size()) {
+      throw new IllegalArgumentException("Each marker requires a destination");
+    }
+
+    int count = 0;
+    long[] ids = new long[markerList.size()];
+    double[] latitudes = new double[ids.length];
+    double[] longitudes = new double[ids.length];
+    for (int i = 0; i < markerList.size(); i++) {
+      Marker marker = markerList.get(i);
+      LatLng destination = destinations.get(i);
+      if (marker instanceof MarkerView) {
+        // views aren't rendered by the map, they are moved immediately
+        marker.setPosition(destination);
+        continue;
+      }
+      marker.setAnimationDestination(destination);
+      annotationIndex.update(marker);
+      ids[count] = marker.getId();
+      latitudes[count] = destination.getLatitude();
+      longitudes[count] = destination.getLongitude();
+      count++;
+    }
+
+    nativeMapView.animateMarkers(Arrays.copyOf(ids, count), Arrays.copyOf(latitudes, count),
+      Arrays.copyOf(longitudes, count), duration, callback);
   }
 
   List<Polyline> getPolylines() {
-    return polylines.obtainAll();
+    return new ArrayList<>(annotationIndex.getPolylines());
+  }
+
+  List<Polyline> getPolylinesView() {
+    return annotationIndex.getPolylines();
   }
 
   // TODO Refactor from here still in progress
@@ -252,7 +342,8 @@ class AnnotationManager {
     }
 
     if (infoWindowManager.isInfoWindowValidForMarker(marker) || infoWindowManager.getInfoWindowAdapter() != null) {
-      infoWindowManager.add(marker.showInfoWindow(mapboxMap, mapView));
+      marker.showInfoWindow(mapboxMap, mapView);
+      infoWindowManager.add(marker);
     }
 
     // only add to selected markers if user didn't handle the click event themselves #3176
@@ -0,0 +1,121 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.support.annotation.NonNull;
+import android.support.v4.util.LongSparseArray;
+
+import com.mapbox.mapboxsdk.annotations.Marker;
+import com.mapbox.mapboxsdk.annotations.Polygon;
+import com.mapbox.mapboxsdk.annotations.Polyline;
+
+/**
+ * Collects the annotations updated between {@link MapboxMap#beginUpdates()} and {@link MapboxMap#commitUpdates()}.
+ * <p>
+ * Only the latest state of an annotation is applied, no matter how often it was updated within the batch. Batches can
+ * be nested, the updates are applied when the outermost batch is committed.
+ * </p>
+ */
+class AnnotationUpdateBatch {
+
+  private final LongSparseArray<Marker> markers = new LongSparseArray<>();
+  private final LongSparseArray<Polyline> polylines = new LongSparseArray<>();
+  private final LongSparseArray<Polygon> polygons = new LongSparseArray<>();
+
+  private int depth;
+
+  void begin() {
+    depth++;
+  }
+
+  /**
+   * Ends a batch.
+   *
+   * @return true if the outermost batch ended and the collected updates need to be applied
+   */
+  boolean end() {
+    if (depth == 0) {
+      throw new IllegalStateException("commitUpdates() called without matching beginUpdates()");
+    }
+    return --depth == 0;
+  }
+
+  boolean isActive() {
+    return depth > 0;
+  }
+
+  boolean isEmpty() {
+    return markers.size() == 0 && polylines.size() == 0 && polygons.size() == 0;
+  }
+
+  void add(@NonNull Marker marker) {
+    markers.put(marker.getId(), marker);
+  }
+
+  void add(@NonNull Polyline polyline) {
+    polylines.put(polyline.getId(), polyline);
+  }
+
+  void add(@NonNull Polygon polygon) {
+    polygons.put(polygon.getId(), polygon);
+  }
+
+  /**
+   * Drops pending updates of an annotation that is removed from the map.
+   *
+   * @param id the id of the removed annotation
+   */
+  void remove(long id) {
+    markers.remove(id);
+    polylines.remove(id);
+    polygons.remove(id);
+  }
+
+  void clear() {
+    markers.clear();
+    polylines.clear();
+    polygons.clear();
+  }
+
+  long[] getMarkerIds() {
+    return getIds(markers);
+  }
+
+  Marker[] getMarkers() {
+    Marker[] values = new Marker[markers.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = markers.valueAt(i);
+    }
+    return values;
+  }
+
+  long[] getPolylineIds() {
+    return getIds(polylines);
+  }
+
+  Polyline[] getPolylines() {
+    Polyline[] values = new Polyline[polylines.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = polylines.valueAt(i);
+    }
+    return values;
+  }
+
+  long[] getPolygonIds() {
+    return getIds(polygons);
+  }
+
+  Polygon[] getPolygons() {
+    Polygon[] values = new Polygon[polygons.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = polygons.valueAt(i);
+    }
+    return values;
+  }
+
+  private static long[] getIds(LongSparseArray<?> array) {
+    long[] ids = new long[array.size()];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = array.keyAt(i);
+    }
+    return ids;
+  }
+}
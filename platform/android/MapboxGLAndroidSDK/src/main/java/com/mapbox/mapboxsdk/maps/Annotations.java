@@ -13,8 +13,6 @@ import java.util.List;
 interface Annotations {
   Annotation obtainBy(long id);
 
-  List<Annotation> obtainAll();
-
   void removeBy(long id);
 
   void removeBy(@NonNull Annotation annotation);
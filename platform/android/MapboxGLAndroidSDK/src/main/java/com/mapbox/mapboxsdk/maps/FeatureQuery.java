@@ -0,0 +1,77 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.UiThread;
+
+import com.mapbox.services.commons.geojson.Feature;
+
+import java.util.List;
+
+/**
+ * Handle to a feature query that was scheduled with {@link FeatureQueryExecutor}.
+ * <p>
+ * A query that hasn't delivered its result yet can be canceled, a newer query submitted for the same target
+ * cancels an older one automatically. Canceling a query that is executing makes it return early.
+ * </p>
+ */
+public final class FeatureQuery {
+
+  private final Object key;
+  private final long submitTime;
+  @Nullable
+  private final FeatureQuerySnapshot snapshot;
+  private volatile boolean canceled;
+
+  FeatureQuery(@NonNull Object key, @Nullable FeatureQuerySnapshot snapshot, long submitTime) {
+    this.key = key;
+    this.snapshot = snapshot;
+    this.submitTime = submitTime;
+  }
+
+  /**
+   * Cancels this query. If the query hasn't been delivered yet, the callback will not be invoked.
+   */
+  public void cancel() {
+    canceled = true;
+    if (snapshot != null) {
+      snapshot.cancel();
+    }
+  }
+
+  /**
+   * Returns true if this query was canceled, either explicitly or by a newer query for the same target.
+   *
+   * @return true if canceled
+   */
+  public boolean isCanceled() {
+    return canceled;
+  }
+
+  @NonNull
+  Object getKey() {
+    return key;
+  }
+
+  @Nullable
+  FeatureQuerySnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  long getSubmitTime() {
+    return submitTime;
+  }
+
+  /**
+   * Interface definition for a callback to be invoked when an asynchronous feature query completes.
+   */
+  public interface Callback {
+    /**
+     * Called on the main thread with the result of the query.
+     *
+     * @param features the queried features, never null
+     */
+    @UiThread
+    void onFeaturesQueried(@NonNull List<Feature> features);
+  }
+}
@@ -0,0 +1,223 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.UiThread;
+import android.support.annotation.WorkerThread;
+
+import com.mapbox.services.commons.geojson.Feature;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import timber.log.Timber;
+
+/**
+ * Executes feature queries on a worker thread.
+ * <p>
+ * Queries are captured as a {@link FeatureQuerySnapshot} of the render state on the main thread, which only costs
+ * resolving the tiles and layers that are queried. Testing the features of these tiles against the query geometry,
+ * filtering and converting them runs on a background thread, the result is delivered on the main thread. Only the
+ * latest query for a given target is delivered, a newer query cancels an older one that is still pending or running.
+ * </p>
+ * <p>
+ * Query latency, measured from submission until the result is delivered, and the time spent executing queries on the
+ * worker thread are tracked and can be read out with {@link #getAverageLatency()}, {@link #getMaxLatency()} and
+ * {@link #getAverageExecutionTime()}.
+ * </p>
+ */
+public final class FeatureQueryExecutor {
+
+  private static final long KEEP_ALIVE_SECONDS = 30;
+
+  private static FeatureQueryExecutor instance;
+
+  private final Executor workerExecutor;
+  private final Executor mainExecutor;
+
+  // Keyed by the map or source instance that is queried, only accessed on the main thread
+  private final Map<Object, FeatureQuery> pendingQueries = new IdentityHashMap<>();
+
+  private long queryCount;
+  private long canceledCount;
+  private long totalLatencyNanos;
+  private long maxLatencyNanos;
+  private long totalExecutionNanos;
+
+  FeatureQueryExecutor(@NonNull Executor workerExecutor, @NonNull Executor mainExecutor) {
+    this.workerExecutor = workerExecutor;
+    this.mainExecutor = mainExecutor;
+  }
+
+  /**
+   * Get the single instance of the feature query executor.
+   *
+   * @return the feature query executor
+   */
+  public static synchronized FeatureQueryExecutor getInstance() {
+    if (instance == null) {
+      final Handler handler = new Handler(Looper.getMainLooper());
+      instance = new FeatureQueryExecutor(createWorkerExecutor(), new Executor() {
+        @Override
+        public void execute(@NonNull Runnable runnable) {
+          handler.post(runnable);
+        }
+      });
+    }
+    return instance;
+  }
+
+  private static Executor createWorkerExecutor() {
+    // A single thread keeps queries in submission order, it is stopped when no queries were made for a while.
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+      new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+        @Override
+        public Thread newThread(@NonNull final Runnable runnable) {
+          return new Thread(new Runnable() {
+            @Override
+            public void run() {
+              Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+              runnable.run();
+            }
+          }, "FeatureQuery");
+        }
+      });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Schedules a query, canceling a pending query that was submitted with the same key.
+   *
+   * @param key      the query target, eg. a map or a source, compared by identity
+   * @param snapshot the query to execute, null if the target can't be queried
+   * @param callback the callback invoked on the main thread with the result
+   * @return the query handle that can be used to cancel the query
+   */
+  @UiThread
+  @NonNull
+  public FeatureQuery submit(@NonNull Object key, @Nullable FeatureQuerySnapshot snapshot,
+                             @NonNull final FeatureQuery.Callback callback) {
+    FeatureQuery previous = pendingQueries.get(key);
+    if (previous != null) {
+      previous.cancel();
+    }
+
+    final FeatureQuery featureQuery = new FeatureQuery(key, snapshot, System.nanoTime());
+    pendingQueries.put(key, featureQuery);
+    workerExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        execute(featureQuery, callback);
+      }
+    });
+    return featureQuery;
+  }
+
+  @WorkerThread
+  private void execute(@NonNull final FeatureQuery featureQuery, @NonNull final FeatureQuery.Callback callback) {
+    final long startTime = System.nanoTime();
+    List<Feature> features = new ArrayList<>();
+    FeatureQuerySnapshot snapshot = featureQuery.getSnapshot();
+    if (snapshot != null) {
+      if (!featureQuery.isCanceled()) {
+        try {
+          features = snapshot.execute();
+        } catch (RuntimeException exception) {
+          Timber.e(exception, "Exception while executing feature query");
+        }
+      }
+      snapshot.release();
+    }
+
+    final long executionTime = System.nanoTime() - startTime;
+    final List<Feature> result = features;
+    mainExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        deliver(featureQuery, result, executionTime, callback);
+      }
+    });
+  }
+
+  @UiThread
+  private void deliver(@NonNull FeatureQuery featureQuery, @NonNull List<Feature> features, long executionTime,
+                       @NonNull FeatureQuery.Callback callback) {
+    if (pendingQueries.get(featureQuery.getKey()) == featureQuery) {
+      pendingQueries.remove(featureQuery.getKey());
+    }
+
+    if (featureQuery.isCanceled()) {
+      canceledCount++;
+      return;
+    }
+
+    long latency = System.nanoTime() - featureQuery.getSubmitTime();
+    queryCount++;
+    totalLatencyNanos += latency;
+    maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+    totalExecutionNanos += executionTime;
+
+    callback.onFeaturesQueried(features);
+  }
+
+  /**
+   * Returns the amount of queries that delivered a result.
+   *
+   * @return the amount of executed queries
+   */
+  @UiThread
+  public long getQueryCount() {
+    return queryCount;
+  }
+
+  /**
+   * Returns the amount of queries that were canceled before delivering a result.
+   *
+   * @return the amount of canceled queries
+   */
+  @UiThread
+  public long getCanceledCount() {
+    return canceledCount;
+  }
+
+  /**
+   * Returns the average latency, in milliseconds, between submitting a query and delivering its result.
+   *
+   * @return the average query latency in milliseconds
+   */
+  @UiThread
+  public double getAverageLatency() {
+    return queryCount == 0 ? 0 : (totalLatencyNanos / (double) queryCount) / 1E6;
+  }
+
+  /**
+   * Returns the maximum latency, in milliseconds, between submitting a query and delivering its result.
+   *
+   * @return the maximum query latency in milliseconds
+   */
+  @UiThread
+  public double getMaxLatency() {
+    return maxLatencyNanos / 1E6;
+  }
+
+  /**
+   * Returns the average time, in milliseconds, delivered queries spent executing on the worker thread.
+   *
+   * @return the average execution time in milliseconds
+   */
+  @UiThread
+  public double getAverageExecutionTime() {
+    return queryCount == 0 ? 0 : (totalExecutionNanos / (double) queryCount) / 1E6;
+  }
+}
@@ -0,0 +1,84 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.WorkerThread;
+
+import com.mapbox.services.commons.geojson.Feature;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A feature query captured from the render state of a map.
+ * <p>
+ * The snapshot is taken on the main thread and shares the tile data of the map, the query itself is executed on a
+ * worker thread by {@link FeatureQueryExecutor} while the map keeps rendering. The result reflects the map at the time
+ * the snapshot was taken.
+ * </p>
+ */
+public final class FeatureQuerySnapshot {
+
+  // Holds the pointer to JNI FeatureQuerySnapshot
+  private long nativePtr;
+
+  private boolean released;
+
+  /**
+   * Constructor
+   * <p>
+   * For JNI use only, snapshots are created by the asynchronous query methods of {@link MapboxMap} and of the
+   * sources.
+   * </p>
+   */
+  private FeatureQuerySnapshot(long snapshotPtr) {
+    initialize(snapshotPtr);
+  }
+
+  /**
+   * Executes the query. Returns an empty list if the snapshot was canceled or released.
+   *
+   * @return the queried features
+   */
+  @WorkerThread
+  @NonNull
+  List<Feature> execute() {
+    synchronized (this) {
+      if (released) {
+        return new ArrayList<>();
+      }
+    }
+    // Not synchronized, so that cancel() can interrupt a running query. The snapshot is only released by the thread
+    // executing it.
+    Feature[] features = nativeExecute();
+    return features != null ? Arrays.asList(features) : new ArrayList<Feature>();
+  }
+
+  /**
+   * Makes a running or future execution return early. May be called from any thread.
+   */
+  synchronized void cancel() {
+    if (!released) {
+      nativeCancel();
+    }
+  }
+
+  /**
+   * Releases the native snapshot and the tile data it holds on to, without waiting for the garbage collector.
+   */
+  synchronized void release() {
+    if (!released) {
+      released = true;
+      finalize();
+    }
+  }
+
+  private native void initialize(long snapshotPtr);
+
+  @Override
+  protected native void finalize();
+
+  private native Feature[] nativeExecute();
+
+  private native void nativeCancel();
+}
@@ -0,0 +1,161 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timing and work counters of a single frame rendered by a map view.
+ * <p>
+ * All durations are wall-clock times in nanoseconds, measured with the monotonic clock. They include time the thread
+ * was descheduled or blocked, eg. on a lock or the GPU, and are not a measure of CPU time. The update time covers
+ * transitions, annotation and style updates that precede drawing, the render time covers issuing the draw calls.
+ * OpenGL ES doesn't offer a portable way to measure GPU time, the time spent in eglSwapBuffers is reported instead as
+ * it blocks when the GPU falls behind.
+ * </p>
+ * <p>
+ * Tile layout is performed on worker threads, tile counters and layout time are therefore reported as the work that
+ * completed since the previous frame rather than work performed by the frame itself.
+ * </p>
+ *
+ * @see MapboxMap#setOnFrameMetricsListener(MapboxMap.OnFrameMetricsListener)
+ * @see MapboxMap#getFrameMetricsHistory()
+ */
+public final class FrameMetrics {
+
+  // Layout of a single sample, needs to be kept in sync with platform/android/src/map/frame_metrics.hpp
+  static final int TIMESTAMP = 0;
+  static final int UPDATE_WALL_TIME = 1;
+  static final int RENDER_WALL_TIME = 2;
+  static final int SWAP_WALL_TIME = 3;
+  static final int LAYOUT_WALL_TIME = 4;
+  static final int TILES_LOADED = 5;
+  static final int TILES_PARSED = 6;
+  static final int TILES_UPLOADED = 7;
+  static final int UPCALLS = 8;
+  static final int FIELD_COUNT = 9;
+
+  private final long[] samples;
+  private final int offset;
+
+  private FrameMetrics(long[] samples, int offset) {
+    this.samples = samples;
+    this.offset = offset;
+  }
+
+  /**
+   * Decodes the samples as received from native code.
+   *
+   * @param samples the encoded samples
+   * @return the decoded frame metrics, oldest first
+   */
+  @NonNull
+  static List<FrameMetrics> fromArray(@NonNull long[] samples) {
+    int count = samples.length / FIELD_COUNT;
+    List<FrameMetrics> frames = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      frames.add(new FrameMetrics(samples, i * FIELD_COUNT));
+    }
+    return frames;
+  }
+
+  /**
+   * Returns the time the frame started, based on the monotonic clock as used by {@link System#nanoTime()}.
+   *
+   * @return the start time in nanoseconds
+   */
+  public long getTimestamp() {
+    return samples[offset + TIMESTAMP];
+  }
+
+  /**
+   * Returns the wall-clock time spent updating transitions, annotations and the style before drawing.
+   *
+   * @return the elapsed update time in nanoseconds
+   */
+  public long getUpdateWallTime() {
+    return samples[offset + UPDATE_WALL_TIME];
+  }
+
+  /**
+   * Returns the wall-clock time spent issuing the draw calls of the frame.
+   *
+   * @return the elapsed render time in nanoseconds
+   */
+  public long getRenderWallTime() {
+    return samples[offset + RENDER_WALL_TIME];
+  }
+
+  /**
+   * Returns the wall-clock time spent swapping buffers, this includes waiting on the GPU to finish the previous frames.
+   *
+   * @return the elapsed swap time in nanoseconds, 0 if the frame wasn't presented
+   */
+  public long getSwapWallTime() {
+    return samples[offset + SWAP_WALL_TIME];
+  }
+
+  /**
+   * Returns the total wall-clock time it took to produce the frame on the render thread.
+   *
+   * @return the elapsed frame time in nanoseconds
+   */
+  public long getTotalWallTime() {
+    return getUpdateWallTime() + getRenderWallTime() + getSwapWallTime();
+  }
+
+  /**
+   * Returns the wall-clock time worker threads spent laying out tiles since the previous frame. Tiles laid out
+   * concurrently on different threads are summed up, the result may therefore exceed the time between frames.
+   *
+   * @return the summed elapsed layout time in nanoseconds
+   */
+  public long getLayoutWallTime() {
+    return samples[offset + LAYOUT_WALL_TIME];
+  }
+
+  /**
+   * Returns the amount of tiles for which data was loaded since the previous frame.
+   *
+   * @return the amount of loaded tiles
+   */
+  public long getTilesLoaded() {
+    return samples[offset + TILES_LOADED];
+  }
+
+  /**
+   * Returns the amount of tiles that were parsed and laid out since the previous frame.
+   *
+   * @return the amount of parsed tiles
+   */
+  public long getTilesParsed() {
+    return samples[offset + TILES_PARSED];
+  }
+
+  /**
+   * Returns the amount of tiles that were uploaded to the GPU since the previous frame. A tile is counted once,
+   * regardless of the amount of buckets it holds.
+   *
+   * @return the amount of uploaded tiles
+   */
+  public long getTilesUploaded() {
+    return samples[offset + TILES_UPLOADED];
+  }
+
+  /**
+   * Returns the amount of calls from native code into Java since the previous frame.
+   *
+   * @return the amount of JNI upcalls
+   */
+  public long getUpcallCount() {
+    return samples[offset + UPCALLS];
+  }
+
+  @Override
+  public String toString() {
+    return "FrameMetrics [updateWall=" + getUpdateWallTime() + ", renderWall=" + getRenderWallTime()
+      + ", swapWall=" + getSwapWallTime() + ", layoutWall=" + getLayoutWallTime() + ", loaded=" + getTilesLoaded()
+      + ", parsed=" + getTilesParsed() + ", uploaded=" + getTilesUploaded() + ", upcalls=" + getUpcallCount() + "]";
+  }
+}
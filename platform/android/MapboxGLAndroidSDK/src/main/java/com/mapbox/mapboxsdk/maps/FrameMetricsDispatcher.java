@@ -0,0 +1,107 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.List;
+
+import timber.log.Timber;
+
+/**
+ * Delivers frame metrics in batches to a {@link MapboxMap.OnFrameMetricsListener}.
+ * <p>
+ * Samples are collected on the render thread and handed off to a background thread for decoding and delivery. This
+ * keeps the cost on the render thread down to a single JNI call per batch.
+ * </p>
+ */
+class FrameMetricsDispatcher {
+
+  static final int BATCH_SIZE = 60;
+
+  private final MapboxMap.OnFrameMetricsListener listener;
+  private final Handler handler;
+  @Nullable
+  private final HandlerThread thread;
+  private int frames;
+  private boolean idle;
+
+  FrameMetricsDispatcher(@NonNull MapboxMap.OnFrameMetricsListener listener, @NonNull Handler handler) {
+    this(listener, handler, null);
+  }
+
+  private FrameMetricsDispatcher(@NonNull MapboxMap.OnFrameMetricsListener listener, @NonNull Handler handler,
+                                 @Nullable HandlerThread thread) {
+    this.listener = listener;
+    this.handler = handler;
+    this.thread = thread;
+  }
+
+  static FrameMetricsDispatcher create(@NonNull MapboxMap.OnFrameMetricsListener listener) {
+    HandlerThread thread = new HandlerThread("FrameMetrics", Process.THREAD_PRIORITY_BACKGROUND);
+    thread.start();
+    return new FrameMetricsDispatcher(listener, new Handler(thread.getLooper()), thread);
+  }
+
+  /**
+   * Called after a frame was rendered.
+   *
+   * @return true if a batch is complete, or the map became idle while rendering, and samples should be drained
+   */
+  boolean onFrameRendered() {
+    if (++frames < BATCH_SIZE && !idle) {
+      return false;
+    }
+    frames = 0;
+    idle = false;
+    return true;
+  }
+
+  /**
+   * Called when the map finished rendering and no further frames are expected. The partial batch of the current
+   * frame is delivered instead of waiting for a batch to fill up.
+   */
+  void onMapIdle() {
+    idle = true;
+  }
+
+  /**
+   * Called when rendering stops, eg. when the hosting Activity is stopped.
+   *
+   * @return true if frames were rendered since the previous batch and samples should be drained
+   */
+  boolean flush() {
+    idle = false;
+    if (frames == 0) {
+      return false;
+    }
+    frames = 0;
+    return true;
+  }
+
+  void dispatch(@NonNull final long[] samples) {
+    if (samples.length == 0) {
+      return;
+    }
+
+    handler.post(new Runnable() {
+      @Override
+      public void run() {
+        List<FrameMetrics> metrics = FrameMetrics.fromArray(samples);
+        try {
+          listener.onFrameMetrics(metrics);
+        } catch (RuntimeException exception) {
+          Timber.e(exception, "Exception in MapboxMap.OnFrameMetricsListener");
+        }
+      }
+    });
+  }
+
+  void release() {
+    if (thread != null) {
+      thread.quit();
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.view.Choreographer;
+import android.view.View;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces map rendering to the display refresh.
+ * <p>
+ * Render requests are coalesced and executed at most once per vsync, as signalled by {@link Choreographer}. When a
+ * target frame rate is configured, vsyncs are skipped until the target frame interval has passed. On devices that
+ * don't support Choreographer, rendering falls back to {@link View#postInvalidate()}.
+ * </p>
+ */
+class FramePacer {
+
+  // Allows for jitter in the reported vsync times
+  private static final long FRAME_TIME_TOLERANCE = TimeUnit.MILLISECONDS.toNanos(2);
+
+  private final View view;
+  private final long frameInterval;
+  private final VsyncCallback vsyncCallback;
+  private final Runnable requestFrameRunnable = new Runnable() {
+    @Override
+    public void run() {
+      requestFrame();
+    }
+  };
+
+  private boolean frameRequested;
+  private long lastFrameTime;
+
+  /**
+   * Creates a frame pacer for a view.
+   *
+   * @param view      the view to invalidate when a frame should be rendered
+   * @param frameRate the maximum amount of frames per second, 0 to render at the display refresh rate
+   */
+  FramePacer(@NonNull View view, int frameRate) {
+    this.view = view;
+    this.frameInterval = frameRate > 0 ? TimeUnit.SECONDS.toNanos(1) / frameRate : 0;
+    this.vsyncCallback = Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN ? new VsyncCallback() : null;
+  }
+
+  /**
+   * Requests a frame to be rendered on the next eligible vsync. May be called from any thread.
+   */
+  void requestFrame() {
+    if (vsyncCallback == null) {
+      view.postInvalidate();
+      return;
+    }
+
+    if (Looper.myLooper() != Looper.getMainLooper()) {
+      view.post(requestFrameRunnable);
+      return;
+    }
+
+    if (!frameRequested) {
+      frameRequested = true;
+      vsyncCallback.post();
+    }
+  }
+
+  /**
+   * Cancels a pending frame request.
+   */
+  void release() {
+    if (vsyncCallback != null && frameRequested) {
+      vsyncCallback.cancel();
+    }
+    frameRequested = false;
+  }
+
+  void onVsync(long frameTimeNanos) {
+    if (!shouldRender(frameTimeNanos)) {
+      vsyncCallback.post();
+      return;
+    }
+
+    frameRequested = false;
+    view.invalidate();
+  }
+
+  boolean shouldRender(long frameTimeNanos) {
+    if (frameInterval > 0 && frameTimeNanos - lastFrameTime < frameInterval - FRAME_TIME_TOLERANCE) {
+      return false;
+    }
+    lastFrameTime = frameTimeNanos;
+    return true;
+  }
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  private class VsyncCallback implements Choreographer.FrameCallback {
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+      onVsync(frameTimeNanos);
+    }
+
+    void post() {
+      Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    void cancel() {
+      Choreographer.getInstance().removeFrameCallback(this);
+    }
+  }
+}
@@ -10,7 +10,10 @@ import com.mapbox.mapboxsdk.annotations.MarkerView;
 import com.mapbox.mapboxsdk.exceptions.IconBitmapChangedException;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import timber.log.Timber;
 
@@ -30,14 +33,27 @@ class IconManager {
   private NativeMapView nativeMapView;
   private List<Icon> icons;
 
+  // sprites of MarkerViews drawn as symbols, shared between MarkerViews and removed when no longer used,
+  // keyed by identity as the id of a MarkerView changes when the map is reloaded
+  private final Map<MarkerView, Icon> markerViewSymbolIcons = new IdentityHashMap<>();
+  private final Map<String, Icon> symbolIcons = new HashMap<>();
+  private final Map<String, Integer> symbolIconReferences = new HashMap<>();
+
+  // top offsets of the registered icons by id, cleared when the sprite of an id changes
+  private final Map<String, Integer> topOffsetPixels = new HashMap<>();
+
   private int averageIconHeight;
   private int averageIconWidth;
 
   IconManager(NativeMapView nativeMapView) {
+    // load transparent icon for MarkerView to trace actual markers, see #6352
+    this(nativeMapView, IconFactory.recreate(IconFactory.ICON_MARKERVIEW_ID, IconFactory.ICON_MARKERVIEW_BITMAP));
+  }
+
+  IconManager(NativeMapView nativeMapView, Icon markerViewIcon) {
     this.nativeMapView = nativeMapView;
     this.icons = new ArrayList<>();
-    // load transparent icon for MarkerView to trace actual markers, see #6352
-    loadIcon(IconFactory.recreate(IconFactory.ICON_MARKERVIEW_ID, IconFactory.ICON_MARKERVIEW_BITMAP));
+    loadIcon(markerViewIcon);
   }
 
   Icon loadIconForMarker(Marker marker) {
@@ -60,8 +76,68 @@ class IconManager {
     addIcon(icon, false);
   }
 
+  /**
+   * Loads the sprite of a MarkerView that is drawn as a symbol, and releases the sprite it was drawn with before.
+   *
+   * @param markerView the MarkerView to load the symbol icon for
+   */
+  void loadSymbolIconForMarkerView(MarkerView markerView) {
+    Icon icon = markerView.getSymbolIcon();
+    Icon previousIcon = icon != null ? markerViewSymbolIcons.put(markerView, icon)
+      : markerViewSymbolIcons.remove(markerView);
+    if (icon == previousIcon) {
+      return;
+    }
+
+    if (icon != null) {
+      Integer references = symbolIconReferences.get(icon.getId());
+      if (references == null) {
+        references = 0;
+        symbolIcons.put(icon.getId(), icon);
+        loadIcon(icon);
+      }
+      symbolIconReferences.put(icon.getId(), references + 1);
+    }
+
+    if (previousIcon != null) {
+      int references = symbolIconReferences.get(previousIcon.getId()) - 1;
+      if (references > 0) {
+        symbolIconReferences.put(previousIcon.getId(), references);
+      } else {
+        symbolIconReferences.remove(previousIcon.getId());
+        symbolIcons.remove(previousIcon.getId());
+        topOffsetPixels.remove(previousIcon.getId());
+        nativeMapView.removeAnnotationIcon(previousIcon.getId());
+      }
+    }
+  }
+
   int getTopOffsetPixelsForIcon(Icon icon) {
-    return (int) (nativeMapView.getTopOffsetPixelsForAnnotationSymbol(icon.getId()) * nativeMapView.getPixelRatio());
+    Integer offset = topOffsetPixels.get(icon.getId());
+    if (offset == null) {
+      double offsetDp = nativeMapView.getTopOffsetPixelsForAnnotationSymbol(icon.getId());
+      offset = (int) (offsetDp * nativeMapView.getPixelRatio());
+      topOffsetPixels.put(icon.getId(), offset);
+    }
+    return offset;
+  }
+
+  /**
+   * Queries the top offsets of all registered icons in a single call.
+   */
+  private void updateTopOffsetPixels() {
+    List<String> ids = new ArrayList<>(icons.size() + symbolIcons.size());
+    for (Icon icon : icons) {
+      ids.add(icon.getId());
+    }
+    ids.addAll(symbolIcons.keySet());
+
+    double[] offsets = nativeMapView.getTopOffsetPixelsForAnnotationSymbols(ids.toArray(new String[ids.size()]));
+    float pixelRatio = nativeMapView.getPixelRatio();
+    topOffsetPixels.clear();
+    for (int i = 0; i < offsets.length; i++) {
+      topOffsetPixels.put(ids.get(i), (int) (offsets[i] * pixelRatio));
+    }
   }
 
   int getAverageIconHeight() {
@@ -118,12 +194,18 @@ class IconManager {
       bitmap.getHeight(),
       icon.getScale(),
       icon.toBytes());
+    // the sprite of the id may have changed
+    topOffsetPixels.remove(icon.getId());
   }
 
   void reloadIcons() {
     for (Icon icon : icons) {
       loadIcon(icon);
     }
+    for (Icon icon : symbolIcons.values()) {
+      loadIcon(icon);
+    }
+    updateTopOffsetPixels();
   }
 
   private void validateIconChanged(Icon icon) {
@@ -133,20 +215,12 @@ class IconManager {
     }
   }
 
-  void ensureIconLoaded(Marker marker, MapboxMap mapboxMap) {
+  void ensureIconLoaded(Marker marker) {
     Icon icon = marker.getIcon();
     if (icon == null) {
       icon = loadDefaultIconForMarker(marker);
     }
     addIcon(icon);
-    setTopOffsetPixels(marker, mapboxMap, icon);
-  }
-
-  private void setTopOffsetPixels(Marker marker, MapboxMap mapboxMap, Icon icon) {
-    // this seems to be a costly operation according to the profiler so I'm trying to save some calls
-    Marker previousMarker = marker.getId() != -1 ? (Marker) mapboxMap.getAnnotation(marker.getId()) : null;
-    if (previousMarker == null || previousMarker.getIcon() == null || previousMarker.getIcon() != marker.getIcon()) {
-      marker.setTopOffsetPixels(getTopOffsetPixelsForIcon(icon));
-    }
+    marker.setTopOffsetPixels(getTopOffsetPixelsForIcon(icon));
   }
 }
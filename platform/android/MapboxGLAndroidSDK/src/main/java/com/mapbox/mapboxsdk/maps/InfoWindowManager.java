@@ -1,11 +1,13 @@
 package com.mapbox.mapboxsdk.maps;
 
+import android.graphics.PointF;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.text.TextUtils;
 
 import com.mapbox.mapboxsdk.annotations.InfoWindow;
 import com.mapbox.mapboxsdk.annotations.Marker;
+import com.mapbox.mapboxsdk.geometry.LatLng;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,7 +15,7 @@ import java.util.List;
 /**
  * Responsible for managing InfoWindows shown on the Map.
  * <p>
- * Maintains a {@link List} of opened {@link InfoWindow} and tracks configurations as
+ * Maintains a {@link List} of markers with an opened {@link InfoWindow} and tracks configurations as
  * allowConcurrentMultipleInfoWindows which allows to have multiple {@link InfoWindow} open at the
  * same time. Responsible for managing listeners as
  * {@link com.mapbox.mapboxsdk.maps.MapboxMap.OnInfoWindowClickListener} and
@@ -22,7 +24,7 @@ import java.util.List;
  */
 class InfoWindowManager {
 
-  private List<InfoWindow> infoWindows;
+  private List<Marker> infoWindowMarkers;
   private MapboxMap.InfoWindowAdapter infoWindowAdapter;
   private boolean allowConcurrentMultipleInfoWindows;
 
@@ -31,12 +33,40 @@ class InfoWindowManager {
   private MapboxMap.OnInfoWindowCloseListener onInfoWindowCloseListener;
 
   InfoWindowManager() {
-    this.infoWindows = new ArrayList<>();
+    this.infoWindowMarkers = new ArrayList<>();
   }
 
-  void update() {
-    for (InfoWindow infoWindow : infoWindows) {
-      infoWindow.update();
+  /**
+   * Repositions the open InfoWindows, projecting the positions of their markers in a single call.
+   *
+   * @param projection the projection of the map
+   */
+  void update(@NonNull Projection projection) {
+    // forget markers whose InfoWindow was closed
+    for (int i = infoWindowMarkers.size() - 1; i >= 0; i--) {
+      Marker marker = infoWindowMarkers.get(i);
+      if (!marker.isInfoWindowShown() || marker.getInfoWindow() == null) {
+        infoWindowMarkers.remove(i);
+      }
+    }
+
+    int count = infoWindowMarkers.size();
+    if (count == 0) {
+      return;
+    }
+
+    double[] coordinates = new double[count * 2];
+    for (int i = 0; i < count; i++) {
+      LatLng position = infoWindowMarkers.get(i).getPosition();
+      coordinates[i * 2] = position.getLatitude();
+      coordinates[i * 2 + 1] = position.getLongitude();
+    }
+
+    float[] screenLocations = new float[count * 2];
+    projection.toScreenLocations(coordinates, screenLocations);
+    for (int i = 0; i < count; i++) {
+      PointF screenLocation = new PointF(screenLocations[i * 2], screenLocations[i * 2 + 1]);
+      infoWindowMarkers.get(i).getInfoWindow().update(screenLocation);
     }
   }
 
@@ -57,6 +87,10 @@ class InfoWindowManager {
   }
 
   List<InfoWindow> getInfoWindows() {
+    List<InfoWindow> infoWindows = new ArrayList<>(infoWindowMarkers.size());
+    for (Marker marker : infoWindowMarkers) {
+      infoWindows.add(marker.getInfoWindow());
+    }
     return infoWindows;
   }
 
@@ -88,7 +122,9 @@ class InfoWindowManager {
     return onInfoWindowCloseListener;
   }
 
-  public void add(InfoWindow infoWindow) {
-    infoWindows.add(infoWindow);
+  public void add(@NonNull Marker marker) {
+    if (!infoWindowMarkers.contains(marker)) {
+      infoWindowMarkers.add(marker);
+    }
   }
 }
@@ -0,0 +1,57 @@
+package com.mapbox.mapboxsdk.maps;
+
+/**
+ * Decides which frames {@link NativeMapView} renders.
+ * <p>
+ * In low power mode, frames are only rendered when the map requested one, eg. after a camera or style change, or
+ * when a new surface or snapshot needs one. Other redraws of the map view are skipped, the surface keeps showing the
+ * last frame.
+ * </p>
+ */
+class LowPowerRenderGate {
+
+  private boolean lowPowerMode;
+  private volatile boolean renderRequested = true;
+  private long renderedFrameCount;
+  private long skippedFrameCount;
+
+  void setLowPowerModeEnabled(boolean enabled) {
+    lowPowerMode = enabled;
+    renderRequested = true;
+  }
+
+  boolean isLowPowerModeEnabled() {
+    return lowPowerMode;
+  }
+
+  /**
+   * Marks the render inputs as changed. May be called from any thread.
+   */
+  void requestRender() {
+    renderRequested = true;
+  }
+
+  /**
+   * Returns true if the current frame should be rendered, and counts it as rendered or skipped.
+   *
+   * @return true if the frame should be rendered
+   */
+  boolean shouldRender() {
+    if (lowPowerMode && !renderRequested) {
+      // render inputs are unchanged, the surface still holds the last frame
+      skippedFrameCount++;
+      return false;
+    }
+    renderRequested = false;
+    renderedFrameCount++;
+    return true;
+  }
+
+  long getRenderedFrameCount() {
+    return renderedFrameCount;
+  }
+
+  long getSkippedFrameCount() {
+    return skippedFrameCount;
+  }
+}
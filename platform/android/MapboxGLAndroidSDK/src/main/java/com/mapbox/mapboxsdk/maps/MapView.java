@@ -61,6 +61,8 @@ public class MapView extends FrameLayout {
 
   private NativeMapView nativeMapView;
   private boolean textureMode;
+  private FramePacer framePacer;
+  private TileCacheTrimmer tileCacheTrimmer;
   private boolean destroyed;
   private boolean hasSurface;
 
@@ -105,6 +107,9 @@ public class MapView extends FrameLayout {
     // determine render surface
     textureMode = options.getTextureMode();
 
+    // render at most once per vsync, optionally at a reduced frame rate
+    framePacer = new FramePacer(this, options.getRenderFrameRate());
+
     // inflate view
     View view = LayoutInflater.from(context).inflate(R.layout.mapbox_mapview_internal, this);
     CompassView compassView = (CompassView) view.findViewById(R.id.compassView);
@@ -115,7 +120,11 @@ public class MapView extends FrameLayout {
     setContentDescription(context.getString(R.string.mapbox_mapActionDescription));
 
     // create native Map object
-    nativeMapView = new NativeMapView(this);
+    nativeMapView = new NativeMapView(this, options);
+
+    // shrink tile caches gradually under memory pressure
+    tileCacheTrimmer = new TileCacheTrimmer(nativeMapView);
+    context.getApplicationContext().registerComponentCallbacks(tileCacheTrimmer);
 
     // callback for focal point invalidation
     FocalPointInvalidator focalPoint = new FocalPointInvalidator(compassView);
@@ -262,6 +271,7 @@ public class MapView extends FrameLayout {
   @UiThread
   public void onStop() {
     mapboxMap.onStop();
+    nativeMapView.flushFrameMetrics();
     ConnectivityReceiver.instance(getContext()).deactivate();
   }
 
@@ -271,6 +281,9 @@ public class MapView extends FrameLayout {
   @UiThread
   public void onDestroy() {
     destroyed = true;
+    framePacer.release();
+    mapboxMap.getMarkerViewManager().onDestroy();
+    getContext().getApplicationContext().unregisterComponentCallbacks(tileCacheTrimmer);
     nativeMapView.terminateContext();
     nativeMapView.terminateDisplay();
     nativeMapView.destroySurface();
@@ -395,7 +408,9 @@ public class MapView extends FrameLayout {
   // Called when the map needs to be rerendered
   // Called via JNI from NativeMapView
   protected void onInvalidate() {
-    postInvalidate();
+    if (framePacer != null) {
+      framePacer.requestFrame();
+    }
   }
 
   @Override
@@ -12,6 +12,7 @@ import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.UiThread;
+import android.support.annotation.WorkerThread;
 import android.support.v4.util.Pools;
 import android.text.TextUtils;
 import android.view.View;
@@ -97,6 +98,9 @@ public final class MapboxMap {
 
     // Map configuration
     setDebugActive(options.getDebugActive());
+    setMaximumTileCacheSize(options.getTileCacheSize());
+    setMaximumTileCacheByteSize(options.getTileCacheByteSize());
+    setPredictivePrefetchEnabled(options.getPredictivePrefetch());
     setApiBaseUrl(options);
     setStyleUrl(options);
   }
@@ -1240,6 +1244,57 @@ public final class MapboxMap {
     annotationManager.updateMarker(updatedMarker, this);
   }
 
+  /**
+   * Animates markers to new positions.
+   * <p>
+   * The positions are interpolated linearly by the renderer on each frame, without any involvement of the caller,
+   * which keeps the animation of many markers smooth. The positions of the markers are set to their destinations
+   * right away. Updating or removing a marker while it is animated ends its animation.
+   * </p>
+   * <p>
+   * {@link MarkerView}s aren't animated, they are moved to their destinations immediately.
+   * </p>
+   *
+   * @param markers      The markers to animate.
+   * @param destinations The destination of each marker, in the same order as the markers.
+   * @param durationMs   The duration of the animation in milliseconds.
+   * @param callback     An optional callback to be notified once the animation finished, or was cancelled because
+   *                     a marker was updated or removed beforehand.
+   * @throws IllegalArgumentException if the amount of markers and destinations differs
+   */
+  @UiThread
+  public void animateMarkers(@NonNull List<? extends Marker> markers, @NonNull List<LatLng> destinations,
+                             long durationMs, @Nullable MapboxMap.CancelableCallback callback) {
+    annotationManager.animateMarkers(markers, destinations, durationMs, callback);
+  }
+
+  /**
+   * Starts a batch of annotation updates.
+   * <p>
+   * Until the batch is committed with {@link #commitUpdates()}, updates of markers, polylines and polygons, eg. through
+   * {@link Marker#setPosition(LatLng)}, are collected instead of being applied one by one. Committing applies all of
+   * them at once, and the map redraws its annotations only once. Use this when animating many annotations per frame.
+   * </p>
+   * <p>
+   * Batches can be nested, the updates are applied when the outermost batch is committed. Adding and removing
+   * annotations isn't deferred.
+   * </p>
+   */
+  @UiThread
+  public void beginUpdates() {
+    nativeMapView.beginAnnotationUpdates();
+  }
+
+  /**
+   * Commits a batch of annotation updates started with {@link #beginUpdates()}.
+   *
+   * @throws IllegalStateException if no batch was started
+   */
+  @UiThread
+  public void commitUpdates() {
+    nativeMapView.commitAnnotationUpdates();
+  }
+
   /**
    * Adds a polyline to this map.
    *
@@ -1274,6 +1329,22 @@ public final class MapboxMap {
     annotationManager.updatePolyline(polyline);
   }
 
+  /**
+   * Update a polyline on this map after a point was appended to it.
+   * <p>
+   * Unlike {@link #updatePolyline(Polyline)}, only the appended point is transferred to the renderer, which makes
+   * this suitable for lines that grow continuously, eg. a track of user locations.
+   * </p>
+   *
+   * @param polyline The polyline the point was appended to.
+   * @param point    The appended point.
+   * @see Polyline#addPoint(LatLng)
+   */
+  @UiThread
+  public void updatePolylineAddedPoint(@NonNull Polyline polyline, @NonNull LatLng point) {
+    annotationManager.addPolylinePoint(polyline, point);
+  }
+
   /**
    * Adds a polygon to this map.
    *
@@ -1415,6 +1486,20 @@ public final class MapboxMap {
     return annotationManager.getAnnotations();
   }
 
+  /**
+   * Returns the annotations whose geographic bounds intersect the given bounds.
+   * <p>
+   * The query is served from a spatial index of the annotations, it doesn't test every annotation on the map.
+   * </p>
+   *
+   * @param bounds the bounds to query
+   * @return A new list of the intersecting annotations, modifying this list will not update the map.
+   */
+  @NonNull
+  public List<Annotation> getAnnotations(@NonNull LatLngBounds bounds) {
+    return annotationManager.getAnnotationsIn(bounds);
+  }
+
   /**
    * Returns a list of all the markers on the map.
    *
@@ -1448,6 +1533,54 @@ public final class MapboxMap {
     return annotationManager.getPolylines();
   }
 
+  /**
+   * Returns a live, read-only view of all the annotations on the map.
+   * <p>
+   * Unlike {@link #getAnnotations()} the annotations aren't copied, the view reflects annotations added or removed
+   * afterwards. Iterating over the view while adding or removing annotations throws a
+   * {@link java.util.ConcurrentModificationException}.
+   * </p>
+   *
+   * @return A read-only list of all the annotation objects.
+   */
+  @NonNull
+  public List<Annotation> getAnnotationsView() {
+    return annotationManager.getAnnotationsView();
+  }
+
+  /**
+   * Returns a live, read-only view of all the markers on the map.
+   *
+   * @return A read-only list of all the marker objects.
+   * @see #getAnnotationsView()
+   */
+  @NonNull
+  public List<Marker> getMarkersView() {
+    return annotationManager.getMarkersView();
+  }
+
+  /**
+   * Returns a live, read-only view of all the polygons on the map.
+   *
+   * @return A read-only list of all the polygon objects.
+   * @see #getAnnotationsView()
+   */
+  @NonNull
+  public List<Polygon> getPolygonsView() {
+    return annotationManager.getPolygonsView();
+  }
+
+  /**
+   * Returns a live, read-only view of all the polylines on the map.
+   *
+   * @return A read-only list of all the polyline objects.
+   * @see #getAnnotationsView()
+   */
+  @NonNull
+  public List<Polyline> getPolylinesView() {
+    return annotationManager.getPolylinesView();
+  }
+
   /**
    * Sets a callback that's invoked when the user clicks on a marker.
    *
@@ -1524,7 +1657,8 @@ public final class MapboxMap {
    * Sets a custom renderer for the contents of info window.
    * </p>
    * When set your callback is invoked when an info window is about to be shown. By returning
-   * a custom {@link View}, the default info window will be replaced.
+   * a custom {@link View}, the default info window will be replaced. Use an {@link InfoWindowViewAdapter} to reuse
+   * info window Views and to load their content off the main thread.
    *
    * @param infoWindowAdapter The callback to be invoked when an info window will be shown.
    *                          To unset the callback, use null.
@@ -1716,6 +1850,149 @@ public final class MapboxMap {
     return onFpsChangedListener;
   }
 
+  /**
+   * Enables or disables low power mode.
+   * <p>
+   * In low power mode, frames are only rendered when the map content changed, redraws of the map view caused by other
+   * views are skipped. Animations of the MyLocationView are limited to
+   * {@link MapboxConstants#LOW_POWER_ANIMATION_FRAME_RATE} frames per second, or a lower frame rate set with
+   * {@link MyLocationViewSettings#setAnimationFrameRate(int)}, which is kept when low power mode is disabled.
+   * </p>
+   *
+   * @param enabled true to enable low power mode
+   */
+  @UiThread
+  public void setLowPowerModeEnabled(boolean enabled) {
+    nativeMapView.setLowPowerModeEnabled(enabled);
+    myLocationViewSettings.setLowPowerFrameRate(enabled ? MapboxConstants.LOW_POWER_ANIMATION_FRAME_RATE : 0);
+  }
+
+  /**
+   * Returns true if low power mode is enabled.
+   *
+   * @return true if low power mode is enabled
+   */
+  @UiThread
+  public boolean isLowPowerModeEnabled() {
+    return nativeMapView.isLowPowerModeEnabled();
+  }
+
+  /**
+   * Returns the amount of frames rendered by the map since it was created.
+   * <p>
+   * Can be used to verify the map doesn't render while idle.
+   * </p>
+   *
+   * @return the amount of rendered frames
+   */
+  @UiThread
+  public long getRenderedFrameCount() {
+    return nativeMapView.getRenderedFrameCount();
+  }
+
+  /**
+   * Returns the amount of frames skipped in low power mode because the map content didn't change.
+   *
+   * @return the amount of skipped frames
+   */
+  @UiThread
+  public long getSkippedFrameCount() {
+    return nativeMapView.getSkippedFrameCount();
+  }
+
+  /**
+   * Sets a callback that's invoked with the timing and work counters of rendered frames.
+   * <p>
+   * Frame metrics are collected regardless of the debug mode. They are delivered in batches, on a background thread,
+   * to keep the overhead on the render thread low.
+   * </p>
+   *
+   * @param listener The callback that's invoked with batches of frame metrics. To unset the callback, use null.
+   */
+  @UiThread
+  public void setOnFrameMetricsListener(@Nullable OnFrameMetricsListener listener) {
+    nativeMapView.setOnFrameMetricsListener(listener);
+  }
+
+  /**
+   * Returns the metrics of the most recently rendered frames, as held by the ring buffer of the map.
+   * <p>
+   * This can be used to dump recent rendering performance on demand, eg. when a jank is detected, without registering
+   * a listener or enabling the debug mode.
+   * </p>
+   *
+   * @return the metrics of the most recent frames, oldest first
+   */
+  @UiThread
+  @NonNull
+  public List<FrameMetrics> getFrameMetricsHistory() {
+    return nativeMapView.getFrameMetricsHistory();
+  }
+
+  /**
+   * Limits the amount of tiles that are cached after they left the viewport. Like the byte limit, the limit applies to
+   * the whole map and is shared evenly by its sources.
+   *
+   * @param tiles the maximum amount of cached tiles of the map, 0 to size the cache of each source after the viewport
+   *              and zoom range
+   * @see MapboxMapOptions#tileCacheSize(int)
+   */
+  @UiThread
+  public void setMaximumTileCacheSize(@IntRange(from = 0) int tiles) {
+    nativeMapView.setMaximumTileCacheSize(tiles);
+  }
+
+  /**
+   * Limits the memory used by tiles that are cached after they left the viewport. The limit applies to the whole map
+   * and is shared evenly by its sources.
+   *
+   * @param bytes the maximum memory used by cached tiles of the map, 0 for no limit
+   * @see MapboxMapOptions#tileCacheByteSize(long)
+   */
+  @UiThread
+  public void setMaximumTileCacheByteSize(@IntRange(from = 0) long bytes) {
+    nativeMapView.setMaximumTileCacheByteSize(bytes);
+  }
+
+  /**
+   * Returns the tiles held by this map and the approximate memory they use.
+   * <p>
+   * Screens showing several maps can use this to keep the combined tile memory within a budget, eg. by lowering the
+   * tile cache size of maps that are less important.
+   * </p>
+   *
+   * @return the current tile memory usage
+   */
+  @UiThread
+  @NonNull
+  public TileMemoryUsage getTileMemoryUsage() {
+    return nativeMapView.getTileMemoryUsage();
+  }
+
+  /**
+   * Enables loading the tiles for the destination of fling, ease and fly transitions while the camera is still
+   * moving. The requests for these tiles yield to those for the tiles of the current viewport.
+   *
+   * @param enabled true to prefetch tiles ahead of camera transitions
+   * @see MapboxMapOptions#predictivePrefetch(boolean)
+   * @see #getTilePrefetchStatistics()
+   */
+  @UiThread
+  public void setPredictivePrefetchEnabled(boolean enabled) {
+    nativeMapView.setPredictivePrefetchEnabled(enabled);
+  }
+
+  /**
+   * Returns how many tiles were loaded ahead of camera transitions, and how many of them were rendered afterwards.
+   *
+   * @return the prefetch statistics of this map
+   */
+  @UiThread
+  @NonNull
+  public TilePrefetchStatistics getTilePrefetchStatistics() {
+    return nativeMapView.getTilePrefetchStatistics();
+  }
+
   /**
    * Sets a callback that's invoked when the map is scrolled.
    *
@@ -1982,6 +2259,52 @@ public final class MapboxMap {
     return nativeMapView.queryRenderedFeatures(coordinates, layerIds, filter);
   }
 
+  /**
+   * Queries the map for rendered features asynchronously.
+   * <p>
+   * The state of the map is captured on the calling thread, the features are queried on a worker thread and
+   * delivered on the main thread. A newer asynchronous query on this map cancels a pending one.
+   * </p>
+   *
+   * @param coordinates the point to query
+   * @param filter      filters the returned features
+   * @param callback    the callback invoked with the queried features
+   * @param layerIds    optionally - only query these layers
+   * @return the query handle that can be used to cancel the query
+   */
+  @UiThread
+  @NonNull
+  public FeatureQuery queryRenderedFeaturesAsync(@NonNull PointF coordinates,
+                                                 @Nullable Filter.Statement filter,
+                                                 @NonNull FeatureQuery.Callback callback,
+                                                 @Nullable String... layerIds) {
+    return FeatureQueryExecutor.getInstance().submit(this,
+      nativeMapView.snapshotRenderedFeatures(coordinates, layerIds, filter), callback);
+  }
+
+  /**
+   * Queries the map for rendered features asynchronously.
+   * <p>
+   * The state of the map is captured on the calling thread, the features are queried on a worker thread and
+   * delivered on the main thread. A newer asynchronous query on this map cancels a pending one.
+   * </p>
+   *
+   * @param coordinates the box to query
+   * @param filter      filters the returned features
+   * @param callback    the callback invoked with the queried features
+   * @param layerIds    optionally - only query these layers
+   * @return the query handle that can be used to cancel the query
+   */
+  @UiThread
+  @NonNull
+  public FeatureQuery queryRenderedFeaturesAsync(@NonNull RectF coordinates,
+                                                 @Nullable Filter.Statement filter,
+                                                 @NonNull FeatureQuery.Callback callback,
+                                                 @Nullable String... layerIds) {
+    return FeatureQueryExecutor.getInstance().submit(this,
+      nativeMapView.snapshotRenderedFeatures(coordinates, layerIds, filter), callback);
+  }
+
   //
   // Interfaces
   //
@@ -2093,6 +2416,21 @@ public final class MapboxMap {
     void onFpsChanged(double fps);
   }
 
+  /**
+   * Interface definition for a callback to be invoked with the metrics of rendered frames.
+   *
+   * @see MapboxMap#setOnFrameMetricsListener(OnFrameMetricsListener)
+   */
+  public interface OnFrameMetricsListener {
+    /**
+     * Called on a background thread with a batch of frame metrics.
+     *
+     * @param frames The metrics of the frames rendered since the previous batch, oldest first.
+     */
+    @WorkerThread
+    void onFrameMetrics(@NonNull List<FrameMetrics> frames);
+  }
+
   /**
    * Interface definition for a callback to be invoked when a user registers an listener that is
    * related to touch and click events.
@@ -2212,6 +2550,93 @@ public final class MapboxMap {
     View getInfoWindow(@NonNull Marker marker);
   }
 
+  /**
+   * InfoWindowAdapter that reuses the Views of closed info windows and loads their content on a background thread.
+   * <p>
+   * When a marker is selected, the info window is shown right away with the content that is available without
+   * loading, eg. the title of the marker. The content returned by {@link #loadContent(Marker)} is bound to the same
+   * info window once loaded, if it is still open.
+   * </p>
+   *
+   * @param <T> the type of the loaded content
+   */
+  public abstract static class InfoWindowViewAdapter<T> implements InfoWindowAdapter {
+
+    private static final int DEFAULT_VIEW_POOL_SIZE = 4;
+
+    private final Pools.SimplePool<View> viewReusePool;
+
+    /**
+     * Create an instance of InfoWindowViewAdapter.
+     */
+    public InfoWindowViewAdapter() {
+      this(DEFAULT_VIEW_POOL_SIZE);
+    }
+
+    /**
+     * Create an instance of InfoWindowViewAdapter with a limited amount of reusable Views.
+     *
+     * @param viewPoolSize the maximum amount of reusable Views
+     */
+    public InfoWindowViewAdapter(int viewPoolSize) {
+      if (viewPoolSize <= 0) {
+        throw new IllegalArgumentException("viewPoolSize must be greater than 0");
+      }
+      viewReusePool = new Pools.SimplePool<>(viewPoolSize);
+    }
+
+    @Nullable
+    @Override
+    public final View getInfoWindow(@NonNull Marker marker) {
+      return getInfoWindow(marker, null, viewReusePool.acquire());
+    }
+
+    /**
+     * Called when an info window will be shown, and again when its content was loaded.
+     *
+     * @param marker      the marker the info window is shown for
+     * @param content     the content loaded by {@link #loadContent(Marker)}, null if not loaded yet
+     * @param convertView the reusable view, or the view already shown when binding loaded content
+     * @return the View to be shown as info window, null to show the default info window
+     */
+    @Nullable
+    public abstract View getInfoWindow(@NonNull Marker marker, @Nullable T content, @Nullable View convertView);
+
+    /**
+     * Called on a background thread to load the content of an info window, eg. to decode an image.
+     * <p>
+     * The View of the info window must not be accessed from this method. Returning null, the default, skips binding
+     * the loaded content.
+     * </p>
+     *
+     * @param marker the marker the info window is shown for
+     * @return the loaded content, or null if there's no content to load
+     */
+    @WorkerThread
+    @Nullable
+    public T loadContent(@NonNull Marker marker) {
+      return null;
+    }
+
+    /**
+     * Returns the pool used to store reusable Views.
+     *
+     * @return the pool associated to this adapter
+     */
+    public final Pools.SimplePool<View> getViewReusePool() {
+      return viewReusePool;
+    }
+
+    /**
+     * Release the View of a closed info window to the ViewPool.
+     *
+     * @param view the view to be released
+     */
+    public final void releaseView(@NonNull View view) {
+      viewReusePool.release(view);
+    }
+  }
+
   /**
    * Interface definition for a callback to be invoked when an MarkerView will be shown.
    *
@@ -2219,20 +2644,41 @@ public final class MapboxMap {
    */
   public abstract static class MarkerViewAdapter<U extends MarkerView> {
 
+    private static final int DEFAULT_VIEW_POOL_SIZE = 10000;
+
     private Context context;
     private final Class<U> persistentClass;
     private final Pools.SimplePool<View> viewReusePool;
+    private final int viewPoolSize;
 
     /**
      * Create an instance of MarkerViewAdapter.
      *
      * @param context the context associated to a MapView
      */
-    @SuppressWarnings("unchecked")
     public MarkerViewAdapter(Context context) {
+      this(context, DEFAULT_VIEW_POOL_SIZE);
+    }
+
+    /**
+     * Create an instance of MarkerViewAdapter with a limited amount of reusable Views.
+     * <p>
+     * Views released beyond the pool size are removed from the map instead of being kept for reuse. A pool size close
+     * to the amount of MarkerViews visible at once avoids keeping Views around that are never reused.
+     * </p>
+     *
+     * @param context      the context associated to a MapView
+     * @param viewPoolSize the maximum amount of reusable Views
+     */
+    @SuppressWarnings("unchecked")
+    public MarkerViewAdapter(Context context, int viewPoolSize) {
+      if (viewPoolSize <= 0) {
+        throw new IllegalArgumentException("viewPoolSize must be greater than 0");
+      }
       this.context = context;
+      this.viewPoolSize = viewPoolSize;
       persistentClass = (Class<U>) ((ParameterizedType) getClass().getGenericSuperclass()).getActualTypeArguments()[0];
-      viewReusePool = new Pools.SimplePool<>(10000);
+      viewReusePool = new Pools.SimplePool<>(viewPoolSize);
     }
 
     /**
@@ -2246,6 +2692,23 @@ public final class MapboxMap {
     @Nullable
     public abstract View getView(@NonNull U marker, @Nullable View convertView, @NonNull ViewGroup parent);
 
+    /**
+     * Called to create a View ahead of time, which is later passed to
+     * {@link #getView(MarkerView, View, ViewGroup)} as the reusable view.
+     * <p>
+     * This method is called on a background thread when many MarkerViews are shown at once. The View must not be bound
+     * to a marker or attached to the parent. Returning null, the default, disables creating Views ahead of time, they
+     * are then created by {@link #getView(MarkerView, View, ViewGroup)} spread over multiple frames.
+     * </p>
+     *
+     * @param parent the parent ViewGroup the view will be added to
+     * @return the created View, or null if Views can't be created ahead of time
+     */
+    @Nullable
+    public View createView(@NonNull ViewGroup parent) {
+      return null;
+    }
+
     /**
      * Called when an MarkerView is removed from the MapView or the View object is going to be reused.
      * <p>
@@ -2291,6 +2754,23 @@ public final class MapboxMap {
     public void onDeselect(@NonNull U marker, @NonNull View convertView) {
     }
 
+    /**
+     * Called when a MarkerView is drawn by the map as a symbol of its rasterized View, see
+     * {@link MarkerViewManager#setMaxViewCount(int)}.
+     * <p>
+     * MarkerViews with equal keys share the same rasterized View, a key should therefore identify everything the View
+     * and the anchor of a MarkerView depend on. Keys are weakly referenced and should be referenced by the MarkerView,
+     * eg. the bitmap of its icon. The default returns the MarkerView itself, rasterizing every MarkerView separately.
+     * </p>
+     *
+     * @param marker the model representing the MarkerView
+     * @return the key identifying the rasterized View
+     */
+    @NonNull
+    public Object getSymbolKey(@NonNull U marker) {
+      return marker;
+    }
+
     /**
      * Returns the generic type of the used MarkerView.
      *
@@ -2309,6 +2789,15 @@ public final class MapboxMap {
       return viewReusePool;
     }
 
+    /**
+     * Returns the maximum amount of Views kept for reuse.
+     *
+     * @return the size of the pool associated to this adapter
+     */
+    public final int getViewPoolSize() {
+      return viewPoolSize;
+    }
+
     /**
      * Returns the context associated to the hosting MapView.
      *
@@ -2325,7 +2814,10 @@ public final class MapboxMap {
      */
     public final void releaseView(View view) {
       view.setVisibility(View.GONE);
-      viewReusePool.release(view);
+      if (!viewReusePool.release(view) && view.getParent() instanceof ViewGroup) {
+        // the pool is full, the view won't be reused
+        ((ViewGroup) view.getParent()).removeView(view);
+      }
     }
   }
 
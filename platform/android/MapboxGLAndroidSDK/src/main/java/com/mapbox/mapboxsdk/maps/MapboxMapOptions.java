@@ -8,6 +8,7 @@ import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
 import android.os.Parcel;
 import android.os.Parcelable;
+import android.os.Process;
 import android.support.annotation.ColorInt;
 import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
@@ -86,6 +87,16 @@ public class MapboxMapOptions implements Parcelable {
   @Deprecated
   private boolean textureMode;
 
+  private int renderFrameRate;
+
+  private int tileCacheSize;
+  private long tileCacheByteSize;
+
+  private int workerThreadCount;
+  private int workerThreadPriority = Process.THREAD_PRIORITY_DEFAULT;
+
+  private boolean predictivePrefetch;
+
   private String style;
 
   /**
@@ -154,6 +165,12 @@ public class MapboxMapOptions implements Parcelable {
     style = in.readString();
     apiBaseUrl = in.readString();
     textureMode = in.readByte() != 0;
+    renderFrameRate = in.readInt();
+    tileCacheSize = in.readInt();
+    tileCacheByteSize = in.readLong();
+    workerThreadCount = in.readInt();
+    workerThreadPriority = in.readInt();
+    predictivePrefetch = in.readByte() != 0;
   }
 
   static Bitmap getBitmapFromDrawable(Drawable drawable) {
@@ -297,12 +314,41 @@ public class MapboxMapOptions implements Parcelable {
         typedArray.getFloat(R.styleable.mapbox_MapView_mapbox_myLocationAccuracyThreshold, 0));
       mapboxMapOptions.textureMode(
         typedArray.getBoolean(R.styleable.mapbox_MapView_mapbox_renderTextureMode, false));
+      mapboxMapOptions.renderFrameRate(
+        typedArray.getInt(R.styleable.mapbox_MapView_mapbox_renderFrameRate, 0));
+      mapboxMapOptions.tileCacheSize(
+        typedArray.getInt(R.styleable.mapbox_MapView_mapbox_tileCacheSize, 0));
+      mapboxMapOptions.tileCacheByteSize(
+        parseByteSize(typedArray.getString(R.styleable.mapbox_MapView_mapbox_tileCacheByteSize)));
+      mapboxMapOptions.workerThreadCount(
+        typedArray.getInt(R.styleable.mapbox_MapView_mapbox_workerThreadCount, 0));
+      mapboxMapOptions.workerThreadPriority(
+        typedArray.getInt(R.styleable.mapbox_MapView_mapbox_workerThreadPriority, Process.THREAD_PRIORITY_DEFAULT));
+      mapboxMapOptions.predictivePrefetch(
+        typedArray.getBoolean(R.styleable.mapbox_MapView_mapbox_predictivePrefetch, false));
     } finally {
       typedArray.recycle();
     }
     return mapboxMapOptions;
   }
 
+  /**
+   * Parses a byte size given as a string attribute, integer attributes can't express sizes of 2 GB and above.
+   *
+   * @param value the byte size in decimal notation
+   * @return the byte size, 0 if no value is given
+   */
+  static long parseByteSize(@Nullable String value) {
+    if (value == null || value.isEmpty()) {
+      return 0;
+    }
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException exception) {
+      throw new IllegalArgumentException("Invalid byte size: " + value, exception);
+    }
+  }
+
   /**
    * Specifies the URL used for API endpoint.
    *
@@ -711,6 +757,78 @@ public class MapboxMapOptions implements Parcelable {
     return this;
   }
 
+  /**
+   * Limits the rate at which the map is rendered.
+   * <p>
+   * Rendering is always paced to the display refresh, at most one frame is rendered per vsync. A lower target frame
+   * rate can be used to save power on devices that don't need smooth animations, eg. in-vehicle displays. As frames
+   * are aligned to vsync, the effective frame rate is the refresh rate divided by a whole number.
+   * </p>
+   *
+   * @param renderFrameRate The maximum amount of frames rendered per second, 0 to render at the display refresh rate
+   * @return This
+   */
+  public MapboxMapOptions renderFrameRate(@IntRange(from = 0) int renderFrameRate) {
+    this.renderFrameRate = renderFrameRate;
+    return this;
+  }
+
+  /**
+   * Limits the amount of tiles that are cached after they left the viewport. Like the byte limit, the limit applies to
+   * the whole map and is shared evenly by its sources.
+   * <p>
+   * By default, the cache of each source is sized after the viewport and the zoom range of the map. Screens showing
+   * several maps can use a smaller cache per map to stay within their memory budget.
+   * </p>
+   *
+   * @param tileCacheSize The maximum amount of cached tiles of the map, 0 to size the cache automatically
+   * @return This
+   */
+  public MapboxMapOptions tileCacheSize(@IntRange(from = 0) int tileCacheSize) {
+    this.tileCacheSize = tileCacheSize;
+    return this;
+  }
+
+  /**
+   * Limits the memory used by tiles that are cached after they left the viewport. The limit applies to the whole map
+   * and is shared evenly by its sources.
+   *
+   * @param tileCacheByteSize The maximum memory used by cached tiles of the map in bytes, 0 for no limit
+   * @return This
+   */
+  public MapboxMapOptions tileCacheByteSize(@IntRange(from = 0) long tileCacheByteSize) {
+    this.tileCacheByteSize = tileCacheByteSize;
+    return this;
+  }
+
+  /**
+   * Sets the amount of threads that parse and lay out tiles for this map.
+   * <p>
+   * By default, all maps share a pool of four worker threads. Setting a worker thread count gives this map a
+   * dedicated pool, eg. to reduce parse latency on devices with many cores.
+   * </p>
+   *
+   * @param workerThreadCount The amount of worker threads, 0 to use the shared pool
+   * @return This
+   */
+  public MapboxMapOptions workerThreadCount(@IntRange(from = 0) int workerThreadCount) {
+    this.workerThreadCount = workerThreadCount;
+    return this;
+  }
+
+  /**
+   * Sets the priority of the threads that parse and lay out tiles for this map, as one of the
+   * {@link Process} THREAD_PRIORITY constants. Only applies to a dedicated pool, see
+   * {@link #workerThreadCount(int)}.
+   *
+   * @param workerThreadPriority The Linux priority of the worker threads, from -20 for highest to 19 for lowest
+   * @return This
+   */
+  public MapboxMapOptions workerThreadPriority(@IntRange(from = -20, to = 19) int workerThreadPriority) {
+    this.workerThreadPriority = workerThreadPriority;
+    return this;
+  }
+
   /**
    * Get the current configured API endpoint base URL.
    *
@@ -1030,6 +1148,73 @@ public class MapboxMapOptions implements Parcelable {
     return textureMode;
   }
 
+  /**
+   * Get the maximum amount of frames rendered per second.
+   *
+   * @return The target frame rate, 0 if the map is rendered at the display refresh rate
+   */
+  public int getRenderFrameRate() {
+    return renderFrameRate;
+  }
+
+  /**
+   * Enables loading the tiles for the destination of fling, ease and fly transitions while the camera is still
+   * moving, so they're ready when the camera arrives.
+   *
+   * @param predictivePrefetch True to prefetch tiles ahead of camera transitions
+   * @return This
+   * @see MapboxMap#setPredictivePrefetchEnabled(boolean)
+   */
+  public MapboxMapOptions predictivePrefetch(boolean predictivePrefetch) {
+    this.predictivePrefetch = predictivePrefetch;
+    return this;
+  }
+
+  /**
+   * Get the maximum amount of cached tiles per source.
+   *
+   * @return The tile cache size, 0 if the cache is sized automatically
+   */
+  public int getTileCacheSize() {
+    return tileCacheSize;
+  }
+
+  /**
+   * Get the maximum memory used by cached tiles of the map.
+   *
+   * @return The tile cache size in bytes, 0 if there's no limit
+   */
+  public long getTileCacheByteSize() {
+    return tileCacheByteSize;
+  }
+
+  /**
+   * Get the amount of threads that parse and lay out tiles for this map.
+   *
+   * @return The amount of worker threads, 0 if the shared pool is used
+   */
+  public int getWorkerThreadCount() {
+    return workerThreadCount;
+  }
+
+  /**
+   * Get the priority of the threads that parse and lay out tiles for this map.
+   *
+   * @return The Linux priority of the worker threads
+   */
+  public int getWorkerThreadPriority() {
+    return workerThreadPriority;
+  }
+
+  /**
+   * Get whether tiles are prefetched ahead of camera transitions.
+   *
+   * @return True if predictive prefetching is enabled
+   */
+  public boolean getPredictivePrefetch() {
+    return predictivePrefetch;
+  }
+
   public static final Parcelable.Creator<MapboxMapOptions> CREATOR = new Parcelable.Creator<MapboxMapOptions>() {
     public MapboxMapOptions createFromParcel(Parcel in) {
       return new MapboxMapOptions(in);
@@ -1094,6 +1279,12 @@ public class MapboxMapOptions implements Parcelable {
     dest.writeString(style);
     dest.writeString(apiBaseUrl);
     dest.writeByte((byte) (textureMode ? 1 : 0));
+    dest.writeInt(renderFrameRate);
+    dest.writeInt(tileCacheSize);
+    dest.writeLong(tileCacheByteSize);
+    dest.writeInt(workerThreadCount);
+    dest.writeInt(workerThreadPriority);
+    dest.writeByte((byte) (predictivePrefetch ? 1 : 0));
   }
 
   @Override
@@ -1217,6 +1408,24 @@ public class MapboxMapOptions implements Parcelable {
     if (apiBaseUrl != null ? !apiBaseUrl.equals(options.apiBaseUrl) : options.apiBaseUrl != null) {
       return false;
     }
+    if (renderFrameRate != options.renderFrameRate) {
+      return false;
+    }
+    if (tileCacheSize != options.tileCacheSize) {
+      return false;
+    }
+    if (tileCacheByteSize != options.tileCacheByteSize) {
+      return false;
+    }
+    if (workerThreadCount != options.workerThreadCount) {
+      return false;
+    }
+    if (workerThreadPriority != options.workerThreadPriority) {
+      return false;
+    }
+    if (predictivePrefetch != options.predictivePrefetch) {
+      return false;
+    }
     return false;
   }
 
@@ -1262,6 +1471,12 @@ public class MapboxMapOptions implements Parcelable {
       ? Float.floatToIntBits(myLocationAccuracyThreshold) : 0);
     result = 31 * result + (apiBaseUrl != null ? apiBaseUrl.hashCode() : 0);
     result = 31 * result + (textureMode ? 1 : 0);
+    result = 31 * result + renderFrameRate;
+    result = 31 * result + tileCacheSize;
+    result = 31 * result + (int) (tileCacheByteSize ^ (tileCacheByteSize >>> 32));
+    result = 31 * result + workerThreadCount;
+    result = 31 * result + workerThreadPriority;
+    result = 31 * result + (predictivePrefetch ? 1 : 0);
     result = 31 * result + (style != null ? style.hashCode() : 0);
     return result;
   }
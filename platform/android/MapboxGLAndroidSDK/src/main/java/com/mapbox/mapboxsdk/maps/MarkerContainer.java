@@ -97,24 +97,11 @@ class MarkerContainer implements Markers {
       return;
     }
 
-    ensureIconLoaded(updatedMarker, mapboxMap);
+    ensureIconLoaded(updatedMarker);
     nativeMapView.updateMarker(updatedMarker);
     annotations.setValueAt(annotations.indexOfKey(updatedMarker.getId()), updatedMarker);
   }
 
-  @Override
-  public List<Marker> obtainAll() {
-    List<Marker> markers = new ArrayList<>();
-    Annotation annotation;
-    for (int i = 0; i < annotations.size(); i++) {
-      annotation = annotations.get(annotations.keyAt(i));
-      if (annotation instanceof Marker) {
-        markers.add((Marker) annotation);
-      }
-    }
-    return markers;
-  }
-
   @NonNull
   @Override
   public List<Marker> obtainAllIn(@NonNull RectF rectangle) {
@@ -241,9 +228,11 @@ class MarkerContainer implements Markers {
     return annotation != null && annotation.getId() != -1 && annotations.indexOfKey(annotation.getId()) != -1;
   }
 
-  private void ensureIconLoaded(Marker marker, MapboxMap mapboxMap) {
-    if (!(marker instanceof MarkerView)) {
-      iconManager.ensureIconLoaded(marker, mapboxMap);
+  private void ensureIconLoaded(Marker marker) {
+    if (marker instanceof MarkerView) {
+      iconManager.loadSymbolIconForMarkerView((MarkerView) marker);
+    } else {
+      iconManager.ensureIconLoaded(marker);
     }
   }
 
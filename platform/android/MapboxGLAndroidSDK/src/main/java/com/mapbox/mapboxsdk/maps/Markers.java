@@ -23,8 +23,6 @@ interface Markers {
 
   void update(@NonNull Marker updatedMarker, @NonNull MapboxMap mapboxMap);
 
-  List<Marker> obtainAll();
-
   List<Marker> obtainAllIn(@NonNull RectF rectangle);
 
   MarkerView addViewBy(@NonNull BaseMarkerViewOptions markerOptions, @NonNull MapboxMap mapboxMap,
@@ -9,6 +9,7 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.text.TextUtils;
 import android.util.DisplayMetrics;
+import android.util.SparseArray;
 import android.view.Surface;
 
 import com.mapbox.mapboxsdk.LibraryLoader;
@@ -63,6 +64,19 @@ final class NativeMapView {
   // Listener invoked to return a bitmap of the map
   private MapboxMap.SnapshotReadyCallback snapshotReadyCallback;
 
+  // Delivers frame metrics to a listener in batches
+  private FrameMetricsDispatcher frameMetricsDispatcher;
+
+  // In low power mode, frames are only rendered when requested by the map
+  private final LowPowerRenderGate renderGate = new LowPowerRenderGate();
+
+  // Annotation updates that are applied together when the batch is committed
+  private final AnnotationUpdateBatch annotationUpdates = new AnnotationUpdateBatch();
+
+  // Callbacks of running marker animations, keyed by the id passed to the native animation
+  private final SparseArray<MapboxMap.CancelableCallback> markerAnimationCallbacks = new SparseArray<>();
+  private int lastMarkerAnimationCallbackId;
+
   static {
     LibraryLoader.load();
   }
@@ -71,7 +85,7 @@ final class NativeMapView {
   // Constructors
   //
 
-  public NativeMapView(MapView mapView) {
+  public NativeMapView(MapView mapView, MapboxMapOptions options) {
     Context context = mapView.getContext();
     fileSource = FileSource.getInstance(context);
 
@@ -80,7 +94,8 @@ final class NativeMapView {
     this.mapView = mapView;
 
     String programCacheDir = context.getCacheDir().getAbsolutePath();
-    nativeInitialize(this, fileSource, pixelRatio, programCacheDir);
+    nativeInitialize(this, fileSource, pixelRatio, programCacheDir, options.getWorkerThreadCount(),
+      options.getWorkerThreadPriority());
   }
 
   //
@@ -97,6 +112,10 @@ final class NativeMapView {
   }
 
   public void destroy() {
+    if (frameMetricsDispatcher != null) {
+      frameMetricsDispatcher.release();
+      frameMetricsDispatcher = null;
+    }
     nativeDestroy();
     mapView = null;
     destroyed = true;
@@ -134,6 +153,7 @@ final class NativeMapView {
     if (isDestroyedOn("createSurface")) {
       return;
     }
+    renderGate.requestRender();
     nativeCreateSurface(surface);
   }
 
@@ -155,7 +175,15 @@ final class NativeMapView {
     if (isDestroyedOn("render")) {
       return;
     }
+
+    if (!renderGate.shouldRender()) {
+      return;
+    }
     nativeRender();
+
+    if (frameMetricsDispatcher != null && frameMetricsDispatcher.onFrameRendered()) {
+      frameMetricsDispatcher.dispatch(nativeDrainFrameMetrics());
+    }
   }
 
   public void resizeView(int width, int height) {
@@ -492,6 +520,10 @@ final class NativeMapView {
     if (isDestroyedOn("updateMarker")) {
       return;
     }
+    if (annotationUpdates.isActive()) {
+      annotationUpdates.add(marker);
+      return;
+    }
     LatLng position = marker.getPosition();
     Icon icon = marker.getIcon();
     nativeUpdateMarker(marker.getId(), position.getLatitude(), position.getLongitude(), icon.getId());
@@ -501,6 +533,10 @@ final class NativeMapView {
     if (isDestroyedOn("updatePolygon")) {
       return;
     }
+    if (annotationUpdates.isActive()) {
+      annotationUpdates.add(polygon);
+      return;
+    }
     nativeUpdatePolygon(polygon.getId(), polygon);
   }
 
@@ -508,9 +544,24 @@ final class NativeMapView {
     if (isDestroyedOn("updatePolyline")) {
       return;
     }
+    if (annotationUpdates.isActive()) {
+      annotationUpdates.add(polyline);
+      return;
+    }
     nativeUpdatePolyline(polyline.getId(), polyline);
   }
 
+  public void addPolylinePoint(Polyline polyline, LatLng point) {
+    if (isDestroyedOn("addPolylinePoint")) {
+      return;
+    }
+    if (annotationUpdates.isActive()) {
+      annotationUpdates.add(polyline);
+      return;
+    }
+    nativeAddPolylinePoint(polyline.getId(), point.getLatitude(), point.getLongitude());
+  }
+
   public void removeAnnotation(long id) {
     if (isDestroyedOn("removeAnnotation")) {
       return;
@@ -523,9 +574,47 @@ final class NativeMapView {
     if (isDestroyedOn("removeAnnotations")) {
       return;
     }
+    for (long id : ids) {
+      annotationUpdates.remove(id);
+    }
     nativeRemoveAnnotations(ids);
   }
 
+  public void animateMarkers(long[] ids, double[] latitudes, double[] longitudes, long duration,
+                             @Nullable MapboxMap.CancelableCallback callback) {
+    if (isDestroyedOn("animateMarkers")) {
+      return;
+    }
+    for (long id : ids) {
+      // a pending update would end the animation once the batch is committed
+      annotationUpdates.remove(id);
+    }
+    int callbackId = 0;
+    if (callback != null) {
+      lastMarkerAnimationCallbackId = lastMarkerAnimationCallbackId == Integer.MAX_VALUE
+        ? 1 : lastMarkerAnimationCallbackId + 1;
+      callbackId = lastMarkerAnimationCallbackId;
+      markerAnimationCallbacks.put(callbackId, callback);
+    }
+    nativeAnimateMarkers(ids, latitudes, longitudes, duration, callbackId);
+  }
+
+  public void beginAnnotationUpdates() {
+    annotationUpdates.begin();
+  }
+
+  public void commitAnnotationUpdates() {
+    if (!annotationUpdates.end() || annotationUpdates.isEmpty()) {
+      return;
+    }
+    if (!isDestroyedOn("commitAnnotationUpdates")) {
+      nativeUpdateAnnotations(annotationUpdates.getMarkerIds(), annotationUpdates.getMarkers(),
+        annotationUpdates.getPolylineIds(), annotationUpdates.getPolylines(),
+        annotationUpdates.getPolygonIds(), annotationUpdates.getPolygons());
+    }
+    annotationUpdates.clear();
+  }
+
   public long[] queryPointAnnotations(RectF rect) {
     if (isDestroyedOn("queryPointAnnotations")) {
       return new long[] {};
@@ -540,6 +629,13 @@ final class NativeMapView {
     nativeAddAnnotationIcon(symbol, width, height, scale, pixels);
   }
 
+  public void removeAnnotationIcon(String symbol) {
+    if (isDestroyedOn("removeAnnotationIcon")) {
+      return;
+    }
+    nativeRemoveAnnotationIcon(symbol);
+  }
+
   public void setVisibleCoordinateBounds(LatLng[] coordinates, RectF padding, double direction, long duration) {
     if (isDestroyedOn("setVisibleCoordinateBounds")) {
       return;
@@ -554,6 +650,50 @@ final class NativeMapView {
     nativeOnLowMemory();
   }
 
+  public void trimMemory(float fraction) {
+    if (isDestroyedOn("trimMemory")) {
+      return;
+    }
+    nativeTrimMemory(fraction);
+  }
+
+  public void setMaximumTileCacheSize(int tiles) {
+    if (isDestroyedOn("setMaximumTileCacheSize")) {
+      return;
+    }
+    nativeSetMaximumTileCacheSize(tiles);
+  }
+
+  public void setMaximumTileCacheByteSize(long bytes) {
+    if (isDestroyedOn("setMaximumTileCacheByteSize")) {
+      return;
+    }
+    nativeSetMaximumTileCacheByteSize(bytes);
+  }
+
+  @NonNull
+  public TileMemoryUsage getTileMemoryUsage() {
+    if (isDestroyedOn("getTileMemoryUsage")) {
+      return new TileMemoryUsage(new long[0]);
+    }
+    return new TileMemoryUsage(nativeGetTileMemoryUsage());
+  }
+
+  public void setPredictivePrefetchEnabled(boolean enabled) {
+    if (isDestroyedOn("setPredictivePrefetchEnabled")) {
+      return;
+    }
+    nativeSetPredictivePrefetchEnabled(enabled);
+  }
+
+  @NonNull
+  public TilePrefetchStatistics getTilePrefetchStatistics() {
+    if (isDestroyedOn("getTilePrefetchStatistics")) {
+      return new TilePrefetchStatistics(new long[0]);
+    }
+    return new TilePrefetchStatistics(nativeGetTilePrefetchStatistics());
+  }
+
   public void setDebug(boolean debug) {
     if (isDestroyedOn("setDebug")) {
       return;
@@ -582,6 +722,54 @@ final class NativeMapView {
     nativeSetEnableFps(enable);
   }
 
+  public void setLowPowerModeEnabled(boolean enabled) {
+    renderGate.setLowPowerModeEnabled(enabled);
+  }
+
+  public boolean isLowPowerModeEnabled() {
+    return renderGate.isLowPowerModeEnabled();
+  }
+
+  public long getRenderedFrameCount() {
+    return renderGate.getRenderedFrameCount();
+  }
+
+  public long getSkippedFrameCount() {
+    return renderGate.getSkippedFrameCount();
+  }
+
+  public void setOnFrameMetricsListener(@Nullable MapboxMap.OnFrameMetricsListener listener) {
+    if (isDestroyedOn("setOnFrameMetricsListener")) {
+      return;
+    }
+    if (frameMetricsDispatcher != null) {
+      frameMetricsDispatcher.release();
+      frameMetricsDispatcher = null;
+    }
+    if (listener != null) {
+      // discard samples of frames rendered before the listener was registered
+      nativeDrainFrameMetrics();
+      frameMetricsDispatcher = FrameMetricsDispatcher.create(listener);
+    }
+  }
+
+  public void flushFrameMetrics() {
+    if (isDestroyedOn("flushFrameMetrics")) {
+      return;
+    }
+    if (frameMetricsDispatcher != null && frameMetricsDispatcher.flush()) {
+      frameMetricsDispatcher.dispatch(nativeDrainFrameMetrics());
+    }
+  }
+
+  @NonNull
+  public List<FrameMetrics> getFrameMetricsHistory() {
+    if (isDestroyedOn("getFrameMetricsHistory")) {
+      return new ArrayList<>();
+    }
+    return FrameMetrics.fromArray(nativeGetFrameMetricsHistory());
+  }
+
   public boolean isFullyLoaded() {
     if (isDestroyedOn("isFullyLoaded")) {
       return false;
@@ -627,6 +815,16 @@ final class NativeMapView {
     return pointF;
   }
 
+  public void pixelsForLatLngs(double[] coordinates, float[] pixels) {
+    if (isDestroyedOn("pixelsForLatLngs")) {
+      return;
+    }
+    nativePixelsForLatLngs(coordinates, pixels);
+    for (int i = 0; i < pixels.length; i++) {
+      pixels[i] *= pixelRatio;
+    }
+  }
+
   public LatLng latLngForPixel(PointF pixel) {
     if (isDestroyedOn("latLngForPixel")) {
       return new LatLng();
@@ -641,6 +839,13 @@ final class NativeMapView {
     return nativeGetTopOffsetPixelsForAnnotationSymbol(symbolName);
   }
 
+  public double[] getTopOffsetPixelsForAnnotationSymbols(String[] symbolNames) {
+    if (isDestroyedOn("getTopOffsetPixelsForAnnotationSymbols")) {
+      return new double[symbolNames.length];
+    }
+    return nativeGetTopOffsetPixelsForAnnotationSymbols(symbolNames);
+  }
+
   public void jumpTo(double angle, LatLng center, double pitch, double zoom) {
     if (isDestroyedOn("jumpTo")) {
       return;
@@ -851,6 +1056,33 @@ final class NativeMapView {
     return features != null ? Arrays.asList(features) : new ArrayList<Feature>();
   }
 
+  @Nullable
+  public FeatureQuerySnapshot snapshotRenderedFeatures(@NonNull PointF coordinates,
+                                                       @Nullable String[] layerIds,
+                                                       @Nullable Filter.Statement filter) {
+    if (isDestroyedOn("snapshotRenderedFeatures")) {
+      return null;
+    }
+    return nativeSnapshotRenderedFeaturesForPoint(coordinates.x / pixelRatio,
+      coordinates.y / pixelRatio, layerIds, filter != null ? filter.toArray() : null);
+  }
+
+  @Nullable
+  public FeatureQuerySnapshot snapshotRenderedFeatures(@NonNull RectF coordinates,
+                                                       @Nullable String[] layerIds,
+                                                       @Nullable Filter.Statement filter) {
+    if (isDestroyedOn("snapshotRenderedFeatures")) {
+      return null;
+    }
+    return nativeSnapshotRenderedFeaturesForBox(
+      coordinates.left / pixelRatio,
+      coordinates.top / pixelRatio,
+      coordinates.right / pixelRatio,
+      coordinates.bottom / pixelRatio,
+      layerIds,
+      filter != null ? filter.toArray() : null);
+  }
+
   public void scheduleTakeSnapshot() {
     if (isDestroyedOn("scheduleTakeSnapshot")) {
       return;
@@ -881,12 +1113,17 @@ final class NativeMapView {
   //
 
   protected void onInvalidate() {
+    renderGate.requestRender();
     if (mapView != null) {
       mapView.onInvalidate();
     }
   }
 
   protected void onMapChanged(int rawChange) {
+    if (rawChange == MapView.DID_FINISH_RENDERING_MAP_FULLY_RENDERED && frameMetricsDispatcher != null) {
+      // reported from within nativeRender, the partial batch is drained once the frame is recorded
+      frameMetricsDispatcher.onMapIdle();
+    }
     if (onMapChangedListeners != null) {
       for (MapView.OnMapChangedListener onMapChangedListener : onMapChangedListeners) {
         try {
@@ -905,6 +1142,19 @@ final class NativeMapView {
     mapView.onFpsChanged(fps);
   }
 
+  protected void onMarkerAnimationFinished(int callbackId, boolean completed) {
+    MapboxMap.CancelableCallback callback = markerAnimationCallbacks.get(callbackId);
+    if (callback == null) {
+      return;
+    }
+    markerAnimationCallbacks.remove(callbackId);
+    if (completed) {
+      callback.onFinish();
+    } else {
+      callback.onCancel();
+    }
+  }
+
   protected void onSnapshotReady(Bitmap mapContent) {
     if (isDestroyedOn("OnSnapshotReady")) {
       return;
@@ -923,7 +1173,9 @@ final class NativeMapView {
   private native void nativeInitialize(NativeMapView nativeMapView,
                                        FileSource fileSource,
                                        float pixelRatio,
-                                       String programCacheDir);
+                                       String programCacheDir,
+                                       int workerThreadCount,
+                                       int workerThreadPriority);
 
   private native void nativeDestroy();
 
@@ -1011,15 +1263,32 @@ final class NativeMapView {
 
   private native void nativeRemoveAnnotations(long[] id);
 
+  private native void nativeAnimateMarkers(long[] ids, double[] latitudes, double[] longitudes, long duration,
+                                           int callbackId);
+
   private native long[] nativeQueryPointAnnotations(RectF rect);
 
   private native void nativeAddAnnotationIcon(String symbol, int width, int height, float scale, byte[] pixels);
 
+  private native void nativeRemoveAnnotationIcon(String symbol);
+
   private native void nativeSetVisibleCoordinateBounds(LatLng[] coordinates, RectF padding,
                                                        double direction, long duration);
 
   private native void nativeOnLowMemory();
 
+  private native void nativeTrimMemory(float fraction);
+
+  private native void nativeSetMaximumTileCacheSize(int tiles);
+
+  private native void nativeSetMaximumTileCacheByteSize(long bytes);
+
+  private native long[] nativeGetTileMemoryUsage();
+
+  private native void nativeSetPredictivePrefetchEnabled(boolean enabled);
+
+  private native long[] nativeGetTilePrefetchStatistics();
+
   private native void nativeSetDebug(boolean debug);
 
   private native void nativeCycleDebugOptions();
@@ -1028,6 +1297,10 @@ final class NativeMapView {
 
   private native void nativeSetEnableFps(boolean enable);
 
+  private native long[] nativeDrainFrameMetrics();
+
+  private native long[] nativeGetFrameMetricsHistory();
+
   private native boolean nativeIsFullyLoaded();
 
   private native void nativeSetReachability(boolean status);
@@ -1040,10 +1313,14 @@ final class NativeMapView {
 
   private native PointF nativePixelForLatLng(double lat, double lon);
 
+  private native void nativePixelsForLatLngs(double[] coordinates, float[] pixels);
+
   private native LatLng nativeLatLngForPixel(float x, float y);
 
   private native double nativeGetTopOffsetPixelsForAnnotationSymbol(String symbolName);
 
+  private native double[] nativeGetTopOffsetPixelsForAnnotationSymbols(String[] symbolNames);
+
   private native void nativeJumpTo(double angle, double latitude, double longitude, double pitch, double zoom);
 
   private native void nativeEaseTo(double angle, double latitude, double longitude,
@@ -1098,6 +1375,11 @@ final class NativeMapView {
 
   private native void nativeUpdatePolyline(long polylineId, Polyline polyline);
 
+  private native void nativeAddPolylinePoint(long polylineId, double latitude, double longitude);
+
+  private native void nativeUpdateAnnotations(long[] markerIds, Marker[] markers, long[] polylineIds,
+                                             Polyline[] polylines, long[] polygonIds, Polygon[] polygons);
+
   private native void nativeTakeSnapshot();
 
   private native Feature[] nativeQueryRenderedFeaturesForPoint(float x, float y,
@@ -1109,6 +1391,15 @@ final class NativeMapView {
                                                              String[] layerIds,
                                                              Object[] filter);
 
+  private native FeatureQuerySnapshot nativeSnapshotRenderedFeaturesForPoint(float x, float y,
+                                                                             String[] layerIds,
+                                                                             Object[] filter);
+
+  private native FeatureQuerySnapshot nativeSnapshotRenderedFeaturesForBox(float left, float top,
+                                                                           float right, float bottom,
+                                                                           String[] layerIds,
+                                                                           Object[] filter);
+
   private native Light nativeGetLight();
 
   int getWidth() {
@@ -1144,6 +1435,7 @@ final class NativeMapView {
   void addSnapshotCallback(@NonNull MapboxMap.SnapshotReadyCallback callback) {
     snapshotReadyCallback = callback;
     scheduleTakeSnapshot();
+    renderGate.requestRender();
     render();
   }
 }
@@ -85,19 +85,6 @@ class PolygonContainer implements Polygons {
     annotations.setValueAt(annotations.indexOfKey(polygon.getId()), polygon);
   }
 
-  @Override
-  public List<Polygon> obtainAll() {
-    List<Polygon> polygons = new ArrayList<>();
-    Annotation annotation;
-    for (int i = 0; i < annotations.size(); i++) {
-      annotation = annotations.get(annotations.keyAt(i));
-      if (annotation instanceof Polygon) {
-        polygons.add((Polygon) annotation);
-      }
-    }
-    return polygons;
-  }
-
   private boolean isAddedToMap(Annotation annotation) {
     return annotation != null && annotation.getId() != -1 && annotations.indexOfKey(annotation.getId()) != -1;
   }
@@ -17,6 +17,4 @@ interface Polygons {
   List<Polygon> addBy(@NonNull List<PolygonOptions> polygonOptionsList, @NonNull MapboxMap mapboxMap);
 
   void update(Polygon polygon);
-
-  List<Polygon> obtainAll();
 }
@@ -7,6 +7,7 @@ import android.support.v4.util.LongSparseArray;
 import com.mapbox.mapboxsdk.annotations.Annotation;
 import com.mapbox.mapboxsdk.annotations.Polyline;
 import com.mapbox.mapboxsdk.annotations.PolylineOptions;
+import com.mapbox.mapboxsdk.geometry.LatLng;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -87,16 +88,13 @@ class PolylineContainer implements Polylines {
   }
 
   @Override
-  public List<Polyline> obtainAll() {
-    List<Polyline> polylines = new ArrayList<>();
-    Annotation annotation;
-    for (int i = 0; i < annotations.size(); i++) {
-      annotation = annotations.get(annotations.keyAt(i));
-      if (annotation instanceof Polyline) {
-        polylines.add((Polyline) annotation);
-      }
+  public void addPoint(Polyline polyline, LatLng point) {
+    if (!isAddedToMap(polyline)) {
+      Timber.w("Attempting to add a point to non-added Polyline with value %s", polyline);
+      return;
     }
-    return polylines;
+
+    nativeMapView.addPolylinePoint(polyline, point);
   }
 
   private boolean isAddedToMap(Annotation annotation) {
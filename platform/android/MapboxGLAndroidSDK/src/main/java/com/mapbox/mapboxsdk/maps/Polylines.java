@@ -5,6 +5,7 @@ import android.support.annotation.NonNull;
 
 import com.mapbox.mapboxsdk.annotations.Polyline;
 import com.mapbox.mapboxsdk.annotations.PolylineOptions;
+import com.mapbox.mapboxsdk.geometry.LatLng;
 
 import java.util.List;
 
@@ -18,5 +19,5 @@ interface Polylines {
 
   void update(Polyline polyline);
 
-  List<Polyline> obtainAll();
+  void addPoint(Polyline polyline, LatLng point);
 }
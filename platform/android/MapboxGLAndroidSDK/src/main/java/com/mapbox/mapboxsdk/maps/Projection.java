@@ -110,6 +110,18 @@ public class Projection {
     return nativeMapView.pixelForLatLng(location);
   }
 
+  /**
+   * Returns the screen locations that correspond to geographical coordinates, projecting all of them in a single call.
+   * The screen locations are in screen pixels relative to the top left of the map.
+   *
+   * @param coordinates     the coordinates to convert, as consecutive latitude and longitude pairs.
+   * @param screenLocations the array receiving the screen locations, as consecutive x and y pairs, at least as long as
+   *                        the coordinates.
+   */
+  public void toScreenLocations(double[] coordinates, float[] screenLocations) {
+    nativeMapView.pixelsForLatLngs(coordinates, screenLocations);
+  }
+
   float getHeight() {
     return nativeMapView.getHeight();
   }
@@ -0,0 +1,62 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+import android.support.annotation.NonNull;
+
+/**
+ * Shrinks the tile caches of a map gradually as the system runs low on memory.
+ * <p>
+ * The levels reported to {@link ComponentCallbacks2#onTrimMemory(int)} are mapped to the fraction of cached tiles
+ * that is retained. Only when the process is about to be killed, or the system is critically low on memory, caches and
+ * unused GPU resources are released altogether as done by {@link MapView#onLowMemory()}.
+ * </p>
+ */
+class TileCacheTrimmer implements ComponentCallbacks2 {
+
+  private final NativeMapView nativeMapView;
+
+  TileCacheTrimmer(@NonNull NativeMapView nativeMapView) {
+    this.nativeMapView = nativeMapView;
+  }
+
+  /**
+   * Returns the fraction of cached tiles that is retained for a trim memory level.
+   *
+   * @param level the level as reported to {@link ComponentCallbacks2#onTrimMemory(int)}
+   * @return the retained fraction of cached tiles, between 0 and 1
+   */
+  static float getRetainedFraction(int level) {
+    if (level >= TRIM_MEMORY_MODERATE || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+      return 0.0f;
+    } else if (level >= TRIM_MEMORY_BACKGROUND || level == TRIM_MEMORY_RUNNING_LOW) {
+      return 0.25f;
+    } else if (level >= TRIM_MEMORY_RUNNING_MODERATE) {
+      return 0.5f;
+    }
+    return 1.0f;
+  }
+
+  @Override
+  public void onTrimMemory(int level) {
+    if (level >= TRIM_MEMORY_COMPLETE || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+      nativeMapView.onLowMemory();
+      return;
+    }
+
+    float fraction = getRetainedFraction(level);
+    if (fraction < 1.0f) {
+      nativeMapView.trimMemory(fraction);
+    }
+  }
+
+  @Override
+  public void onConfigurationChanged(Configuration newConfig) {
+    // not interested in configuration changes
+  }
+
+  @Override
+  public void onLowMemory() {
+    // forwarded by the hosting Activity or Fragment through MapView#onLowMemory()
+  }
+}
@@ -0,0 +1,110 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.support.annotation.IntRange;
+
+import com.mapbox.mapboxsdk.LibraryLoader;
+
+/**
+ * Process-wide pool of vector tile data, shared by all maps.
+ * <p>
+ * By default, every map holds its own copy of the tiles it shows. Screens that show the same style in several maps,
+ * eg. an overview and a detail map, can enable the pool so that maps loading the same tile of the same source share a
+ * single copy of its data and of its index of layers. The pool is consulted before a tile is requested: a map that
+ * finds the tile in the pool doesn't download, decompress or index it again, and only revalidates it once it expired.
+ * Tiles are reference counted: a tile stays in the pool as long as a map uses it.
+ * </p>
+ * <p>
+ * Layout depends on the style of each map and runs per map. Laid out geometry is uploaded to the OpenGL context of each
+ * map and is not shared.
+ * </p>
+ */
+public final class TileDataPool {
+
+  static {
+    LibraryLoader.load();
+  }
+
+  // Layout of the statistics, needs to be kept in sync with platform/android/src/map/tile_data_pool.cpp
+  private static final int TILES = 0;
+  private static final int BYTES = 1;
+  private static final int HITS = 2;
+  private static final int MISSES = 3;
+
+  private TileDataPool() {
+    // Class should not be instantiated
+  }
+
+  /**
+   * Enables or disables sharing tile data between maps. Enable the pool before creating the maps that should share
+   * their tiles. Disabling the pool releases all tiles that aren't in use.
+   *
+   * @param enabled true to share tile data between maps
+   */
+  public static void setEnabled(boolean enabled) {
+    nativeSetEnabled(enabled);
+  }
+
+  /**
+   * Returns true if tile data is shared between maps.
+   *
+   * @return true if the pool is enabled
+   */
+  public static boolean isEnabled() {
+    return nativeIsEnabled();
+  }
+
+  /**
+   * Sets the maximum size of the pool, including the tiles in use by maps. When the pool exceeds it, tiles that aren't
+   * in use are released, least recently used first. Tiles in use are never released, so the pool may exceed its
+   * maximum size.
+   *
+   * @param bytes the maximum size of the pool in bytes
+   */
+  public static void setMaximumSize(@IntRange(from = 0) long bytes) {
+    nativeSetMaximumSize(bytes);
+  }
+
+  /**
+   * Returns the amount of tiles held by the pool.
+   *
+   * @return the tile count
+   */
+  public static long getTileCount() {
+    return nativeGetStatistics()[TILES];
+  }
+
+  /**
+   * Returns the size of the tile data held by the pool.
+   *
+   * @return the size in bytes
+   */
+  public static long getSize() {
+    return nativeGetStatistics()[BYTES];
+  }
+
+  /**
+   * Returns the amount of tiles a map obtained from the pool, instead of decoding them on its own.
+   *
+   * @return the hit count
+   */
+  public static long getHitCount() {
+    return nativeGetStatistics()[HITS];
+  }
+
+  /**
+   * Returns the amount of tiles that weren't found in the pool and were added to it.
+   *
+   * @return the miss count
+   */
+  public static long getMissCount() {
+    return nativeGetStatistics()[MISSES];
+  }
+
+  private static native void nativeSetEnabled(boolean enabled);
+
+  private static native boolean nativeIsEnabled();
+
+  private static native void nativeSetMaximumSize(long bytes);
+
+  private static native long[] nativeGetStatistics();
+}
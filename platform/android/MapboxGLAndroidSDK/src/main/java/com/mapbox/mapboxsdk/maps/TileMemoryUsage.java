@@ -0,0 +1,79 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Tiles held by a map and the approximate amount of memory they use.
+ * <p>
+ * Tiles in use are needed to render the current viewport, cached tiles are kept to be reused when the camera returns
+ * to an area that was shown before. The memory use covers the geometry and images of a tile, it's an estimate that
+ * doesn't include allocator overhead.
+ * </p>
+ *
+ * @see MapboxMap#getTileMemoryUsage()
+ */
+public final class TileMemoryUsage {
+
+  // Layout of the values, needs to be kept in sync with NativeMapView::getTileMemoryUsage
+  private static final int TILES = 0;
+  private static final int BYTES = 1;
+  private static final int CACHED_TILES = 2;
+  private static final int CACHED_BYTES = 3;
+
+  private final long[] values;
+
+  TileMemoryUsage(@NonNull long[] values) {
+    this.values = values.length > CACHED_BYTES ? values : new long[CACHED_BYTES + 1];
+  }
+
+  /**
+   * Returns the amount of tiles in use.
+   *
+   * @return the tile count
+   */
+  public long getTileCount() {
+    return values[TILES];
+  }
+
+  /**
+   * Returns the memory used by the tiles in use.
+   *
+   * @return the memory use in bytes
+   */
+  public long getTileBytes() {
+    return values[BYTES];
+  }
+
+  /**
+   * Returns the amount of cached tiles.
+   *
+   * @return the cached tile count
+   */
+  public long getCachedTileCount() {
+    return values[CACHED_TILES];
+  }
+
+  /**
+   * Returns the memory used by cached tiles.
+   *
+   * @return the memory use in bytes
+   */
+  public long getCachedTileBytes() {
+    return values[CACHED_BYTES];
+  }
+
+  /**
+   * Returns the memory used by all tiles, in use and cached.
+   *
+   * @return the memory use in bytes
+   */
+  public long getTotalBytes() {
+    return values[BYTES] + values[CACHED_BYTES];
+  }
+
+  @Override
+  public String toString() {
+    return "TileMemoryUsage [tiles=" + getTileCount() + ", bytes=" + getTileBytes()
+      + ", cachedTiles=" + getCachedTileCount() + ", cachedBytes=" + getCachedTileBytes() + "]";
+  }
+}
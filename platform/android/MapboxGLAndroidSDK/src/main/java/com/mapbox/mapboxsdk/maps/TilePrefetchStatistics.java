@@ -0,0 +1,60 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Tiles a map loaded ahead of camera transitions, and how many of them were rendered afterwards.
+ * <p>
+ * With predictive prefetching enabled, the tiles for the destination of a fling, ease or fly transition are loaded
+ * while the camera is still moving. A low hit rate means bandwidth is spent on tiles that are never shown, eg. because
+ * transitions are frequently interrupted by new gestures.
+ * </p>
+ *
+ * @see MapboxMap#setPredictivePrefetchEnabled(boolean)
+ * @see MapboxMap#getTilePrefetchStatistics()
+ */
+public final class TilePrefetchStatistics {
+
+  // Layout of the values, needs to be kept in sync with NativeMapView::getTilePrefetchStatistics
+  private static final int PREFETCHED = 0;
+  private static final int RENDERED = 1;
+
+  private final long[] values;
+
+  TilePrefetchStatistics(@NonNull long[] values) {
+    this.values = values.length > RENDERED ? values : new long[RENDERED + 1];
+  }
+
+  /**
+   * Returns the amount of tiles that were loaded ahead of camera transitions.
+   *
+   * @return the prefetched tile count
+   */
+  public long getPrefetchedTileCount() {
+    return values[PREFETCHED];
+  }
+
+  /**
+   * Returns the amount of prefetched tiles that were rendered afterwards.
+   *
+   * @return the rendered tile count
+   */
+  public long getRenderedTileCount() {
+    return values[RENDERED];
+  }
+
+  /**
+   * Returns the fraction of prefetched tiles that were rendered afterwards.
+   *
+   * @return the hit rate between 0 and 1, 0 if no tiles were prefetched
+   */
+  public float getHitRate() {
+    return values[PREFETCHED] > 0 ? (float) values[RENDERED] / values[PREFETCHED] : 0;
+  }
+
+  @Override
+  public String toString() {
+    return "TilePrefetchStatistics [prefetched=" + getPrefetchedTileCount()
+      + ", rendered=" + getRenderedTileCount() + "]";
+  }
+}
@@ -0,0 +1,42 @@
+package com.mapbox.mapboxsdk.maps.widgets;
+
+/**
+ * Limits the frame rate of a single animation.
+ * <p>
+ * Each animator needs its own limiter, a frame drawn for one animation must not hold back the frames of another.
+ * The last frame of an animation is always drawn.
+ * </p>
+ */
+class AnimationFrameLimiter {
+
+  private long frameInterval;
+  private long lastFrameTime;
+
+  /**
+   * Sets the frame rate limit.
+   *
+   * @param frameRate the maximum amount of animation frames per second, 0 to not limit animations
+   */
+  void setFrameRate(int frameRate) {
+    frameInterval = frameRate > 0 ? 1000 / frameRate : 0;
+  }
+
+  /**
+   * Returns true if an animation update should be drawn.
+   *
+   * @param animatedFraction the fraction of the animation at the update
+   * @param now              the current time in milliseconds
+   * @return true if the update should be drawn
+   */
+  boolean isFrame(float animatedFraction, long now) {
+    if (frameInterval == 0 || animatedFraction >= 1.0f) {
+      return true;
+    }
+
+    if (now - lastFrameTime < frameInterval) {
+      return false;
+    }
+    lastFrameTime = now;
+    return true;
+  }
+}
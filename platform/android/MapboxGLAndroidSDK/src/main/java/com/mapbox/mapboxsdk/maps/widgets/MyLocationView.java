@@ -77,12 +77,16 @@ public class MyLocationView extends View {
   private ValueAnimator accuracyAnimator;
   private ValueAnimator directionAnimator;
   private boolean locationChangeAnimationEnabled;
+  private final AnimationFrameLimiter locationFrameLimiter = new AnimationFrameLimiter();
+  private final AnimationFrameLimiter directionFrameLimiter = new AnimationFrameLimiter();
 
   private ValueAnimator.AnimatorUpdateListener invalidateSelfOnUpdateListener =
     new ValueAnimator.AnimatorUpdateListener() {
       @Override
       public void onAnimationUpdate(ValueAnimator animation) {
-        invalidate();
+        if (isAnimationFrame(animation, directionFrameLimiter)) {
+          invalidate();
+        }
       }
     };
 
@@ -592,6 +596,21 @@ public class MyLocationView extends View {
     this.locationChangeAnimationEnabled = locationChangeAnimationEnabled;
   }
 
+  /**
+   * Limits the frame rate of animations, for internal use only.
+   *
+   * @param animationFrameRate the maximum amount of animation frames per second, 0 to not limit animations
+   */
+  public void setAnimationFrameRate(int animationFrameRate) {
+    locationFrameLimiter.setFrameRate(animationFrameRate);
+    directionFrameLimiter.setFrameRate(animationFrameRate);
+  }
+
+  // Returns true if an animation update should be drawn, the last frame of an animation is always drawn
+  private static boolean isAnimationFrame(ValueAnimator animation, AnimationFrameLimiter frameLimiter) {
+    return frameLimiter.isFrame(animation.getAnimatedFraction(), SystemClock.elapsedRealtime());
+  }
+
   /**
    * Set accuracy circle threshold. Circle won't be displayed if accuracy is below set value.
    * For internal use only.
@@ -898,7 +917,9 @@ public class MyLocationView extends View {
       double latitude = fromLat + (toLat - fromLat) * frac;
       double longitude = fromLng + (toLng - fromLng) * frac;
       behavior.updateLatLng(latitude, longitude);
-      update();
+      if (isAnimationFrame(animation, locationFrameLimiter)) {
+        update();
+      }
     }
   }
 
@@ -53,6 +53,9 @@ public class MyLocationViewSettings {
   private int accuracyAlpha;
   private float accuracyThreshold = 0f;
 
+  private int animationFrameRate;
+  private int lowPowerFrameRate;
+
   @ColorInt
   private int accuracyTintColor;
 
@@ -314,6 +317,48 @@ public class MyLocationViewSettings {
     myLocationView.setAccuracyThreshold(accuracyThreshold);
   }
 
+  /**
+   * Returns the maximum frame rate of the location, accuracy and bearing animations, as set with
+   * {@link #setAnimationFrameRate(int)}. The limit applied while the map is in low power mode isn't reflected.
+   *
+   * @return the maximum amount of animation frames per second, 0 if animations aren't limited
+   */
+  public int getAnimationFrameRate() {
+    return animationFrameRate;
+  }
+
+  /**
+   * Limits the frame rate of the location, accuracy and bearing animations, eg. to save power.
+   * <p>
+   * While the map is in low power mode, the lower of this frame rate and the low power frame rate is applied.
+   * </p>
+   *
+   * @param animationFrameRate the maximum amount of animation frames per second, 0 to not limit animations
+   */
+  public void setAnimationFrameRate(int animationFrameRate) {
+    this.animationFrameRate = animationFrameRate;
+    updateAnimationFrameRate();
+  }
+
+  /**
+   * Limits the frame rate of the animations while the map is in low power mode, on top of the frame rate set with
+   * {@link #setAnimationFrameRate(int)}.
+   *
+   * @param lowPowerFrameRate the maximum amount of animation frames per second, 0 when low power mode is disabled
+   */
+  public void setLowPowerFrameRate(int lowPowerFrameRate) {
+    this.lowPowerFrameRate = lowPowerFrameRate;
+    updateAnimationFrameRate();
+  }
+
+  private void updateAnimationFrameRate() {
+    int frameRate = animationFrameRate;
+    if (lowPowerFrameRate > 0 && (frameRate == 0 || lowPowerFrameRate < frameRate)) {
+      frameRate = lowPowerFrameRate;
+    }
+    myLocationView.setAnimationFrameRate(frameRate);
+  }
+
   public void setTilt(double tilt) {
     myLocationView.setTilt(tilt);
   }
@@ -85,6 +85,26 @@ public class OfflineManager {
     void onError(String error);
   }
 
+  /**
+   * This callback receives an asynchronous response containing the download plan of an
+   * offline region definition or an error message otherwise.
+   */
+  public interface GetOfflineRegionDownloadPlanCallback {
+    /**
+     * Receives the download plan.
+     *
+     * @param plan the download plan of the offline region definition
+     */
+    void onPlan(OfflineRegionDownloadPlan plan);
+
+    /**
+     * Receives the error message.
+     *
+     * @param error the error message
+     */
+    void onError(String error);
+  }
+
   /*
    * Constructor
    */
@@ -226,6 +246,53 @@ public class OfflineManager {
     });
   }
 
+  /**
+   * Compute the resources an offline region with the given definition requires, without creating
+   * the region or downloading any of them.
+   * <p>
+   * The plan is computed from the style and TileJSON resources that are already cached, no network
+   * requests are made. This allows budgeting storage and bandwidth for a large amount of regions up
+   * front. The query will be executed asynchronously and the result passed to the given callback on
+   * the main thread.
+   * </p>
+   *
+   * @param definition the offline region definition
+   * @param callback   the callback to be invoked
+   */
+  public void getOfflineRegionDownloadPlan(@NonNull OfflineRegionDefinition definition,
+                                           @NonNull final GetOfflineRegionDownloadPlanCallback callback) {
+    if (!isValidOfflineRegionDefinition(definition)) {
+      callback.onError(
+        String.format(context.getString(R.string.mapbox_offline_error_region_definition_invalid),
+          definition.getBounds())
+      );
+      return;
+    }
+
+    getOfflineRegionDownloadPlan(fileSource, definition, new GetOfflineRegionDownloadPlanCallback() {
+
+      @Override
+      public void onPlan(final OfflineRegionDownloadPlan plan) {
+        getHandler().post(new Runnable() {
+          @Override
+          public void run() {
+            callback.onPlan(plan);
+          }
+        });
+      }
+
+      @Override
+      public void onError(final String error) {
+        getHandler().post(new Runnable() {
+          @Override
+          public void run() {
+            callback.onError(error);
+          }
+        });
+      }
+    });
+  }
+
   /**
    * Validates if the offline region definition bounds is valid for an offline region download.
    *
@@ -253,4 +320,7 @@ public class OfflineManager {
   private native void createOfflineRegion(FileSource fileSource, OfflineRegionDefinition definition,
                                           byte[] metadata, CreateOfflineRegionCallback callback);
 
+  private native void getOfflineRegionDownloadPlan(FileSource fileSource, OfflineRegionDefinition definition,
+                                                   GetOfflineRegionDownloadPlanCallback callback);
+
 }
@@ -0,0 +1,197 @@
+package com.mapbox.mapboxsdk.offline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A download plan describes the resources an offline region requires before any of them
+ * is downloaded: the number of tiles per source and zoom level, the glyph and sprite resources,
+ * and an estimate of the storage they occupy.
+ * <p>
+ * The plan is computed from the region definition and the style and TileJSON resources that are
+ * already in the cache, no network requests are made. Sizes are estimated from the average size of
+ * cached resources of the same kind, and for tiles, of the same tile source and zoom level.
+ * </p>
+ *
+ * @see OfflineManager#getOfflineRegionDownloadPlan(OfflineRegionDefinition,
+ * OfflineManager.GetOfflineRegionDownloadPlanCallback)
+ */
+public class OfflineRegionDownloadPlan {
+
+  private final List<TileLevel> tileLevels;
+  private final long styleResourceCount;
+  private final long glyphResourceCount;
+  private final long spriteResourceCount;
+  private final long estimatedSize;
+  private final long unestimatedResourceCount;
+  private final boolean resourceCountIsPrecise;
+
+  /*
+   * Use OfflineManager#getOfflineRegionDownloadPlan to obtain a OfflineRegionDownloadPlan object.
+   *
+   * For JNI use only
+   */
+  private OfflineRegionDownloadPlan(String[] sourceIds, int[] zooms, long[] tileCounts, long[] estimatedTileSizes,
+                                    long styleResourceCount, long glyphResourceCount, long spriteResourceCount,
+                                    long estimatedSize, long unestimatedResourceCount,
+                                    boolean resourceCountIsPrecise) {
+    List<TileLevel> levels = new ArrayList<>(sourceIds.length);
+    for (int i = 0; i < sourceIds.length; i++) {
+      levels.add(new TileLevel(sourceIds[i], zooms[i], tileCounts[i], estimatedTileSizes[i]));
+    }
+    this.tileLevels = Collections.unmodifiableList(levels);
+    this.styleResourceCount = styleResourceCount;
+    this.glyphResourceCount = glyphResourceCount;
+    this.spriteResourceCount = spriteResourceCount;
+    this.estimatedSize = estimatedSize;
+    this.unestimatedResourceCount = unestimatedResourceCount;
+    this.resourceCountIsPrecise = resourceCountIsPrecise;
+  }
+
+  /**
+   * Get the tiles required per tile source and zoom level.
+   *
+   * @return the required tiles, ordered by source and zoom level
+   */
+  public List<TileLevel> getTileLevels() {
+    return tileLevels;
+  }
+
+  /**
+   * Get the number of tiles required from all tile sources.
+   *
+   * @return the required tile count
+   */
+  public long getTileCount() {
+    long count = 0;
+    for (TileLevel level : tileLevels) {
+      count += level.getTileCount();
+    }
+    return count;
+  }
+
+  /**
+   * Get the number of style, TileJSON, GeoJSON and image resources required.
+   *
+   * @return the required style resource count
+   */
+  public long getStyleResourceCount() {
+    return styleResourceCount;
+  }
+
+  /**
+   * Get the number of glyph resources required.
+   *
+   * @return the required glyph resource count
+   */
+  public long getGlyphResourceCount() {
+    return glyphResourceCount;
+  }
+
+  /**
+   * Get the number of sprite resources required.
+   *
+   * @return the required sprite resource count
+   */
+  public long getSpriteResourceCount() {
+    return spriteResourceCount;
+  }
+
+  /**
+   * Get the number of resources (inclusive of tiles) required.
+   *
+   * @return the required resource count
+   */
+  public long getResourceCount() {
+    return styleResourceCount + glyphResourceCount + spriteResourceCount + getTileCount();
+  }
+
+  /**
+   * Get the estimated cumulative size, in bytes, of all required resources.
+   * <p>
+   * Resources for which no cached sample is available aren't accounted for, see
+   * {@link #getUnestimatedResourceCount()}.
+   * </p>
+   *
+   * @return the estimated size in bytes
+   */
+  public long getEstimatedSize() {
+    return estimatedSize;
+  }
+
+  /**
+   * Get the number of required resources that aren't accounted for in {@link #getEstimatedSize()}
+   * because no cached sample of their kind was available.
+   *
+   * @return the amount of resources without a size estimate
+   */
+  public long getUnestimatedResourceCount() {
+    return unestimatedResourceCount;
+  }
+
+  /**
+   * Returns false when the style or one of its TileJSON resources isn't cached, in which case
+   * the resource counts are merely a lower bound.
+   *
+   * @return true if the resource counts are precise, false if not
+   */
+  public boolean isResourceCountPrecise() {
+    return resourceCountIsPrecise;
+  }
+
+  /**
+   * The tiles required from a tile source at a single zoom level.
+   */
+  public static class TileLevel {
+
+    private final String sourceId;
+    private final int zoom;
+    private final long tileCount;
+    private final long estimatedSize;
+
+    TileLevel(String sourceId, int zoom, long tileCount, long estimatedSize) {
+      this.sourceId = sourceId;
+      this.zoom = zoom;
+      this.tileCount = tileCount;
+      this.estimatedSize = estimatedSize;
+    }
+
+    /**
+     * Get the id of the tile source.
+     *
+     * @return the source id
+     */
+    public String getSourceId() {
+      return sourceId;
+    }
+
+    /**
+     * Get the zoom level.
+     *
+     * @return the zoom level
+     */
+    public int getZoom() {
+      return zoom;
+    }
+
+    /**
+     * Get the number of tiles required at this zoom level.
+     *
+     * @return the tile count
+     */
+    public long getTileCount() {
+      return tileCount;
+    }
+
+    /**
+     * Get the estimated cumulative size, in bytes, of the tiles. Zero if no tiles of this
+     * source are cached.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getEstimatedSize() {
+      return estimatedSize;
+    }
+  }
+}
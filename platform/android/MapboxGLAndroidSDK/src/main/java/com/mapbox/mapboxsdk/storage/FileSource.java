@@ -140,6 +140,55 @@ public class FileSource {
    */
   public native void setResourceTransform(final ResourceTransformCallback callback);
 
+  /**
+   * Group-commits writes to the offline database, increasing the throughput of offline downloads and ambient caching.
+   * <p>
+   * By default, every downloaded resource is committed and synced to disk before the next one is written. With a batch
+   * size larger than one, writes are committed once the batch size is reached or the batch interval elapsed. Writes
+   * that weren't committed yet are lost if the process is killed, the database itself stays consistent.
+   * </p>
+   *
+   * @param batchSize     the maximum amount of writes per commit, 0 or 1 to commit every write
+   * @param batchInterval the maximum time, in milliseconds, a write stays uncommitted
+   */
+  public native void setDatabaseWriteBatching(int batchSize, long batchInterval);
+
+  /**
+   * Changes the maximum size, in bytes, of the ambient cache. Offline regions don't count towards this limit.
+   * <p>
+   * Least recently used resources are evicted in the background until the cache fits the new size.
+   * </p>
+   *
+   * @param size the maximum cache size in bytes
+   */
+  public native void setMaximumCacheSize(long size);
+
+  /**
+   * Changes the maximum size, in bytes, of the in-memory cache of decompressed resources.
+   * <p>
+   * Recently used styles, sprites, glyphs and tiles are kept in memory, shared by all maps in the process, so that
+   * switching styles or recreating a map doesn't read them from the database again. A size of 0 disables the
+   * in-memory cache.
+   * </p>
+   *
+   * @param size the maximum in-memory cache size in bytes
+   */
+  public native void setMemoryCacheSize(long size);
+
+  /**
+   * Returns the amount of requests that were answered from the in-memory cache.
+   *
+   * @return the in-memory cache hit count
+   */
+  public native long getMemoryCacheHitCount();
+
+  /**
+   * Returns the amount of requests that weren't found in the in-memory cache.
+   *
+   * @return the in-memory cache miss count
+   */
+  public native long getMemoryCacheMissCount();
+
   private native void initialize(String accessToken, String cachePath, AssetManager assetManager);
 
   @Override
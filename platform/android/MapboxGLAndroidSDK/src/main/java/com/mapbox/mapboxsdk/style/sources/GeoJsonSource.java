@@ -4,6 +4,9 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.UiThread;
 
+import com.mapbox.mapboxsdk.maps.FeatureQuery;
+import com.mapbox.mapboxsdk.maps.FeatureQueryExecutor;
+import com.mapbox.mapboxsdk.maps.FeatureQuerySnapshot;
 import com.mapbox.mapboxsdk.style.layers.Filter;
 import com.mapbox.services.commons.geojson.Feature;
 import com.mapbox.services.commons.geojson.FeatureCollection;
@@ -247,6 +250,24 @@ public class GeoJsonSource extends Source {
     return features != null ? Arrays.asList(features) : new ArrayList<Feature>();
   }
 
+  /**
+   * Queries the source for features asynchronously.
+   * <p>
+   * The tiles of the source are captured on the calling thread, the features are queried on a worker thread and
+   * delivered on the main thread. A newer asynchronous query on this source cancels a pending one.
+   * </p>
+   *
+   * @param filter   an optional filter statement to filter the returned Features
+   * @param callback the callback invoked with the queried features
+   * @return the query handle that can be used to cancel the query
+   */
+  @NonNull
+  public FeatureQuery querySourceFeaturesAsync(@Nullable Filter.Statement filter,
+                                               @NonNull FeatureQuery.Callback callback) {
+    return FeatureQueryExecutor.getInstance().submit(this,
+      nativeSnapshotSourceFeatures(filter != null ? filter.toArray() : null), callback);
+  }
+
   protected native void initialize(String layerId, Object options);
 
   protected native void nativeSetUrl(String url);
@@ -263,6 +284,8 @@ public class GeoJsonSource extends Source {
 
   private native Feature[] querySourceFeatures(Object[] filter);
 
+  private native FeatureQuerySnapshot nativeSnapshotSourceFeatures(Object[] filter);
+
   @Override
   protected native void finalize() throws Throwable;
 
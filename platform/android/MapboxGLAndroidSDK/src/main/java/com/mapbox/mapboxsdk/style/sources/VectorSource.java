@@ -5,6 +5,9 @@ import android.support.annotation.Nullable;
 import android.support.annotation.Size;
 import android.support.annotation.UiThread;
 
+import com.mapbox.mapboxsdk.maps.FeatureQuery;
+import com.mapbox.mapboxsdk.maps.FeatureQueryExecutor;
+import com.mapbox.mapboxsdk.maps.FeatureQuerySnapshot;
 import com.mapbox.mapboxsdk.style.layers.Filter;
 import com.mapbox.services.commons.geojson.Feature;
 
@@ -76,6 +79,26 @@ public class VectorSource extends Source {
     return features != null ? Arrays.asList(features) : new ArrayList<Feature>();
   }
 
+  /**
+   * Queries the source for features asynchronously.
+   * <p>
+   * The tiles of the source are captured on the calling thread, the features are queried on a worker thread and
+   * delivered on the main thread. A newer asynchronous query on this source cancels a pending one.
+   * </p>
+   *
+   * @param sourceLayerIds the source layer identifiers. At least one must be specified.
+   * @param filter         an optional filter statement to filter the returned Features
+   * @param callback       the callback invoked with the queried features
+   * @return the query handle that can be used to cancel the query
+   */
+  @NonNull
+  public FeatureQuery querySourceFeaturesAsync(@Size(min = 1) String[] sourceLayerIds,
+                                               @Nullable Filter.Statement filter,
+                                               @NonNull FeatureQuery.Callback callback) {
+    return FeatureQueryExecutor.getInstance().submit(this,
+      nativeSnapshotSourceFeatures(sourceLayerIds, filter != null ? filter.toArray() : null), callback);
+  }
+
   /**
    * @return The url or null
    */
@@ -94,4 +117,7 @@ public class VectorSource extends Source {
   private native Feature[] querySourceFeatures(String[] sourceLayerId,
                                                Object[] filter);
 
+  private native FeatureQuerySnapshot nativeSnapshotSourceFeatures(String[] sourceLayerId,
+                                                                   Object[] filter);
+
 }
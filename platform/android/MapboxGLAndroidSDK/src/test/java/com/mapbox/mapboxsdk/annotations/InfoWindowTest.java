@@ -1,6 +1,7 @@
 package com.mapbox.mapboxsdk.annotations;
 
 import android.graphics.PointF;
+import android.view.View;
 
 import com.mapbox.mapboxsdk.geometry.LatLng;
 import com.mapbox.mapboxsdk.maps.MapView;
@@ -12,6 +13,8 @@ import org.mockito.InjectMocks;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -83,4 +86,23 @@ public class InfoWindowTest {
     infoWindow.update();
   }
 
+  @Test
+  public void testCloseReleasesPooledView() {
+    LatLng latLng = new LatLng(0, 0);
+    Projection projection = mock(Projection.class);
+    when(mMapboxMap.getProjection()).thenReturn(projection);
+    when(projection.toScreenLocation(latLng)).thenReturn(new PointF(0, 0));
+
+    MapboxMap.InfoWindowViewAdapter<Object> adapter = new MapboxMap.InfoWindowViewAdapter<Object>() {
+      @Override
+      public View getInfoWindow(Marker marker, Object content, View convertView) {
+        return convertView;
+      }
+    };
+    InfoWindow infoWindow = new InfoWindow(mMapView, mMapboxMap, adapter);
+    infoWindow.open(mMapView, new MarkerOptions().position(latLng).getMarker(), latLng, 0, 0);
+    infoWindow.close();
+    assertNull("view should be released", infoWindow.getView());
+    assertSame("view should be reused", mMapView, adapter.getViewReusePool().acquire());
+  }
 }
@@ -0,0 +1,287 @@
+package com.mapbox.mapboxsdk.annotations;
+
+import android.content.Context;
+import android.graphics.PointF;
+import android.graphics.RectF;
+import android.support.annotation.NonNull;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+
+import com.mapbox.mapboxsdk.geometry.LatLng;
+import com.mapbox.mapboxsdk.maps.MapboxMap;
+import com.mapbox.mapboxsdk.maps.Projection;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MarkerViewManagerTest {
+
+  private static final long INFLATION_NANOS = 5_000_000;
+
+  private FakeClock clock;
+  private MarkerViewPreInflater preInflater;
+  private ViewGroup container;
+  private MapboxMap mapboxMap;
+  private Projection projection;
+  private CustomMarkerViewAdapter adapter;
+  private MarkerViewManager markerViewManager;
+
+  @Before
+  public void beforeTest() {
+    clock = new FakeClock();
+    preInflater = mock(MarkerViewPreInflater.class);
+    container = mock(ViewGroup.class);
+    mapboxMap = mock(MapboxMap.class);
+    projection = mock(Projection.class);
+    when(projection.toScreenLocation(any(LatLng.class))).thenReturn(new PointF());
+    when(mapboxMap.getProjection()).thenReturn(projection);
+
+    markerViewManager = new MarkerViewManager(container, clock, preInflater);
+    markerViewManager.bind(mapboxMap);
+    adapter = new CustomMarkerViewAdapter(mock(Context.class), clock);
+    markerViewManager.addMarkerViewAdapter(adapter);
+  }
+
+  @Test
+  public void testInflationBudget() {
+    List<MarkerView> markers = createMarkers(5);
+    showMarkers(markers);
+
+    // inflating takes 5 ms, the third view exceeds the 8 ms budget
+    assertNotNull(markerViewManager.getView(markers.get(0)));
+    assertNotNull(markerViewManager.getView(markers.get(1)));
+    assertNull(markerViewManager.getView(markers.get(2)));
+    assertNull(markerViewManager.getView(markers.get(4)));
+    verify(preInflater).request(eq(adapter), eq(container), eq(3), any(MarkerViewPreInflater.Callback.class));
+  }
+
+  @Test
+  public void testInflationBudgetFirstView() {
+    clock.inflationNanos = 10_000_000;
+    List<MarkerView> markers = createMarkers(2);
+    showMarkers(markers);
+
+    // a single view is always inflated, even when it exceeds the budget
+    assertNotNull(markerViewManager.getView(markers.get(0)));
+    assertNull(markerViewManager.getView(markers.get(1)));
+  }
+
+  @Test
+  public void testInflationDeferredToNextInvalidation() {
+    List<MarkerView> markers = createMarkers(3);
+    showMarkers(markers);
+    assertNull(markerViewManager.getView(markers.get(2)));
+
+    markerViewManager.invalidateViewMarkersInVisibleRegion();
+    assertNotNull(markerViewManager.getView(markers.get(2)));
+  }
+
+  @Test
+  public void testNoDeferralWithinBudget() {
+    clock.inflationNanos = 1_000_000;
+    List<MarkerView> markers = createMarkers(5);
+    showMarkers(markers);
+
+    for (MarkerView marker : markers) {
+      assertNotNull(markerViewManager.getView(marker));
+    }
+    verify(preInflater, never()).request(any(MapboxMap.MarkerViewAdapter.class), any(ViewGroup.class),
+      anyInt(), any(MarkerViewPreInflater.Callback.class));
+  }
+
+  @Test
+  public void testOnMarkerViewAddedListenerRetainedForDeferredMarker() {
+    List<MarkerView> markers = createMarkers(3);
+    MarkerViewManager.OnMarkerViewAddedListener shownListener = mock(MarkerViewManager.OnMarkerViewAddedListener.class);
+    MarkerViewManager.OnMarkerViewAddedListener deferredListener =
+      mock(MarkerViewManager.OnMarkerViewAddedListener.class);
+    markerViewManager.addOnMarkerViewAddedListener(markers.get(0), shownListener);
+    markerViewManager.addOnMarkerViewAddedListener(markers.get(2), deferredListener);
+
+    showMarkers(markers);
+    verify(shownListener).onViewAdded(markers.get(0));
+    verify(deferredListener, never()).onViewAdded(any(MarkerView.class));
+
+    markerViewManager.invalidateViewMarkersInVisibleRegion();
+    verify(deferredListener).onViewAdded(markers.get(2));
+  }
+
+  @Test
+  public void testOnMarkerViewAddedListenerClearedWithoutDeferral() {
+    MarkerView marker = createMarkers(1).get(0);
+    MarkerViewManager.OnMarkerViewAddedListener listener = mock(MarkerViewManager.OnMarkerViewAddedListener.class);
+    markerViewManager.addOnMarkerViewAddedListener(marker, listener);
+
+    // the marker is not in the visible region
+    markerViewManager.invalidateViewMarkersInVisibleRegion();
+    showMarkers(Collections.singletonList(marker));
+    verify(listener, never()).onViewAdded(any(MarkerView.class));
+  }
+
+  @Test
+  public void testMaxViewCount() {
+    clock.inflationNanos = 0;
+    List<MarkerView> markers = createMarkers(4);
+    // the container is centered on the screen origin
+    placeMarker(markers.get(0), 30);
+    placeMarker(markers.get(1), 10);
+    placeMarker(markers.get(2), 40);
+    placeMarker(markers.get(3), 20);
+
+    markerViewManager.setMaxViewCount(2);
+    showMarkers(markers);
+
+    assertNotNull(markerViewManager.getView(markers.get(1)));
+    assertNotNull(markerViewManager.getView(markers.get(3)));
+    assertNull(markerViewManager.getView(markers.get(0)));
+    assertNull(markerViewManager.getView(markers.get(2)));
+  }
+
+  @Test
+  public void testMaxViewCountKeepsSelectedMarkers() {
+    clock.inflationNanos = 0;
+    List<MarkerView> markers = createMarkers(2);
+    placeMarker(markers.get(0), 10);
+    placeMarker(markers.get(1), 20);
+    markers.get(1).setSelected(true);
+
+    markerViewManager.setMaxViewCount(1);
+    showMarkers(markers);
+
+    // the selected marker takes the only View
+    assertNull(markerViewManager.getView(markers.get(0)));
+    assertNotNull(markerViewManager.getView(markers.get(1)));
+  }
+
+  @Test
+  public void testFocusArea() {
+    clock.inflationNanos = 0;
+    List<MarkerView> markers = createMarkers(2);
+    markers.get(1).setSelected(true);
+
+    // an empty focus area, none of the markers is inside
+    markerViewManager.setFocusArea(new RectF());
+    showMarkers(markers);
+
+    assertNull(markerViewManager.getView(markers.get(0)));
+    assertNotNull("selected markers are shown as View", markerViewManager.getView(markers.get(1)));
+  }
+
+  @Test
+  public void testSymbolMarkerRemovedAfterIdChange() {
+    clock.inflationNanos = 0;
+    MarkerView marker = createMarkers(1).get(0);
+    markerViewManager.setMaxViewCount(0);
+    showMarkers(Collections.singletonList(marker));
+    assertNull(markerViewManager.getView(marker));
+    assertNotNull(marker.getSymbolIcon());
+
+    // the id of a marker changes when the map is reloaded
+    marker.setId(10);
+    markerViewManager.removeMarkerView(marker);
+    assertNull(marker.getSymbolIcon());
+  }
+
+  @Test
+  public void testSymbolUpdatesBatched() {
+    clock.inflationNanos = 0;
+    List<MarkerView> markers = createMarkers(2);
+    markerViewManager.setMaxViewCount(0);
+    showMarkers(markers);
+
+    // the markers drawn as symbol are updated in a single batch
+    InOrder inOrder = inOrder(mapboxMap);
+    inOrder.verify(mapboxMap).beginUpdates();
+    inOrder.verify(mapboxMap, times(2)).updateMarker(any(Marker.class));
+    inOrder.verify(mapboxMap).commitUpdates();
+  }
+
+  @Test
+  public void testOnDestroy() {
+    markerViewManager.onDestroy();
+    verify(preInflater).release();
+  }
+
+  private List<MarkerView> createMarkers(int count) {
+    List<MarkerView> markers = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      CustomMarkerView marker = new CustomMarkerView(new MarkerViewOptions().position(new LatLng()));
+      marker.setId(i);
+      markers.add(marker);
+    }
+    return markers;
+  }
+
+  private void placeMarker(MarkerView marker, float x) {
+    marker.setPosition(new LatLng(x, 0));
+    PointF point = new PointF();
+    point.x = x;
+    when(projection.toScreenLocation(marker.getPosition())).thenReturn(point);
+  }
+
+  private void showMarkers(List<MarkerView> markers) {
+    when(mapboxMap.getMarkerViewsInRect(any(RectF.class))).thenReturn(markers);
+    markerViewManager.invalidateViewMarkersInVisibleRegion();
+  }
+
+  private static class FakeClock implements MarkerViewManager.Clock {
+
+    private long nanoTime;
+    private long inflationNanos = INFLATION_NANOS;
+
+    @Override
+    public long nanoTime() {
+      return nanoTime;
+    }
+  }
+
+  private static class CustomMarkerView extends MarkerView {
+
+    CustomMarkerView(BaseMarkerViewOptions baseMarkerViewOptions) {
+      super(baseMarkerViewOptions);
+    }
+  }
+
+  private static class CustomMarkerViewAdapter extends MapboxMap.MarkerViewAdapter<CustomMarkerView> {
+
+    private final FakeClock clock;
+
+    CustomMarkerViewAdapter(Context context, FakeClock clock) {
+      super(context);
+      this.clock = clock;
+    }
+
+    @Override
+    public View getView(@NonNull CustomMarkerView marker, View convertView, @NonNull ViewGroup parent) {
+      if (convertView != null) {
+        return convertView;
+      }
+
+      clock.nanoTime += clock.inflationNanos;
+      View view = mock(View.class);
+      when(view.getViewTreeObserver()).thenReturn(mock(ViewTreeObserver.class));
+      when(view.getMeasuredWidth()).thenReturn(10);
+      when(view.getMeasuredHeight()).thenReturn(10);
+      return view;
+    }
+  }
+}
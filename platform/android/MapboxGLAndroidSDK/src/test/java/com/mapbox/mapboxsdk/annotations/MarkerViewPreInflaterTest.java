@@ -0,0 +1,199 @@
+package com.mapbox.mapboxsdk.annotations;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.mapbox.mapboxsdk.maps.MapboxMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class MarkerViewPreInflaterTest {
+
+  private FakeWorker worker;
+  private FakeExecutor mainThread;
+  private MarkerViewPreInflater preInflater;
+  private ViewGroup parent;
+  private MarkerViewPreInflater.Callback callback;
+  private MapboxMap.MarkerViewAdapter<MarkerView> adapter;
+
+  @Before
+  public void beforeTest() {
+    worker = new FakeWorker();
+    mainThread = new FakeExecutor();
+    preInflater = new MarkerViewPreInflater(worker, mainThread);
+    parent = mock(ViewGroup.class);
+    callback = mock(MarkerViewPreInflater.Callback.class);
+    adapter = new InflatingMarkerViewAdapter(mock(Context.class));
+  }
+
+  @Test
+  public void testPendingCount() {
+    preInflater.request(adapter, parent, 3, callback);
+    assertEquals(3, preInflater.getPendingCount(adapter));
+    assertEquals(1, worker.startCount);
+
+    worker.runAll();
+    assertEquals(3, preInflater.getPendingCount(adapter));
+
+    mainThread.runAll();
+    assertEquals(0, preInflater.getPendingCount(adapter));
+    verify(callback).onViewsInflated(eq(adapter), anyList());
+  }
+
+  @Test
+  public void testRequestWhilePending() {
+    preInflater.request(adapter, parent, 3, callback);
+    preInflater.request(adapter, parent, 2, callback);
+    assertEquals("requests covered by pending views aren't posted", 1, worker.tasks.size());
+
+    preInflater.request(adapter, parent, 5, callback);
+    assertEquals("only the missing views are requested", 2, worker.tasks.size());
+    assertEquals(5, preInflater.getPendingCount(adapter));
+
+    worker.runAll();
+    mainThread.tasks.remove(0).run();
+    assertEquals(2, preInflater.getPendingCount(adapter));
+    assertEquals("worker is kept while views are pending", 0, worker.quitCount);
+
+    mainThread.runAll();
+    assertEquals(0, preInflater.getPendingCount(adapter));
+    verify(callback, times(2)).onViewsInflated(eq(adapter), anyList());
+  }
+
+  @Test
+  public void testWorkerQuitWhenIdle() {
+    preInflater.request(adapter, parent, 1, callback);
+    worker.runAll();
+    mainThread.runAll();
+    assertEquals(1, worker.quitCount);
+
+    preInflater.request(adapter, parent, 1, callback);
+    assertEquals("worker is restarted on demand", 2, worker.startCount);
+  }
+
+  @Test
+  public void testRelease() {
+    preInflater.request(adapter, parent, 2, callback);
+    worker.runAll();
+    preInflater.release();
+    assertEquals(1, worker.quitCount);
+    assertEquals(0, preInflater.getPendingCount(adapter));
+
+    mainThread.runAll();
+    verify(callback, never()).onViewsInflated(eq(adapter), anyList());
+    assertEquals("worker isn't quit twice", 1, worker.quitCount);
+  }
+
+  @Test
+  public void testReleaseWhenIdle() {
+    preInflater.release();
+    assertEquals(0, worker.quitCount);
+  }
+
+  @Test
+  public void testInflationException() {
+    MapboxMap.MarkerViewAdapter<MarkerView> failingAdapter = new FailingMarkerViewAdapter(mock(Context.class));
+    preInflater.request(failingAdapter, parent, 2, callback);
+    worker.runAll();
+    mainThread.runAll();
+
+    List<View> noViews = new ArrayList<>();
+    verify(callback).onViewsInflated(failingAdapter, noViews);
+    assertEquals(0, preInflater.getPendingCount(failingAdapter));
+  }
+
+  private static class FakeWorker implements MarkerViewPreInflater.Worker {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private int startCount;
+    private int quitCount;
+
+    @Override
+    public void start() {
+      startCount++;
+    }
+
+    @Override
+    public void post(@NonNull Runnable runnable) {
+      tasks.add(runnable);
+    }
+
+    @Override
+    public void quit() {
+      quitCount++;
+    }
+
+    void runAll() {
+      assertTrue("worker isn't started", startCount > quitCount);
+      while (!tasks.isEmpty()) {
+        tasks.remove(0).run();
+      }
+    }
+  }
+
+  private static class FakeExecutor implements Executor {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public void execute(@NonNull Runnable runnable) {
+      tasks.add(runnable);
+    }
+
+    void runAll() {
+      while (!tasks.isEmpty()) {
+        tasks.remove(0).run();
+      }
+    }
+  }
+
+  private static class InflatingMarkerViewAdapter extends MapboxMap.MarkerViewAdapter<MarkerView> {
+
+    InflatingMarkerViewAdapter(Context context) {
+      super(context);
+    }
+
+    @Override
+    public View createView(@NonNull ViewGroup parent) {
+      return mock(View.class);
+    }
+
+    @Override
+    public View getView(@NonNull MarkerView marker, View convertView, @NonNull ViewGroup parent) {
+      return convertView;
+    }
+  }
+
+  private static class FailingMarkerViewAdapter extends MapboxMap.MarkerViewAdapter<MarkerView> {
+
+    FailingMarkerViewAdapter(Context context) {
+      super(context);
+    }
+
+    @Override
+    public View createView(@NonNull ViewGroup parent) {
+      throw new IllegalStateException("requires the main thread");
+    }
+
+    @Override
+    public View getView(@NonNull MarkerView marker, View convertView, @NonNull ViewGroup parent) {
+      return convertView;
+    }
+  }
+}
@@ -16,7 +16,12 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class MarkerViewTest {
 
@@ -203,6 +208,22 @@ public class MarkerViewTest {
     assertEquals(markerOne, markerTwo);
   }
 
+  @Test
+  public void testSymbolIcon() {
+    MarkerView marker = new MarkerViewOptions().position(new LatLng()).getMarker();
+    marker.setMapboxMap(mapboxMap);
+    assertNull(marker.getSymbolIcon());
+
+    Icon symbolIcon = mock(Icon.class);
+    marker.setSymbolIcon(symbolIcon);
+    marker.setSymbolIcon(symbolIcon);
+    assertSame(symbolIcon, marker.getSymbolIcon());
+
+    marker.setSymbolIcon(null);
+    assertNull(marker.getSymbolIcon());
+    verify(mapboxMap, times(2)).updateMarker(marker);
+  }
+
   @Test
   public void testToString() {
     MarkerView marker = new MarkerViewOptions().position(new LatLng(0, 0)).getMarker();
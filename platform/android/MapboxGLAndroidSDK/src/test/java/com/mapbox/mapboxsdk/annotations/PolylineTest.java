@@ -1,6 +1,7 @@
 package com.mapbox.mapboxsdk.annotations;
 
 import com.mapbox.mapboxsdk.geometry.LatLng;
+import com.mapbox.mapboxsdk.maps.MapboxMap;
 
 import org.junit.Test;
 
@@ -9,6 +10,9 @@ import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 public class PolylineTest {
 
@@ -72,4 +76,48 @@ public class PolylineTest {
     assertEquals(new LatLng(0, 0), polyline.getPoints().get(0));
   }
 
+  @Test
+  public void testAddPointTransfersPointOnly() {
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    Polyline polyline = new PolylineOptions().add(new LatLng(0, 0)).getPolyline();
+    polyline.setMapboxMap(mapboxMap);
+    LatLng point = new LatLng(1, 1);
+    polyline.addPoint(point);
+    verify(mapboxMap).updatePolylineAddedPoint(polyline, point);
+    verify(mapboxMap, never()).updatePolyline(polyline);
+  }
+
+  @Test
+  public void testMaxPointCountDropsOldestPoints() {
+    Polyline polyline = new PolylineOptions().getPolyline();
+    polyline.setMaxPointCount(8, false);
+    for (int i = 0; i < 9; i++) {
+      polyline.addPoint(new LatLng(0, i));
+    }
+    assertEquals(6, polyline.getPoints().size());
+    assertEquals(new LatLng(0, 3), polyline.getPoints().get(0));
+    assertEquals(new LatLng(0, 8), polyline.getPoints().get(5));
+  }
+
+  @Test
+  public void testMaxPointCountSimplifies() {
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    Polyline polyline = new PolylineOptions().getPolyline();
+    polyline.setMapboxMap(mapboxMap);
+    polyline.setMaxPointCount(8, true);
+    for (int i = 0; i < 9; i++) {
+      polyline.addPoint(new LatLng(0, i));
+    }
+    List<LatLng> points = polyline.getPoints();
+    assertEquals(5, points.size());
+    assertEquals(new LatLng(0, 0), points.get(0));
+    assertEquals(new LatLng(0, 4), points.get(2));
+    assertEquals(new LatLng(0, 8), points.get(4));
+    verify(mapboxMap).updatePolyline(polyline);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeMaxPointCount() {
+    new PolylineOptions().getPolyline().setMaxPointCount(-1, false);
+  }
 }
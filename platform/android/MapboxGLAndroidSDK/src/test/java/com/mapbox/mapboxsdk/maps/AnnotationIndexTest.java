@@ -0,0 +1,144 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.support.v4.util.LongSparseArray;
+
+import com.mapbox.mapboxsdk.annotations.Annotation;
+import com.mapbox.mapboxsdk.annotations.Marker;
+import com.mapbox.mapboxsdk.annotations.Polyline;
+import com.mapbox.mapboxsdk.geometry.LatLng;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AnnotationIndexTest {
+
+  @Test
+  public void testViewsPerAnnotationType() {
+    LongSparseArray<Annotation> annotations = new LongSparseArray<>();
+    AnnotationIndex index = new AnnotationIndex(annotations);
+    List<Marker> markers = index.getMarkers();
+    Marker marker = mockMarker(1, new LatLng(10, 10));
+    Polyline polyline = mockPolyline(2, new LatLng(0, 0), new LatLng(1, 1));
+    annotations.put(1, marker);
+    annotations.put(2, polyline);
+    index.add(marker);
+    index.add(polyline);
+
+    assertEquals(2, index.getAnnotations().size());
+    assertEquals(1, markers.size());
+    assertSame(marker, markers.get(0));
+    assertSame(polyline, index.getPolylines().get(0));
+    assertEquals(0, index.getPolygons().size());
+
+    index.remove(1);
+    assertEquals(0, markers.size());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testViewIsReadOnly() {
+    AnnotationIndex index = new AnnotationIndex(new LongSparseArray<Annotation>());
+    index.getMarkers().add(mockMarker(1, new LatLng()));
+  }
+
+  @Test(expected = ConcurrentModificationException.class)
+  public void testViewIteratorFailsFast() {
+    AnnotationIndex index = new AnnotationIndex(new LongSparseArray<Annotation>());
+    index.add(mockMarker(1, new LatLng()));
+    index.add(mockMarker(2, new LatLng()));
+    index.add(mockMarker(3, new LatLng()));
+    for (Marker marker : index.getMarkers()) {
+      index.remove(marker.getId());
+    }
+  }
+
+  @Test
+  public void testQueryBounds() {
+    AnnotationIndex index = new AnnotationIndex(new LongSparseArray<Annotation>());
+    Marker inside = mockMarker(1, new LatLng(52.5, 13.4));
+    Marker outside = mockMarker(2, new LatLng(48.8, 2.3));
+    Polyline crossing = mockPolyline(3, new LatLng(50, 0), new LatLng(55, 20));
+    index.add(Arrays.asList(inside, outside, crossing));
+
+    List<Annotation> result = index.query(bounds(53, 14, 52, 13));
+    assertEquals(2, result.size());
+    assertTrue(result.contains(inside));
+    assertTrue(result.contains(crossing));
+  }
+
+  @Test
+  public void testQueryFollowsUpdates() {
+    AnnotationIndex index = new AnnotationIndex(new LongSparseArray<Annotation>());
+    Marker marker = mockMarker(1, new LatLng(0, 0));
+    Polyline polyline = mockPolyline(2, new LatLng(0, 0), new LatLng(1, 1));
+    index.add(marker);
+    index.add(polyline);
+
+    when(marker.getPosition()).thenReturn(new LatLng(40, 40));
+    index.update(marker);
+    index.extend(polyline, new LatLng(40.5, 40.5));
+
+    List<Annotation> result = index.query(bounds(41, 41, 39, 39));
+    assertEquals(2, result.size());
+    assertEquals(1, index.query(bounds(1, 1, -1, -1)).size());
+  }
+
+  @Test
+  public void testQueryLargeAnnotationOnce() {
+    AnnotationIndex index = new AnnotationIndex(new LongSparseArray<Annotation>());
+    for (int i = 0; i < 100; i++) {
+      index.add(mockMarker(i + 1, new LatLng(-60, -170)));
+    }
+    Polyline polyline = mockPolyline(1000, new LatLng(-80, -179), new LatLng(80, 179));
+    index.add(polyline);
+
+    List<Annotation> result = index.query(bounds(1, 1, -1, -1));
+    assertEquals(1, result.size());
+    assertSame(polyline, result.get(0));
+  }
+
+  @Test
+  public void testQueryAcrossAntimeridian() {
+    AnnotationIndex index = new AnnotationIndex(new LongSparseArray<Annotation>());
+    Marker east = mockMarker(1, new LatLng(0, 179.5));
+    Marker west = mockMarker(2, new LatLng(0, -179.5));
+    index.add(Arrays.asList(east, west, mockMarker(3, new LatLng(0, 0))));
+
+    List<Annotation> result = index.query(bounds(1, -179, -1, 179));
+    assertEquals(2, result.size());
+  }
+
+  private static LatLngBounds bounds(double north, double east, double south, double west) {
+    // mocked, the builder doesn't create bounds crossing the antimeridian
+    LatLngBounds bounds = mock(LatLngBounds.class);
+    when(bounds.getLatNorth()).thenReturn(north);
+    when(bounds.getLonEast()).thenReturn(east);
+    when(bounds.getLatSouth()).thenReturn(south);
+    when(bounds.getLonWest()).thenReturn(west);
+    return bounds;
+  }
+
+  private static Marker mockMarker(long id, LatLng position) {
+    Marker marker = mock(Marker.class);
+    when(marker.getId()).thenReturn(id);
+    when(marker.getPosition()).thenReturn(position);
+    return marker;
+  }
+
+  private static Polyline mockPolyline(long id, LatLng... points) {
+    Polyline polyline = mock(Polyline.class);
+    when(polyline.getId()).thenReturn(id);
+    when(polyline.getPoints()).thenReturn(new ArrayList<>(Arrays.asList(points)));
+    return polyline;
+  }
+}
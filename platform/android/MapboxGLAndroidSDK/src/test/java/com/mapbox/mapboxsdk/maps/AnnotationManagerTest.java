@@ -16,7 +16,11 @@ import java.util.List;
 
 import static junit.framework.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class AnnotationManagerTest {
@@ -78,4 +82,51 @@ public class AnnotationManagerTest {
     assertEquals("first", ((Marker) annotationManager.getAnnotation(firstId)).getTitle());
     assertEquals("second", ((Marker) annotationManager.getAnnotation(secondId)).getTitle());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void checksAnimateMarkers() throws Exception {
+    NativeMapView aNativeMapView = mock(NativeMapView.class);
+    MapView aMapView = mock(MapView.class);
+    LongSparseArray<Annotation> annotationsArray = new LongSparseArray<>();
+    MarkerViewManager aMarkerViewManager = mock(MarkerViewManager.class);
+    IconManager aIconManager = mock(IconManager.class);
+    Annotations annotations = new AnnotationContainer(aNativeMapView, annotationsArray);
+    Markers markers = new MarkerContainer(aNativeMapView, aMapView, annotationsArray, aIconManager, aMarkerViewManager);
+    Polygons polygons = new PolygonContainer(aNativeMapView, annotationsArray);
+    Polylines polylines = new PolylineContainer(aNativeMapView, annotationsArray);
+    AnnotationManager annotationManager = new AnnotationManager(aNativeMapView, aMapView, annotationsArray,
+      aMarkerViewManager, aIconManager, annotations, markers, polygons, polylines);
+    Marker aMarker = new MarkerOptions().position(new LatLng()).getMarker();
+    aMarker.setId(5L);
+    LatLng aDestination = new LatLng(10, 20);
+    List<Marker> markerList = new ArrayList<>();
+    markerList.add(aMarker);
+    List<LatLng> destinations = new ArrayList<>();
+    destinations.add(aDestination);
+
+    annotationManager.animateMarkers(markerList, destinations, 300, null);
+
+    verify(aNativeMapView).animateMarkers(aryEq(new long[] {5L}), aryEq(new double[] {10}),
+      aryEq(new double[] {20}), eq(300L), (MapboxMap.CancelableCallback) isNull());
+    assertEquals(aDestination, aMarker.getPosition());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void checksAnimateMarkersRequiresDestinations() throws Exception {
+    NativeMapView aNativeMapView = mock(NativeMapView.class);
+    MapView aMapView = mock(MapView.class);
+    LongSparseArray<Annotation> annotationsArray = new LongSparseArray<>();
+    MarkerViewManager aMarkerViewManager = mock(MarkerViewManager.class);
+    IconManager aIconManager = mock(IconManager.class);
+    Annotations annotations = new AnnotationContainer(aNativeMapView, annotationsArray);
+    Markers markers = new MarkerContainer(aNativeMapView, aMapView, annotationsArray, aIconManager, aMarkerViewManager);
+    Polygons polygons = new PolygonContainer(aNativeMapView, annotationsArray);
+    Polylines polylines = new PolylineContainer(aNativeMapView, annotationsArray);
+    AnnotationManager annotationManager = new AnnotationManager(aNativeMapView, aMapView, annotationsArray,
+      aMarkerViewManager, aIconManager, annotations, markers, polygons, polylines);
+    List<Marker> markerList = new ArrayList<>();
+    markerList.add(new MarkerOptions().position(new LatLng()).getMarker());
+
+    annotationManager.animateMarkers(markerList, new ArrayList<LatLng>(), 300, null);
+  }
+}
@@ -0,0 +1,92 @@
+package com.mapbox.mapboxsdk.maps;
+
+import com.mapbox.mapboxsdk.annotations.Marker;
+import com.mapbox.mapboxsdk.annotations.Polygon;
+import com.mapbox.mapboxsdk.annotations.Polyline;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AnnotationUpdateBatchTest {
+
+  @Test
+  public void testNestedBatches() {
+    AnnotationUpdateBatch batch = new AnnotationUpdateBatch();
+    assertFalse(batch.isActive());
+    batch.begin();
+    batch.begin();
+    assertTrue(batch.isActive());
+    assertFalse(batch.end());
+    assertTrue(batch.isActive());
+    assertTrue(batch.end());
+    assertFalse(batch.isActive());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testEndWithoutBegin() {
+    new AnnotationUpdateBatch().end();
+  }
+
+  @Test
+  public void testLatestUpdateWins() {
+    AnnotationUpdateBatch batch = new AnnotationUpdateBatch();
+    Marker first = mockMarker(1);
+    Marker second = mockMarker(1);
+    batch.add(first);
+    batch.add(second);
+    assertEquals(1, batch.getMarkerIds().length);
+    assertEquals(1, batch.getMarkerIds()[0]);
+    assertSame(second, batch.getMarkers()[0]);
+  }
+
+  @Test
+  public void testUpdatesPerAnnotationType() {
+    AnnotationUpdateBatch batch = new AnnotationUpdateBatch();
+    assertTrue(batch.isEmpty());
+    batch.add(mockMarker(1));
+    batch.add(mockPolyline(2));
+    batch.add(mockPolygon(3));
+    assertFalse(batch.isEmpty());
+    assertEquals(1, batch.getMarkers().length);
+    assertEquals(2, batch.getPolylineIds()[0]);
+    assertEquals(3, batch.getPolygonIds()[0]);
+    batch.clear();
+    assertTrue(batch.isEmpty());
+  }
+
+  @Test
+  public void testRemoveDropsPendingUpdate() {
+    AnnotationUpdateBatch batch = new AnnotationUpdateBatch();
+    batch.add(mockMarker(1));
+    batch.add(mockPolyline(2));
+    batch.remove(1);
+    assertEquals(0, batch.getMarkers().length);
+    assertEquals(1, batch.getPolylines().length);
+    batch.remove(2);
+    assertTrue(batch.isEmpty());
+  }
+
+  private static Marker mockMarker(long id) {
+    Marker marker = mock(Marker.class);
+    when(marker.getId()).thenReturn(id);
+    return marker;
+  }
+
+  private static Polyline mockPolyline(long id) {
+    Polyline polyline = mock(Polyline.class);
+    when(polyline.getId()).thenReturn(id);
+    return polyline;
+  }
+
+  private static Polygon mockPolygon(long id) {
+    Polygon polygon = mock(Polygon.class);
+    when(polygon.getId()).thenReturn(id);
+    return polygon;
+  }
+}
@@ -0,0 +1,150 @@
+package com.mapbox.mapboxsdk.maps;
+
+import com.mapbox.services.commons.geojson.Feature;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FeatureQueryExecutorTest {
+
+  private QueueExecutor worker;
+  private QueueExecutor main;
+  private FeatureQueryExecutor executor;
+  private Object key;
+
+  @Before
+  public void beforeTest() {
+    worker = new QueueExecutor();
+    main = new QueueExecutor();
+    executor = new FeatureQueryExecutor(worker, main);
+    key = new Object();
+  }
+
+  @Test
+  public void testSanity() {
+    assertEquals("query count should be 0", 0, executor.getQueryCount());
+    assertEquals("canceled count should be 0", 0, executor.getCanceledCount());
+  }
+
+  @Test
+  public void testQueryRunsOnWorkerAndDeliversOnMain() {
+    FeatureQuerySnapshot snapshot = mockSnapshot();
+    FeatureQuery.Callback callback = mock(FeatureQuery.Callback.class);
+    executor.submit(key, snapshot, callback);
+    verify(snapshot, never()).execute();
+
+    worker.runAll();
+    verify(snapshot, times(1)).execute();
+    verify(snapshot, times(1)).release();
+    verify(callback, never()).onFeaturesQueried(anyList());
+
+    main.runAll();
+    verify(callback, times(1)).onFeaturesQueried(anyList());
+    assertEquals(1, executor.getQueryCount());
+  }
+
+  @Test
+  public void testNewerQueryCancelsPending() {
+    FeatureQuerySnapshot firstSnapshot = mockSnapshot();
+    FeatureQuerySnapshot secondSnapshot = mockSnapshot();
+    FeatureQuery.Callback first = mock(FeatureQuery.Callback.class);
+    FeatureQuery.Callback second = mock(FeatureQuery.Callback.class);
+    FeatureQuery firstQuery = executor.submit(key, firstSnapshot, first);
+    FeatureQuery secondQuery = executor.submit(key, secondSnapshot, second);
+    assertTrue(firstQuery.isCanceled());
+    assertFalse(secondQuery.isCanceled());
+    verify(firstSnapshot, times(1)).cancel();
+
+    worker.runAll();
+    verify(firstSnapshot, never()).execute();
+    verify(firstSnapshot, times(1)).release();
+    verify(secondSnapshot, times(1)).execute();
+
+    main.runAll();
+    verify(first, never()).onFeaturesQueried(anyList());
+    verify(second, times(1)).onFeaturesQueried(anyList());
+    assertEquals(1, executor.getQueryCount());
+    assertEquals(1, executor.getCanceledCount());
+  }
+
+  @Test
+  public void testCancelWhileExecutingDropsResult() {
+    FeatureQuerySnapshot snapshot = mockSnapshot();
+    FeatureQuery.Callback callback = mock(FeatureQuery.Callback.class);
+    FeatureQuery query = executor.submit(key, snapshot, callback);
+
+    worker.runAll();
+    query.cancel();
+    main.runAll();
+    verify(callback, never()).onFeaturesQueried(anyList());
+    assertEquals(1, executor.getCanceledCount());
+  }
+
+  @Test
+  public void testQueriesWithDifferentKeysAreIndependent() {
+    FeatureQuery firstQuery = executor.submit(new Object(), mockSnapshot(), mock(FeatureQuery.Callback.class));
+    FeatureQuery secondQuery = executor.submit(new Object(), mockSnapshot(), mock(FeatureQuery.Callback.class));
+    assertFalse(firstQuery.isCanceled());
+    assertFalse(secondQuery.isCanceled());
+  }
+
+  @Test
+  public void testExplicitCancel() {
+    FeatureQuerySnapshot snapshot = mockSnapshot();
+    FeatureQuery.Callback callback = mock(FeatureQuery.Callback.class);
+    executor.submit(key, snapshot, callback).cancel();
+
+    worker.runAll();
+    main.runAll();
+    verify(snapshot, never()).execute();
+    verify(snapshot, times(1)).release();
+    verify(callback, never()).onFeaturesQueried(anyList());
+  }
+
+  @Test
+  public void testMissingSnapshotDeliversEmptyResult() {
+    FeatureQuery.Callback callback = mock(FeatureQuery.Callback.class);
+    executor.submit(key, null, callback);
+
+    worker.runAll();
+    main.runAll();
+    verify(callback, times(1)).onFeaturesQueried(new ArrayList<Feature>());
+  }
+
+  private static FeatureQuerySnapshot mockSnapshot() {
+    FeatureQuerySnapshot snapshot = mock(FeatureQuerySnapshot.class);
+    when(snapshot.execute()).thenReturn(new ArrayList<Feature>());
+    return snapshot;
+  }
+
+  private static class QueueExecutor implements Executor {
+    private final List<Runnable> runnables = new ArrayList<>();
+
+    @Override
+    public void execute(Runnable runnable) {
+      runnables.add(runnable);
+    }
+
+    void runAll() {
+      List<Runnable> pending = new ArrayList<>(runnables);
+      runnables.clear();
+      for (Runnable runnable : pending) {
+        runnable.run();
+      }
+    }
+  }
+}
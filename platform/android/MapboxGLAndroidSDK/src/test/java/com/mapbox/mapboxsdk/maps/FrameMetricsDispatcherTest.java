@@ -0,0 +1,91 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.os.Handler;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class FrameMetricsDispatcherTest {
+
+  private Handler handler;
+  private MapboxMap.OnFrameMetricsListener listener;
+  private FrameMetricsDispatcher dispatcher;
+
+  @Before
+  public void beforeTest() {
+    handler = mock(Handler.class);
+    listener = mock(MapboxMap.OnFrameMetricsListener.class);
+    dispatcher = new FrameMetricsDispatcher(listener, handler);
+  }
+
+  @Test
+  public void testBatching() {
+    for (int i = 1; i < FrameMetricsDispatcher.BATCH_SIZE; i++) {
+      assertFalse(dispatcher.onFrameRendered());
+    }
+    assertTrue(dispatcher.onFrameRendered());
+    assertFalse(dispatcher.onFrameRendered());
+  }
+
+  @Test
+  public void testIdleDrainsPartialBatch() {
+    assertFalse(dispatcher.onFrameRendered());
+    dispatcher.onMapIdle();
+    assertTrue(dispatcher.onFrameRendered());
+    for (int i = 1; i < FrameMetricsDispatcher.BATCH_SIZE; i++) {
+      assertFalse(dispatcher.onFrameRendered());
+    }
+    assertTrue(dispatcher.onFrameRendered());
+  }
+
+  @Test
+  public void testFlush() {
+    assertFalse(dispatcher.flush());
+    dispatcher.onFrameRendered();
+    dispatcher.onFrameRendered();
+    assertTrue(dispatcher.flush());
+    assertFalse(dispatcher.flush());
+    for (int i = 1; i < FrameMetricsDispatcher.BATCH_SIZE; i++) {
+      assertFalse(dispatcher.onFrameRendered());
+    }
+    assertTrue(dispatcher.onFrameRendered());
+  }
+
+  @Test
+  public void testEmptyBatchIsNotDispatched() {
+    dispatcher.dispatch(new long[0]);
+    verify(handler, never()).post(any(Runnable.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testDispatch() {
+    long[] samples = new long[FrameMetrics.FIELD_COUNT * 2];
+    samples[FrameMetrics.RENDER_WALL_TIME] = 1000;
+    samples[FrameMetrics.FIELD_COUNT + FrameMetrics.TILES_PARSED] = 3;
+    dispatcher.dispatch(samples);
+
+    ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(handler).post(runnableCaptor.capture());
+    runnableCaptor.getValue().run();
+
+    ArgumentCaptor<List> framesCaptor = ArgumentCaptor.forClass(List.class);
+    verify(listener).onFrameMetrics(framesCaptor.capture());
+    List<FrameMetrics> frames = framesCaptor.getValue();
+    assertEquals(2, frames.size());
+    assertEquals(1000, frames.get(0).getRenderWallTime());
+    assertEquals(0, frames.get(0).getTilesParsed());
+    assertEquals(3, frames.get(1).getTilesParsed());
+  }
+}
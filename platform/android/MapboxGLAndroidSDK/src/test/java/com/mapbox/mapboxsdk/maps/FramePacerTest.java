@@ -0,0 +1,35 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.view.View;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class FramePacerTest {
+
+  private static final long VSYNC = TimeUnit.SECONDS.toNanos(1) / 60;
+
+  @Test
+  public void testDisplayRefreshRate() {
+    FramePacer framePacer = new FramePacer(mock(View.class), 0);
+    for (int i = 1; i <= 10; i++) {
+      assertTrue(framePacer.shouldRender(i * VSYNC));
+    }
+  }
+
+  @Test
+  public void testTargetFrameRate() {
+    FramePacer framePacer = new FramePacer(mock(View.class), 30);
+    assertTrue(framePacer.shouldRender(2 * VSYNC));
+    assertFalse(framePacer.shouldRender(3 * VSYNC));
+    assertTrue(framePacer.shouldRender(4 * VSYNC));
+    // tolerate vsync jitter
+    assertFalse(framePacer.shouldRender(5 * VSYNC));
+    assertTrue(framePacer.shouldRender(6 * VSYNC - TimeUnit.MILLISECONDS.toNanos(1)));
+  }
+}
@@ -0,0 +1,188 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.graphics.Bitmap;
+
+import com.mapbox.mapboxsdk.annotations.BaseMarkerViewOptions;
+import com.mapbox.mapboxsdk.annotations.Icon;
+import com.mapbox.mapboxsdk.annotations.Marker;
+import com.mapbox.mapboxsdk.annotations.MarkerView;
+import com.mapbox.mapboxsdk.annotations.MarkerViewOptions;
+import com.mapbox.mapboxsdk.geometry.LatLng;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IconManagerTest {
+
+  private NativeMapView nativeMapView;
+  private IconManager iconManager;
+
+  @Before
+  public void beforeTest() {
+    nativeMapView = mock(NativeMapView.class);
+    iconManager = new IconManager(nativeMapView, mockIcon("marker_view"));
+    clearInvocations(nativeMapView);
+  }
+
+  @Test
+  public void testSymbolIconSharedBetweenMarkerViews() {
+    Icon icon = mockIcon("symbol");
+    SymbolMarkerView first = createMarkerView(1, icon);
+    SymbolMarkerView second = createMarkerView(2, icon);
+
+    iconManager.loadSymbolIconForMarkerView(first);
+    iconManager.loadSymbolIconForMarkerView(second);
+    verifyIconAdded("symbol", 1);
+
+    second.symbolIcon = null;
+    iconManager.loadSymbolIconForMarkerView(second);
+    verify(nativeMapView, never()).removeAnnotationIcon(anyString());
+
+    first.symbolIcon = null;
+    iconManager.loadSymbolIconForMarkerView(first);
+    verify(nativeMapView).removeAnnotationIcon("symbol");
+  }
+
+  @Test
+  public void testSymbolIconUnchanged() {
+    SymbolMarkerView marker = createMarkerView(1, mockIcon("symbol"));
+    iconManager.loadSymbolIconForMarkerView(marker);
+    iconManager.loadSymbolIconForMarkerView(marker);
+    verifyIconAdded("symbol", 1);
+  }
+
+  @Test
+  public void testSymbolIconReplaced() {
+    SymbolMarkerView marker = createMarkerView(1, mockIcon("first"));
+    SymbolMarkerView other = createMarkerView(2, mockIcon("second"));
+    iconManager.loadSymbolIconForMarkerView(marker);
+    iconManager.loadSymbolIconForMarkerView(other);
+
+    marker.symbolIcon = other.symbolIcon;
+    iconManager.loadSymbolIconForMarkerView(marker);
+    verify(nativeMapView).removeAnnotationIcon("first");
+    verifyIconAdded("second", 1);
+
+    other.symbolIcon = null;
+    iconManager.loadSymbolIconForMarkerView(other);
+    verify(nativeMapView, never()).removeAnnotationIcon("second");
+  }
+
+  @Test
+  public void testSymbolIconReleasedAfterIdChange() {
+    SymbolMarkerView marker = createMarkerView(1, mockIcon("symbol"));
+    iconManager.loadSymbolIconForMarkerView(marker);
+
+    // the id of a marker changes when the map is reloaded
+    marker.setId(10);
+    marker.symbolIcon = null;
+    iconManager.loadSymbolIconForMarkerView(marker);
+    verify(nativeMapView).removeAnnotationIcon("symbol");
+  }
+
+  @Test
+  public void testTopOffsetCached() {
+    Marker marker = mockMarker(mockIcon("marker"));
+    iconManager.ensureIconLoaded(marker);
+    iconManager.ensureIconLoaded(marker);
+    verifyIconAdded("marker", 1);
+    verify(nativeMapView).getTopOffsetPixelsForAnnotationSymbol("marker");
+  }
+
+  @Test
+  public void testTopOffsetInvalidatedOnLoad() {
+    Icon icon = mockIcon("symbol");
+    iconManager.getTopOffsetPixelsForIcon(icon);
+
+    iconManager.loadSymbolIconForMarkerView(createMarkerView(1, icon));
+    iconManager.getTopOffsetPixelsForIcon(icon);
+    verify(nativeMapView, times(2)).getTopOffsetPixelsForAnnotationSymbol("symbol");
+  }
+
+  @Test
+  public void testTopOffsetInvalidatedOnRemoval() {
+    Icon icon = mockIcon("symbol");
+    SymbolMarkerView marker = createMarkerView(1, icon);
+    iconManager.loadSymbolIconForMarkerView(marker);
+    iconManager.getTopOffsetPixelsForIcon(icon);
+
+    marker.symbolIcon = null;
+    iconManager.loadSymbolIconForMarkerView(marker);
+    iconManager.getTopOffsetPixelsForIcon(icon);
+    verify(nativeMapView, times(2)).getTopOffsetPixelsForAnnotationSymbol("symbol");
+  }
+
+  @Test
+  public void testReloadIcons() {
+    Icon icon = mockIcon("marker");
+    Icon symbolIcon = mockIcon("symbol");
+    iconManager.ensureIconLoaded(mockMarker(icon));
+    iconManager.loadSymbolIconForMarkerView(createMarkerView(1, symbolIcon));
+    clearInvocations(nativeMapView);
+    when(nativeMapView.getPixelRatio()).thenReturn(2f);
+    when(nativeMapView.getTopOffsetPixelsForAnnotationSymbols(any(String[].class))).thenReturn(new double[] {3, 5});
+
+    iconManager.reloadIcons();
+    verifyIconAdded("marker", 1);
+    verifyIconAdded("symbol", 1);
+    verify(nativeMapView).getTopOffsetPixelsForAnnotationSymbols(aryEq(new String[] {"marker", "symbol"}));
+
+    assertEquals(6, iconManager.getTopOffsetPixelsForIcon(icon));
+    assertEquals(10, iconManager.getTopOffsetPixelsForIcon(symbolIcon));
+    verify(nativeMapView, never()).getTopOffsetPixelsForAnnotationSymbol(anyString());
+  }
+
+  private void verifyIconAdded(String id, int count) {
+    verify(nativeMapView, times(count)).addAnnotationIcon(eq(id), anyInt(), anyInt(), anyFloat(), any());
+  }
+
+  private static Icon mockIcon(String id) {
+    Icon icon = mock(Icon.class);
+    Bitmap bitmap = mock(Bitmap.class);
+    when(bitmap.sameAs(bitmap)).thenReturn(true);
+    when(icon.getId()).thenReturn(id);
+    when(icon.getBitmap()).thenReturn(bitmap);
+    return icon;
+  }
+
+  private static Marker mockMarker(Icon icon) {
+    Marker marker = mock(Marker.class);
+    when(marker.getIcon()).thenReturn(icon);
+    return marker;
+  }
+
+  private static SymbolMarkerView createMarkerView(long id, Icon symbolIcon) {
+    SymbolMarkerView marker = new SymbolMarkerView(new MarkerViewOptions().position(new LatLng()));
+    marker.setId(id);
+    marker.symbolIcon = symbolIcon;
+    return marker;
+  }
+
+  private static class SymbolMarkerView extends MarkerView {
+
+    private Icon symbolIcon;
+
+    SymbolMarkerView(BaseMarkerViewOptions baseMarkerViewOptions) {
+      super(baseMarkerViewOptions);
+    }
+
+    @Override
+    public Icon getSymbolIcon() {
+      return symbolIcon;
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.graphics.PointF;
+
+import com.mapbox.mapboxsdk.annotations.InfoWindow;
+import com.mapbox.mapboxsdk.annotations.Marker;
+import com.mapbox.mapboxsdk.geometry.LatLng;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.aryEq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class InfoWindowManagerTest {
+
+  private InfoWindowManager infoWindowManager;
+  private Projection projection;
+
+  @Before
+  public void beforeTest() {
+    infoWindowManager = new InfoWindowManager();
+    projection = mock(Projection.class);
+  }
+
+  @Test
+  public void testUpdate() {
+    Marker first = mockMarker(new LatLng(1, 2), true);
+    Marker second = mockMarker(new LatLng(3, 4), true);
+    infoWindowManager.add(first);
+    infoWindowManager.add(second);
+
+    infoWindowManager.update(projection);
+
+    verify(projection).toScreenLocations(aryEq(new double[] {1, 2, 3, 4}), any(float[].class));
+    verify(first.getInfoWindow()).update(any(PointF.class));
+    verify(second.getInfoWindow()).update(any(PointF.class));
+  }
+
+  @Test
+  public void testUpdateDropsClosedInfoWindows() {
+    Marker open = mockMarker(new LatLng(1, 2), true);
+    Marker closed = mockMarker(new LatLng(3, 4), false);
+    infoWindowManager.add(closed);
+    infoWindowManager.add(open);
+
+    infoWindowManager.update(projection);
+
+    verify(projection).toScreenLocations(aryEq(new double[] {1, 2}), any(float[].class));
+    verify(closed.getInfoWindow(), never()).update(any(PointF.class));
+    assertEquals(1, infoWindowManager.getInfoWindows().size());
+    assertSame(open.getInfoWindow(), infoWindowManager.getInfoWindows().get(0));
+  }
+
+  @Test
+  public void testUpdateWithoutOpenInfoWindows() {
+    infoWindowManager.add(mockMarker(new LatLng(1, 2), false));
+
+    infoWindowManager.update(projection);
+
+    verifyZeroInteractions(projection);
+    assertEquals(0, infoWindowManager.getInfoWindows().size());
+  }
+
+  private static Marker mockMarker(LatLng position, boolean infoWindowShown) {
+    Marker marker = mock(Marker.class);
+    InfoWindow infoWindow = mock(InfoWindow.class);
+    when(marker.getPosition()).thenReturn(position);
+    when(marker.isInfoWindowShown()).thenReturn(infoWindowShown);
+    when(marker.getInfoWindow()).thenReturn(infoWindow);
+    return marker;
+  }
+}
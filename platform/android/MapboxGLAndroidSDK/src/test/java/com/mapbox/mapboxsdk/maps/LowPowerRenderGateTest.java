@@ -0,0 +1,60 @@
+package com.mapbox.mapboxsdk.maps;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class LowPowerRenderGateTest {
+
+  @Test
+  public void testRendersEveryFrameByDefault() {
+    LowPowerRenderGate renderGate = new LowPowerRenderGate();
+    for (int i = 0; i < 3; i++) {
+      assertTrue(renderGate.shouldRender());
+    }
+    assertEquals(3, renderGate.getRenderedFrameCount());
+    assertEquals(0, renderGate.getSkippedFrameCount());
+  }
+
+  @Test
+  public void testLowPowerModeSkipsUnrequestedFrames() {
+    LowPowerRenderGate renderGate = new LowPowerRenderGate();
+    renderGate.setLowPowerModeEnabled(true);
+    assertTrue("enabling low power mode should render a frame", renderGate.shouldRender());
+    assertFalse(renderGate.shouldRender());
+    assertFalse(renderGate.shouldRender());
+
+    renderGate.requestRender();
+    assertTrue(renderGate.shouldRender());
+    assertFalse(renderGate.shouldRender());
+
+    assertEquals(2, renderGate.getRenderedFrameCount());
+    assertEquals(3, renderGate.getSkippedFrameCount());
+  }
+
+  @Test
+  public void testRequestsAreCoalesced() {
+    LowPowerRenderGate renderGate = new LowPowerRenderGate();
+    renderGate.setLowPowerModeEnabled(true);
+    renderGate.shouldRender();
+    renderGate.requestRender();
+    renderGate.requestRender();
+    assertTrue(renderGate.shouldRender());
+    assertFalse(renderGate.shouldRender());
+  }
+
+  @Test
+  public void testDisablingLowPowerMode() {
+    LowPowerRenderGate renderGate = new LowPowerRenderGate();
+    renderGate.setLowPowerModeEnabled(true);
+    renderGate.shouldRender();
+    assertFalse(renderGate.shouldRender());
+
+    renderGate.setLowPowerModeEnabled(false);
+    assertFalse(renderGate.isLowPowerModeEnabled());
+    assertTrue(renderGate.shouldRender());
+    assertTrue(renderGate.shouldRender());
+  }
+}
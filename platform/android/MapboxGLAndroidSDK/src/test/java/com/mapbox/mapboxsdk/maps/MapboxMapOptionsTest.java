@@ -35,6 +35,47 @@ public class MapboxMapOptionsTest {
     assertFalse(new MapboxMapOptions().debugActive(false).getDebugActive());
   }
 
+  @Test
+  public void testRenderFrameRate() {
+    assertEquals(0, new MapboxMapOptions().getRenderFrameRate());
+    assertEquals(30, new MapboxMapOptions().renderFrameRate(30).getRenderFrameRate());
+  }
+
+  @Test
+  public void testTileCacheSize() {
+    assertEquals(0, new MapboxMapOptions().getTileCacheSize());
+    assertEquals(64, new MapboxMapOptions().tileCacheSize(64).getTileCacheSize());
+    assertEquals(0, new MapboxMapOptions().getTileCacheByteSize());
+    assertEquals(16L * 1024 * 1024,
+      new MapboxMapOptions().tileCacheByteSize(16L * 1024 * 1024).getTileCacheByteSize());
+  }
+
+  @Test
+  public void testParseByteSize() {
+    assertEquals(0, MapboxMapOptions.parseByteSize(null));
+    assertEquals(0, MapboxMapOptions.parseByteSize(""));
+    assertEquals(4L * 1024 * 1024 * 1024, MapboxMapOptions.parseByteSize("4294967296"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseInvalidByteSize() {
+    MapboxMapOptions.parseByteSize("64MB");
+  }
+
+  @Test
+  public void testWorkerThreads() {
+    assertEquals(0, new MapboxMapOptions().getWorkerThreadCount());
+    assertEquals(8, new MapboxMapOptions().workerThreadCount(8).getWorkerThreadCount());
+    assertEquals(0, new MapboxMapOptions().getWorkerThreadPriority());
+    assertEquals(-2, new MapboxMapOptions().workerThreadPriority(-2).getWorkerThreadPriority());
+  }
+
+  @Test
+  public void testPredictivePrefetch() {
+    assertFalse(new MapboxMapOptions().getPredictivePrefetch());
+    assertTrue(new MapboxMapOptions().predictivePrefetch(true).getPredictivePrefetch());
+  }
+
   @Test
   public void testCompassEnabled() {
     assertTrue(new MapboxMapOptions().compassEnabled(true).getCompassEnabled());
@@ -0,0 +1,74 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.mapbox.mapboxsdk.annotations.BaseMarkerViewOptions;
+import com.mapbox.mapboxsdk.annotations.MarkerView;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MarkerViewAdapterTest {
+
+  @Test
+  public void testViewPoolSize() {
+    MapboxMap.MarkerViewAdapter<CustomMarkerView> adapter = new CustomMarkerViewAdapter(mock(Context.class), 2);
+    assertEquals(2, adapter.getViewPoolSize());
+    assertEquals(CustomMarkerView.class, adapter.getMarkerClass());
+    assertNull(adapter.createView(mock(ViewGroup.class)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidViewPoolSize() {
+    new CustomMarkerViewAdapter(mock(Context.class), 0);
+  }
+
+  @Test
+  public void testReleaseViewBeyondPoolSize() {
+    MapboxMap.MarkerViewAdapter<CustomMarkerView> adapter = new CustomMarkerViewAdapter(mock(Context.class), 1);
+    ViewGroup parent = mock(ViewGroup.class);
+    View pooledView = mockView(parent);
+    View discardedView = mockView(parent);
+
+    adapter.releaseView(pooledView);
+    adapter.releaseView(discardedView);
+
+    verify(parent, never()).removeView(pooledView);
+    verify(parent).removeView(discardedView);
+    assertSame(pooledView, adapter.getViewReusePool().acquire());
+  }
+
+  private static View mockView(ViewGroup parent) {
+    View view = mock(View.class);
+    when(view.getParent()).thenReturn(parent);
+    return view;
+  }
+
+  private static class CustomMarkerView extends MarkerView {
+
+    CustomMarkerView(BaseMarkerViewOptions baseMarkerViewOptions) {
+      super(baseMarkerViewOptions);
+    }
+  }
+
+  private static class CustomMarkerViewAdapter extends MapboxMap.MarkerViewAdapter<CustomMarkerView> {
+
+    CustomMarkerViewAdapter(Context context, int viewPoolSize) {
+      super(context, viewPoolSize);
+    }
+
+    @Override
+    public View getView(CustomMarkerView marker, View convertView, ViewGroup parent) {
+      return convertView;
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.content.ComponentCallbacks2;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class TileCacheTrimmerTest {
+
+  private static final float DELTA = 1e-6f;
+
+  private NativeMapView nativeMapView;
+  private TileCacheTrimmer trimmer;
+
+  @Before
+  public void beforeTest() {
+    nativeMapView = mock(NativeMapView.class);
+    trimmer = new TileCacheTrimmer(nativeMapView);
+  }
+
+  @Test
+  public void testRetainedFraction() {
+    assertEquals(1.0f, TileCacheTrimmer.getRetainedFraction(0), DELTA);
+    assertEquals(0.5f, TileCacheTrimmer.getRetainedFraction(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE), DELTA);
+    assertEquals(0.25f, TileCacheTrimmer.getRetainedFraction(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW), DELTA);
+    assertEquals(0.0f, TileCacheTrimmer.getRetainedFraction(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL), DELTA);
+    assertEquals(0.5f, TileCacheTrimmer.getRetainedFraction(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN), DELTA);
+    assertEquals(0.25f, TileCacheTrimmer.getRetainedFraction(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND), DELTA);
+    assertEquals(0.0f, TileCacheTrimmer.getRetainedFraction(ComponentCallbacks2.TRIM_MEMORY_MODERATE), DELTA);
+    assertEquals(0.0f, TileCacheTrimmer.getRetainedFraction(ComponentCallbacks2.TRIM_MEMORY_COMPLETE), DELTA);
+  }
+
+  @Test
+  public void testModeratePressureTrimsCache() {
+    trimmer.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+    verify(nativeMapView).trimMemory(0.5f);
+    verify(nativeMapView, never()).onLowMemory();
+  }
+
+  @Test
+  public void testCriticalPressureReleasesMemory() {
+    trimmer.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL);
+    verify(nativeMapView).onLowMemory();
+    verify(nativeMapView, never()).trimMemory(anyFloat());
+  }
+}
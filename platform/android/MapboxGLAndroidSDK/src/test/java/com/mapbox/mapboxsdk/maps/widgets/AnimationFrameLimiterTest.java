@@ -0,0 +1,46 @@
+package com.mapbox.mapboxsdk.maps.widgets;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class AnimationFrameLimiterTest {
+
+  @Test
+  public void testUnlimited() {
+    AnimationFrameLimiter frameLimiter = new AnimationFrameLimiter();
+    assertTrue(frameLimiter.isFrame(0.1f, 1000));
+    assertTrue(frameLimiter.isFrame(0.2f, 1001));
+  }
+
+  @Test
+  public void testFrameRate() {
+    AnimationFrameLimiter frameLimiter = new AnimationFrameLimiter();
+    frameLimiter.setFrameRate(10);
+    assertTrue(frameLimiter.isFrame(0.1f, 1000));
+    assertFalse(frameLimiter.isFrame(0.2f, 1050));
+    assertTrue(frameLimiter.isFrame(0.3f, 1100));
+  }
+
+  @Test
+  public void testLastFrameIsAlwaysDrawn() {
+    AnimationFrameLimiter frameLimiter = new AnimationFrameLimiter();
+    frameLimiter.setFrameRate(10);
+    assertTrue(frameLimiter.isFrame(0.5f, 1000));
+    assertTrue(frameLimiter.isFrame(1.0f, 1010));
+  }
+
+  @Test
+  public void testLimitersAreIndependent() {
+    AnimationFrameLimiter location = new AnimationFrameLimiter();
+    AnimationFrameLimiter direction = new AnimationFrameLimiter();
+    location.setFrameRate(10);
+    direction.setFrameRate(10);
+    assertTrue(location.isFrame(0.1f, 1000));
+    // a frame of the location animation doesn't hold back the direction animation
+    assertTrue(direction.isFrame(0.1f, 1020));
+    assertFalse(location.isFrame(0.2f, 1040));
+    assertFalse(direction.isFrame(0.2f, 1060));
+  }
+}
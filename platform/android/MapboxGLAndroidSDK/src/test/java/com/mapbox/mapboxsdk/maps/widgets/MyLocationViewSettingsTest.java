@@ -18,6 +18,8 @@ import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNotNull;
 import static junit.framework.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class MyLocationViewSettingsTest {
@@ -102,5 +104,31 @@ public class MyLocationViewSettingsTest {
     locationViewSettings.setEnabled(true);
     assertTrue("state should be true", locationViewSettings.isEnabled());
   }
-}
 
+  @Test
+  public void testAnimationFrameRate() {
+    assertEquals("initial frame rate should be unlimited", 0, locationViewSettings.getAnimationFrameRate());
+    locationViewSettings.setAnimationFrameRate(10);
+    assertEquals("frame rate should match", 10, locationViewSettings.getAnimationFrameRate());
+    verify(myLocationView).setAnimationFrameRate(10);
+  }
+
+  @Test
+  public void testLowPowerFrameRateKeepsAnimationFrameRate() {
+    locationViewSettings.setAnimationFrameRate(30);
+    locationViewSettings.setLowPowerFrameRate(10);
+    assertEquals("frame rate should be unchanged", 30, locationViewSettings.getAnimationFrameRate());
+    verify(myLocationView).setAnimationFrameRate(10);
+
+    locationViewSettings.setLowPowerFrameRate(0);
+    assertEquals("frame rate should be unchanged", 30, locationViewSettings.getAnimationFrameRate());
+    verify(myLocationView, times(2)).setAnimationFrameRate(30);
+  }
+
+  @Test
+  public void testLowPowerFrameRateKeepsLowerAnimationFrameRate() {
+    locationViewSettings.setAnimationFrameRate(5);
+    locationViewSettings.setLowPowerFrameRate(10);
+    verify(myLocationView, times(2)).setAnimationFrameRate(5);
+  }
+}
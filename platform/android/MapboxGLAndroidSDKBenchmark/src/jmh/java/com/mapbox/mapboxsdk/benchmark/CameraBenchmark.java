@@ -0,0 +1,51 @@
+package com.mapbox.mapboxsdk.benchmark;
+
+import com.mapbox.mapboxsdk.camera.CameraPosition;
+import com.mapbox.mapboxsdk.geometry.LatLng;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks {@link CameraPosition} creation and equality, as performed for every camera change.
+ */
+@State(Scope.Benchmark)
+public class CameraBenchmark {
+
+  private CameraPosition cameraPosition;
+  private CameraPosition equalCameraPosition;
+  private CameraPosition otherCameraPosition;
+
+  @Setup
+  public void setup() {
+    cameraPosition = createCameraPosition(38.9098, -77.0295, 12.5);
+    equalCameraPosition = createCameraPosition(38.9098, -77.0295, 12.5);
+    otherCameraPosition = createCameraPosition(38.9098, -77.0295, 13.5);
+  }
+
+  @Benchmark
+  public boolean equalsSame() {
+    return cameraPosition.equals(equalCameraPosition);
+  }
+
+  @Benchmark
+  public boolean equalsDifferent() {
+    return cameraPosition.equals(otherCameraPosition);
+  }
+
+  @Benchmark
+  public CameraPosition build() {
+    return createCameraPosition(38.9098, -77.0295, 12.5);
+  }
+
+  private static CameraPosition createCameraPosition(double latitude, double longitude, double zoom) {
+    return new CameraPosition.Builder()
+      .target(new LatLng(latitude, longitude))
+      .zoom(zoom)
+      .tilt(30)
+      .bearing(45)
+      .build();
+  }
+}
@@ -0,0 +1,60 @@
+package com.mapbox.mapboxsdk.benchmark;
+
+import com.mapbox.mapboxsdk.geometry.LatLng;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmarks {@link LatLngBounds.Builder} and {@link LatLng#distanceTo(LatLng)}.
+ */
+@State(Scope.Benchmark)
+public class GeometryBenchmark {
+
+  @Param( {"10", "1000", "10000"})
+  public int count;
+
+  private List<LatLng> latLngs;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(0);
+    latLngs = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      latLngs.add(new LatLng(random.nextDouble() * 170 - 85, random.nextDouble() * 360 - 180));
+    }
+  }
+
+  @Benchmark
+  public LatLngBounds boundsBuilderIncludes() {
+    return new LatLngBounds.Builder().includes(latLngs).build();
+  }
+
+  @Benchmark
+  public LatLngBounds boundsBuilderInclude() {
+    LatLngBounds.Builder builder = new LatLngBounds.Builder();
+    for (LatLng latLng : latLngs) {
+      builder.include(latLng);
+    }
+    return builder.build();
+  }
+
+  @Benchmark
+  public double distanceTo() {
+    double distance = 0;
+    LatLng previous = latLngs.get(0);
+    for (LatLng latLng : latLngs) {
+      distance += previous.distanceTo(latLng);
+      previous = latLng;
+    }
+    return distance;
+  }
+}
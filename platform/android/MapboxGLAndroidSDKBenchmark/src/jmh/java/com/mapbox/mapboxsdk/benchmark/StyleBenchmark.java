@@ -0,0 +1,78 @@
+package com.mapbox.mapboxsdk.benchmark;
+
+import com.mapbox.mapboxsdk.style.functions.Function;
+import com.mapbox.mapboxsdk.style.layers.Filter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+
+import static com.mapbox.mapboxsdk.style.functions.Function.property;
+import static com.mapbox.mapboxsdk.style.functions.Function.zoom;
+import static com.mapbox.mapboxsdk.style.functions.stops.Stop.stop;
+import static com.mapbox.mapboxsdk.style.functions.stops.Stops.categorical;
+import static com.mapbox.mapboxsdk.style.functions.stops.Stops.exponential;
+import static com.mapbox.mapboxsdk.style.layers.Filter.all;
+import static com.mapbox.mapboxsdk.style.layers.Filter.any;
+import static com.mapbox.mapboxsdk.style.layers.Filter.eq;
+import static com.mapbox.mapboxsdk.style.layers.Filter.gte;
+import static com.mapbox.mapboxsdk.style.layers.Filter.has;
+import static com.mapbox.mapboxsdk.style.layers.Filter.in;
+import static com.mapbox.mapboxsdk.style.layers.Filter.lt;
+import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.fillColor;
+import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.lineWidth;
+
+/**
+ * Benchmarks the conversion of {@link Filter.Statement} and {@link Function} to the value objects passed over JNI.
+ */
+@State(Scope.Benchmark)
+public class StyleBenchmark {
+
+  private Filter.Statement filter;
+  private Function<Float, Float> zoomFunction;
+  private Function<String, String> propertyFunction;
+
+  @Setup
+  public void setup() {
+    filter = all(
+      has("name"),
+      eq("$type", "Polygon"),
+      any(
+        in("class", "park", "cemetery", "wood", "grass"),
+        all(gte("rank", 3), lt("rank", 10))
+      )
+    );
+
+    zoomFunction = zoom(exponential(
+      stop(5f, lineWidth(1f)),
+      stop(10f, lineWidth(2f)),
+      stop(15f, lineWidth(6f)),
+      stop(20f, lineWidth(12f))
+    ).withBase(1.5f));
+
+    propertyFunction = property("class", categorical(
+      stop("park", fillColor("#00ff00")),
+      stop("water", fillColor("#0000ff")),
+      stop("residential", fillColor("#cccccc")),
+      stop("industrial", fillColor("#999999"))
+    ));
+  }
+
+  @Benchmark
+  public Object[] filterToArray() {
+    return filter.toArray();
+  }
+
+  @Benchmark
+  public Map<String, Object> zoomFunctionToValueObject() {
+    return zoomFunction.toValueObject();
+  }
+
+  @Benchmark
+  public Map<String, Object> propertyFunctionToValueObject() {
+    return propertyFunction.toValueObject();
+  }
+}
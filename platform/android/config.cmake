@@ -47,6 +47,8 @@ macro(mbgl_platform_core)
         PRIVATE platform/default/mbgl/storage/offline_database.hpp
         PRIVATE platform/default/mbgl/storage/offline_download.cpp
         PRIVATE platform/default/mbgl/storage/offline_download.hpp
+        PRIVATE platform/default/mbgl/storage/resource_cache.cpp
+        PRIVATE platform/default/mbgl/storage/resource_cache.hpp
         PRIVATE platform/default/sqlite3.cpp
         PRIVATE platform/default/sqlite3.hpp
 
@@ -114,6 +116,12 @@ add_library(mbgl-android STATIC
     platform/android/src/style/conversion/types_string_values.hpp
     platform/android/src/map/camera_position.cpp
     platform/android/src/map/camera_position.hpp
+    platform/android/src/map/feature_query_snapshot.cpp
+    platform/android/src/map/feature_query_snapshot.hpp
+    platform/android/src/map/frame_metrics.cpp
+    platform/android/src/map/frame_metrics.hpp
+    platform/android/src/map/tile_data_pool.cpp
+    platform/android/src/map/tile_data_pool.hpp
 
     # Style conversion Java -> C++
     platform/android/src/style/android_conversion.hpp
@@ -255,6 +263,8 @@ add_library(mbgl-android STATIC
     platform/android/src/offline/offline_region.hpp
     platform/android/src/offline/offline_region_definition.cpp
     platform/android/src/offline/offline_region_definition.hpp
+    platform/android/src/offline/offline_region_download_plan.cpp
+    platform/android/src/offline/offline_region_download_plan.hpp
     platform/android/src/offline/offline_region_error.cpp
     platform/android/src/offline/offline_region_error.hpp
     platform/android/src/offline/offline_region_status.cpp
@@ -64,6 +64,26 @@ void FileSource::setResourceTransform(jni::JNIEnv& env, jni::Object<FileSource::
     }
 }
 
+void FileSource::setDatabaseWriteBatching(jni::JNIEnv&, jni::jint batchSize, jni::jlong batchInterval) {
+    fileSource->setOfflineDatabaseWriteBatching(batchSize < 0 ? 0 : batchSize, Milliseconds(batchInterval));
+}
+
+void FileSource::setMaximumCacheSize(jni::JNIEnv&, jni::jlong size) {
+    fileSource->setMaximumCacheSize(size < 0 ? 0 : size);
+}
+
+void FileSource::setMemoryCacheSize(jni::JNIEnv&, jni::jlong size) {
+    fileSource->setMemoryCacheSize(size < 0 ? 0 : size);
+}
+
+jni::jlong FileSource::getMemoryCacheHitCount(jni::JNIEnv&) {
+    return fileSource->getMemoryCacheHitCount();
+}
+
+jni::jlong FileSource::getMemoryCacheMissCount(jni::JNIEnv&) {
+    return fileSource->getMemoryCacheMissCount();
+}
+
 jni::Class<FileSource> FileSource::javaClass;
 
 FileSource* FileSource::getNativePeer(jni::JNIEnv& env, jni::Object<FileSource> jFileSource) {
@@ -93,7 +113,12 @@ void FileSource::registerNative(jni::JNIEnv& env) {
         METHOD(&FileSource::getAccessToken, "getAccessToken"),
         METHOD(&FileSource::setAccessToken, "setAccessToken"),
         METHOD(&FileSource::setAPIBaseUrl, "setApiBaseUrl"),
-        METHOD(&FileSource::setResourceTransform, "setResourceTransform")
+        METHOD(&FileSource::setResourceTransform, "setResourceTransform"),
+        METHOD(&FileSource::setDatabaseWriteBatching, "setDatabaseWriteBatching"),
+        METHOD(&FileSource::setMaximumCacheSize, "setMaximumCacheSize"),
+        METHOD(&FileSource::setMemoryCacheSize, "setMemoryCacheSize"),
+        METHOD(&FileSource::getMemoryCacheHitCount, "getMemoryCacheHitCount"),
+        METHOD(&FileSource::getMemoryCacheMissCount, "getMemoryCacheMissCount")
     );
 }
 
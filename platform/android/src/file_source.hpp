@@ -41,6 +41,16 @@ public:
 
     void setResourceTransform(jni::JNIEnv&, jni::Object<FileSource::ResourceTransformCallback>);
 
+    void setDatabaseWriteBatching(jni::JNIEnv&, jni::jint, jni::jlong);
+
+    void setMaximumCacheSize(jni::JNIEnv&, jni::jlong);
+
+    void setMemoryCacheSize(jni::JNIEnv&, jni::jlong);
+
+    jni::jlong getMemoryCacheHitCount(jni::JNIEnv&);
+
+    jni::jlong getMemoryCacheMissCount(jni::JNIEnv&);
+
     static jni::Class<FileSource> javaClass;
 
     static FileSource* getNativePeer(jni::JNIEnv&, jni::Object<FileSource>);
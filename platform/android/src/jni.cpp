@@ -32,11 +32,14 @@
 #include "gson/json_object.hpp"
 #include "gson/json_primitive.hpp"
 #include "java_types.hpp"
+#include "map/feature_query_snapshot.hpp"
+#include "map/tile_data_pool.hpp"
 #include "native_map_view.hpp"
 #include "offline/offline_manager.hpp"
 #include "offline/offline_region.hpp"
 #include "offline/offline_region_definition.hpp"
 #include "offline/offline_region_error.hpp"
+#include "offline/offline_region_download_plan.hpp"
 #include "offline/offline_region_status.hpp"
 #include "style/transition_options.hpp"
 #include "style/functions/categorical_stops.hpp"
@@ -166,6 +169,8 @@ void registerNatives(JavaVM *vm) {
 
     // Map
     CameraPosition::registerNative(env);
+    FeatureQuerySnapshot::registerNative(env);
+    TileDataPool::registerNative(env);
 
     // Connectivity
     ConnectivityListener::registerNative(env);
@@ -176,6 +181,7 @@ void registerNatives(JavaVM *vm) {
     OfflineRegionDefinition::registerNative(env);
     OfflineTilePyramidRegionDefinition::registerNative(env);
     OfflineRegionError::registerNative(env);
+    OfflineRegionDownloadPlan::registerNative(env);
     OfflineRegionStatus::registerNative(env);
 }
 
@@ -0,0 +1,47 @@
+#include "feature_query_snapshot.hpp"
+
+#include "../conversion/collection.hpp"
+#include "../geojson/conversion/feature.hpp"
+
+namespace mbgl {
+namespace android {
+
+FeatureQuerySnapshot::FeatureQuerySnapshot(jni::JNIEnv&, jni::jlong snapshotPtr)
+    : snapshot(reinterpret_cast<mbgl::FeatureQuerySnapshot*>(snapshotPtr)) {
+}
+
+jni::Array<jni::Object<geojson::Feature>> FeatureQuerySnapshot::execute(jni::JNIEnv& env) {
+    using namespace mbgl::android::conversion;
+    using namespace mbgl::android::geojson;
+
+    return *convert<jni::Array<jni::Object<Feature>>, std::vector<mbgl::Feature>>(env, snapshot->execute());
+}
+
+void FeatureQuerySnapshot::cancel(jni::JNIEnv&) {
+    snapshot->cancel();
+}
+
+jni::Object<FeatureQuerySnapshot> FeatureQuerySnapshot::New(jni::JNIEnv& env, std::unique_ptr<mbgl::FeatureQuerySnapshot> snapshot) {
+    // The Java object takes ownership of the snapshot, its peer is created by initialize
+    static auto constructor = FeatureQuerySnapshot::javaClass.GetConstructor<jni::jlong>(env);
+    return FeatureQuerySnapshot::javaClass.New(env, constructor, reinterpret_cast<jni::jlong>(snapshot.release()));
+}
+
+jni::Class<FeatureQuerySnapshot> FeatureQuerySnapshot::javaClass;
+
+void FeatureQuerySnapshot::registerNative(jni::JNIEnv& env) {
+    javaClass = *jni::Class<FeatureQuerySnapshot>::Find(env).NewGlobalRef(env).release();
+
+    #define METHOD(MethodPtr, name) jni::MakeNativePeerMethod<decltype(MethodPtr), (MethodPtr)>(name)
+
+    jni::RegisterNativePeer<FeatureQuerySnapshot>(env, javaClass, "nativePtr",
+        std::make_unique<FeatureQuerySnapshot, JNIEnv&, jni::jlong>,
+        "initialize",
+        "finalize",
+        METHOD(&FeatureQuerySnapshot::execute, "nativeExecute"),
+        METHOD(&FeatureQuerySnapshot::cancel, "nativeCancel")
+    );
+}
+
+} // namespace android
+} // namespace mbgl
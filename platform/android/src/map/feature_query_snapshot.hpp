@@ -0,0 +1,39 @@
+#pragma once
+
+#include <mbgl/map/feature_query_snapshot.hpp>
+#include <mbgl/util/noncopyable.hpp>
+
+#include "../geojson/feature.hpp"
+
+#include <jni/jni.hpp>
+
+#include <memory>
+
+namespace mbgl {
+namespace android {
+
+// Peer of com.mapbox.mapboxsdk.maps.FeatureQuerySnapshot. Snapshots are created on the UI thread
+// and executed on a worker thread, cancel may be called from either.
+class FeatureQuerySnapshot : private mbgl::util::noncopyable {
+public:
+
+    static constexpr auto Name() { return "com/mapbox/mapboxsdk/maps/FeatureQuerySnapshot"; };
+
+    static jni::Object<FeatureQuerySnapshot> New(jni::JNIEnv&, std::unique_ptr<mbgl::FeatureQuerySnapshot>);
+
+    static jni::Class<FeatureQuerySnapshot> javaClass;
+
+    static void registerNative(jni::JNIEnv&);
+
+    FeatureQuerySnapshot(jni::JNIEnv&, jni::jlong);
+
+    jni::Array<jni::Object<geojson::Feature>> execute(jni::JNIEnv&);
+
+    void cancel(jni::JNIEnv&);
+
+private:
+    std::unique_ptr<mbgl::FeatureQuerySnapshot> snapshot;
+};
+
+} // namespace android
+} // namespace mbgl
@@ -0,0 +1,94 @@
+#include "frame_metrics.hpp"
+
+#include <ctime>
+
+namespace mbgl {
+namespace android {
+
+int64_t FrameMetricsRecorder::now() {
+    struct timespec time;
+    clock_gettime(CLOCK_MONOTONIC, &time);
+    return time.tv_sec * 1000000000LL + time.tv_nsec;
+}
+
+void FrameMetricsRecorder::frameStarted() {
+    frameStart = now();
+    updateEnd = renderEnd = swapStart = 0;
+    recording = true;
+}
+
+void FrameMetricsRecorder::updateFinished() {
+    if (recording) {
+        updateEnd = now();
+    }
+}
+
+void FrameMetricsRecorder::renderFinished() {
+    if (recording) {
+        renderEnd = now();
+    }
+}
+
+void FrameMetricsRecorder::swapStarted() {
+    if (recording) {
+        swapStart = now();
+    }
+}
+
+void FrameMetricsRecorder::frameFinished(const util::TileStatistics& current) {
+    if (!recording) {
+        return;
+    }
+    recording = false;
+
+    const int64_t frameEnd = now();
+    // The map may skip rendering, eg. when the style isn't loaded yet
+    const int64_t update = updateEnd ? updateEnd : frameEnd;
+    const int64_t render = renderEnd ? renderEnd : update;
+    const int64_t swap = swapStart ? swapStart : frameEnd;
+
+    Sample& sample = samples[next];
+    sample[Timestamp] = frameStart;
+    sample[UpdateWallTime] = update - frameStart;
+    sample[RenderWallTime] = render - update;
+    sample[SwapWallTime] = swapStart ? frameEnd - swap : 0;
+    sample[LayoutWallTime] = current.layoutTime - statistics.layoutTime;
+    sample[TilesLoaded] = current.loaded - statistics.loaded;
+    sample[TilesParsed] = current.parsed - statistics.parsed;
+    sample[TilesUploaded] = current.uploaded - statistics.uploaded;
+    sample[Upcalls] = upcalls.exchange(0, std::memory_order_relaxed);
+
+    statistics = current;
+
+    next = (next + 1) % Capacity;
+    if (size < Capacity) {
+        size++;
+    }
+    undrained++;
+}
+
+void FrameMetricsRecorder::copy(std::vector<int64_t>& result, std::size_t count) const {
+    result.reserve(count * FieldCount);
+    std::size_t index = (next + Capacity - count) % Capacity;
+    for (std::size_t i = 0; i < count; i++) {
+        const Sample& sample = samples[index];
+        result.insert(result.end(), sample.begin(), sample.end());
+        index = (index + 1) % Capacity;
+    }
+}
+
+std::vector<int64_t> FrameMetricsRecorder::drain() {
+    std::vector<int64_t> result;
+    copy(result, pending());
+    undrained = 0;
+    return result;
+}
+
+std::vector<int64_t> FrameMetricsRecorder::history() const {
+    std::vector<int64_t> result;
+    copy(result, size);
+    return result;
+}
+
+} // namespace android
+} // namespace mbgl
@@ -0,0 +1,83 @@
+#pragma once
+
+#include <mbgl/util/noncopyable.hpp>
+#include <mbgl/util/tile_statistics.hpp>
+
+#include <array>
+#include <atomic>
+#include <cstdint>
+#include <vector>
+
+namespace mbgl {
+namespace android {
+
+// Records timing and work counters of the frames rendered by a NativeMapView
+// into a fixed size ring buffer. Samples are encoded as a flat array of longs
+// so they can be transferred to Java with a single JNI call, the layout must
+// be kept in sync with com.mapbox.mapboxsdk.maps.FrameMetrics. Durations are
+// wall-clock times read from CLOCK_MONOTONIC, not CPU time.
+//
+// Apart from countUpcall, all methods are expected to be called on the render
+// thread.
+class FrameMetricsRecorder : private mbgl::util::noncopyable {
+public:
+    enum Field : std::size_t {
+        Timestamp,
+        UpdateWallTime,
+        RenderWallTime,
+        SwapWallTime,
+        LayoutWallTime,
+        TilesLoaded,
+        TilesParsed,
+        TilesUploaded,
+        Upcalls,
+        FieldCount
+    };
+
+    static constexpr std::size_t Capacity = 300;
+
+    void frameStarted();
+    void updateFinished();
+    void renderFinished();
+    void swapStarted();
+    // Takes the tile counters of the map rendering the frame
+    void frameFinished(const util::TileStatistics& current);
+
+    // Counts a call from native code into Java. May be called from any thread.
+    void countUpcall() {
+        upcalls.fetch_add(1, std::memory_order_relaxed);
+    }
+
+    // Returns the samples that were recorded since the previous call
+    std::vector<int64_t> drain();
+
+    // Returns all samples currently held by the ring buffer, oldest first
+    std::vector<int64_t> history() const;
+
+    std::size_t pending() const {
+        return size < undrained ? size : undrained;
+    }
+
+private:
+    using Sample = std::array<int64_t, FieldCount>;
+
+    static int64_t now();
+    void copy(std::vector<int64_t>&, std::size_t count) const;
+
+    std::array<Sample, Capacity> samples;
+    std::size_t next = 0;
+    std::size_t size = 0;
+    std::size_t undrained = 0;
+
+    int64_t frameStart = 0;
+    int64_t updateEnd = 0;
+    int64_t renderEnd = 0;
+    int64_t swapStart = 0;
+    bool recording = false;
+
+    std::atomic<int64_t> upcalls { 0 };
+    util::TileStatistics statistics;
+};
+
+} // namespace android
+} // namespace mbgl
@@ -0,0 +1,55 @@
+#include "tile_data_pool.hpp"
+
+#include <mbgl/util/tile_data_pool.hpp>
+
+#include <vector>
+
+namespace mbgl {
+namespace android {
+
+void TileDataPool::setEnabled(jni::JNIEnv&, jni::Class<TileDataPool>, jni::jboolean enabled) {
+    util::setTileDataPoolEnabled(enabled);
+}
+
+jni::jboolean TileDataPool::isEnabled(jni::JNIEnv&, jni::Class<TileDataPool>) {
+    return util::isTileDataPoolEnabled();
+}
+
+void TileDataPool::setMaximumSize(jni::JNIEnv&, jni::Class<TileDataPool>, jni::jlong size) {
+    util::setTileDataPoolMaximumSize(size < 0 ? 0 : size);
+}
+
+jni::Array<jni::jlong> TileDataPool::getStatistics(jni::JNIEnv& env, jni::Class<TileDataPool>) {
+    // Layout needs to be kept in sync with com.mapbox.mapboxsdk.maps.TileDataPool
+    const util::TileDataPoolStatistics statistics = util::getTileDataPoolStatistics();
+    std::vector<jni::jlong> values {
+        static_cast<jni::jlong>(statistics.tiles),
+        static_cast<jni::jlong>(statistics.bytes),
+        static_cast<jni::jlong>(statistics.hits),
+        static_cast<jni::jlong>(statistics.misses)
+    };
+    auto result = jni::Array<jni::jlong>::New(env, values.size());
+    result.SetRegion<std::vector<jni::jlong>>(env, 0, values);
+    return result;
+}
+
+jni::Class<TileDataPool> TileDataPool::javaClass;
+
+void TileDataPool::registerNative(jni::JNIEnv& env) {
+    // Lookup the class
+    TileDataPool::javaClass = *jni::Class<TileDataPool>::Find(env).NewGlobalRef(env).release();
+
+    #define METHOD(MethodPtr, name) jni::MakeNativeMethod<decltype(MethodPtr), (MethodPtr)>(name)
+
+    jni::RegisterNatives(
+        env,
+        TileDataPool::javaClass,
+        METHOD(&TileDataPool::setEnabled, "nativeSetEnabled"),
+        METHOD(&TileDataPool::isEnabled, "nativeIsEnabled"),
+        METHOD(&TileDataPool::setMaximumSize, "nativeSetMaximumSize"),
+        METHOD(&TileDataPool::getStatistics, "nativeGetStatistics")
+    );
+}
+
+} // namespace android
+} // namespace mbgl
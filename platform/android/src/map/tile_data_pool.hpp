@@ -0,0 +1,28 @@
+#pragma once
+
+#include <jni/jni.hpp>
+
+namespace mbgl {
+namespace android {
+
+// Static bindings of com.mapbox.mapboxsdk.maps.TileDataPool to the
+// process-wide pool of vector tile data.
+class TileDataPool {
+public:
+    static constexpr auto Name() { return "com/mapbox/mapboxsdk/maps/TileDataPool"; };
+
+    static jni::Class<TileDataPool> javaClass;
+
+    static void registerNative(jni::JNIEnv&);
+
+    static void setEnabled(jni::JNIEnv&, jni::Class<TileDataPool>, jni::jboolean);
+
+    static jni::jboolean isEnabled(jni::JNIEnv&, jni::Class<TileDataPool>);
+
+    static void setMaximumSize(jni::JNIEnv&, jni::Class<TileDataPool>, jni::jlong);
+
+    static jni::Array<jni::jlong> getStatistics(jni::JNIEnv&, jni::Class<TileDataPool>);
+};
+
+} // namespace android
+} // namespace mbgl
@@ -6,6 +6,8 @@
 #include <memory>
 #include <list>
 #include <tuple>
+#include <vector>
+#include <algorithm>
 
 #include <sys/system_properties.h>
 
@@ -56,10 +58,15 @@ NativeMapView::NativeMapView(jni::JNIEnv& _env,
                              jni::Object<NativeMapView> _obj,
                              jni::Object<FileSource> jFileSource,
                              jni::jfloat _pixelRatio,
-                             jni::String _programCacheDir)
+                             jni::String _programCacheDir,
+                             jni::jint workerThreadCount,
+                             jni::jint workerThreadPriority)
     : javaPeer(_obj.NewWeakGlobalRef(_env)),
       pixelRatio(_pixelRatio),
-      threadPool(sharedThreadPool()) {
+      // Maps that configure their workers get a dedicated pool, others share one
+      threadPool(workerThreadCount > 0
+                 ? std::make_shared<ThreadPool>(workerThreadCount, optional<int>(workerThreadPriority))
+                 : sharedThreadPool()) {
 
     // Get a reference to the JavaVM for callbacks
     if (_env.GetJavaVM(&vm) < 0) {
@@ -164,6 +171,7 @@ void NativeMapView::deactivate() {
  * May be called from any thread
  */
 void NativeMapView::invalidate() {
+    frameMetrics.countUpcall();
     android::UniqueEnv _env = android::AttachEnv();
     static auto onInvalidate = javaClass.GetMethod<void ()>(*_env, "onInvalidate");
     javaPeer->Call(*_env, onInvalidate);
@@ -177,6 +185,7 @@ void NativeMapView::invalidate() {
 void NativeMapView::notifyMapChange(mbgl::MapChange change) {
     assert(vm != nullptr);
 
+    frameMetrics.countUpcall();
     android::UniqueEnv _env = android::AttachEnv();
     static auto onMapChanged = javaClass.GetMethod<void (int)>(*_env, "onMapChanged");
     javaPeer->Call(*_env, onMapChanged, (int) change);
@@ -215,10 +224,12 @@ void NativeMapView::onDidFailLoadingMap(std::exception_ptr) {
 }
 
 void NativeMapView::onWillStartRenderingFrame() {
+    frameMetrics.updateFinished();
     notifyMapChange(MapChange::MapChangeWillStartRenderingFrame);
 }
 
 void NativeMapView::onDidFinishRenderingFrame(MapObserver::RenderMode mode) {
+    frameMetrics.renderFinished();
     if (mode == MapObserver::RenderMode::Partial) {
         notifyMapChange(MapChange::MapChangeDidFinishRenderingFrame);
     } else {
@@ -280,6 +291,7 @@ void NativeMapView::render(jni::JNIEnv& env) {
         framebufferSizeChanged = false;
     }
 
+    frameMetrics.frameStarted();
     map->render(*this);
 
     if(snapshot){
@@ -290,20 +302,24 @@ void NativeMapView::render(jni::JNIEnv& env) {
          auto bitmap = Bitmap::CreateBitmap(env, std::move(image));
 
          // invoke Mapview#OnSnapshotReady
+        frameMetrics.countUpcall();
         android::UniqueEnv _env = android::AttachEnv();
         static auto onSnapshotReady = javaClass.GetMethod<void (jni::Object<Bitmap>)>(*_env, "onSnapshotReady");
         javaPeer->Call(*_env, onSnapshotReady, bitmap);
     }
 
     if ((display != EGL_NO_DISPLAY) && (surface != EGL_NO_SURFACE)) {
+        frameMetrics.swapStarted();
         if (!eglSwapBuffers(display, surface)) {
             mbgl::Log::Error(mbgl::Event::OpenGL, "eglSwapBuffers() returned error %d",
                              eglGetError());
             throw std::runtime_error("eglSwapBuffers() failed");
         }
 
+        frameMetrics.frameFinished(map->getTileStatistics());
         updateFps();
     } else {
+        frameMetrics.frameFinished(map->getTileStatistics());
         mbgl::Log::Info(mbgl::Event::Android, "Not swapping as we are not ready");
     }
 }
@@ -549,6 +565,20 @@ void NativeMapView::enableFps(jni::JNIEnv&, jni::jboolean enable) {
     fpsEnabled = enable;
 }
 
+jni::Array<jni::jlong> NativeMapView::drainFrameMetrics(jni::JNIEnv& env) {
+    std::vector<jni::jlong> samples = frameMetrics.drain();
+    auto result = jni::Array<jni::jlong>::New(env, samples.size());
+    result.SetRegion<std::vector<jni::jlong>>(env, 0, samples);
+    return result;
+}
+
+jni::Array<jni::jlong> NativeMapView::getFrameMetricsHistory(jni::JNIEnv& env) {
+    std::vector<jni::jlong> samples = frameMetrics.history();
+    auto result = jni::Array<jni::jlong>::New(env, samples.size());
+    result.SetRegion<std::vector<jni::jlong>>(env, 0, samples);
+    return result;
+}
+
 jni::Object<CameraPosition> NativeMapView::getCameraPosition(jni::JNIEnv& env) {
     return CameraPosition::New(env, map->getCameraOptions(insets));
 }
@@ -590,6 +620,46 @@ void NativeMapView::onLowMemory(JNIEnv&) {
     map->onLowMemory();
 }
 
+void NativeMapView::trimMemory(JNIEnv&, jni::jfloat fraction) {
+    map->trimMemory(fraction);
+}
+
+void NativeMapView::setMaximumTileCacheSize(JNIEnv&, jni::jint tiles) {
+    map->setMaximumTileCacheSize(tiles < 0 ? 0 : tiles);
+}
+
+void NativeMapView::setMaximumTileCacheByteSize(JNIEnv&, jni::jlong bytes) {
+    map->setMaximumTileCacheByteSize(bytes < 0 ? 0 : bytes);
+}
+
+jni::Array<jni::jlong> NativeMapView::getTileMemoryUsage(JNIEnv& env) {
+    const mbgl::util::TileMemoryUsage usage = map->getTileMemoryUsage();
+    std::vector<jni::jlong> values {
+        static_cast<jni::jlong>(usage.tiles),
+        static_cast<jni::jlong>(usage.bytes),
+        static_cast<jni::jlong>(usage.cachedTiles),
+        static_cast<jni::jlong>(usage.cachedBytes)
+    };
+    auto result = jni::Array<jni::jlong>::New(env, values.size());
+    result.SetRegion<std::vector<jni::jlong>>(env, 0, values);
+    return result;
+}
+
+void NativeMapView::setPredictivePrefetchEnabled(JNIEnv&, jni::jboolean enabled) {
+    map->setPredictivePrefetchEnabled(enabled);
+}
+
+jni::Array<jni::jlong> NativeMapView::getTilePrefetchStatistics(JNIEnv& env) {
+    const mbgl::util::TilePrefetchStatistics statistics = map->getTilePrefetchStatistics();
+    std::vector<jni::jlong> values {
+        static_cast<jni::jlong>(statistics.prefetched),
+        static_cast<jni::jlong>(statistics.rendered)
+    };
+    auto result = jni::Array<jni::jlong>::New(env, values.size());
+    result.SetRegion<std::vector<jni::jlong>>(env, 0, values);
+    return result;
+}
+
 using DebugOptions = mbgl::MapDebugOptions;
 
 void NativeMapView::setDebug(JNIEnv&, jni::jboolean debug) {
@@ -630,6 +700,23 @@ jni::Object<PointF> NativeMapView::pixelForLatLng(JNIEnv& env, jdouble latitude,
     return PointF::New(env, static_cast<float>(pixel.x), static_cast<float>(pixel.y));
 }
 
+void NativeMapView::pixelsForLatLngs(JNIEnv& env, jni::Array<jni::jdouble> coordinates, jni::Array<jni::jfloat> pixels) {
+    NullCheck(env, &coordinates);
+    NullCheck(env, &pixels);
+
+    std::size_t len = std::min(coordinates.Length(env), pixels.Length(env)) / 2 * 2;
+    std::vector<jni::jdouble> jcoordinates(len);
+    jni::GetArrayRegion(env, *coordinates, 0, len, jcoordinates.data());
+
+    std::vector<jni::jfloat> jpixels(len);
+    for (std::size_t i = 0; i < len; i += 2) {
+        mbgl::ScreenCoordinate pixel = map->pixelForLatLng(mbgl::LatLng(jcoordinates[i], jcoordinates[i + 1]));
+        jpixels[i] = static_cast<jni::jfloat>(pixel.x);
+        jpixels[i + 1] = static_cast<jni::jfloat>(pixel.y);
+    }
+    jni::SetArrayRegion(env, *pixels, 0, len, jpixels.data());
+}
+
 jni::Object<LatLng> NativeMapView::latLngForPixel(JNIEnv& env, jfloat x, jfloat y) {
     return LatLng::New(env, map->latLngForPixel(mbgl::ScreenCoordinate(x, y)));
 }
@@ -686,11 +773,105 @@ void NativeMapView::updatePolyline(JNIEnv& env, jlong polylineId, jni::Object<Po
 }
 
 //TODO: Move to Polygon class and make native peer
+void NativeMapView::addPolylinePoint(JNIEnv&, jlong polylineId, jni::jdouble lat, jni::jdouble lon) {
+    if (polylineId == -1) {
+        return;
+    }
+
+    map->extendLineAnnotation(polylineId, mbgl::LineString<double> { mbgl::Point<double>(lon, lat) });
+}
+
 void NativeMapView::updatePolygon(JNIEnv& env, jlong polygonId, jni::Object<Polygon> polygon) {
     mbgl::FillAnnotation annotation = Polygon::toAnnotation(env, polygon);
     map->updateAnnotation(polygonId, annotation);
 }
 
+// Applies a batch of annotation updates collected on the Java side. The
+// annotation tiles are only rebuilt on the next render, so the whole batch
+// results in a single rebuild.
+void NativeMapView::updateAnnotations(JNIEnv& env,
+                                      jni::Array<jlong> markerIds, jni::Array<jni::Object<Marker>> markers,
+                                      jni::Array<jlong> polylineIds, jni::Array<jni::Object<Polyline>> polylines,
+                                      jni::Array<jlong> polygonIds, jni::Array<jni::Object<Polygon>> polygons) {
+    NullCheck(env, &markerIds);
+    NullCheck(env, &markers);
+    NullCheck(env, &polylineIds);
+    NullCheck(env, &polylines);
+    NullCheck(env, &polygonIds);
+    NullCheck(env, &polygons);
+
+    std::size_t len = markerIds.Length(env);
+    auto markerIdElements = jni::GetArrayElements(env, *markerIds);
+    jlong* jmarkerIds = std::get<0>(markerIdElements).get();
+    for (std::size_t i = 0; i < len; i++) {
+        jni::Object<Marker> marker = markers.Get(env, i);
+        if (jmarkerIds[i] != -1L) {
+            map->updateAnnotation(jmarkerIds[i], mbgl::SymbolAnnotation {
+                Marker::getPosition(env, marker),
+                Marker::getIconId(env, marker)
+            });
+        }
+        jni::DeleteLocalRef(env, marker);
+    }
+
+    len = polylineIds.Length(env);
+    auto polylineIdElements = jni::GetArrayElements(env, *polylineIds);
+    jlong* jpolylineIds = std::get<0>(polylineIdElements).get();
+    for (std::size_t i = 0; i < len; i++) {
+        jni::Object<Polyline> polyline = polylines.Get(env, i);
+        if (jpolylineIds[i] != -1L) {
+            map->updateAnnotation(jpolylineIds[i], Polyline::toAnnotation(env, polyline));
+        }
+        jni::DeleteLocalRef(env, polyline);
+    }
+
+    len = polygonIds.Length(env);
+    auto polygonIdElements = jni::GetArrayElements(env, *polygonIds);
+    jlong* jpolygonIds = std::get<0>(polygonIdElements).get();
+    for (std::size_t i = 0; i < len; i++) {
+        jni::Object<Polygon> polygon = polygons.Get(env, i);
+        if (jpolygonIds[i] != -1L) {
+            map->updateAnnotation(jpolygonIds[i], Polygon::toAnnotation(env, polygon));
+        }
+        jni::DeleteLocalRef(env, polygon);
+    }
+}
+
+void NativeMapView::animateMarkers(JNIEnv& env, jni::Array<jlong> ids, jni::Array<jni::jdouble> latitudes,
+                                   jni::Array<jni::jdouble> longitudes, jlong duration, jni::jint callbackId) {
+    NullCheck(env, &ids);
+    NullCheck(env, &latitudes);
+    NullCheck(env, &longitudes);
+
+    std::size_t len = ids.Length(env);
+    auto idElements = jni::GetArrayElements(env, *ids);
+    jlong* jids = std::get<0>(idElements).get();
+    auto latitudeElements = jni::GetArrayElements(env, *latitudes);
+    jni::jdouble* jlatitudes = std::get<0>(latitudeElements).get();
+    auto longitudeElements = jni::GetArrayElements(env, *longitudes);
+    jni::jdouble* jlongitudes = std::get<0>(longitudeElements).get();
+
+    std::map<mbgl::AnnotationID, mbgl::Point<double>> destinations;
+    for (std::size_t i = 0; i < len; i++) {
+        if (jids[i] != -1L) {
+            destinations.emplace(jids[i], mbgl::Point<double>(jlongitudes[i], jlatitudes[i]));
+        }
+    }
+
+    std::function<void (bool)> callback;
+    if (callbackId != 0) {
+        // Called after the frame in which the animation ended, on the thread that owns the map.
+        callback = [this, callbackId] (bool completed) {
+            android::UniqueEnv _env = android::AttachEnv();
+            static auto onMarkerAnimationFinished =
+                javaClass.GetMethod<void (jni::jint, jni::jboolean)>(*_env, "onMarkerAnimationFinished");
+            javaPeer->Call(*_env, onMarkerAnimationFinished, callbackId, jni::jboolean(completed));
+        };
+    }
+
+    map->animateSymbolAnnotations(destinations, mbgl::Milliseconds(duration), std::move(callback));
+}
+
 void NativeMapView::removeAnnotations(JNIEnv& env, jni::Array<jlong> ids) {
     NullCheck(env, &ids);
     std::size_t len = ids.Length(env);
@@ -721,10 +902,33 @@ void NativeMapView::addAnnotationIcon(JNIEnv& env, jni::String symbol, jint w, j
         symbolName, std::move(premultipliedImage), float(scale)));
 }
 
+void NativeMapView::removeAnnotationIcon(JNIEnv& env, jni::String symbol) {
+    map->removeAnnotationImage(jni::Make<std::string>(env, symbol));
+}
+
 jdouble NativeMapView::getTopOffsetPixelsForAnnotationSymbol(JNIEnv& env, jni::String symbolName) {
     return map->getTopOffsetPixelsForAnnotationImage(jni::Make<std::string>(env, symbolName));
 }
 
+jni::Array<jdouble> NativeMapView::getTopOffsetPixelsForAnnotationSymbols(JNIEnv& env, jni::Array<jni::String> symbolNames) {
+    NullCheck(env, &symbolNames);
+    std::size_t len = symbolNames.Length(env);
+
+    std::vector<jni::jdouble> offsets;
+    offsets.reserve(len);
+
+    for (std::size_t i = 0; i < len; i++) {
+        auto symbolName = symbolNames.Get(env, i);
+        offsets.push_back(map->getTopOffsetPixelsForAnnotationImage(jni::Make<std::string>(env, symbolName)));
+        jni::DeleteLocalRef(env, symbolName);
+    }
+
+    auto result = jni::Array<jni::jdouble>::New(env, len);
+    result.SetRegion<std::vector<jni::jdouble>>(env, 0, offsets);
+
+    return result;
+}
+
 jlong NativeMapView::getTransitionDuration(JNIEnv&) {
     const auto transitionOptions = map->getStyle().getTransitionOptions();
     return std::chrono::duration_cast<std::chrono::milliseconds>(transitionOptions.duration.value_or(mbgl::Duration::zero())).count();
@@ -801,6 +1005,37 @@ jni::Array<jni::Object<geojson::Feature>> NativeMapView::queryRenderedFeaturesFo
     return *convert<jni::Array<jni::Object<Feature>>, std::vector<mbgl::Feature>>(env, map->queryRenderedFeatures(box, { layers, toFilter(env, jfilter) }));
 }
 
+jni::Object<FeatureQuerySnapshot> NativeMapView::snapshotRenderedFeaturesForPoint(JNIEnv& env, jni::jfloat x, jni::jfloat y,
+                                                                                  jni::Array<jni::String> layerIds,
+                                                                                  jni::Array<jni::Object<>> jfilter) {
+    using namespace mbgl::android::conversion;
+
+    mbgl::optional<std::vector<std::string>> layers;
+    if (layerIds != nullptr && layerIds.Length(env) > 0) {
+        layers = toVector(env, layerIds);
+    }
+    mapbox::geometry::point<double> point = {x, y};
+
+    return FeatureQuerySnapshot::New(env, map->snapshotRenderedFeatures(point, { layers, toFilter(env, jfilter) }));
+}
+
+jni::Object<FeatureQuerySnapshot> NativeMapView::snapshotRenderedFeaturesForBox(JNIEnv& env, jni::jfloat left, jni::jfloat top,
+                                                                                jni::jfloat right, jni::jfloat bottom, jni::Array<jni::String> layerIds,
+                                                                                jni::Array<jni::Object<>> jfilter) {
+    using namespace mbgl::android::conversion;
+
+    mbgl::optional<std::vector<std::string>> layers;
+    if (layerIds != nullptr && layerIds.Length(env) > 0) {
+        layers = toVector(env, layerIds);
+    }
+    mapbox::geometry::box<double> box = {
+            mapbox::geometry::point<double>{ left, top},
+            mapbox::geometry::point<double>{ right, bottom }
+    };
+
+    return FeatureQuerySnapshot::New(env, map->snapshotRenderedFeatures(box, { layers, toFilter(env, jfilter) }));
+}
+
 jni::Object<Light> NativeMapView::getLight(JNIEnv& env) {
     mbgl::style::Light* light = map->getStyle().getLight();
     if (light) {
@@ -1436,6 +1671,7 @@ void NativeMapView::updateFps() {
 
     assert(vm != nullptr);
 
+    frameMetrics.countUpcall();
     android::UniqueEnv _env = android::AttachEnv();
     static auto onFpsChanged = javaClass.GetMethod<void (double)>(*_env, "onFpsChanged");
     javaPeer->Call(*_env, onFpsChanged, fps);
@@ -1453,7 +1689,7 @@ void NativeMapView::registerNative(jni::JNIEnv& env) {
 
     // Register the peer
     jni::RegisterNativePeer<NativeMapView>(env, NativeMapView::javaClass, "nativePtr",
-            std::make_unique<NativeMapView, JNIEnv&, jni::Object<NativeMapView>, jni::Object<FileSource>, jni::jfloat, jni::String>,
+            std::make_unique<NativeMapView, JNIEnv&, jni::Object<NativeMapView>, jni::Object<FileSource>, jni::jfloat, jni::String, jni::jint, jni::jint>,
             "nativeInitialize",
             "nativeDestroy",
             METHOD(&NativeMapView::render, "nativeRender"),
@@ -1499,6 +1735,8 @@ void NativeMapView::registerNative(jni::JNIEnv& env) {
             METHOD(&NativeMapView::setContentPadding, "nativeSetContentPadding"),
             METHOD(&NativeMapView::scheduleSnapshot, "nativeTakeSnapshot"),
             METHOD(&NativeMapView::enableFps, "nativeSetEnableFps"),
+            METHOD(&NativeMapView::drainFrameMetrics, "nativeDrainFrameMetrics"),
+            METHOD(&NativeMapView::getFrameMetricsHistory, "nativeGetFrameMetricsHistory"),
             METHOD(&NativeMapView::getCameraPosition, "nativeGetCameraPosition"),
             METHOD(&NativeMapView::updateMarker, "nativeUpdateMarker"),
             METHOD(&NativeMapView::addMarkers, "nativeAddMarkers"),
@@ -1507,18 +1745,30 @@ void NativeMapView::registerNative(jni::JNIEnv& env) {
             METHOD(&NativeMapView::getDebug, "nativeGetDebug"),
             METHOD(&NativeMapView::isFullyLoaded, "nativeIsFullyLoaded"),
             METHOD(&NativeMapView::onLowMemory, "nativeOnLowMemory"),
+            METHOD(&NativeMapView::trimMemory, "nativeTrimMemory"),
+            METHOD(&NativeMapView::setMaximumTileCacheSize, "nativeSetMaximumTileCacheSize"),
+            METHOD(&NativeMapView::setMaximumTileCacheByteSize, "nativeSetMaximumTileCacheByteSize"),
+            METHOD(&NativeMapView::getTileMemoryUsage, "nativeGetTileMemoryUsage"),
+            METHOD(&NativeMapView::setPredictivePrefetchEnabled, "nativeSetPredictivePrefetchEnabled"),
+            METHOD(&NativeMapView::getTilePrefetchStatistics, "nativeGetTilePrefetchStatistics"),
             METHOD(&NativeMapView::getMetersPerPixelAtLatitude, "nativeGetMetersPerPixelAtLatitude"),
             METHOD(&NativeMapView::projectedMetersForLatLng, "nativeProjectedMetersForLatLng"),
             METHOD(&NativeMapView::pixelForLatLng, "nativePixelForLatLng"),
+            METHOD(&NativeMapView::pixelsForLatLngs, "nativePixelsForLatLngs"),
             METHOD(&NativeMapView::latLngForProjectedMeters, "nativeLatLngForProjectedMeters"),
             METHOD(&NativeMapView::latLngForPixel, "nativeLatLngForPixel"),
             METHOD(&NativeMapView::addPolylines, "nativeAddPolylines"),
             METHOD(&NativeMapView::addPolygons, "nativeAddPolygons"),
             METHOD(&NativeMapView::updatePolyline, "nativeUpdatePolyline"),
+            METHOD(&NativeMapView::addPolylinePoint, "nativeAddPolylinePoint"),
             METHOD(&NativeMapView::updatePolygon, "nativeUpdatePolygon"),
+            METHOD(&NativeMapView::updateAnnotations, "nativeUpdateAnnotations"),
             METHOD(&NativeMapView::removeAnnotations, "nativeRemoveAnnotations"),
+            METHOD(&NativeMapView::animateMarkers, "nativeAnimateMarkers"),
             METHOD(&NativeMapView::addAnnotationIcon, "nativeAddAnnotationIcon"),
+            METHOD(&NativeMapView::removeAnnotationIcon, "nativeRemoveAnnotationIcon"),
             METHOD(&NativeMapView::getTopOffsetPixelsForAnnotationSymbol, "nativeGetTopOffsetPixelsForAnnotationSymbol"),
+            METHOD(&NativeMapView::getTopOffsetPixelsForAnnotationSymbols, "nativeGetTopOffsetPixelsForAnnotationSymbols"),
             METHOD(&NativeMapView::getTransitionDuration, "nativeGetTransitionDuration"),
             METHOD(&NativeMapView::setTransitionDuration, "nativeSetTransitionDuration"),
             METHOD(&NativeMapView::getTransitionDelay, "nativeGetTransitionDelay"),
@@ -1526,6 +1776,8 @@ void NativeMapView::registerNative(jni::JNIEnv& env) {
             METHOD(&NativeMapView::queryPointAnnotations, "nativeQueryPointAnnotations"),
             METHOD(&NativeMapView::queryRenderedFeaturesForPoint, "nativeQueryRenderedFeaturesForPoint"),
             METHOD(&NativeMapView::queryRenderedFeaturesForBox, "nativeQueryRenderedFeaturesForBox"),
+            METHOD(&NativeMapView::snapshotRenderedFeaturesForPoint, "nativeSnapshotRenderedFeaturesForPoint"),
+            METHOD(&NativeMapView::snapshotRenderedFeaturesForBox, "nativeSnapshotRenderedFeaturesForBox"),
             METHOD(&NativeMapView::getLight, "nativeGetLight"),
             METHOD(&NativeMapView::getLayers, "nativeGetLayers"),
             METHOD(&NativeMapView::getLayer, "nativeGetLayer"),
@@ -24,6 +24,8 @@
 #include "style/sources/sources.hpp"
 #include "geometry/lat_lng_bounds.hpp"
 #include "map/camera_position.hpp"
+#include "map/feature_query_snapshot.hpp"
+#include "map/frame_metrics.hpp"
 #include "style/light.hpp"
 
 #include <exception>
@@ -49,7 +51,9 @@ public:
                   jni::Object<NativeMapView>,
                   jni::Object<FileSource>,
                   jni::jfloat pixelRatio,
-                  jni::String programCacheDir);
+                  jni::String programCacheDir,
+                  jni::jint workerThreadCount,
+                  jni::jint workerThreadPriority);
 
     virtual ~NativeMapView();
 
@@ -171,6 +175,10 @@ public:
 
     void enableFps(jni::JNIEnv&, jni::jboolean enable);
 
+    jni::Array<jni::jlong> drainFrameMetrics(jni::JNIEnv&);
+
+    jni::Array<jni::jlong> getFrameMetricsHistory(jni::JNIEnv&);
+
     jni::Object<CameraPosition> getCameraPosition(jni::JNIEnv&);
 
     void updateMarker(jni::JNIEnv&, jni::jlong, jni::jdouble, jni::jdouble, jni::String);
@@ -179,6 +187,18 @@ public:
 
     void onLowMemory(JNIEnv& env);
 
+    void trimMemory(JNIEnv&, jni::jfloat);
+
+    void setMaximumTileCacheSize(JNIEnv&, jni::jint);
+
+    void setMaximumTileCacheByteSize(JNIEnv&, jni::jlong);
+
+    jni::Array<jni::jlong> getTileMemoryUsage(JNIEnv&);
+
+    void setPredictivePrefetchEnabled(JNIEnv&, jni::jboolean);
+
+    jni::Array<jni::jlong> getTilePrefetchStatistics(JNIEnv&);
+
     void setDebug(JNIEnv&, jni::jboolean);
 
     void cycleDebugOptions(JNIEnv&);
@@ -193,6 +213,8 @@ public:
 
     jni::Object<PointF> pixelForLatLng(JNIEnv&, jdouble, jdouble);
 
+    void pixelsForLatLngs(JNIEnv&, jni::Array<jni::jdouble>, jni::Array<jni::jfloat>);
+
     jni::Object<LatLng> latLngForProjectedMeters(JNIEnv&, jdouble, jdouble);
 
     jni::Object<LatLng> latLngForPixel(JNIEnv&, jfloat, jfloat);
@@ -203,14 +225,26 @@ public:
 
     void updatePolyline(JNIEnv&, jlong, jni::Object<Polyline>);
 
+    void addPolylinePoint(JNIEnv&, jlong, jni::jdouble, jni::jdouble);
+
     void updatePolygon(JNIEnv&, jlong, jni::Object<Polygon>);
 
+    void updateAnnotations(JNIEnv&, jni::Array<jlong>, jni::Array<jni::Object<Marker>>,
+                           jni::Array<jlong>, jni::Array<jni::Object<Polyline>>,
+                           jni::Array<jlong>, jni::Array<jni::Object<Polygon>>);
+
     void removeAnnotations(JNIEnv&, jni::Array<jlong>);
 
+    void animateMarkers(JNIEnv&, jni::Array<jlong>, jni::Array<jni::jdouble>, jni::Array<jni::jdouble>, jlong, jni::jint);
+
     void addAnnotationIcon(JNIEnv&, jni::String, jint, jint, jfloat, jni::Array<jbyte>);
 
+    void removeAnnotationIcon(JNIEnv&, jni::String);
+
     jni::jdouble getTopOffsetPixelsForAnnotationSymbol(JNIEnv&, jni::String);
 
+    jni::Array<jni::jdouble> getTopOffsetPixelsForAnnotationSymbols(JNIEnv&, jni::Array<jni::String>);
+
     jni::jlong getTransitionDuration(JNIEnv&);
 
     void setTransitionDuration(JNIEnv&, jni::jlong);
@@ -229,6 +263,14 @@ public:
                                                                  jni::jfloat, jni::Array<jni::String>,
                                                                  jni::Array<jni::Object<>> jfilter);
 
+    jni::Object<FeatureQuerySnapshot> snapshotRenderedFeaturesForPoint(JNIEnv&, jni::jfloat, jni::jfloat,
+                                                                       jni::Array<jni::String>,
+                                                                       jni::Array<jni::Object<>> jfilter);
+
+    jni::Object<FeatureQuerySnapshot> snapshotRenderedFeaturesForBox(JNIEnv&, jni::jfloat, jni::jfloat, jni::jfloat,
+                                                                     jni::jfloat, jni::Array<jni::String>,
+                                                                     jni::Array<jni::Object<>> jfilter);
+
     jni::Object<Light> getLight(JNIEnv&);
 
     jni::Array<jni::Object<Layer>> getLayers(JNIEnv&);
@@ -315,6 +357,8 @@ private:
     bool firstRender = true;
     double fps = 0.0;
 
+    FrameMetricsRecorder frameMetrics;
+
     // Minimum texture size according to OpenGL ES 2.0 specification.
     int width = 64;
     int height = 64;
@@ -76,11 +76,36 @@ void OfflineManager::createOfflineRegion(jni::JNIEnv& env_,
     });
 }
 
+void OfflineManager::getOfflineRegionDownloadPlan(jni::JNIEnv& env_,
+                                                  jni::Object<FileSource> jFileSource_,
+                                                  jni::Object<OfflineRegionDefinition> definition_,
+                                                  jni::Object<GetOfflineRegionDownloadPlanCallback> callback_) {
+    // XXX hardcoded cast for now as we only support OfflineTilePyramidRegionDefinition
+    auto definition = OfflineTilePyramidRegionDefinition::getDefinition(env_, jni::Object<OfflineTilePyramidRegionDefinition>(*definition_));
+
+    fileSource.getOfflineRegionDownloadPlan(definition, [
+        //Keep a shared ptr to a global reference of the callback and file source so they are not GC'd in the meanwhile
+        callback = std::shared_ptr<jni::jobject>(callback_.NewGlobalRef(env_).release()->Get(), GenericGlobalRefDeleter()),
+        jFileSource = std::shared_ptr<jni::jobject>(jFileSource_.NewGlobalRef(env_).release()->Get(), GenericGlobalRefDeleter())
+    ](std::exception_ptr error, mbgl::optional<mbgl::OfflineRegionDownloadPlan> plan) mutable {
+
+        // Reattach, the callback comes from a different thread
+        android::UniqueEnv env = android::AttachEnv();
+
+        if (error) {
+            OfflineManager::GetOfflineRegionDownloadPlanCallback::onError(*env, jni::Object<GetOfflineRegionDownloadPlanCallback>(*callback), error);
+        } else if (plan) {
+            OfflineManager::GetOfflineRegionDownloadPlanCallback::onPlan(*env, jni::Object<GetOfflineRegionDownloadPlanCallback>(*callback), std::move(plan));
+        }
+    });
+}
+
 jni::Class<OfflineManager> OfflineManager::javaClass;
 
 void OfflineManager::registerNative(jni::JNIEnv& env) {
     OfflineManager::ListOfflineRegionsCallback::registerNative(env);
     OfflineManager::CreateOfflineRegionCallback::registerNative(env);
+    OfflineManager::GetOfflineRegionDownloadPlanCallback::registerNative(env);
 
     javaClass = *jni::Class<OfflineManager>::Find(env).NewGlobalRef(env).release();
 
@@ -92,7 +117,8 @@ void OfflineManager::registerNative(jni::JNIEnv& env) {
         "finalize",
         METHOD(&OfflineManager::setOfflineMapboxTileCountLimit, "setOfflineMapboxTileCountLimit"),
         METHOD(&OfflineManager::listOfflineRegions, "listOfflineRegions"),
-        METHOD(&OfflineManager::createOfflineRegion, "createOfflineRegion"));
+        METHOD(&OfflineManager::createOfflineRegion, "createOfflineRegion"),
+        METHOD(&OfflineManager::getOfflineRegionDownloadPlan, "getOfflineRegionDownloadPlan"));
 }
 
 // OfflineManager::ListOfflineRegionsCallback //
@@ -160,5 +186,33 @@ void OfflineManager::CreateOfflineRegionCallback::registerNative(jni::JNIEnv& en
     javaClass = *jni::Class<OfflineManager::CreateOfflineRegionCallback>::Find(env).NewGlobalRef(env).release();
 }
 
+// OfflineManager::GetOfflineRegionDownloadPlanCallback //
+
+void OfflineManager::GetOfflineRegionDownloadPlanCallback::onError(jni::JNIEnv& env,
+                                                                   jni::Object<OfflineManager::GetOfflineRegionDownloadPlanCallback> callback,
+                                                                   std::exception_ptr error) {
+    static auto method = javaClass.GetMethod<void (jni::String)>(env, "onError");
+    std::string message = mbgl::util::toString(error);
+    callback.Call(env, method, jni::Make<jni::String>(env, message));
+}
+
+void OfflineManager::GetOfflineRegionDownloadPlanCallback::onPlan(jni::JNIEnv& env,
+                                                                  jni::Object<OfflineManager::GetOfflineRegionDownloadPlanCallback> callback,
+                                                                  mbgl::optional<mbgl::OfflineRegionDownloadPlan> plan) {
+    // Convert the plan to a java object
+    auto jplan = OfflineRegionDownloadPlan::New(env, *plan);
+
+    // Trigger callback
+    static auto method = javaClass.GetMethod<void (jni::Object<OfflineRegionDownloadPlan>)>(env, "onPlan");
+    callback.Call(env, method, jplan);
+    jni::DeleteLocalRef(env, jplan);
+}
+
+jni::Class<OfflineManager::GetOfflineRegionDownloadPlanCallback> OfflineManager::GetOfflineRegionDownloadPlanCallback::javaClass;
+
+void OfflineManager::GetOfflineRegionDownloadPlanCallback::registerNative(jni::JNIEnv& env) {
+    javaClass = *jni::Class<OfflineManager::GetOfflineRegionDownloadPlanCallback>::Find(env).NewGlobalRef(env).release();
+}
+
 } // namespace android
 } // namespace mbgl
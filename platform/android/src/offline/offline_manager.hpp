@@ -8,6 +8,7 @@
 #include "../file_source.hpp"
 #include "offline_region.hpp"
 #include "offline_region_definition.hpp"
+#include "offline_region_download_plan.hpp"
 
 
 namespace mbgl {
@@ -48,6 +49,21 @@ public:
         static void registerNative(jni::JNIEnv&);
     };
 
+    class GetOfflineRegionDownloadPlanCallback {
+    public:
+        static constexpr auto Name() { return "com/mapbox/mapboxsdk/offline/OfflineManager$GetOfflineRegionDownloadPlanCallback"; }
+
+        static void onError(jni::JNIEnv&, jni::Object<OfflineManager::GetOfflineRegionDownloadPlanCallback>, std::exception_ptr);
+
+        static void onPlan(jni::JNIEnv&,
+                           jni::Object<OfflineManager::GetOfflineRegionDownloadPlanCallback>,
+                           mbgl::optional<mbgl::OfflineRegionDownloadPlan>);
+
+        static jni::Class<OfflineManager::GetOfflineRegionDownloadPlanCallback> javaClass;
+
+        static void registerNative(jni::JNIEnv&);
+    };
+
     static constexpr auto Name() { return "com/mapbox/mapboxsdk/offline/OfflineManager"; };
 
     static jni::Class<OfflineManager> javaClass;
@@ -67,6 +83,11 @@ public:
                              jni::Array<jni::jbyte> metadata,
                              jni::Object<OfflineManager::CreateOfflineRegionCallback> callback);
 
+    void getOfflineRegionDownloadPlan(jni::JNIEnv&,
+                                      jni::Object<FileSource> jFileSource_,
+                                      jni::Object<OfflineRegionDefinition> definition,
+                                      jni::Object<OfflineManager::GetOfflineRegionDownloadPlanCallback> callback);
+
 private:
     mbgl::DefaultFileSource& fileSource;
 };
@@ -0,0 +1,69 @@
+#include "offline_region_download_plan.hpp"
+
+#include <vector>
+
+namespace mbgl {
+namespace android {
+
+jni::Object<OfflineRegionDownloadPlan> OfflineRegionDownloadPlan::New(jni::JNIEnv& env, const mbgl::OfflineRegionDownloadPlan& plan) {
+    static auto stringClass = *jni::Class<jni::StringTag>::Find(env).NewGlobalRef(env).release();
+
+    // Flatten the tile levels into parallel arrays
+    const std::size_t size = plan.tiles.size();
+    auto sourceIDs = jni::Array<jni::String>::New(env, size, stringClass);
+    std::vector<jni::jint> zooms;
+    std::vector<jni::jlong> counts;
+    std::vector<jni::jlong> sizes;
+    zooms.reserve(size);
+    counts.reserve(size);
+    sizes.reserve(size);
+
+    for (std::size_t i = 0; i < size; i++) {
+        const auto& level = plan.tiles[i];
+        auto sourceID = jni::Make<jni::String>(env, level.sourceID);
+        sourceIDs.Set(env, i, sourceID);
+        jni::DeleteLocalRef(env, sourceID);
+        zooms.push_back(level.z);
+        counts.push_back(level.count);
+        sizes.push_back(level.estimatedSize);
+    }
+
+    auto jzooms = jni::Array<jni::jint>::New(env, size);
+    jzooms.SetRegion<std::vector<jni::jint>>(env, 0, zooms);
+    auto jcounts = jni::Array<jni::jlong>::New(env, size);
+    jcounts.SetRegion<std::vector<jni::jlong>>(env, 0, counts);
+    auto jsizes = jni::Array<jni::jlong>::New(env, size);
+    jsizes.SetRegion<std::vector<jni::jlong>>(env, 0, sizes);
+
+    // Create java object
+    static auto constructor = javaClass.GetConstructor<jni::Array<jni::String>, jni::Array<jni::jint>,
+        jni::Array<jni::jlong>, jni::Array<jni::jlong>, jlong, jlong, jlong, jlong, jlong, jboolean>(env);
+    auto result = javaClass.New(env, constructor,
+        sourceIDs,
+        jzooms,
+        jcounts,
+        jsizes,
+        jlong(plan.styleResourceCount),
+        jlong(plan.glyphResourceCount),
+        jlong(plan.spriteResourceCount),
+        jlong(plan.estimatedSize),
+        jlong(plan.unestimatedResourceCount),
+        jboolean(plan.resourceCountIsPrecise)
+    );
+
+    jni::DeleteLocalRef(env, sourceIDs);
+    jni::DeleteLocalRef(env, jzooms);
+    jni::DeleteLocalRef(env, jcounts);
+    jni::DeleteLocalRef(env, jsizes);
+
+    return result;
+}
+
+jni::Class<OfflineRegionDownloadPlan> OfflineRegionDownloadPlan::javaClass;
+
+void OfflineRegionDownloadPlan::registerNative(jni::JNIEnv& env) {
+    javaClass = *jni::Class<OfflineRegionDownloadPlan>::Find(env).NewGlobalRef(env).release();
+}
+
+} // namespace android
+} // namespace mbgl
@@ -0,0 +1,21 @@
+#pragma once
+
+#include <mbgl/storage/offline.hpp>
+#include <jni/jni.hpp>
+
+namespace mbgl {
+namespace android {
+
+class OfflineRegionDownloadPlan {
+public:
+    static constexpr auto Name() { return "com/mapbox/mapboxsdk/offline/OfflineRegionDownloadPlan"; };
+
+    static jni::Object<OfflineRegionDownloadPlan> New(jni::JNIEnv&, const mbgl::OfflineRegionDownloadPlan& plan);
+
+    static jni::Class<OfflineRegionDownloadPlan> javaClass;
+
+    static void registerNative(jni::JNIEnv&);
+};
+
+} // namespace android
+} // namespace mbgl
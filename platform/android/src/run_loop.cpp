@@ -25,6 +25,11 @@ namespace {
 using namespace mbgl::util;
 static ThreadLocal<RunLoop>& current = *new ThreadLocal<RunLoop>;
 
+// Time after which the main thread run loop stops processing tasks and yields
+// to the looper, so that a burst of tasks doesn't delay input and drawing.
+// The remaining tasks are processed on the next iteration of the looper.
+constexpr mbgl::Duration mainThreadTaskBudget = std::chrono::milliseconds(4);
+
 int looperCallbackNew(int fd, int, void* data) {
     int buffer[1];
     while (read(fd, buffer, sizeof(buffer)) > 0) {}
@@ -78,7 +83,7 @@ private:
     RunLoop::Impl* loop;
 };
 
-RunLoop::Impl::Impl(RunLoop* runLoop_, RunLoop::Type type) : runLoop(runLoop_) {
+RunLoop::Impl::Impl(RunLoop* runLoop_, RunLoop::Type type_) : runLoop(runLoop_), type(type_) {
     using namespace mbgl::android;
     detach = attach_jni_thread(theJVM, &env, platform::getCurrentThreadName());
 
@@ -133,11 +138,45 @@ RunLoop::Impl::~Impl() {
 }
 
 void RunLoop::Impl::wake() {
+    if (tasks.notify()) {
+        signal();
+    }
+}
+
+void RunLoop::Impl::signal() {
     if (write(fds[PIPE_IN], "\n", 1) == -1) {
         throw std::runtime_error("Failed to write to file descriptor.");
     }
 }
 
+void RunLoop::Impl::push(std::shared_ptr<WorkTask> task) {
+    if (tasks.push(std::move(task))) {
+        signal();
+    }
+}
+
+void RunLoop::Impl::processTasks() {
+    // Tasks pushed from now on wake up the looper again.
+    tasks.acknowledge();
+
+    const TimePoint deadline = type == RunLoop::Type::Default
+        ? Clock::now() + mainThreadTaskBudget
+        : TimePoint::max();
+
+    while (auto task = tasks.pop()) {
+        (**task)();
+
+        if (deadline != TimePoint::max() && Clock::now() >= deadline) {
+            break;
+        }
+    }
+
+    // Either the budget is exhausted or a push is still in progress.
+    if (!tasks.empty()) {
+        wake();
+    }
+}
+
 void RunLoop::Impl::addRunnable(Runnable* runnable) {
     std::lock_guard<std::recursive_mutex> lock(mtx);
 
@@ -216,8 +255,7 @@ LOOP_HANDLE RunLoop::getLoopHandle() {
 }
 
 void RunLoop::push(std::shared_ptr<WorkTask> task) {
-    withMutex([&] { queue.push(std::move(task)); });
-    impl->wake();
+    impl->push(std::move(task));
 }
 
 void RunLoop::run() {
@@ -229,7 +267,7 @@ void RunLoop::run() {
     char *outData = nullptr;
 
     while (impl->running) {
-        process();
+        impl->processTasks();
         auto timeout = impl->processRunnables().count();
         ALooper_pollAll(timeout, &outFd, &outEvents, reinterpret_cast<void**>(&outData));
     }
@@ -238,7 +276,7 @@ void RunLoop::run() {
 void RunLoop::runOnce() {
     MBGL_VERIFY_THREAD(tid);
 
-    process();
+    impl->processTasks();
     impl->processRunnables();
 }
 
@@ -3,6 +3,7 @@
 #include "jni.hpp"
 
 #include <mbgl/util/chrono.hpp>
+#include <mbgl/util/mpsc_queue.hpp>
 #include <mbgl/util/run_loop.hpp>
 
 #include <atomic>
@@ -33,8 +34,13 @@ public:
     Impl(RunLoop*, RunLoop::Type);
     ~Impl();
 
+    // Wakeups are coalesced, the looper is woken up at most once until the
+    // pending tasks are processed.
     void wake();
 
+    void push(std::shared_ptr<WorkTask>);
+    void processTasks();
+
     void addRunnable(Runnable*);
     void removeRunnable(Runnable*);
     void initRunnable(Runnable*);
@@ -48,8 +54,13 @@ public:
 private:
     friend RunLoop;
 
+    void signal();
+
+    RunLoop::Type type;
     int fds[2];
 
+    MPSCQueue<std::shared_ptr<WorkTask>> tasks;
+
     JNIEnv *env = nullptr;
     bool detach = false;
 
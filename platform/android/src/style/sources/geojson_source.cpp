@@ -114,6 +114,16 @@ namespace android {
         return *convert<jni::Array<jni::Object<Feature>>, std::vector<mbgl::Feature>>(env, features);
     }
 
+    jni::Object<FeatureQuerySnapshot> GeoJSONSource::snapshotSourceFeatures(jni::JNIEnv& env,
+                                                                           jni::Array<jni::Object<>> jfilter) {
+        using namespace mbgl::android::conversion;
+
+        if (!map) {
+            return jni::Object<FeatureQuerySnapshot>();
+        }
+        return FeatureQuerySnapshot::New(env, map->snapshotSourceFeatures(source.getID(), { {}, toFilter(env, jfilter) }));
+    }
+
     jni::Class<GeoJSONSource> GeoJSONSource::javaClass;
 
     jni::jobject* GeoJSONSource::createJavaPeer(jni::JNIEnv& env) {
@@ -139,7 +149,8 @@ namespace android {
             METHOD(&GeoJSONSource::setGeometry, "nativeSetGeometry"),
             METHOD(&GeoJSONSource::setURL, "nativeSetUrl"),
             METHOD(&GeoJSONSource::getURL, "nativeGetUrl"),
-            METHOD(&GeoJSONSource::querySourceFeatures, "querySourceFeatures")
+            METHOD(&GeoJSONSource::querySourceFeatures, "querySourceFeatures"),
+            METHOD(&GeoJSONSource::snapshotSourceFeatures, "nativeSnapshotSourceFeatures")
         );
     }
 
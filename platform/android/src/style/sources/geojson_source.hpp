@@ -5,6 +5,7 @@
 #include "../../geojson/geometry.hpp"
 #include "../../geojson/feature.hpp"
 #include "../../geojson/feature_collection.hpp"
+#include "../../map/feature_query_snapshot.hpp"
 #include <jni/jni.hpp>
 
 namespace mbgl {
@@ -38,6 +39,8 @@ public:
     jni::Array<jni::Object<geojson::Feature>> querySourceFeatures(jni::JNIEnv&,
                                                                   jni::Array<jni::Object<>> jfilter);
 
+    jni::Object<FeatureQuerySnapshot> snapshotSourceFeatures(jni::JNIEnv&, jni::Array<jni::Object<>> jfilter);
+
     jni::String getURL(jni::JNIEnv&);
 
     jni::jobject* createJavaPeer(jni::JNIEnv&);
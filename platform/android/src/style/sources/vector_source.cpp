@@ -52,6 +52,17 @@ namespace android {
         return *convert<jni::Array<jni::Object<Feature>>, std::vector<mbgl::Feature>>(env, features);
     }
 
+    jni::Object<FeatureQuerySnapshot> VectorSource::snapshotSourceFeatures(jni::JNIEnv& env,
+                                                                          jni::Array<jni::String> jSourceLayerIds,
+                                                                          jni::Array<jni::Object<>> jfilter) {
+        using namespace mbgl::android::conversion;
+
+        if (!map) {
+            return jni::Object<FeatureQuerySnapshot>();
+        }
+        return FeatureQuerySnapshot::New(env, map->snapshotSourceFeatures(source.getID(), { toVector(env, jSourceLayerIds), toFilter(env, jfilter) }));
+    }
+
     jni::Class<VectorSource> VectorSource::javaClass;
 
     jni::jobject* VectorSource::createJavaPeer(jni::JNIEnv& env) {
@@ -72,6 +83,7 @@ namespace android {
             "initialize",
             "finalize",
             METHOD(&VectorSource::querySourceFeatures, "querySourceFeatures"),
+            METHOD(&VectorSource::snapshotSourceFeatures, "nativeSnapshotSourceFeatures"),
             METHOD(&VectorSource::getURL, "nativeGetUrl")
         );
     }
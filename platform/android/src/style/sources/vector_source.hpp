@@ -3,6 +3,7 @@
 #include "source.hpp"
 #include <mbgl/style/sources/vector_source.hpp>
 #include "../../geojson/feature.hpp"
+#include "../../map/feature_query_snapshot.hpp"
 #include <jni/jni.hpp>
 
 namespace mbgl {
@@ -26,6 +27,9 @@ public:
     jni::Array<jni::Object<geojson::Feature>> querySourceFeatures(jni::JNIEnv&, jni::Array<jni::String>,
                                                                   jni::Array<jni::Object<>> jfilter);
 
+    jni::Object<FeatureQuerySnapshot> snapshotSourceFeatures(jni::JNIEnv&, jni::Array<jni::String>,
+                                                             jni::Array<jni::Object<>> jfilter);
+
     jni::String getURL(jni::JNIEnv&);
 
     jni::jobject* createJavaPeer(jni::JNIEnv&);
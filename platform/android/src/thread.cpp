@@ -33,5 +33,11 @@ void makeThreadLowPriority() {
     setpriority(PRIO_PROCESS, 0, 19);
 }
 
+void setCurrentThreadPriority(int priority) {
+    if (setpriority(PRIO_PROCESS, 0, priority) < 0) {
+        Log::Warning(Event::General, "Couldn't set thread priority");
+    }
+}
+
 } // namespace platform
 } // namespace mbgl
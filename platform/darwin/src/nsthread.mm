@@ -4,6 +4,8 @@
 
 #include <pthread.h>
 
+#include <algorithm>
+
 namespace mbgl {
 namespace platform {
 
@@ -23,5 +25,10 @@ void makeThreadLowPriority() {
     [[NSThread currentThread] setThreadPriority:0.0];
 }
 
+void setCurrentThreadPriority(int priority) {
+    // Map nice values from -20...19 to 1.0...0.0.
+    [[NSThread currentThread] setThreadPriority:(19 - std::min(std::max(priority, -20), 19)) / 39.0];
+}
+
 }
 }
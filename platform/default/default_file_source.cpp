@@ -5,14 +5,18 @@
 #include <mbgl/storage/online_file_source.hpp>
 #include <mbgl/storage/offline_database.hpp>
 #include <mbgl/storage/offline_download.hpp>
+#include <mbgl/storage/resource_cache.hpp>
 #include <mbgl/storage/resource_transform.hpp>
 
 #include <mbgl/util/platform.hpp>
 #include <mbgl/util/url.hpp>
 #include <mbgl/util/thread.hpp>
+#include <mbgl/util/timer.hpp>
 #include <mbgl/util/work_request.hpp>
 
+#include <algorithm>
 #include <cassert>
+#include <unordered_set>
 
 namespace {
 
@@ -22,16 +26,25 @@ bool isAssetURL(const std::string& url) {
     return std::equal(assetProtocol.begin(), assetProtocol.end(), url.begin());
 }
 
+// Deferred access times of cached resources are written periodically
+const mbgl::Duration accessedFlushInterval = mbgl::Seconds(30);
+
 } // namespace
 
 namespace mbgl {
 
 class DefaultFileSource::Impl {
 public:
-    Impl(ActorRef<Impl>, std::shared_ptr<FileSource> assetFileSource_, const std::string& cachePath, uint64_t maximumCacheSize)
-            : assetFileSource(assetFileSource_)
+    Impl(ActorRef<Impl> self_, std::shared_ptr<FileSource> assetFileSource_, std::shared_ptr<ResourceCache> memoryCache_,
+         const std::string& cachePath, uint64_t maximumCacheSize)
+            : self(std::move(self_))
+            , assetFileSource(assetFileSource_)
+            , memoryCache(memoryCache_)
             , localFileSource(std::make_unique<LocalFileSource>())
             , offlineDatabase(cachePath, maximumCacheSize) {
+        offlineDatabase.setPendingWritesCallback([this] {
+            scheduleFlush();
+        });
     }
 
     void setAPIBaseURL(const std::string& url) {
@@ -90,6 +103,15 @@ public:
         }
     }
 
+    void getRegionDownloadPlan(const OfflineRegionDefinition& definition,
+                               std::function<void (std::exception_ptr, optional<OfflineRegionDownloadPlan>)> callback) {
+        try {
+            callback({}, OfflineDownload::getPlan(definition, offlineDatabase));
+        } catch (...) {
+            callback(std::current_exception(), {});
+        }
+    }
+
     void deleteRegion(OfflineRegion&& region, std::function<void (std::exception_ptr)> callback) {
         try {
             downloads.erase(region.getID());
@@ -125,7 +147,18 @@ public:
 
             const bool hasPrior = resource.priorEtag || resource.priorModified || resource.priorExpires;
             if (!hasPrior || resource.necessity == Resource::Optional) {
-                auto offlineResponse = offlineDatabase.get(resource);
+                // Recently used resources are served from memory, skipping the
+                // database read and the decompression of the data.
+                auto offlineResponse = memoryCache->get(resource);
+                if (offlineResponse) {
+                    // Keeps the entry from being evicted from the database as unused
+                    offlineDatabase.markAccessed(resource);
+                } else {
+                    offlineResponse = offlineDatabase.get(resource);
+                    if (offlineResponse) {
+                        memoryCache->put(resource, *offlineResponse);
+                    }
+                }
 
                 if (resource.necessity == Resource::Optional && !offlineResponse) {
                     // Ensure there's always a response that we can send, so the caller knows that
@@ -146,8 +179,11 @@ public:
 
             // Get from the online file source
             if (resource.necessity == Resource::Required) {
+                onlineTasks.insert(req);
                 tasks[req] = onlineFileSource.request(revalidation, [=] (Response onlineResponse) mutable {
                     this->offlineDatabase.put(revalidation, onlineResponse);
+                    this->memoryCache->put(revalidation, onlineResponse);
+                    this->scheduleEviction();
                     callback(onlineResponse);
                 });
             }
@@ -155,18 +191,72 @@ public:
     }
 
     void cancel(AsyncRequest* req) {
+        onlineTasks.erase(req);
         tasks.erase(req);
     }
 
+    void setPriority(AsyncRequest* req, Resource::Priority priority) {
+        // Asset, local file and database requests don't wait for a connection.
+        if (onlineTasks.count(req)) {
+            onlineFileSource.setPriority(*tasks[req], priority);
+        }
+    }
+
     void setOfflineMapboxTileCountLimit(uint64_t limit) {
         offlineDatabase.setOfflineMapboxTileCountLimit(limit);
     }
 
+    void setOfflineDatabaseWriteBatching(uint32_t batchSize, Duration batchInterval) {
+        offlineDatabase.setWriteBatching(batchSize, batchInterval);
+        writeBatchInterval = batchInterval;
+    }
+
+    void setMaximumCacheSize(uint64_t size) {
+        offlineDatabase.setMaximumCacheSize(size);
+        scheduleEviction();
+    }
+
+    // Evicts a single batch of cache entries, the next batch is queued behind
+    // pending requests.
+    void evict() {
+        evictionScheduled = false;
+        if (offlineDatabase.evictBatch() > 0) {
+            scheduleEviction();
+        }
+    }
+
     void put(const Resource& resource, const Response& response) {
         offlineDatabase.put(resource, response);
+        memoryCache->put(resource, response);
+        scheduleEviction();
     }
 
 private:
+    void scheduleEviction() {
+        if (!evictionScheduled && offlineDatabase.needsEviction()) {
+            evictionScheduled = true;
+            self.invoke(&Impl::evict);
+        }
+    }
+
+    // Commits batches that didn't fill up once writes stop, as well as deferred
+    // access times. The timer only runs while writes are pending.
+    void scheduleFlush() {
+        const Duration timeout = offlineDatabase.hasPendingWrites()
+            ? std::min<Duration>(writeBatchInterval, accessedFlushInterval)
+            : accessedFlushInterval;
+        const TimePoint deadline = Clock::now() + timeout;
+        if (flushDeadline && *flushDeadline <= deadline) {
+            return;
+        }
+
+        flushDeadline = deadline;
+        flushTimer.start(timeout, Duration::zero(), [this] {
+            flushDeadline = {};
+            offlineDatabase.flushWrites();
+        });
+    }
+
     OfflineDownload& getDownload(int64_t regionID) {
         auto it = downloads.find(regionID);
         if (it != downloads.end()) {
@@ -176,12 +266,20 @@ private:
             std::make_unique<OfflineDownload>(regionID, offlineDatabase.getRegionDefinition(regionID), offlineDatabase, onlineFileSource)).first->second;
     }
 
+    ActorRef<Impl> self;
+    bool evictionScheduled = false;
+
     // shared so that destruction is done on the creating thread
     const std::shared_ptr<FileSource> assetFileSource;
+    const std::shared_ptr<ResourceCache> memoryCache;
     const std::unique_ptr<FileSource> localFileSource;
     OfflineDatabase offlineDatabase;
+    util::Timer flushTimer;
+    optional<TimePoint> flushDeadline;
+    Duration writeBatchInterval = Duration::zero();
     OnlineFileSource onlineFileSource;
     std::unordered_map<AsyncRequest*, std::unique_ptr<AsyncRequest>> tasks;
+    std::unordered_set<AsyncRequest*> onlineTasks;
     std::unordered_map<int64_t, std::unique_ptr<OfflineDownload>> downloads;
 };
 
@@ -195,7 +293,8 @@ DefaultFileSource::DefaultFileSource(const std::string& cachePath,
                                      std::unique_ptr<FileSource>&& assetFileSource_,
                                      uint64_t maximumCacheSize)
         : assetFileSource(std::move(assetFileSource_))
-        , impl(std::make_unique<util::Thread<Impl>>("DefaultFileSource", assetFileSource, cachePath, maximumCacheSize)) {
+        , memoryCache(std::make_shared<ResourceCache>(util::DEFAULT_MEMORY_CACHE_SIZE))
+        , impl(std::make_unique<util::Thread<Impl>>("DefaultFileSource", assetFileSource, memoryCache, cachePath, maximumCacheSize)) {
 }
 
 DefaultFileSource::~DefaultFileSource() = default;
@@ -242,6 +341,10 @@ std::unique_ptr<AsyncRequest> DefaultFileSource::request(const Resource& resourc
     return std::move(req);
 }
 
+void DefaultFileSource::setPriority(AsyncRequest& req, Resource::Priority priority) {
+    impl->actor().invoke(&Impl::setPriority, &req, priority);
+}
+
 void DefaultFileSource::listOfflineRegions(std::function<void (std::exception_ptr, optional<std::vector<OfflineRegion>>)> callback) {
     impl->actor().invoke(&Impl::listRegions, callback);
 }
@@ -274,10 +377,35 @@ void DefaultFileSource::getOfflineRegionStatus(OfflineRegion& region, std::funct
     impl->actor().invoke(&Impl::getRegionStatus, region.getID(), callback);
 }
 
+void DefaultFileSource::getOfflineRegionDownloadPlan(const OfflineRegionDefinition& definition,
+                                                     std::function<void (std::exception_ptr, optional<OfflineRegionDownloadPlan>)> callback) const {
+    impl->actor().invoke(&Impl::getRegionDownloadPlan, definition, callback);
+}
+
 void DefaultFileSource::setOfflineMapboxTileCountLimit(uint64_t limit) const {
     impl->actor().invoke(&Impl::setOfflineMapboxTileCountLimit, limit);
 }
 
+void DefaultFileSource::setOfflineDatabaseWriteBatching(uint32_t batchSize, Duration batchInterval) {
+    impl->actor().invoke(&Impl::setOfflineDatabaseWriteBatching, batchSize, batchInterval);
+}
+
+void DefaultFileSource::setMaximumCacheSize(uint64_t size) {
+    impl->actor().invoke(&Impl::setMaximumCacheSize, size);
+}
+
+void DefaultFileSource::setMemoryCacheSize(uint64_t size) {
+    memoryCache->setMaximumSize(size);
+}
+
+uint64_t DefaultFileSource::getMemoryCacheHitCount() const {
+    return memoryCache->getHitCount();
+}
+
+uint64_t DefaultFileSource::getMemoryCacheMissCount() const {
+    return memoryCache->getMissCount();
+}
+
 void DefaultFileSource::pause() {
     impl->pause();
 }
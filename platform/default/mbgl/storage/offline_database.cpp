@@ -8,8 +8,22 @@
 
 #include "sqlite3.hpp"
 
+#include <algorithm>
+
 namespace mbgl {
 
+namespace {
+
+// Access times are only updated when they're older than this, reads of
+// recently used resources don't cause any writes.
+const Seconds accessedGranularity { 300 };
+
+// Deferred access times are written once this many are pending, or when the
+// database is flushed.
+const std::size_t maximumPendingAccessed = 256;
+
+} // namespace
+
 OfflineDatabase::Statement::~Statement() {
     stmt.reset();
     stmt.clearBindings();
@@ -25,6 +39,7 @@ OfflineDatabase::~OfflineDatabase() {
     // Deleting these SQLite objects may result in exceptions, but we're in a destructor, so we
     // can't throw anything.
     try {
+        flushWrites();
         statements.clear();
         db.reset();
     } catch (mapbox::sqlite::Exception& ex) {
@@ -49,7 +64,12 @@ void OfflineDatabase::ensureSchema() {
             case 2: migrateToVersion3(); // fall through
             case 3: // no-op and fall through
             case 4: migrateToVersion5(); // fall through
-            case 5: return;
+            case 5: migrateToVersion6(); // fall through
+            case 6:
+                // The journal mode is persistent, a previous process may have
+                // left the database in write-ahead log mode for batched writes.
+                setJournalMode(false);
+                return;
             default: throw std::runtime_error("unknown schema version");
             }
 
@@ -83,7 +103,7 @@ void OfflineDatabase::ensureSchema() {
         db->exec("PRAGMA journal_mode = DELETE");
         db->exec("PRAGMA synchronous = FULL");
         db->exec(schema);
-        db->exec("PRAGMA user_version = 5");
+        db->exec("PRAGMA user_version = 6");
     } catch (...) {
         Log::Error(Event::Database, "Unexpected error creating database schema: %s", util::toString(std::current_exception()).c_str());
         throw;
@@ -126,6 +146,22 @@ void OfflineDatabase::migrateToVersion5() {
     db->exec("PRAGMA user_version = 5");
 }
 
+// Version 6 marks the entries used by offline regions as pinned, and limits the
+// access time indexes to the entries that can be evicted.
+void OfflineDatabase::migrateToVersion6() {
+    mapbox::sqlite::Transaction transaction(*db, mapbox::sqlite::Transaction::Immediate);
+    db->exec("ALTER TABLE resources ADD COLUMN pinned INTEGER NOT NULL DEFAULT 0");
+    db->exec("ALTER TABLE tiles ADD COLUMN pinned INTEGER NOT NULL DEFAULT 0");
+    db->exec("UPDATE resources SET pinned = 1 WHERE id IN (SELECT resource_id FROM region_resources)");
+    db->exec("UPDATE tiles SET pinned = 1 WHERE id IN (SELECT tile_id FROM region_tiles)");
+    db->exec("DROP INDEX resources_accessed");
+    db->exec("DROP INDEX tiles_accessed");
+    db->exec("CREATE INDEX resources_accessed ON resources (accessed) WHERE pinned = 0");
+    db->exec("CREATE INDEX tiles_accessed ON tiles (accessed) WHERE pinned = 0");
+    db->exec("PRAGMA user_version = 6");
+    transaction.commit();
+}
+
 OfflineDatabase::Statement OfflineDatabase::getStatement(const char * sql) {
     auto it = statements.find(sql);
 
@@ -160,10 +196,16 @@ optional<int64_t> OfflineDatabase::hasInternal(const Resource& resource) {
 }
 
 std::pair<bool, uint64_t> OfflineDatabase::put(const Resource& resource, const Response& response) {
-    return putInternal(resource, response, true);
+    try {
+        return putInternal(resource, response, true);
+    } catch (...) {
+        // The pending batch of writes may hold a partial write
+        abortWrite();
+        throw;
+    }
 }
 
-std::pair<bool, uint64_t> OfflineDatabase::putInternal(const Resource& resource, const Response& response, bool evict_) {
+std::pair<bool, uint64_t> OfflineDatabase::putInternal(const Resource& resource, const Response& response, bool ambient) {
     if (response.error) {
         return { false, 0 };
     }
@@ -178,7 +220,9 @@ std::pair<bool, uint64_t> OfflineDatabase::putInternal(const Resource& resource,
         size = compressed ? compressedData.size() : response.data->size();
     }
 
-    if (evict_ && !evict(size)) {
+    // Writes don't evict entries, the ambient cache is trimmed in the background.
+    // An entry that can never fit is rejected.
+    if (ambient && size + getPageSize() > maximumCacheSize) {
         Log::Debug(Event::Database, "Unable to make space for entry");
         return { false, 0 };
     }
@@ -196,23 +240,18 @@ std::pair<bool, uint64_t> OfflineDatabase::putInternal(const Resource& resource,
                 compressed);
     }
 
+    if (usedSize) {
+        *usedSize += size;
+    }
+
     return { inserted, size };
 }
 
 optional<std::pair<Response, uint64_t>> OfflineDatabase::getResource(const Resource& resource) {
-    // clang-format off
-    Statement accessedStmt = getStatement(
-        "UPDATE resources SET accessed = ?1 WHERE url = ?2");
-    // clang-format on
-
-    accessedStmt->bind(1, util::now());
-    accessedStmt->bind(2, resource.url);
-    accessedStmt->run();
-
     // clang-format off
     Statement stmt = getStatement(
-        //        0      1        2       3        4
-        "SELECT etag, expires, modified, data, compressed "
+        //        0      1        2       3        4          5
+        "SELECT etag, expires, modified, data, compressed, accessed "
         "FROM resources "
         "WHERE url = ?");
     // clang-format on
@@ -241,6 +280,10 @@ optional<std::pair<Response, uint64_t>> OfflineDatabase::getResource(const Resou
         size = data->length();
     }
 
+    const Timestamp accessed = stmt->get<Timestamp>(5);
+    stmt->reset();
+    markAccessed(resource, accessed);
+
     return std::make_pair(response, size);
 }
 
@@ -261,6 +304,9 @@ bool OfflineDatabase::putResource(const Resource& resource,
                                   const Response& response,
                                   const std::string& data,
                                   bool compressed) {
+    // The write updates the access time
+    accessedResources.erase(resource.url);
+
     if (response.notModified) {
         // clang-format off
         Statement update = getStatement(
@@ -281,7 +327,7 @@ bool OfflineDatabase::putResource(const Resource& resource,
 
     // Begin an immediate-mode transaction to ensure that two writers do not attempt
     // to INSERT a resource at the same moment.
-    mapbox::sqlite::Transaction transaction(*db, mapbox::sqlite::Transaction::Immediate);
+    auto transaction = beginWrite();
 
     // clang-format off
     Statement update = getStatement(
@@ -313,7 +359,7 @@ bool OfflineDatabase::putResource(const Resource& resource,
 
     update->run();
     if (update->changes() != 0) {
-        transaction.commit();
+        commitWrite(std::move(transaction));
         return false;
     }
 
@@ -339,35 +385,16 @@ bool OfflineDatabase::putResource(const Resource& resource,
     }
 
     insert->run();
-    transaction.commit();
+    commitWrite(std::move(transaction));
 
     return true;
 }
 
 optional<std::pair<Response, uint64_t>> OfflineDatabase::getTile(const Resource::TileData& tile) {
-    // clang-format off
-    Statement accessedStmt = getStatement(
-        "UPDATE tiles "
-        "SET accessed       = ?1 "
-        "WHERE url_template = ?2 "
-        "  AND pixel_ratio  = ?3 "
-        "  AND x            = ?4 "
-        "  AND y            = ?5 "
-        "  AND z            = ?6 ");
-    // clang-format on
-
-    accessedStmt->bind(1, util::now());
-    accessedStmt->bind(2, tile.urlTemplate);
-    accessedStmt->bind(3, tile.pixelRatio);
-    accessedStmt->bind(4, tile.x);
-    accessedStmt->bind(5, tile.y);
-    accessedStmt->bind(6, tile.z);
-    accessedStmt->run();
-
     // clang-format off
     Statement stmt = getStatement(
-        //        0      1        2       3        4
-        "SELECT etag, expires, modified, data, compressed "
+        //        0      1        2       3        4          5
+        "SELECT etag, expires, modified, data, compressed, accessed "
         "FROM tiles "
         "WHERE url_template = ?1 "
         "  AND pixel_ratio  = ?2 "
@@ -404,6 +431,10 @@ optional<std::pair<Response, uint64_t>> OfflineDatabase::getTile(const Resource:
         size = data->length();
     }
 
+    const Timestamp accessed = stmt->get<Timestamp>(5);
+    stmt->reset();
+    markAccessed(tile, accessed);
+
     return std::make_pair(response, size);
 }
 
@@ -436,6 +467,9 @@ bool OfflineDatabase::putTile(const Resource::TileData& tile,
                               const Response& response,
                               const std::string& data,
                               bool compressed) {
+    // The write updates the access time
+    accessedTiles.erase(tileKey(tile));
+
     if (response.notModified) {
         // clang-format off
         Statement update = getStatement(
@@ -464,7 +498,7 @@ bool OfflineDatabase::putTile(const Resource::TileData& tile,
 
     // Begin an immediate-mode transaction to ensure that two writers do not attempt
     // to INSERT a resource at the same moment.
-    mapbox::sqlite::Transaction transaction(*db, mapbox::sqlite::Transaction::Immediate);
+    auto transaction = beginWrite();
 
     // clang-format off
     Statement update = getStatement(
@@ -502,7 +536,7 @@ bool OfflineDatabase::putTile(const Resource::TileData& tile,
 
     update->run();
     if (update->changes() != 0) {
-        transaction.commit();
+        commitWrite(std::move(transaction));
         return false;
     }
 
@@ -531,11 +565,205 @@ bool OfflineDatabase::putTile(const Resource::TileData& tile,
     }
 
     insert->run();
-    transaction.commit();
+    commitWrite(std::move(transaction));
 
     return true;
 }
 
+std::unique_ptr<mapbox::sqlite::Transaction> OfflineDatabase::beginWrite() {
+    if (writeBatchSize <= 1) {
+        return std::make_unique<mapbox::sqlite::Transaction>(*db, mapbox::sqlite::Transaction::Immediate);
+    }
+
+    if (!writeBatch) {
+        writeBatch = std::make_unique<mapbox::sqlite::Transaction>(*db, mapbox::sqlite::Transaction::Immediate);
+        writeBatchStart = Clock::now();
+        if (pendingWritesCallback) {
+            pendingWritesCallback();
+        }
+    }
+
+    // A failed write is rolled back to the savepoint, keeping the other
+    // writes of the batch.
+    db->exec("SAVEPOINT write");
+    writeSavepoint = true;
+    return nullptr;
+}
+
+void OfflineDatabase::commitWrite(std::unique_ptr<mapbox::sqlite::Transaction> transaction) {
+    if (transaction) {
+        transaction->commit();
+        return;
+    }
+
+    db->exec("RELEASE write");
+    writeSavepoint = false;
+
+    if (++writeBatchCount >= writeBatchSize || Clock::now() - writeBatchStart >= writeBatchInterval) {
+        flushWrites();
+    }
+}
+
+OfflineDatabase::TileKey OfflineDatabase::tileKey(const Resource::TileData& tile) {
+    return TileKey { tile.urlTemplate, tile.pixelRatio, tile.x, tile.y, tile.z };
+}
+
+void OfflineDatabase::markAccessed(const Resource& resource) {
+    // The stored access time isn't known, the access is always recorded. Repeated
+    // accesses are written once.
+    if (resource.kind == Resource::Kind::Tile) {
+        assert(resource.tileData);
+        markAccessed(*resource.tileData, Timestamp());
+    } else {
+        markAccessed(resource, Timestamp());
+    }
+}
+
+void OfflineDatabase::markAccessed(const Resource& resource, Timestamp accessed) {
+    const Timestamp now = util::now();
+    if (now - accessed < accessedGranularity) {
+        return;
+    }
+    if (pendingWritesCallback && accessedResources.empty() && accessedTiles.empty()) {
+        pendingWritesCallback();
+    }
+    accessedResources[resource.url] = now;
+    if (accessedResources.size() + accessedTiles.size() >= maximumPendingAccessed) {
+        updateAccessed();
+    }
+}
+
+void OfflineDatabase::markAccessed(const Resource::TileData& tile, Timestamp accessed) {
+    const Timestamp now = util::now();
+    if (now - accessed < accessedGranularity) {
+        return;
+    }
+    if (pendingWritesCallback && accessedResources.empty() && accessedTiles.empty()) {
+        pendingWritesCallback();
+    }
+    accessedTiles[tileKey(tile)] = now;
+    if (accessedResources.size() + accessedTiles.size() >= maximumPendingAccessed) {
+        updateAccessed();
+    }
+}
+
+void OfflineDatabase::updateAccessed() {
+    if (accessedResources.empty() && accessedTiles.empty()) {
+        return;
+    }
+
+    // Joins the pending batch of writes if there is one
+    std::unique_ptr<mapbox::sqlite::Transaction> transaction;
+    if (!writeBatch) {
+        transaction = std::make_unique<mapbox::sqlite::Transaction>(*db, mapbox::sqlite::Transaction::Immediate);
+    }
+
+    // clang-format off
+    Statement resourceStmt = getStatement(
+        "UPDATE resources SET accessed = ?1 WHERE url = ?2");
+    // clang-format on
+
+    for (const auto& accessed : accessedResources) {
+        resourceStmt->bind(1, accessed.second);
+        resourceStmt->bind(2, accessed.first);
+        resourceStmt->run();
+        resourceStmt->reset();
+    }
+
+    // clang-format off
+    Statement tileStmt = getStatement(
+        "UPDATE tiles "
+        "SET accessed       = ?1 "
+        "WHERE url_template = ?2 "
+        "  AND pixel_ratio  = ?3 "
+        "  AND x            = ?4 "
+        "  AND y            = ?5 "
+        "  AND z            = ?6 ");
+    // clang-format on
+
+    for (const auto& accessed : accessedTiles) {
+        tileStmt->bind(1, accessed.second);
+        tileStmt->bind(2, std::get<0>(accessed.first));
+        tileStmt->bind(3, std::get<1>(accessed.first));
+        tileStmt->bind(4, std::get<2>(accessed.first));
+        tileStmt->bind(5, std::get<3>(accessed.first));
+        tileStmt->bind(6, std::get<4>(accessed.first));
+        tileStmt->run();
+        tileStmt->reset();
+    }
+
+    accessedResources.clear();
+    accessedTiles.clear();
+
+    if (transaction) {
+        transaction->commit();
+    }
+}
+
+void OfflineDatabase::setJournalMode(bool writeAheadLog) {
+    // Group commits rely on a write-ahead log, which doesn't need to sync
+    // the database file on every commit.
+    if (writeAheadLog) {
+        db->exec("PRAGMA journal_mode = WAL");
+        db->exec("PRAGMA synchronous = NORMAL");
+    } else {
+        db->exec("PRAGMA journal_mode = DELETE");
+        db->exec("PRAGMA synchronous = FULL");
+    }
+}
+
+void OfflineDatabase::flushWrites() {
+    updateAccessed();
+
+    if (writeBatch) {
+        auto batch = std::move(writeBatch);
+        writeBatchCount = 0;
+        batch->commit();
+    }
+}
+
+void OfflineDatabase::abortWrite() {
+    if (!writeSavepoint) {
+        // The write failed before it joined the batch
+        return;
+    }
+    writeSavepoint = false;
+
+    try {
+        db->exec("ROLLBACK TO write");
+        db->exec("RELEASE write");
+    } catch (mapbox::sqlite::Exception&) {
+        // SQLite rolls back the whole transaction after some errors, eg. when
+        // the disk is full. The batch is gone, the transaction is discarded
+        // without raising another error.
+        writeBatch.reset();
+        writeBatchCount = 0;
+
+        // The size of the earlier writes in the batch was already counted
+        usedSize = {};
+    }
+}
+
+bool OfflineDatabase::hasPendingWrites() const {
+    return bool(writeBatch);
+}
+
+void OfflineDatabase::setPendingWritesCallback(std::function<void ()> callback) {
+    pendingWritesCallback = std::move(callback);
+}
+
+void OfflineDatabase::setWriteBatching(uint32_t batchSize, Duration batchInterval) {
+    flushWrites();
+
+    // Always applied, the journal mode is stored in the database file and may
+    // not match the mode of this connection.
+    const bool batched = batchSize > 1;
+    setJournalMode(batched);
+
+    writeBatchSize = batched ? batchSize : 1;
+    writeBatchInterval = batchInterval;
+}
+
 std::vector<OfflineRegion> OfflineDatabase::listRegions() {
     // clang-format off
     Statement stmt = getStatement(
@@ -583,19 +811,42 @@ OfflineRegionMetadata OfflineDatabase::updateMetadata(const int64_t regionID, co
 }
 
 void OfflineDatabase::deleteRegion(OfflineRegion&& region) {
+    flushWrites();
+
+    mapbox::sqlite::Transaction transaction(*db, mapbox::sqlite::Transaction::Immediate);
+
+    // Entries that aren't used by another region become subject to eviction
     // clang-format off
+    Statement unpinResources = getStatement(
+        "UPDATE resources SET pinned = 0 "
+        "WHERE id IN (SELECT resource_id FROM region_resources WHERE region_id = ?1) "
+        "  AND NOT EXISTS ( "
+        "      SELECT 1 FROM region_resources WHERE resource_id = resources.id AND region_id != ?1 "
+        "  ) ");
+    Statement unpinTiles = getStatement(
+        "UPDATE tiles SET pinned = 0 "
+        "WHERE id IN (SELECT tile_id FROM region_tiles WHERE region_id = ?1) "
+        "  AND NOT EXISTS ( "
+        "      SELECT 1 FROM region_tiles WHERE tile_id = tiles.id AND region_id != ?1 "
+        "  ) ");
     Statement stmt = getStatement(
-        "DELETE FROM regions WHERE id = ?");
+        "DELETE FROM regions WHERE id = ?1");
     // clang-format on
 
+    unpinResources->bind(1, region.getID());
+    unpinResources->run();
+    unpinTiles->bind(1, region.getID());
+    unpinTiles->run();
     stmt->bind(1, region.getID());
     stmt->run();
+    transaction.commit();
 
     evict(0);
     db->exec("PRAGMA incremental_vacuum");
 
     // Ensure that the cached offlineTileCount value is recalculated.
     offlineMapboxTileCount = {};
+    usedSize = {};
 }
 
 optional<std::pair<Response, uint64_t>> OfflineDatabase::getRegionResource(int64_t regionID, const Resource& resource) {
@@ -619,7 +870,14 @@ optional<int64_t> OfflineDatabase::hasRegionResource(int64_t regionID, const Res
 }
 
 uint64_t OfflineDatabase::putRegionResource(int64_t regionID, const Resource& resource, const Response& response) {
-    uint64_t size = putInternal(resource, response, false).second;
+    uint64_t size;
+    try {
+        size = putInternal(resource, response, false).second;
+    } catch (...) {
+        // The pending batch of writes may hold a partial write
+        abortWrite();
+        throw;
+    }
     bool previouslyUnused = markUsed(regionID, resource);
 
     if (offlineMapboxTileCount
@@ -659,6 +917,23 @@ bool OfflineDatabase::markUsed(int64_t regionID, const Resource& resource) {
             return false;
         }
 
+        // clang-format off
+        Statement pin = getStatement(
+            "UPDATE tiles SET pinned = 1 "
+            "WHERE url_template = ?1 "
+            "  AND pixel_ratio  = ?2 "
+            "  AND x            = ?3 "
+            "  AND y            = ?4 "
+            "  AND z            = ?5 ");
+        // clang-format on
+
+        pin->bind(1, tile.urlTemplate);
+        pin->bind(2, tile.pixelRatio);
+        pin->bind(3, tile.x);
+        pin->bind(4, tile.y);
+        pin->bind(5, tile.z);
+        pin->run();
+
         // clang-format off
         Statement select = getStatement(
             "SELECT region_id "
@@ -696,6 +971,14 @@ bool OfflineDatabase::markUsed(int64_t regionID, const Resource& resource) {
             return false;
         }
 
+        // clang-format off
+        Statement pin = getStatement(
+            "UPDATE resources SET pinned = 1 WHERE url = ?1");
+        // clang-format on
+
+        pin->bind(1, resource.url);
+        pin->run();
+
         // clang-format off
         Statement select = getStatement(
             "SELECT region_id "
@@ -763,6 +1046,40 @@ std::pair<int64_t, int64_t> OfflineDatabase::getCompletedTileCountAndSize(int64_
     return { stmt->get<int64_t>(0), stmt->get<int64_t>(1) };
 }
 
+std::pair<uint64_t, uint64_t> OfflineDatabase::getResourceSizeSamples(Resource::Kind kind) {
+    // clang-format off
+    Statement stmt = getStatement(
+        "SELECT COUNT(*), SUM(LENGTH(data)) "
+        "FROM resources "
+        "WHERE kind = ?1 "
+        "AND data IS NOT NULL ");
+    // clang-format on
+    stmt->bind(1, int(kind));
+    stmt->run();
+    return { stmt->get<int64_t>(0), stmt->get<int64_t>(1) };
+}
+
+std::map<uint8_t, std::pair<uint64_t, uint64_t>> OfflineDatabase::getTileSizeSamples(const std::string& urlTemplate,
+                                                                                     uint8_t pixelRatio) {
+    // clang-format off
+    Statement stmt = getStatement(
+        "SELECT z, COUNT(*), SUM(LENGTH(data)) "
+        "FROM tiles "
+        "WHERE url_template = ?1 "
+        "AND pixel_ratio = ?2 "
+        "AND data IS NOT NULL "
+        "GROUP BY z ");
+    // clang-format on
+    stmt->bind(1, urlTemplate);
+    stmt->bind(2, pixelRatio);
+
+    std::map<uint8_t, std::pair<uint64_t, uint64_t>> result;
+    while (stmt->run()) {
+        result.emplace(stmt->get<int64_t>(0), std::make_pair(stmt->get<int64_t>(1), stmt->get<int64_t>(2)));
+    }
+    return result;
+}
+
 template <class T>
 T OfflineDatabase::getPragma(const char * sql) {
     Statement stmt = getStatement(sql);
@@ -770,91 +1087,150 @@ T OfflineDatabase::getPragma(const char * sql) {
     return stmt->get<T>(0);
 }
 
-// Remove least-recently used resources and tiles until the used database size,
-// as calculated by multiplying the number of in-use pages by the page size, is
-// less than the maximum cache size. Returns false if this condition cannot be
-// satisfied.
+uint64_t OfflineDatabase::getPageSize() {
+    if (!pageSize) {
+        pageSize = getPragma<int64_t>("PRAGMA page_size");
+    }
+    return *pageSize;
+}
+
+// The used database size is calculated by multiplying the number of in-use
+// pages by the page size. SQLite databases never shrink in size unless we
+// call VACUUM, the free pages approach saves us from calling it.
 //
-// SQLite database never shrinks in size unless we call VACCUM. We here
-// are monitoring the soft limit (i.e. number of free pages in the file)
-// and as it approaches to the hard limit (i.e. the actual file size) we
-// delete an arbitrary number of old cache entries. The free pages approach saves
-// us from calling VACCUM or keeping a running total, which can be costly.
-bool OfflineDatabase::evict(uint64_t neededFreeSize) {
-    uint64_t pageSize = getPragma<int64_t>("PRAGMA page_size");
-    uint64_t pageCount = getPragma<int64_t>("PRAGMA page_count");
+// Querying the page counts on every write would be costly, the value is
+// therefore kept as a running total that is incremented by the size of every
+// write and decremented by the size of every evicted entry. It overestimates
+// the used size when entries are replaced, and is recalculated after a region
+// was deleted.
+uint64_t OfflineDatabase::getUsedSize() {
+    if (!usedSize) {
+        usedSize = getPageSize() * (getPragma<int64_t>("PRAGMA page_count") - getPragma<int64_t>("PRAGMA freelist_count"));
+    }
+    return *usedSize;
+}
 
-    auto usedSize = [&] {
-        return pageSize * (pageCount - getPragma<int64_t>("PRAGMA freelist_count"));
-    };
+void OfflineDatabase::setMaximumCacheSize(uint64_t size) {
+    maximumCacheSize = size;
+}
 
+bool OfflineDatabase::needsEviction() {
+    // Eviction in the background starts before the limit is reached, so that
+    // the cache rarely exceeds its maximum size between two batches.
+    return getUsedSize() + getPageSize() + maximumCacheSize / 10 > maximumCacheSize;
+}
+
+// Remove least-recently used resources and tiles until the used database size
+// is less than the maximum cache size. Returns false if this condition cannot
+// be satisfied.
+bool OfflineDatabase::evict(uint64_t neededFreeSize) {
     // The addition of pageSize is a fudge factor to account for non `data` column
     // size, and because pages can get fragmented on the database.
-    while (usedSize() + neededFreeSize + pageSize > maximumCacheSize) {
-        // clang-format off
-        Statement accessedStmt = getStatement(
-            "SELECT max(accessed) "
-            "FROM ( "
-            "    SELECT accessed "
-            "    FROM resources "
-            "    LEFT JOIN region_resources "
-            "    ON resource_id = resources.id "
-            "    WHERE resource_id IS NULL "
-            "  UNION ALL "
-            "    SELECT accessed "
-            "    FROM tiles "
-            "    LEFT JOIN region_tiles "
-            "    ON tile_id = tiles.id "
-            "    WHERE tile_id IS NULL "
-            "  ORDER BY accessed ASC LIMIT ?1 "
-            ") "
-        );
-        accessedStmt->bind(1, 50);
-        // clang-format on
-        if (!accessedStmt->run()) {
+    while (getUsedSize() + neededFreeSize + getPageSize() > maximumCacheSize) {
+        if (evictBatch() == 0) {
             return false;
         }
-        Timestamp accessed = accessedStmt->get<Timestamp>(0);
+    }
 
-        // clang-format off
-        Statement stmt1 = getStatement(
-            "DELETE FROM resources "
-            "WHERE id IN ( "
-            "  SELECT id FROM resources "
-            "  LEFT JOIN region_resources "
-            "  ON resource_id = resources.id "
-            "  WHERE resource_id IS NULL "
-            "  AND accessed <= ?1 "
-            ") ");
-        // clang-format on
-        stmt1->bind(1, accessed);
-        stmt1->run();
-        uint64_t changes1 = stmt1->changes();
+    return true;
+}
 
-        // clang-format off
-        Statement stmt2 = getStatement(
-            "DELETE FROM tiles "
-            "WHERE id IN ( "
-            "  SELECT id FROM tiles "
-            "  LEFT JOIN region_tiles "
-            "  ON tile_id = tiles.id "
-            "  WHERE tile_id IS NULL "
-            "  AND accessed <= ?1 "
-            ") ");
-        // clang-format on
-        stmt2->bind(1, accessed);
-        stmt2->run();
-        uint64_t changes2 = stmt2->changes();
+// Removes the least-recently used resources and tiles that aren't part of an
+// offline region. The candidates are found by walking the partial access time
+// indexes of both tables in order, which only cover entries that aren't pinned
+// by a region, so only as many rows are touched as are evicted.
+uint64_t OfflineDatabase::evictBatch(uint64_t limit) {
+    // Eviction order depends on up to date access times
+    updateAccessed();
+
+    struct Candidate {
+        Timestamp accessed;
+        int64_t id;
+        uint64_t size;
+    };
 
-        // The cached value of offlineTileCount does not need to be updated
-        // here because only non-offline tiles can be removed by eviction.
+    // clang-format off
+    Statement resourcesStmt = getStatement(
+        "SELECT id, accessed, length(data) "
+        "FROM resources "
+        "WHERE pinned = 0 "
+        "ORDER BY accessed ASC LIMIT ?1 ");
+    // clang-format on
 
-        if (changes1 == 0 && changes2 == 0) {
-            return false;
+    std::vector<Candidate> resources;
+    resourcesStmt->bind(1, int64_t(limit));
+    while (resourcesStmt->run()) {
+        resources.push_back({ resourcesStmt->get<Timestamp>(1), resourcesStmt->get<int64_t>(0),
+                              uint64_t(resourcesStmt->get<optional<int64_t>>(2).value_or(0)) });
+    }
+
+    // clang-format off
+    Statement tilesStmt = getStatement(
+        "SELECT id, accessed, length(data) "
+        "FROM tiles "
+        "WHERE pinned = 0 "
+        "ORDER BY accessed ASC LIMIT ?1 ");
+    // clang-format on
+
+    std::vector<Candidate> tiles;
+    tilesStmt->bind(1, int64_t(limit));
+    while (tilesStmt->run()) {
+        tiles.push_back({ tilesStmt->get<Timestamp>(1), tilesStmt->get<int64_t>(0),
+                          uint64_t(tilesStmt->get<optional<int64_t>>(2).value_or(0)) });
+    }
+
+    if (resources.empty() && tiles.empty()) {
+        return 0;
+    }
+
+    // Joins the pending batch of writes if there is one
+    std::unique_ptr<mapbox::sqlite::Transaction> transaction;
+    if (!writeBatch) {
+        transaction = std::make_unique<mapbox::sqlite::Transaction>(*db, mapbox::sqlite::Transaction::Immediate);
+    }
+
+    // clang-format off
+    Statement deleteResourceStmt = getStatement(
+        "DELETE FROM resources WHERE id = ?1");
+    Statement deleteTileStmt = getStatement(
+        "DELETE FROM tiles WHERE id = ?1");
+    // clang-format on
+
+    // Merge both candidate lists, removing the oldest entries first
+    uint64_t evicted = 0;
+    uint64_t evictedSize = 0;
+    auto resource = resources.begin();
+    auto tile = tiles.begin();
+    while (evicted < limit && (resource != resources.end() || tile != tiles.end())) {
+        if (tile == tiles.end() || (resource != resources.end() && resource->accessed <= tile->accessed)) {
+            deleteResourceStmt->bind(1, resource->id);
+            deleteResourceStmt->run();
+            deleteResourceStmt->reset();
+            evictedSize += resource->size;
+            ++resource;
+        } else {
+            deleteTileStmt->bind(1, tile->id);
+            deleteTileStmt->run();
+            deleteTileStmt->reset();
+            evictedSize += tile->size;
+            ++tile;
         }
+        evicted++;
     }
 
-    return true;
+    if (transaction) {
+        transaction->commit();
+    }
+
+    // The cached value of offlineTileCount does not need to be updated
+    // here because only non-offline tiles can be removed by eviction.
+
+    // The running total is decremented by the same measure it is incremented
+    // by on writes, instead of querying the page counts again.
+    if (usedSize) {
+        *usedSize -= std::min(*usedSize, evictedSize);
+    }
+    return evicted;
 }
 
 void OfflineDatabase::setOfflineMapboxTileCountLimit(uint64_t limit) {
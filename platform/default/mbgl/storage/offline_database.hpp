@@ -6,8 +6,12 @@
 #include <mbgl/util/optional.hpp>
 #include <mbgl/util/constants.hpp>
 #include <mbgl/util/mapbox.hpp>
+#include <mbgl/util/chrono.hpp>
 
+#include <functional>
 #include <unordered_map>
+#include <map>
+#include <tuple>
 #include <memory>
 #include <string>
 
@@ -15,6 +19,7 @@ namespace mapbox {
 namespace sqlite {
 class Database;
 class Statement;
+class Transaction;
 } // namespace sqlite
 } // namespace mapbox
 
@@ -32,6 +37,11 @@ public:
 
     optional<Response> get(const Resource&);
 
+    // Records an access of a resource that was served without reading it from
+    // the database, e.g. from memory. The access time is written with the
+    // other deferred access times.
+    void markAccessed(const Resource&);
+
     // Return value is (inserted, stored size)
     std::pair<bool, uint64_t> put(const Resource&, const Response&);
 
@@ -52,6 +62,42 @@ public:
     OfflineRegionDefinition getRegionDefinition(int64_t regionID);
     OfflineRegionStatus getRegionCompletedStatus(int64_t regionID);
 
+    // Return value is (count, stored size) of the cached resources of the given
+    // kind, and of the cached tiles of a tile source keyed by zoom level. Used to
+    // estimate the size of offline downloads.
+    std::pair<uint64_t, uint64_t> getResourceSizeSamples(Resource::Kind);
+    std::map<uint8_t, std::pair<uint64_t, uint64_t>> getTileSizeSamples(const std::string& urlTemplate,
+                                                                        uint8_t pixelRatio);
+
+    // By default, every write is committed in its own transaction and synced to
+    // disk before it completes. With a batch size larger than one, the database
+    // switches to a write-ahead log and group-commits writes once the batch size
+    // is reached or the batch interval elapsed. Writes that weren't committed
+    // yet are lost if the process terminates, the database stays consistent.
+    void setWriteBatching(uint32_t batchSize, Duration batchInterval);
+
+    // Commits the pending batch of writes, if any, as well as deferred updates
+    // of access times.
+    void flushWrites();
+    bool hasPendingWrites() const;
+
+    // Called when writes become pending that are only committed by a later
+    // write or flushWrites(): when a batch of writes opens, and when the first
+    // update of an access time is deferred.
+    void setPendingWritesCallback(std::function<void ()>);
+
+    void setMaximumCacheSize(uint64_t);
+
+    // Returns true if the ambient cache is close to its maximum size. Writes
+    // don't evict entries, the owner of the database is expected to evict in
+    // small batches in the background. Until it caught up, the cache may
+    // exceed its maximum size by the writes that happened in the meantime.
+    bool needsEviction();
+
+    // Removes up to `limit` least-recently used entries that aren't part of an
+    // offline region. Returns the amount of removed entries.
+    uint64_t evictBatch(uint64_t limit = 50);
+
     void setOfflineMapboxTileCountLimit(uint64_t);
     uint64_t getOfflineMapboxTileCountLimit();
     bool offlineMapboxTileCountLimitExceeded();
@@ -64,6 +110,7 @@ private:
     void removeExisting();
     void migrateToVersion3();
     void migrateToVersion5();
+    void migrateToVersion6();
 
     class Statement {
     public:
@@ -90,9 +137,30 @@ private:
     bool putResource(const Resource&, const Response&,
                      const std::string&, bool compressed);
 
+    // Begins a transaction for a single write. Returns null if the write is
+    // part of a pending batch instead.
+    std::unique_ptr<mapbox::sqlite::Transaction> beginWrite();
+    void commitWrite(std::unique_ptr<mapbox::sqlite::Transaction>);
+    // Rolls back a write of the pending batch that failed, the other writes
+    // of the batch are kept.
+    void abortWrite();
+    // Write-ahead log and NORMAL sync for batched writes, DELETE and FULL
+    // sync otherwise.
+    void setJournalMode(bool writeAheadLog);
+
+    // Reads don't update access times immediately. Access times are tracked
+    // with a coarse granularity, kept in memory and written in batches.
+    using TileKey = std::tuple<std::string, uint8_t, int32_t, int32_t, int8_t>;
+    static TileKey tileKey(const Resource::TileData&);
+    void markAccessed(const Resource&, Timestamp accessed);
+    void markAccessed(const Resource::TileData&, Timestamp accessed);
+    void updateAccessed();
+
     optional<std::pair<Response, uint64_t>> getInternal(const Resource&);
     optional<int64_t> hasInternal(const Resource&);
-    std::pair<bool, uint64_t> putInternal(const Resource&, const Response&, bool evict);
+    // Entries written to the ambient cache are rejected if they exceed its
+    // maximum size, region resources are always written.
+    std::pair<bool, uint64_t> putInternal(const Resource&, const Response&, bool ambient);
 
     // Return value is true iff the resource was previously unused by any other regions.
     bool markUsed(int64_t regionID, const Resource&);
@@ -109,6 +177,22 @@ private:
 
     uint64_t maximumCacheSize;
 
+    uint64_t getPageSize();
+    uint64_t getUsedSize();
+    optional<uint64_t> pageSize;
+    optional<uint64_t> usedSize;
+
+    uint32_t writeBatchSize = 1;
+    Duration writeBatchInterval = Duration::zero();
+    std::unique_ptr<mapbox::sqlite::Transaction> writeBatch;
+    uint32_t writeBatchCount = 0;
+    TimePoint writeBatchStart;
+    bool writeSavepoint = false;
+    std::function<void ()> pendingWritesCallback;
+
+    std::unordered_map<std::string, Timestamp> accessedResources;
+    std::map<TileKey, Timestamp> accessedTiles;
+
     uint64_t offlineMapboxTileCountLimit = util::mapbox::DEFAULT_OFFLINE_TILE_COUNT_LIMIT;
     optional<uint64_t> offlineMapboxTileCount;
 
@@ -18,6 +18,7 @@
 #include <mbgl/util/tileset.hpp>
 
 #include <set>
+#include <tuple>
 
 namespace mbgl {
 
@@ -144,6 +145,155 @@ OfflineRegionStatus OfflineDownload::getStatus() const {
     return result;
 }
 
+OfflineRegionDownloadPlan OfflineDownload::getPlan(const OfflineRegionDefinition& definition,
+                                                   OfflineDatabase& offlineDatabase) {
+    OfflineRegionDownloadPlan plan;
+
+    auto estimateResources = [&] (Resource::Kind kind, uint64_t count) {
+        if (count == 0) {
+            return;
+        }
+        uint64_t sampleCount, sampleSize;
+        std::tie(sampleCount, sampleSize) = offlineDatabase.getResourceSizeSamples(kind);
+        if (sampleCount) {
+            plan.estimatedSize += count * sampleSize / sampleCount;
+        } else {
+            plan.unestimatedResourceCount += count;
+        }
+    };
+
+    plan.styleResourceCount++;
+    optional<Response> styleResponse = offlineDatabase.get(Resource::style(definition.styleURL));
+    if (!styleResponse || !styleResponse->data) {
+        plan.unestimatedResourceCount++;
+        return plan;
+    }
+
+    plan.estimatedSize += styleResponse->data->size();
+    plan.resourceCountIsPrecise = true;
+
+    style::Parser parser;
+    parser.parse(*styleResponse->data);
+
+    for (const auto& source : parser.sources) {
+        SourceType type = source->getType();
+
+        auto planTiles = [&] (const Tileset& tileset, const uint16_t tileSize) {
+            const Range<uint8_t> zoomRange = definition.coveringZoomRange(type, tileSize, tileset.zoomRange);
+            if (zoomRange.min > zoomRange.max || tileset.tiles.empty()) {
+                return;
+            }
+
+            // Cached tiles are keyed by the URL template and the effective pixel ratio,
+            // which depends on whether the template supports it.
+            const Resource sample = Resource::tile(tileset.tiles[0], definition.pixelRatio, 0, 0, 0, tileset.scheme);
+            const auto samples = offlineDatabase.getTileSizeSamples(sample.tileData->urlTemplate,
+                                                                    sample.tileData->pixelRatio);
+
+            uint64_t allSampleCount = 0;
+            uint64_t allSampleSize = 0;
+            for (const auto& entry : samples) {
+                allSampleCount += entry.second.first;
+                allSampleSize += entry.second.second;
+            }
+
+            for (uint32_t z = zoomRange.min; z <= zoomRange.max; z++) {
+                OfflineRegionDownloadPlan::Tiles level;
+                level.sourceID = source->getID();
+                level.z = z;
+                level.count = util::tileCount(definition.bounds, z);
+                if (level.count == 0) {
+                    continue;
+                }
+
+                // Tile sizes vary with the zoom level, prefer samples of the same zoom level.
+                auto it = samples.find(z);
+                if (it != samples.end() && it->second.first) {
+                    level.estimatedSize = level.count * it->second.second / it->second.first;
+                } else if (allSampleCount) {
+                    level.estimatedSize = level.count * allSampleSize / allSampleCount;
+                } else {
+                    plan.unestimatedResourceCount += level.count;
+                }
+
+                plan.estimatedSize += level.estimatedSize;
+                plan.tiles.push_back(std::move(level));
+            }
+        };
+
+        auto handleTiledSource = [&] (const variant<std::string, Tileset>& urlOrTileset, const uint16_t tileSize) {
+            if (urlOrTileset.is<Tileset>()) {
+                planTiles(urlOrTileset.get<Tileset>(), tileSize);
+            } else {
+                plan.styleResourceCount++;
+                const auto& url = urlOrTileset.get<std::string>();
+                optional<Response> sourceResponse = offlineDatabase.get(Resource::source(url));
+                if (sourceResponse && sourceResponse->data) {
+                    plan.estimatedSize += sourceResponse->data->size();
+                    style::conversion::Error error;
+                    optional<Tileset> tileset = style::conversion::convertJSON<Tileset>(*sourceResponse->data, error);
+                    if (tileset) {
+                        util::mapbox::canonicalizeTileset(*tileset, url, type, tileSize);
+                        planTiles(*tileset, tileSize);
+                    }
+                } else {
+                    plan.unestimatedResourceCount++;
+                    plan.resourceCountIsPrecise = false;
+                }
+            }
+        };
+
+        switch (type) {
+        case SourceType::Vector: {
+            const auto& vectorSource = *source->as<VectorSource>();
+            handleTiledSource(vectorSource.getURLOrTileset(), util::tileSize);
+            break;
+        }
+
+        case SourceType::Raster: {
+            const auto& rasterSource = *source->as<RasterSource>();
+            handleTiledSource(rasterSource.getURLOrTileset(), rasterSource.getTileSize());
+            break;
+        }
+
+        case SourceType::GeoJSON: {
+            const auto& geojsonSource = *source->as<GeoJSONSource>();
+            if (geojsonSource.getURL()) {
+                plan.styleResourceCount++;
+                estimateResources(Resource::Kind::Source, 1);
+            }
+            break;
+        }
+
+        case SourceType::Image: {
+            const auto& imageSource = *source->as<ImageSource>();
+            if (imageSource.getURL()) {
+                plan.styleResourceCount++;
+                estimateResources(Resource::Kind::Image, 1);
+            }
+            break;
+        }
+
+        case SourceType::Video:
+        case SourceType::Annotations:
+            break;
+        }
+    }
+
+    if (!parser.glyphURL.empty()) {
+        plan.glyphResourceCount = parser.fontStacks().size() * GLYPH_RANGES_PER_FONT_STACK;
+        estimateResources(Resource::Kind::Glyphs, plan.glyphResourceCount);
+    }
+
+    if (!parser.spriteURL.empty()) {
+        plan.spriteResourceCount = 2;
+        estimateResources(Resource::Kind::SpriteImage, 1);
+        estimateResources(Resource::Kind::SpriteJSON, 1);
+    }
+
+    return plan;
+}
+
 void OfflineDownload::activateDownload() {
     status = OfflineRegionStatus();
     status.downloadState = OfflineRegionDownloadState::Active;
@@ -35,6 +35,12 @@ public:
 
     OfflineRegionStatus getStatus() const;
 
+    /*
+     * Compute the resources required by a region from the style and TileJSON resources
+     * that are already cached, without making any network requests.
+     */
+    static OfflineRegionDownloadPlan getPlan(const OfflineRegionDefinition&, OfflineDatabase&);
+
 private:
     void activateDownload();
     void continueDownload();
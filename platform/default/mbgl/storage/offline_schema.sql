@@ -8,6 +8,7 @@ CREATE TABLE resources (                   -- Generic table for style, source, s
   data BLOB,
   compressed INTEGER NOT NULL DEFAULT 0,
   accessed INTEGER NOT NULL,
+  pinned INTEGER NOT NULL DEFAULT 0,       -- 1 if used by an offline region, 0 if subject to eviction
   UNIQUE (url)
 );
 
@@ -24,6 +25,7 @@ CREATE TABLE tiles (
   data BLOB,
   compressed INTEGER NOT NULL DEFAULT 0,
   accessed INTEGER NOT NULL,
+  pinned INTEGER NOT NULL DEFAULT 0,
   UNIQUE (url_template, pixel_ratio, z, x, y)
 );
 
@@ -47,13 +49,13 @@ CREATE TABLE region_tiles (
   UNIQUE (region_id, tile_id)
 );
 
--- Indexes for efficient eviction queries
+-- Indexes for efficient eviction queries, only covering entries that can be evicted
 
 CREATE INDEX resources_accessed
-ON resources (accessed);
+ON resources (accessed) WHERE pinned = 0;
 
 CREATE INDEX tiles_accessed
-ON tiles (accessed);
+ON tiles (accessed) WHERE pinned = 0;
 
 CREATE INDEX region_resources_resource_id
 ON region_resources (resource_id);
@@ -0,0 +1,110 @@
+#include <mbgl/storage/resource_cache.hpp>
+#include <mbgl/util/string.hpp>
+
+namespace mbgl {
+
+ResourceCache::ResourceCache(uint64_t maximumSize_)
+    : maximumSize(maximumSize_) {
+}
+
+// Tiles are stored under their URL template in the offline database, the same
+// key is used here so that tiles shared between sources hit the same entry.
+std::string ResourceCache::key(const Resource& resource) {
+    if (resource.kind == Resource::Kind::Tile && resource.tileData) {
+        const Resource::TileData& tile = *resource.tileData;
+        return tile.urlTemplate + "@" + util::toString(tile.pixelRatio) + "/" +
+            util::toString(tile.z) + "/" + util::toString(tile.x) + "/" + util::toString(tile.y);
+    }
+    return resource.url;
+}
+
+optional<Response> ResourceCache::get(const Resource& resource) {
+    std::lock_guard<std::mutex> lock(mutex);
+
+    auto it = index.find(key(resource));
+    if (it == index.end()) {
+        misses++;
+        return {};
+    }
+
+    hits++;
+    entries.splice(entries.begin(), entries, it->second);
+    return it->second->response;
+}
+
+void ResourceCache::put(const Resource& resource, const Response& response) {
+    if (response.error) {
+        return;
+    }
+
+    std::lock_guard<std::mutex> lock(mutex);
+
+    const std::string entryKey = key(resource);
+    auto it = index.find(entryKey);
+
+    if (response.notModified) {
+        // Keep the cached data, but extend its lifetime like the offline database does.
+        if (it != index.end()) {
+            it->second->response.expires = response.expires;
+            entries.splice(entries.begin(), entries, it->second);
+        }
+        return;
+    }
+
+    if (it != index.end()) {
+        erase(it->second);
+    }
+
+    const uint64_t entrySize = entryKey.size() + (response.data ? response.data->size() : 0);
+    if (entrySize > maximumSize) {
+        return;
+    }
+
+    entries.push_front({ entryKey, response, entrySize });
+    index.emplace(entryKey, entries.begin());
+    size += entrySize;
+
+    evict();
+}
+
+void ResourceCache::setMaximumSize(uint64_t maximumSize_) {
+    std::lock_guard<std::mutex> lock(mutex);
+    maximumSize = maximumSize_;
+    evict();
+}
+
+void ResourceCache::clear() {
+    std::lock_guard<std::mutex> lock(mutex);
+    entries.clear();
+    index.clear();
+    size = 0;
+}
+
+uint64_t ResourceCache::getSize() const {
+    std::lock_guard<std::mutex> lock(mutex);
+    return size;
+}
+
+uint64_t ResourceCache::getHitCount() const {
+    std::lock_guard<std::mutex> lock(mutex);
+    return hits;
+}
+
+uint64_t ResourceCache::getMissCount() const {
+    std::lock_guard<std::mutex> lock(mutex);
+    return misses;
+}
+
+void ResourceCache::erase(std::list<Entry>::iterator it) {
+    size -= it->size;
+    index.erase(it->key);
+    entries.erase(it);
+}
+
+void ResourceCache::evict() {
+    while (size > maximumSize && !entries.empty()) {
+        erase(std::prev(entries.end()));
+    }
+}
+
+} // namespace mbgl
@@ -0,0 +1,62 @@
+#pragma once
+
+#include <mbgl/storage/resource.hpp>
+#include <mbgl/storage/response.hpp>
+#include <mbgl/util/noncopyable.hpp>
+#include <mbgl/util/optional.hpp>
+
+#include <iterator>
+#include <list>
+#include <mutex>
+#include <string>
+#include <unordered_map>
+
+namespace mbgl {
+
+/**
+ * Bounded, least-recently used in-memory cache of decompressed responses.
+ *
+ * Sits in front of the offline database so that resources requested again
+ * shortly after, e.g. when switching styles or recreating a map, don't have to
+ * be read and decompressed from disk again. Response data is shared, not
+ * copied, with the callers.
+
+ * @private
+ */
+class ResourceCache : private util::noncopyable {
+public:
+    ResourceCache(uint64_t maximumSize);
+
+    optional<Response> get(const Resource&);
+    void put(const Resource&, const Response&);
+
+    void setMaximumSize(uint64_t);
+    void clear();
+
+    uint64_t getSize() const;
+    uint64_t getHitCount() const;
+    uint64_t getMissCount() const;
+
+private:
+    struct Entry {
+        std::string key;
+        Response response;
+        uint64_t size;
+    };
+
+    static std::string key(const Resource&);
+    void erase(std::list<Entry>::iterator);
+    void evict();
+
+    mutable std::mutex mutex;
+    uint64_t maximumSize;
+    uint64_t size = 0;
+    uint64_t hits = 0;
+    uint64_t misses = 0;
+
+    // Most recently used entries are kept at the front
+    std::list<Entry> entries;
+    std::unordered_map<std::string, std::list<Entry>::iterator> index;
+};
+
+} // namespace mbgl
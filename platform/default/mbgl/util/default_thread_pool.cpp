@@ -5,25 +5,27 @@
 
 namespace mbgl {
 
-ThreadPool::ThreadPool(std::size_t count) {
+ThreadPool::ThreadPool(std::size_t count, optional<int> priority) {
     threads.reserve(count);
     for (std::size_t i = 0; i < count; ++i) {
-        threads.emplace_back([this, i]() {
+        threads.emplace_back([this, i, priority]() {
             platform::setCurrentThreadName(std::string{ "Worker " } + util::toString(i + 1));
+            if (priority) {
+                platform::setCurrentThreadPriority(*priority);
+            }
 
             while (true) {
                 std::unique_lock<std::mutex> lock(mutex);
 
                 cv.wait(lock, [this] {
-                    return !queue.empty() || terminate;
+                    return size > 0 || terminate;
                 });
 
                 if (terminate) {
                     return;
                 }
 
-                auto mailbox = queue.front();
-                queue.pop();
+                auto mailbox = next();
                 lock.unlock();
 
                 Mailbox::maybeReceive(mailbox);
@@ -48,10 +50,45 @@ ThreadPool::~ThreadPool() {
 void ThreadPool::schedule(std::weak_ptr<Mailbox> mailbox) {
     {
         std::lock_guard<std::mutex> lock(mutex);
-        queue.push(mailbox);
+        auto locked = mailbox.lock();
+        if (!locked) {
+            return;
+        }
+        queues[static_cast<std::size_t>(locked->getPriority())].push_back(std::move(mailbox));
+        size++;
     }
 
     cv.notify_one();
 }
 
+// Takes the oldest mailbox with the highest priority. Every few mailboxes, the oldest
+// mailbox of the lowest priority is taken instead, so that a steady flow of work with a
+// high priority can't starve work with a lower one. Mailboxes that were destroyed, or
+// that were scheduled again with a different priority, are skipped.
+std::weak_ptr<Mailbox> ThreadPool::next() {
+    const bool lowestFirst = ++taken % lowPriorityInterval == 0;
+
+    while (size > 0) {
+        std::deque<std::weak_ptr<Mailbox>>* queue = nullptr;
+        for (std::size_t i = 0; i < queues.size(); ++i) {
+            auto& candidate = queues[lowestFirst ? i : queues.size() - 1 - i];
+            if (!candidate.empty()) {
+                queue = &candidate;
+                break;
+            }
+        }
+
+        auto mailbox = std::move(queue->front());
+        queue->pop_front();
+        size--;
+
+        auto locked = mailbox.lock();
+        if (locked && &queues[static_cast<std::size_t>(locked->getPriority())] == queue) {
+            return mailbox;
+        }
+    }
+
+    return {};
+}
+
 } // namespace mbgl
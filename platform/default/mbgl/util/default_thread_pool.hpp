@@ -1,24 +1,41 @@
 #pragma once
 
+#include <mbgl/actor/mailbox.hpp>
 #include <mbgl/actor/scheduler.hpp>
+#include <mbgl/util/optional.hpp>
 
+#include <array>
 #include <condition_variable>
+#include <deque>
 #include <mutex>
-#include <queue>
 #include <thread>
+#include <vector>
 
 namespace mbgl {
 
+// Processes mailboxes on a fixed amount of threads. Mailboxes with a higher
+// priority are processed first, see `Mailbox::setPriority()`. Each priority has
+// its own queue, so picking the next mailbox doesn't depend on how many are
+// waiting.
 class ThreadPool : public Scheduler {
 public:
-    ThreadPool(std::size_t count);
+    // The optional priority is a nice value applied to each of the threads,
+    // from -20 (highest) to 19 (lowest).
+    ThreadPool(std::size_t count, optional<int> priority = {});
     ~ThreadPool() override;
 
     void schedule(std::weak_ptr<Mailbox>) override;
 
 private:
+    std::weak_ptr<Mailbox> next();
+
+    // Every n-th mailbox is taken from the lowest priority that has work.
+    static constexpr std::size_t lowPriorityInterval = 8;
+
     std::vector<std::thread> threads;
-    std::queue<std::weak_ptr<Mailbox>> queue;
+    std::array<std::deque<std::weak_ptr<Mailbox>>, static_cast<std::size_t>(Mailbox::Priority::High) + 1> queues;
+    std::size_t size { 0 };
+    std::size_t taken { 0 };
     std::mutex mutex;
     std::condition_variable cv;
     bool terminate { false };
@@ -91,11 +91,11 @@ public:
         } else {
             auto it = pendingRequestsMap.find(request);
             if (it != pendingRequestsMap.end()) {
-                pendingRequestsList.erase(it->second);
+                pendingList(request).erase(it->second);
                 pendingRequestsMap.erase(it);
             }
         }
-        assert(pendingRequestsMap.size() == pendingRequestsList.size());
+        assert(pendingRequestsMap.size() == pendingRequestsList.size() + lowPriorityPendingRequestsList.size());
     }
 
     void activateOrQueueRequest(OnlineFileRequest* request) {
@@ -111,9 +111,10 @@ public:
     }
 
     void queueRequest(OnlineFileRequest* request) {
-        auto it = pendingRequestsList.insert(pendingRequestsList.end(), request);
+        auto& list = pendingList(request);
+        auto it = list.insert(list.end(), request);
         pendingRequestsMap.emplace(request, std::move(it));
-        assert(pendingRequestsMap.size() == pendingRequestsList.size());
+        assert(pendingRequestsMap.size() == pendingRequestsList.size() + lowPriorityPendingRequestsList.size());
     }
 
     void activateRequest(OnlineFileRequest* request) {
@@ -124,21 +125,42 @@ public:
             request->request.reset();
             request->completed(response);
         });
-        assert(pendingRequestsMap.size() == pendingRequestsList.size());
+        assert(pendingRequestsMap.size() == pendingRequestsList.size() + lowPriorityPendingRequestsList.size());
     }
 
     void activatePendingRequest() {
-        if (pendingRequestsList.empty()) {
+        // Low priority requests only get a connection once all regular ones are served.
+        auto& list = pendingRequestsList.empty() ? lowPriorityPendingRequestsList : pendingRequestsList;
+        if (list.empty()) {
             return;
         }
 
-        OnlineFileRequest* request = pendingRequestsList.front();
-        pendingRequestsList.pop_front();
+        OnlineFileRequest* request = list.front();
+        list.pop_front();
 
         pendingRequestsMap.erase(request);
 
         activateRequest(request);
-        assert(pendingRequestsMap.size() == pendingRequestsList.size());
+        assert(pendingRequestsMap.size() == pendingRequestsList.size() + lowPriorityPendingRequestsList.size());
+    }
+
+    void setPriority(OnlineFileRequest* request, Resource::Priority priority) {
+        if (request->resource.priority == priority) {
+            return;
+        }
+
+        auto it = pendingRequestsMap.find(request);
+        if (it == pendingRequestsMap.end()) {
+            // Active and scheduled requests pick up the priority when they are queued again.
+            request->resource.priority = priority;
+            return;
+        }
+
+        pendingList(request).erase(it->second);
+        request->resource.priority = priority;
+        auto& list = pendingList(request);
+        it->second = list.insert(list.end(), request);
+        assert(pendingRequestsMap.size() == pendingRequestsList.size() + lowPriorityPendingRequestsList.size());
     }
 
     bool isPending(OnlineFileRequest* request) {
@@ -160,6 +182,11 @@ private:
         }
     }
 
+    std::list<OnlineFileRequest*>& pendingList(OnlineFileRequest* request) {
+        return request->resource.priority == Resource::Low ? lowPriorityPendingRequestsList
+                                                           : pendingRequestsList;
+    }
+
     optional<ActorRef<ResourceTransform>> resourceTransform;
 
     /**
@@ -171,10 +198,12 @@ private:
      * 4. Back to #1
      *
      * Requests in any state are in `allRequests`. Requests in the pending state are in
-     * `pendingRequests`. Requests in the active state are in `activeRequests`.
+     * `pendingRequests`, or in `lowPriorityPendingRequests` if they have a low priority.
+     * Requests in the active state are in `activeRequests`.
      */
     std::unordered_set<OnlineFileRequest*> allRequests;
     std::list<OnlineFileRequest*> pendingRequestsList;
+    std::list<OnlineFileRequest*> lowPriorityPendingRequestsList;
     std::unordered_map<OnlineFileRequest*, std::list<OnlineFileRequest*>::iterator> pendingRequestsMap;
     std::unordered_set<OnlineFileRequest*> activeRequests;
 
@@ -221,6 +250,10 @@ std::unique_ptr<AsyncRequest> OnlineFileSource::request(const Resource& resource
     return std::make_unique<OnlineFileRequest>(std::move(res), std::move(callback), *impl);
 }
 
+void OnlineFileSource::setPriority(AsyncRequest& request, Resource::Priority priority) {
+    impl->setPriority(static_cast<OnlineFileRequest*>(&request), priority);
+}
+
 void OnlineFileSource::setResourceTransform(optional<ActorRef<ResourceTransform>>&& transform) {
     impl->setResourceTransform(std::move(transform));
 }
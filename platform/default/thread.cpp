@@ -5,6 +5,7 @@
 
 #include <pthread.h>
 #include <sched.h>
+#include <sys/resource.h>
 
 namespace mbgl {
 namespace platform {
@@ -33,5 +34,12 @@ void makeThreadLowPriority() {
     }
 }
 
+void setCurrentThreadPriority(int priority) {
+    // On Linux, this only sets the priority of the current thread.
+    if (setpriority(PRIO_PROCESS, 0, priority) < 0) {
+        Log::Warning(Event::General, "Couldn't set thread priority");
+    }
+}
+
 } // namespace platform
 } // namespace mbgl
@@ -15,5 +15,8 @@ void setCurrentThreadName(const std::string&) {
 void makeThreadLowPriority() {
 }
 
+void setCurrentThreadPriority(int) {
+}
+
 } // namespace platform
 } // namespace mbgl
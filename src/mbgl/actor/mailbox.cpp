@@ -2,14 +2,24 @@
 #include <mbgl/actor/message.hpp>
 #include <mbgl/actor/scheduler.hpp>
 
-#include <cassert>
-
 namespace mbgl {
 
 Mailbox::Mailbox(Scheduler& scheduler_)
     : scheduler(scheduler_) {
 }
 
+void Mailbox::setPriority(Priority priority_) {
+    std::lock_guard<std::mutex> queueLock(queueMutex);
+    if (priority.exchange(priority_) != priority_ && !queue.empty()) {
+        // Schedulers queue mailboxes by the priority they had when they were scheduled.
+        scheduler.schedule(shared_from_this());
+    }
+}
+
+Mailbox::Priority Mailbox::getPriority() const {
+    return priority;
+}
+
 void Mailbox::close() {
     // Block until neither receive() nor push() are in progress. Two mutexes are used because receive()
     // must not block send(). Of the two, the receiving mutex must be acquired first, because that is
@@ -49,7 +59,10 @@ void Mailbox::receive() {
 
     {
         std::lock_guard<std::mutex> queueLock(queueMutex);
-        assert(!queue.empty());
+        // A mailbox that changed its priority may be scheduled more than once.
+        if (queue.empty()) {
+            return;
+        }
         message = std::move(queue.front());
         queue.pop();
         wasEmpty = queue.empty();
@@ -9,8 +9,19 @@
 #include <mbgl/style/layers/symbol_layer_impl.hpp>
 #include <mbgl/storage/file_source.hpp>
 
+#include <mbgl/tile/tile_id.hpp>
+#include <mbgl/util/constants.hpp>
+#include <mbgl/util/optional.hpp>
+#include <mbgl/util/interpolate.hpp>
+#include <mbgl/math/clamp.hpp>
+
+#include <mapbox/geometry/envelope.hpp>
+
 #include <boost/function_output_iterator.hpp>
 
+#include <algorithm>
+#include <cmath>
+
 namespace mbgl {
 
 using namespace style;
@@ -18,7 +29,87 @@ using namespace style;
 const std::string AnnotationManager::SourceID = "com.mapbox.annotations";
 const std::string AnnotationManager::PointLayerID = "com.mapbox.annotations.points";
 
-AnnotationManager::AnnotationManager() = default;
+namespace {
+
+// Dirty areas beyond which they are merged into one, so that mutations without
+// renders in between can't grow the list indefinitely.
+constexpr std::size_t maxDirtyBounds = 256;
+
+// The area covered by the geometry of a shape annotation. Shapes that cross the
+// antimeridian are wrapped into all tiles by the shape tiler, so they are assumed
+// to span all longitudes.
+optional<LatLngBounds> shapeBounds(const ShapeAnnotationGeometry& geometry) {
+    const auto box = ShapeAnnotationGeometry::visit(geometry, [] (const auto& geom) {
+        return mapbox::geometry::envelope(geom);
+    });
+    if (box.min.x > box.max.x || box.min.y > box.max.y) {
+        return {};
+    }
+
+    double west = box.min.x;
+    double east = box.max.x;
+    if (west < -util::LONGITUDE_MAX || east > util::LONGITUDE_MAX) {
+        west = -util::LONGITUDE_MAX;
+        east = util::LONGITUDE_MAX;
+    }
+    return LatLngBounds::hull(
+        { util::clamp(box.min.y, -util::LATITUDE_MAX, util::LATITUDE_MAX), west },
+        { util::clamp(box.max.y, -util::LATITUDE_MAX, util::LATITUDE_MAX), east });
+}
+
+// The area covered by a tile including the buffer shapes are tiled with, and its
+// copy on the other side of the antimeridian if the buffer crosses it.
+std::vector<LatLngBounds> bufferedTileBounds(const CanonicalTileID& tileID) {
+    const double scale = std::pow(2.0, tileID.z);
+    const double buffer = double(ShapeAnnotationImpl::tileBuffer) / util::EXTENT;
+
+    const auto lat = [&] (double y) {
+        const double n = M_PI - 2.0 * M_PI * util::clamp(y, 0.0, scale) / scale;
+        return util::RAD2DEG * std::atan(0.5 * (std::exp(n) - std::exp(-n)));
+    };
+    const auto lon = [&] (double x) {
+        return x / scale * util::DEGREES_MAX - util::LONGITUDE_MAX;
+    };
+
+    const double south = lat(tileID.y + 1 + buffer);
+    const double north = lat(tileID.y - buffer);
+    const double west = lon(tileID.x - buffer);
+    const double east = lon(tileID.x + 1 + buffer);
+
+    std::vector<LatLngBounds> result;
+    result.push_back(LatLngBounds::hull({ south, west }, { north, east }));
+    if (west < -util::LONGITUDE_MAX) {
+        result.push_back(LatLngBounds::hull({ south, west + util::DEGREES_MAX },
+                                            { north, east + util::DEGREES_MAX }));
+    } else if (east > util::LONGITUDE_MAX) {
+        result.push_back(LatLngBounds::hull({ south, west - util::DEGREES_MAX },
+                                            { north, east - util::DEGREES_MAX }));
+    }
+    return result;
+}
+
+// The area an animated symbol moves through.
+LatLngBounds pathBounds(const Point<double>& from, const Point<double>& to) {
+    return LatLngBounds::hull({ from.y, from.x }, { to.y, to.x });
+}
+
+double animationProgress(TimePoint start, Duration duration, TimePoint timePoint) {
+    return timePoint >= start + duration
+        ? 1.0
+        : std::max(0.0, std::chrono::duration<double>(timePoint - start) / duration);
+}
+
+Point<double> interpolatePosition(const std::pair<Point<double>, Point<double>>& path, double t) {
+    return { util::interpolate(path.first.x, path.second.x, t),
+             util::interpolate(path.first.y, path.second.y, t) };
+}
+
+} // namespace
+
+AnnotationManager::AnnotationManager()
+    : finishedAnimationTask([this] { callFinishedAnimationCallbacks(); }) {
+}
+
 AnnotationManager::~AnnotationManager() = default;
 
 AnnotationID AnnotationManager::addAnnotation(const Annotation& annotation, const uint8_t maxZoom) {
@@ -32,13 +123,174 @@ AnnotationID AnnotationManager::addAnnotation(const Annotation& annotation, cons
 
 Update AnnotationManager::updateAnnotation(const AnnotationID& id, const Annotation& annotation, const uint8_t maxZoom) {
     std::lock_guard<std::mutex> lock(mutex);
+    stopAnimation(id);
     return Annotation::visit(annotation, [&] (const auto& annotation_) {
         return this->update(id, annotation_, maxZoom);
     });
 }
 
+Update AnnotationManager::extendLineAnnotation(const AnnotationID& id, const LineString<double>& points) {
+    std::lock_guard<std::mutex> lock(mutex);
+
+    auto it = shapeAnnotations.find(id);
+    if (it == shapeAnnotations.end()) {
+        assert(false); // Attempt to extend a non-existent shape annotation
+        return Update::Nothing;
+    }
+
+    ShapeAnnotationImpl& impl = *it->second;
+    if (!impl.extend(points)) {
+        assert(false); // Attempt to extend a shape annotation that isn't a LineString
+        return Update::Nothing;
+    }
+
+    // Only the appended points can grow the bounds of the line.
+    if (auto pointBounds = shapeBounds(points)) {
+        if (impl.bounds) {
+            shapeTree.remove(std::make_pair(*impl.bounds, id));
+            impl.bounds->extend(*pointBounds);
+        } else {
+            impl.bounds = pointBounds;
+        }
+        shapeTree.insert({ *impl.bounds, id });
+    }
+
+    // Only the last part of the line was extended, tiles that don't intersect it are unaffected.
+    if (auto bounds = shapeBounds(impl.part(impl.partCount() - 1))) {
+        markDirty(*bounds);
+    }
+
+    return Update::AnnotationData;
+}
+
+Update AnnotationManager::animateSymbolAnnotations(const std::map<AnnotationID, Point<double>>& destinations,
+                                                   Duration duration,
+                                                   std::function<void (bool)> callback) {
+    std::lock_guard<std::mutex> lock(mutex);
+
+    SymbolAnimation animation;
+    animation.start = Clock::now();
+    animation.duration = duration;
+    animation.callback = std::move(callback);
+
+    for (const auto& destination : destinations) {
+        auto it = symbolAnnotations.find(destination.first);
+        if (it == symbolAnnotations.end()) {
+            // The annotation was removed before the animation started.
+            animation.interrupted = true;
+            continue;
+        }
+
+        // An annotation can only be part of one animation at a time, the latest one wins. It
+        // continues from where the previous animation moved it to.
+        const Point<double> from = animatedPosition(destination.first, animation.start)
+            .value_or(it->second->annotation.geometry);
+        stopAnimation(destination.first);
+
+        animation.symbols.emplace(destination.first, std::make_pair(from, destination.second));
+        markDirty(pathBounds(from, destination.second));
+    }
+
+    symbolAnimations.push_back(std::move(animation));
+
+    // The tiles along the paths get the animated symbols, see getTileData.
+    return Update::AnnotationData;
+}
+
+std::unordered_map<AnnotationID, LatLng> AnnotationManager::updateAnimations(TimePoint timePoint) {
+    std::lock_guard<std::mutex> lock(mutex);
+
+    // Tiles that received data since the animations ended show the symbols at their destination
+    // once they are laid out again.
+    if (settlingDataUpdated && std::all_of(tiles.begin(), tiles.end(), [] (const AnnotationTile* tile) {
+            return tile->isComplete();
+        })) {
+        settlingSymbols.clear();
+        settlingDataUpdated = false;
+    }
+
+    std::unordered_map<AnnotationID, LatLng> positions = settlingSymbols;
+
+    for (auto it = symbolAnimations.begin(); it != symbolAnimations.end();) {
+        SymbolAnimation& animation = *it;
+
+        const double t = animationProgress(animation.start, animation.duration, timePoint);
+        for (const auto& symbol : animation.symbols) {
+            const Point<double> position = interpolatePosition(symbol.second, t);
+            positions[symbol.first] = LatLng { position.y, position.x };
+        }
+
+        if (t < 1.0 && !animation.symbols.empty()) {
+            ++it;
+            continue;
+        }
+
+        // Moves the symbols to their destination in the tile data, and removes them from the
+        // tiles along their path.
+        for (const auto& symbol : animation.symbols) {
+            const Point<double>& to = symbol.second.second;
+            const SymbolAnnotationImpl& impl = *symbolAnnotations.at(symbol.first);
+            if (impl.annotation.geometry != to) {
+                removeAndAdd(symbol.first, SymbolAnnotation { to, impl.annotation.icon }, 0);
+            }
+            markDirty(pathBounds(symbol.second.first, to));
+            settlingSymbols[symbol.first] = LatLng { to.y, to.x };
+            settlingDataUpdated = false;
+        }
+
+        if (animation.callback) {
+            finishedAnimationCallbacks.emplace_back(std::move(animation.callback), !animation.interrupted);
+            finishedAnimationTask.send();
+        }
+        it = symbolAnimations.erase(it);
+    }
+
+    return positions;
+}
+
+bool AnnotationManager::isAnimating() {
+    std::lock_guard<std::mutex> lock(mutex);
+    return !symbolAnimations.empty() || !settlingSymbols.empty();
+}
+
+optional<Point<double>> AnnotationManager::animatedPosition(const AnnotationID& id, TimePoint timePoint) const {
+    for (const auto& animation : symbolAnimations) {
+        auto it = animation.symbols.find(id);
+        if (it != animation.symbols.end()) {
+            return interpolatePosition(it->second, animationProgress(animation.start, animation.duration, timePoint));
+        }
+    }
+    return {};
+}
+
+void AnnotationManager::stopAnimation(const AnnotationID& id) {
+    for (auto& animation : symbolAnimations) {
+        auto it = animation.symbols.find(id);
+        if (it != animation.symbols.end()) {
+            markDirty(pathBounds(it->second.first, it->second.second));
+            animation.symbols.erase(it);
+            animation.interrupted = true;
+        }
+    }
+    settlingSymbols.erase(id);
+}
+
+void AnnotationManager::callFinishedAnimationCallbacks() {
+    std::vector<std::pair<std::function<void (bool)>, bool>> callbacks;
+    {
+        std::lock_guard<std::mutex> lock(mutex);
+        callbacks.swap(finishedAnimationCallbacks);
+    }
+
+    // Callbacks are called without holding the lock, they may update annotations.
+    for (auto& callback : callbacks) {
+        callback.first(callback.second);
+    }
+}
+
 void AnnotationManager::removeAnnotation(const AnnotationID& id) {
     std::lock_guard<std::mutex> lock(mutex);
+    stopAnimation(id);
     remove(id);
 }
 
@@ -46,18 +298,31 @@ void AnnotationManager::add(const AnnotationID& id, const SymbolAnnotation& anno
     auto impl = std::make_shared<SymbolAnnotationImpl>(id, annotation);
     symbolTree.insert(impl);
     symbolAnnotations.emplace(id, impl);
+    markDirty(LatLngBounds::singleton({ annotation.geometry.y, annotation.geometry.x }));
 }
 
 void AnnotationManager::add(const AnnotationID& id, const LineAnnotation& annotation, const uint8_t maxZoom) {
     ShapeAnnotationImpl& impl = *shapeAnnotations.emplace(id,
         std::make_unique<LineAnnotationImpl>(id, annotation, maxZoom)).first->second;
+    ++shapeAnnotationLayers[impl.layerID];
     obsoleteShapeAnnotationLayers.erase(impl.layerID);
+    impl.bounds = shapeBounds(impl.geometry());
+    if (impl.bounds) {
+        shapeTree.insert({ *impl.bounds, id });
+        markDirty(*impl.bounds);
+    }
 }
 
 void AnnotationManager::add(const AnnotationID& id, const FillAnnotation& annotation, const uint8_t maxZoom) {
     ShapeAnnotationImpl& impl = *shapeAnnotations.emplace(id,
         std::make_unique<FillAnnotationImpl>(id, annotation, maxZoom)).first->second;
+    ++shapeAnnotationLayers[impl.layerID];
     obsoleteShapeAnnotationLayers.erase(impl.layerID);
+    impl.bounds = shapeBounds(impl.geometry());
+    if (impl.bounds) {
+        shapeTree.insert({ *impl.bounds, id });
+        markDirty(*impl.bounds);
+    }
 }
 
 Update AnnotationManager::update(const AnnotationID& id, const SymbolAnnotation& annotation, const uint8_t maxZoom) {
@@ -117,10 +382,22 @@ void AnnotationManager::removeAndAdd(const AnnotationID& id, const Annotation& a
 
 void AnnotationManager::remove(const AnnotationID& id) {
     if (symbolAnnotations.find(id) != symbolAnnotations.end()) {
+        const Point<double>& point = symbolAnnotations.at(id)->annotation.geometry;
+        markDirty(LatLngBounds::singleton({ point.y, point.x }));
         symbolTree.remove(symbolAnnotations.at(id));
         symbolAnnotations.erase(id);
     } else if (shapeAnnotations.find(id) != shapeAnnotations.end()) {
-        obsoleteShapeAnnotationLayers.insert(shapeAnnotations.at(id)->layerID);
+        const ShapeAnnotationImpl& impl = *shapeAnnotations.at(id);
+        if (impl.bounds) {
+            shapeTree.remove(std::make_pair(*impl.bounds, id));
+            markDirty(*impl.bounds);
+        }
+        // Layers are shared between shapes of the same style, so they only become
+        // obsolete once the last of them is removed.
+        if (--shapeAnnotationLayers[impl.layerID] == 0) {
+            shapeAnnotationLayers.erase(impl.layerID);
+            obsoleteShapeAnnotationLayers.insert(impl.layerID);
+        }
         shapeAnnotations.erase(id);
     } else {
         assert(false); // Should never happen
@@ -142,13 +419,61 @@ std::unique_ptr<AnnotationTileData> AnnotationManager::getTileData(const Canonic
             val->updateLayer(tileID, *pointLayer);
         }));
 
-    for (const auto& shape : shapeAnnotations) {
-        shape.second->updateTileData(tileID, *tileData);
+    // Animated symbols are also part of the tiles along their path, so that whichever tile
+    // they are in can draw them while they move.
+    for (const auto& animation : symbolAnimations) {
+        for (const auto& symbol : animation.symbols) {
+            const SymbolAnnotationImpl& impl = *symbolAnnotations.at(symbol.first);
+            const Point<double>& position = impl.annotation.geometry;
+            if (!tileBounds.contains(LatLng { position.y, position.x }) &&
+                boost::geometry::intersects(tileBounds, pathBounds(symbol.second.first, symbol.second.second))) {
+                impl.updateLayerInside(tileID, *pointLayer);
+            }
+        }
+    }
+
+    // Shapes are added in the order of their IDs, like the layers they belong to.
+    std::vector<AnnotationID> shapeIDs;
+    for (const auto& bounds : bufferedTileBounds(tileID)) {
+        shapeTree.query(boost::geometry::index::intersects(bounds),
+            boost::make_function_output_iterator([&](const auto& val){
+                shapeIDs.push_back(val.second);
+            }));
+    }
+    std::sort(shapeIDs.begin(), shapeIDs.end());
+    shapeIDs.erase(std::unique(shapeIDs.begin(), shapeIDs.end()), shapeIDs.end());
+
+    for (const auto& shapeID : shapeIDs) {
+        shapeAnnotations.at(shapeID)->updateTileData(tileID, *tileData);
     }
 
     return tileData;
 }
 
+void AnnotationManager::markDirty(const LatLngBounds& bounds) {
+    if (dirtyBounds.size() < maxDirtyBounds) {
+        dirtyBounds.push_back(bounds);
+        return;
+    }
+
+    LatLngBounds merged = bounds;
+    for (const auto& dirty : dirtyBounds) {
+        merged.extend(dirty);
+    }
+    dirtyBounds = { merged };
+}
+
+bool AnnotationManager::isDirty(const CanonicalTileID& tileID) const {
+    for (const auto& tileBounds : bufferedTileBounds(tileID)) {
+        for (const auto& dirty : dirtyBounds) {
+            if (boost::geometry::intersects(tileBounds, dirty)) {
+                return true;
+            }
+        }
+    }
+    return false;
+}
+
 void AnnotationManager::updateStyle(Style::Impl& style) {
     // Create annotation source, point layer, and point bucket. We do everything via Style::Impl
     // because we don't want annotation mutations to trigger Style::Impl::styleMutated to be set.
@@ -167,8 +492,11 @@ void AnnotationManager::updateStyle(Style::Impl& style) {
 
     std::lock_guard<std::mutex> lock(mutex);
 
+    std::unordered_set<std::string> updatedLayers;
     for (const auto& shape : shapeAnnotations) {
-        shape.second->updateStyle(style);
+        if (updatedLayers.insert(shape.second->layerID).second) {
+            shape.second->updateStyle(style);
+        }
     }
 
     for (const auto& image : images) {
@@ -199,9 +527,17 @@ void AnnotationManager::updateStyle(Style::Impl& style) {
 
 void AnnotationManager::updateData() {
     std::lock_guard<std::mutex> lock(mutex);
+    if (dirtyBounds.empty()) {
+        return;
+    }
+
     for (auto& tile : tiles) {
-        tile->setData(getTileData(tile->id.canonical));
+        if (isDirty(tile->id.canonical)) {
+            tile->setData(getTileData(tile->id.canonical));
+        }
     }
+    settlingDataUpdated = !settlingSymbols.empty();
+    dirtyBounds.clear();
 }
 
 void AnnotationManager::addTile(AnnotationTile& tile) {
@@ -6,7 +6,14 @@
 #include <mbgl/map/update.hpp>
 #include <mbgl/style/style.hpp>
 #include <mbgl/util/noncopyable.hpp>
-
+#include <mbgl/util/chrono.hpp>
+#include <mbgl/util/async_task.hpp>
+#include <mbgl/util/geo.hpp>
+#include <mbgl/util/optional.hpp>
+
+#include <functional>
+#include <list>
+#include <map>
 #include <mutex>
 #include <string>
 #include <vector>
@@ -28,6 +35,8 @@ public:
 
     AnnotationID addAnnotation(const Annotation&, const uint8_t maxZoom);
     Update updateAnnotation(const AnnotationID&, const Annotation&, const uint8_t maxZoom);
+    Update extendLineAnnotation(const AnnotationID&, const LineString<double>&);
+    Update animateSymbolAnnotations(const std::map<AnnotationID, Point<double>>&, Duration, std::function<void (bool)>);
     void removeAnnotation(const AnnotationID&);
 
     void addImage(std::unique_ptr<style::Image>);
@@ -37,6 +46,13 @@ public:
     void updateStyle(style::Style::Impl&);
     void updateData();
 
+    // Returns the position of each animated symbol at the given time. The tile data keeps
+    // animated symbols where they started, the renderer moves their icons to these positions
+    // instead. Animations that ended are written to the tile data, and their callbacks are
+    // posted to the run loop.
+    std::unordered_map<AnnotationID, LatLng> updateAnimations(TimePoint);
+    bool isAnimating();
+
     void addTile(AnnotationTile&);
     void removeTile(AnnotationTile&);
 
@@ -56,6 +72,13 @@ private:
 
     void remove(const AnnotationID&);
 
+    optional<Point<double>> animatedPosition(const AnnotationID&, TimePoint) const;
+    void stopAnimation(const AnnotationID&);
+    void callFinishedAnimationCallbacks();
+
+    void markDirty(const LatLngBounds&);
+    bool isDirty(const CanonicalTileID&) const;
+
     std::unique_ptr<AnnotationTileData> getTileData(const CanonicalTileID&);
 
     std::mutex mutex;
@@ -67,16 +90,41 @@ private:
     // <https://github.com/mapbox/mapbox-gl-native/issues/5691>
     using SymbolAnnotationMap = std::map<AnnotationID, std::shared_ptr<SymbolAnnotationImpl>>;
     using ShapeAnnotationMap = std::map<AnnotationID, std::unique_ptr<ShapeAnnotationImpl>>;
+    using ShapeAnnotationTree = boost::geometry::index::rtree<std::pair<LatLngBounds, AnnotationID>, boost::geometry::index::rstar<16, 4>>;
     using ImageMap = std::unordered_map<std::string, style::Image>;
 
     SymbolAnnotationTree symbolTree;
     SymbolAnnotationMap symbolAnnotations;
     ShapeAnnotationMap shapeAnnotations;
+    ShapeAnnotationTree shapeTree;
+    // Areas affected by annotation mutations since the last updateData call. Only
+    // tiles intersecting them are regenerated.
+    std::vector<LatLngBounds> dirtyBounds;
     ImageMap images;
+    // The amount of shapes in each shape annotation layer.
+    std::unordered_map<std::string, std::size_t> shapeAnnotationLayers;
     std::unordered_set<std::string> obsoleteShapeAnnotationLayers;
     std::unordered_set<std::string> obsoleteImages;
     std::unordered_set<AnnotationTile*> tiles;
 
+    struct SymbolAnimation {
+        // Start and end position of each animated symbol.
+        std::map<AnnotationID, std::pair<Point<double>, Point<double>>> symbols;
+        TimePoint start;
+        Duration duration;
+        std::function<void (bool)> callback;
+        bool interrupted = false;
+    };
+    std::list<SymbolAnimation> symbolAnimations;
+
+    // Destinations of symbols whose animation ended, until all tiles show them there. Tiles
+    // that weren't rebuilt yet still have the symbols at their start position.
+    std::unordered_map<AnnotationID, LatLng> settlingSymbols;
+    bool settlingDataUpdated = false;
+
+    std::vector<std::pair<std::function<void (bool)>, bool>> finishedAnimationCallbacks;
+    util::AsyncTask finishedAnimationTask;
+
     friend class AnnotationTile;
 };
 
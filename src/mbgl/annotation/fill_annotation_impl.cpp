@@ -8,7 +8,11 @@ namespace mbgl {
 using namespace style;
 
 FillAnnotationImpl::FillAnnotationImpl(AnnotationID id_, FillAnnotation annotation_, uint8_t maxZoom_)
-    : ShapeAnnotationImpl(id_, maxZoom_),
+    : ShapeAnnotationImpl(id_, maxZoom_, layerIDFor(id_, "fill", {
+          paintKey(annotation_.opacity),
+          paintKey(annotation_.color),
+          paintKey(annotation_.outlineColor)
+      })),
       annotation(ShapeAnnotationGeometry::visit(annotation_.geometry, CloseShapeAnnotation{}), annotation_.opacity, annotation_.color, annotation_.outlineColor) {
 }
 
@@ -8,7 +8,11 @@ namespace mbgl {
 using namespace style;
 
 LineAnnotationImpl::LineAnnotationImpl(AnnotationID id_, LineAnnotation annotation_, uint8_t maxZoom_)
-    : ShapeAnnotationImpl(id_, maxZoom_),
+    : ShapeAnnotationImpl(id_, maxZoom_, layerIDFor(id_, "line", {
+          paintKey(annotation_.opacity),
+          paintKey(annotation_.width),
+          paintKey(annotation_.color)
+      })),
       annotation(ShapeAnnotationGeometry::visit(annotation_.geometry, CloseShapeAnnotation{}), annotation_.opacity, annotation_.width, annotation_.color) {
 }
 
@@ -32,4 +36,43 @@ const ShapeAnnotationGeometry& LineAnnotationImpl::geometry() const {
     return annotation.geometry;
 }
 
+std::size_t LineAnnotationImpl::partCount() const {
+    return partOffsets.size();
+}
+
+ShapeAnnotationGeometry LineAnnotationImpl::part(std::size_t index) const {
+    if (partOffsets.size() == 1) {
+        return annotation.geometry;
+    }
+
+    const auto& line = annotation.geometry.get<LineString<double>>();
+    const auto begin = line.begin() + partOffsets[index];
+    const auto end = index + 1 < partOffsets.size() ? line.begin() + partOffsets[index + 1] + 1 : line.end();
+
+    LineString<double> result;
+    result.assign(begin, end);
+    return result;
+}
+
+bool LineAnnotationImpl::extend(const LineString<double>& points) {
+    // Points are appended to the last part until it reaches this size, a new
+    // part is started afterwards. This bounds the cost of tiling an extended
+    // line, regardless of its length.
+    static const std::size_t maxPartSize = 256;
+
+    if (!annotation.geometry.is<LineString<double>>()) {
+        return false;
+    }
+
+    auto& line = annotation.geometry.get<LineString<double>>();
+    if (line.size() - partOffsets.back() >= maxPartSize) {
+        partOffsets.push_back(line.size() - 1);
+    } else if (shapeTilers.size() == partOffsets.size()) {
+        shapeTilers.back().reset();
+    }
+
+    line.insert(line.end(), points.begin(), points.end());
+    return true;
+}
+
 } // namespace mbgl
@@ -12,8 +12,16 @@ public:
     void updateStyle(style::Style::Impl&) const final;
     const ShapeAnnotationGeometry& geometry() const final;
 
+    std::size_t partCount() const final;
+    ShapeAnnotationGeometry part(std::size_t) const final;
+    bool extend(const LineString<double>&) final;
+
 private:
-    const LineAnnotation annotation;
+    LineAnnotation annotation;
+
+    // Offsets of the first point of each part. Consecutive parts share a
+    // point, so that they are connected.
+    std::vector<std::size_t> partOffsets { 0 };
 };
 
 } // namespace mbgl
@@ -69,10 +69,30 @@ std::vector<Feature> RenderAnnotationSource::querySourceFeatures(const SourceQue
     return {};
 }
 
+std::vector<std::shared_ptr<const TileFeatureQuery>>
+RenderAnnotationSource::snapshotRenderedFeatures(const ScreenLineString& geometry,
+                                                 const TransformState& transformState,
+                                                 const RenderStyle& style,
+                                                 const RenderedQueryOptions& options) const {
+    return tilePyramid.snapshotRenderedFeatures(geometry, transformState, style, options);
+}
+
 void RenderAnnotationSource::onLowMemory() {
     tilePyramid.onLowMemory();
 }
 
+void RenderAnnotationSource::trimMemory(float fraction) {
+    tilePyramid.trimCache(fraction);
+}
+
+void RenderAnnotationSource::addTileMemoryUsage(util::TileMemoryUsage& usage) const {
+    tilePyramid.addMemoryUsage(usage);
+}
+
+void RenderAnnotationSource::addTilePrefetchStatistics(util::TilePrefetchStatistics& statistics) const {
+    tilePyramid.addPrefetchStatistics(statistics);
+}
+
 void RenderAnnotationSource::dumpDebugLogs() const {
     tilePyramid.dumpDebugLogs();
 }
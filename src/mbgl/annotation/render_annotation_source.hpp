@@ -32,7 +32,16 @@ public:
     std::vector<Feature>
     querySourceFeatures(const SourceQueryOptions&) const final;
 
+    std::vector<std::shared_ptr<const TileFeatureQuery>>
+    snapshotRenderedFeatures(const ScreenLineString& geometry,
+                             const TransformState& transformState,
+                             const RenderStyle& style,
+                             const RenderedQueryOptions& options) const final;
+
     void onLowMemory() final;
+    void trimMemory(float fraction) final;
+    void addTileMemoryUsage(util::TileMemoryUsage&) const final;
+    void addTilePrefetchStatistics(util::TilePrefetchStatistics&) const final;
     void dumpDebugLogs() const final;
 
 private:
@@ -12,48 +12,88 @@ namespace mbgl {
 using namespace style;
 namespace geojsonvt = mapbox::geojsonvt;
 
-ShapeAnnotationImpl::ShapeAnnotationImpl(const AnnotationID id_, const uint8_t maxZoom_)
+ShapeAnnotationImpl::ShapeAnnotationImpl(const AnnotationID id_, const uint8_t maxZoom_, std::string layerID_)
     : id(id_),
       maxZoom(maxZoom_),
-      layerID("com.mapbox.annotations.shape." + util::toString(id)) {
+      layerID(std::move(layerID_)) {
+}
+
+std::string ShapeAnnotationImpl::layerIDFor(const AnnotationID id_, const std::string& type,
+                                            std::initializer_list<optional<std::string>> paintKeys) {
+    std::string key;
+    for (const auto& paintKey_ : paintKeys) {
+        if (!paintKey_) {
+            return "com.mapbox.annotations.shape." + util::toString(id_);
+        }
+        key += "," + *paintKey_;
+    }
+    return "com.mapbox.annotations.shape." + type + key;
+}
+
+std::string ShapeAnnotationImpl::paintKey(float value) {
+    return util::toString(value);
+}
+
+std::string ShapeAnnotationImpl::paintKey(const Color& value) {
+    return value.stringify();
+}
+
+std::size_t ShapeAnnotationImpl::partCount() const {
+    return 1;
+}
+
+ShapeAnnotationGeometry ShapeAnnotationImpl::part(std::size_t) const {
+    return geometry();
+}
+
+bool ShapeAnnotationImpl::extend(const LineString<double>&) {
+    return false;
 }
 
 void ShapeAnnotationImpl::updateTileData(const CanonicalTileID& tileID, AnnotationTileData& data) {
     static const double baseTolerance = 4;
 
-    if (!shapeTiler) {
-        mapbox::geometry::feature_collection<double> features;
-        features.emplace_back(ShapeAnnotationGeometry::visit(geometry(), [] (auto&& geom) {
-            return Feature { std::move(geom) };
-        }));
-        mapbox::geojsonvt::Options options;
-        options.maxZoom = maxZoom;
-        options.buffer = 255u;
-        options.extent = util::EXTENT;
-        options.tolerance = baseTolerance;
-        shapeTiler = std::make_unique<mapbox::geojsonvt::GeoJSONVT>(features, options);
-    }
+    shapeTilers.resize(partCount());
 
-    const auto& shapeTile = shapeTiler->getTile(tileID.z, tileID.x, tileID.y);
-    if (shapeTile.features.empty())
-        return;
+    std::unique_ptr<AnnotationTileLayer> layer;
+    for (std::size_t i = 0; i < shapeTilers.size(); i++) {
+        auto& shapeTiler = shapeTilers[i];
+        if (!shapeTiler) {
+            mapbox::geometry::feature_collection<double> features;
+            features.emplace_back(ShapeAnnotationGeometry::visit(part(i), [] (auto&& geom) {
+                return Feature { std::move(geom) };
+            }));
+            mapbox::geojsonvt::Options options;
+            options.maxZoom = maxZoom;
+            options.buffer = tileBuffer;
+            options.extent = util::EXTENT;
+            options.tolerance = baseTolerance;
+            shapeTiler = std::make_unique<mapbox::geojsonvt::GeoJSONVT>(features, options);
+        }
 
-    auto layer = data.addLayer(layerID);
+        const auto& shapeTile = shapeTiler->getTile(tileID.z, tileID.x, tileID.y);
+        if (shapeTile.features.empty())
+            continue;
 
-    ToGeometryCollection toGeometryCollection;
-    ToFeatureType toFeatureType;
-    for (const auto& shapeFeature : shapeTile.features) {
-        FeatureType featureType = apply_visitor(toFeatureType, shapeFeature.geometry);
-        GeometryCollection renderGeometry = apply_visitor(toGeometryCollection, shapeFeature.geometry);
+        if (!layer) {
+            layer = data.addLayer(layerID);
+        }
 
-        assert(featureType != FeatureType::Unknown);
+        ToGeometryCollection toGeometryCollection;
+        ToFeatureType toFeatureType;
+        for (const auto& shapeFeature : shapeTile.features) {
+            FeatureType featureType = apply_visitor(toFeatureType, shapeFeature.geometry);
+            GeometryCollection renderGeometry = apply_visitor(toGeometryCollection, shapeFeature.geometry);
 
-        // https://github.com/mapbox/geojson-vt-cpp/issues/44
-        if (featureType == FeatureType::Polygon) {
-            renderGeometry = fixupPolygons(renderGeometry);
-        }
+            assert(featureType != FeatureType::Unknown);
 
-        layer->addFeature(id, featureType, renderGeometry);
+            // https://github.com/mapbox/geojson-vt-cpp/issues/44
+            if (featureType == FeatureType::Polygon) {
+                renderGeometry = fixupPolygons(renderGeometry);
+            }
+
+            layer->addFeature(id, featureType, renderGeometry);
+        }
     }
 }
 
@@ -4,10 +4,14 @@
 
 #include <mbgl/annotation/annotation.hpp>
 #include <mbgl/util/geometry.hpp>
+#include <mbgl/util/geo.hpp>
 #include <mbgl/style/style.hpp>
+#include <mbgl/util/optional.hpp>
 
+#include <initializer_list>
 #include <string>
 #include <memory>
+#include <vector>
 
 namespace mbgl {
 
@@ -16,18 +20,55 @@ class CanonicalTileID;
 
 class ShapeAnnotationImpl {
 public:
-    ShapeAnnotationImpl(const AnnotationID, const uint8_t maxZoom);
+    ShapeAnnotationImpl(const AnnotationID, const uint8_t maxZoom, std::string layerID);
     virtual ~ShapeAnnotationImpl() = default;
 
     virtual void updateStyle(style::Style::Impl&) const = 0;
     virtual const ShapeAnnotationGeometry& geometry() const = 0;
 
+    // Shapes are tiled in parts, so that extending a shape only requires the
+    // part that changed to be tiled again. By default, a shape has a single
+    // part that consists of its whole geometry.
+    virtual std::size_t partCount() const;
+    virtual ShapeAnnotationGeometry part(std::size_t) const;
+
+    // Appends points to the geometry. Returns false if the shape doesn't
+    // support being extended.
+    virtual bool extend(const LineString<double>&);
+
     void updateTileData(const CanonicalTileID&, AnnotationTileData&);
 
+    // Shapes are tiled with a buffer around each tile, in tile units, so they also
+    // show up in tiles they only come close to.
+    static constexpr uint16_t tileBuffer = 255;
+
     const AnnotationID id;
     const uint8_t maxZoom;
     const std::string layerID;
-    std::unique_ptr<mapbox::geojsonvt::GeoJSONVT> shapeTiler;
+    // The area covered by the geometry, as indexed by AnnotationManager. Kept up to date
+    // as the shape is extended, so it doesn't need to be computed from all points again.
+    optional<LatLngBounds> bounds;
+    // One tiler per part, created when a tile of the part is first requested.
+    std::vector<std::unique_ptr<mapbox::geojsonvt::GeoJSONVT>> shapeTilers;
+
+protected:
+    // Shapes of the same type whose paint properties are all constant share a
+    // layer, so that the amount of style layers scales with the distinct styles
+    // in use rather than with the amount of shapes. Shapes with property
+    // functions get a layer of their own.
+    static std::string layerIDFor(const AnnotationID, const std::string& type,
+                                  std::initializer_list<optional<std::string>> paintKeys);
+
+    template <class T>
+    static optional<std::string> paintKey(const style::DataDrivenPropertyValue<T>& value) {
+        return value.match(
+            [] (const style::Undefined&) -> optional<std::string> { return std::string(); },
+            [] (const T& constant) -> optional<std::string> { return paintKey(constant); },
+            [] (const auto&) -> optional<std::string> { return {}; });
+    }
+
+    static std::string paintKey(float);
+    static std::string paintKey(const Color&);
 };
 
 struct CloseShapeAnnotation {
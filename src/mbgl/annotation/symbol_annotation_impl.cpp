@@ -3,22 +3,39 @@
 #include <mbgl/tile/tile_id.hpp>
 #include <mbgl/math/clamp.hpp>
 #include <mbgl/util/tile_coordinate.hpp>
+#include <mbgl/util/constants.hpp>
 
 namespace mbgl {
 
+namespace {
+
+void addFeature(AnnotationTileLayer& layer, const AnnotationID id, const SymbolAnnotation& annotation,
+                const GeometryCoordinate& tilePoint) {
+    std::unordered_map<std::string, std::string> featureProperties;
+    featureProperties.emplace("sprite", annotation.icon.empty() ? std::string("default_marker") : annotation.icon);
+    layer.addFeature(id, FeatureType::Point, GeometryCollection {{ {{ tilePoint }} }}, featureProperties);
+}
+
+} // namespace
+
 SymbolAnnotationImpl::SymbolAnnotationImpl(AnnotationID id_, SymbolAnnotation annotation_)
 : id(id_),
   annotation(std::move(annotation_)) {
 }
 
 void SymbolAnnotationImpl::updateLayer(const CanonicalTileID& tileID, AnnotationTileLayer& layer) const {
-    std::unordered_map<std::string, std::string> featureProperties;
-    featureProperties.emplace("sprite", annotation.icon.empty() ? std::string("default_marker") : annotation.icon);
+    LatLng latLng { annotation.geometry.y, annotation.geometry.x };
+    TileCoordinate coordinate = TileCoordinate::fromLatLng(0, latLng);
+    addFeature(layer, id, annotation, TileCoordinate::toGeometryCoordinate(UnwrappedTileID(0, tileID), coordinate.p));
+}
 
+void SymbolAnnotationImpl::updateLayerInside(const CanonicalTileID& tileID, AnnotationTileLayer& layer) const {
     LatLng latLng { annotation.geometry.y, annotation.geometry.x };
     TileCoordinate coordinate = TileCoordinate::fromLatLng(0, latLng);
     GeometryCoordinate tilePoint = TileCoordinate::toGeometryCoordinate(UnwrappedTileID(0, tileID), coordinate.p);
-    layer.addFeature(id, FeatureType::Point, GeometryCollection {{ {{ tilePoint }} }}, featureProperties);
+    tilePoint.x = util::clamp<int16_t>(tilePoint.x, 0, util::EXTENT - 1);
+    tilePoint.y = util::clamp<int16_t>(tilePoint.y, 0, util::EXTENT - 1);
+    addFeature(layer, id, annotation, tilePoint);
 }
 
 } // namespace mbgl
@@ -40,6 +40,11 @@ public:
 
     void updateLayer(const CanonicalTileID&, AnnotationTileLayer&) const;
 
+    // Adds the symbol to a tile that it is animated through, but isn't in. Symbols outside of
+    // a tile aren't laid out, so it is added at the nearest point inside the tile instead; the
+    // renderer draws it at its animated position.
+    void updateLayerInside(const CanonicalTileID&, AnnotationTileLayer&) const;
+
     const AnnotationID id;
     const SymbolAnnotation annotation;
 };
@@ -53,10 +53,10 @@ static bool topDownSymbols(const IndexedSubfeature& a, const IndexedSubfeature&
     return a.sortIndex < b.sortIndex;
 }
 
-static int16_t getAdditionalQueryRadius(const RenderedQueryOptions& queryOptions,
-                                        const RenderStyle& style,
-                                        const GeometryTile& tile,
-                                        const float pixelsToTileUnits) {
+int16_t FeatureIndex::getAdditionalQueryRadius(const RenderedQueryOptions& queryOptions,
+                                               const RenderStyle& style,
+                                               const GeometryTile& tile,
+                                               const float pixelsToTileUnits) {
 
     // Determine the additional radius needed factoring in property functions
     float additionalRadius = 0;
@@ -92,13 +92,11 @@ void FeatureIndex::query(
         const RenderedQueryOptions& queryOptions,
         const GeometryTileData& geometryTileData,
         const CanonicalTileID& tileID,
-        const RenderStyle& style,
+        const RenderLayerLookup& getRenderLayer,
         const CollisionTile* collisionTile,
-        const GeometryTile& tile) const {
+        const int16_t additionalRadius) const {
 
-    // Determine query radius
     const float pixelsToTileUnits = util::EXTENT / tileSize / scale;
-    const int16_t additionalRadius = getAdditionalQueryRadius(queryOptions, style, tile, pixelsToTileUnits);
 
     // Query the grid index
     mapbox::geometry::box<int16_t> box = mapbox::geometry::envelope(queryGeometry);
@@ -113,7 +111,7 @@ void FeatureIndex::query(
         if (indexedFeature.sortIndex == previousSortIndex) continue;
         previousSortIndex = indexedFeature.sortIndex;
 
-        addFeature(result, indexedFeature, queryGeometry, queryOptions, geometryTileData, tileID, style, bearing, pixelsToTileUnits);
+        addFeature(result, indexedFeature, queryGeometry, queryOptions, geometryTileData, tileID, getRenderLayer, bearing, pixelsToTileUnits);
     }
 
     // Query symbol features, if they've been placed.
@@ -124,7 +122,7 @@ void FeatureIndex::query(
     std::vector<IndexedSubfeature> symbolFeatures = collisionTile->queryRenderedSymbols(queryGeometry, scale);
     std::sort(symbolFeatures.begin(), symbolFeatures.end(), topDownSymbols);
     for (const auto& symbolFeature : symbolFeatures) {
-        addFeature(result, symbolFeature, queryGeometry, queryOptions, geometryTileData, tileID, style, bearing, pixelsToTileUnits);
+        addFeature(result, symbolFeature, queryGeometry, queryOptions, geometryTileData, tileID, getRenderLayer, bearing, pixelsToTileUnits);
     }
 }
 
@@ -135,7 +133,7 @@ void FeatureIndex::addFeature(
     const RenderedQueryOptions& options,
     const GeometryTileData& geometryTileData,
     const CanonicalTileID& tileID,
-    const RenderStyle& style,
+    const RenderLayerLookup& getRenderLayer,
     const float bearing,
     const float pixelsToTileUnits) const {
 
@@ -155,7 +153,7 @@ void FeatureIndex::addFeature(
             continue;
         }
 
-        auto renderLayer = style.getRenderLayer(layerID);
+        auto renderLayer = getRenderLayer(layerID);
         if (!renderLayer ||
             (!renderLayer->is<RenderSymbolLayer>() &&
              !renderLayer->queryIntersectsFeature(queryGeometry, *geometryTileFeature, tileID.z, bearing, pixelsToTileUnits))) {
@@ -5,6 +5,7 @@
 #include <mbgl/util/grid_index.hpp>
 #include <mbgl/util/feature.hpp>
 
+#include <functional>
 #include <vector>
 #include <string>
 #include <unordered_map>
@@ -14,6 +15,7 @@ namespace mbgl {
 class GeometryTile;
 class RenderedQueryOptions;
 class RenderStyle;
+class RenderLayer;
 
 class CollisionTile;
 class CanonicalTileID;
@@ -31,6 +33,11 @@ class FeatureIndex {
 public:
     FeatureIndex();
 
+    // Resolves the layer ID of a bucket to the render layer whose evaluated paint properties are
+    // used to test for intersection. Queries executed off the render thread look the layers up in
+    // a snapshot instead of the live style.
+    using RenderLayerLookup = std::function<const RenderLayer*(const std::string&)>;
+
     void insert(const GeometryCollection&, std::size_t index, const std::string& sourceLayerName, const std::string& bucketName);
 
     void query(
@@ -42,9 +49,16 @@ public:
             const RenderedQueryOptions& options,
             const GeometryTileData&,
             const CanonicalTileID&,
-            const RenderStyle&,
+            const RenderLayerLookup&,
             const CollisionTile*,
-            const GeometryTile& tile) const;
+            const int16_t additionalRadius) const;
+
+    // The radius, in tile units, by which the query geometry must be extended to account for
+    // features drawn larger than their geometry, e.g. wide lines or large circles.
+    static int16_t getAdditionalQueryRadius(const RenderedQueryOptions&,
+                                            const RenderStyle&,
+                                            const GeometryTile&,
+                                            const float pixelsToTileUnits);
 
     static optional<GeometryCoordinates> translateQueryGeometry(
             const GeometryCoordinates& queryGeometry,
@@ -63,7 +77,7 @@ private:
             const RenderedQueryOptions& options,
             const GeometryTileData&,
             const CanonicalTileID&,
-            const RenderStyle&,
+            const RenderLayerLookup&,
             const float bearing,
             const float pixelsToTileUnits) const;
 
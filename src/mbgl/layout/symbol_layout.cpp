@@ -532,6 +532,7 @@ std::unique_ptr<SymbolBucket> SymbolLayout::place(CollisionTile& collisionTile)
                 const Range<float> sizeData = bucket->iconSizeBinder->getVertexSizeData(feature);
                 bucket->icon.placedSymbols.emplace_back(symbolInstance.anchor.point, symbolInstance.anchor.segment, sizeData.min, sizeData.max,
                         symbolInstance.iconOffset, placementZoom, false, symbolInstance.line);
+                bucket->icon.placedSymbols.back().featureID = feature.getID();
                 addSymbol(
                     bucket->icon, sizeData, *symbolInstance.iconQuad, placementZoom,
                     keepUpright, iconPlacement, symbolInstance.anchor, bucket->icon.placedSymbols.back());
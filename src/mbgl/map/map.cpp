@@ -13,6 +13,8 @@
 #include <mbgl/renderer/render_source.hpp>
 #include <mbgl/renderer/render_style.hpp>
 #include <mbgl/renderer/render_style_observer.hpp>
+#include <mbgl/renderer/render_feature_query_snapshot.hpp>
+#include <mbgl/tile/tile_feature_query.hpp>
 #include <mbgl/util/constants.hpp>
 #include <mbgl/util/exception.hpp>
 #include <mbgl/util/math.hpp>
@@ -95,6 +97,9 @@ public:
     bool cameraMutated = false;
 
     uint8_t prefetchZoomDelta = util::DEFAULT_PREFETCH_ZOOM_DELTA;
+    bool predictivePrefetch = false;
+    size_t tileCacheSize = 0;
+    size_t tileCacheByteSize = 0;
 
     bool loading = false;
 
@@ -221,6 +226,12 @@ void Map::Impl::render(View& view) {
         annotationManager.updateStyle(*style->impl);
     }
 
+    auto animatedAnnotations = annotationManager.updateAnimations(timePoint);
+    if (!animatedAnnotations.empty()) {
+        // Ended animations are written to the tile data.
+        updateFlags |= Update::AnnotationData;
+    }
+
     if (updateFlags & Update::AnnotationData) {
         annotationManager.updateData();
     }
@@ -250,7 +261,10 @@ void Map::Impl::render(View& view) {
         scheduler,
         fileSource,
         annotationManager,
-        prefetchZoomDelta
+        prefetchZoomDelta,
+        tileCacheSize,
+        tileCacheByteSize,
+        predictivePrefetch ? transform.getTransitionDestination() : optional<TransformState>()
     });
 
     bool loaded = style->impl->isLoaded() && renderStyle->isLoaded();
@@ -266,7 +280,8 @@ void Map::Impl::render(View& view) {
                               pixelRatio,
                               mode,
                               contextMode,
-                              debugOptions };
+                              debugOptions,
+                              std::move(animatedAnnotations) };
 
         backend.updateAssumedState();
 
@@ -293,7 +308,8 @@ void Map::Impl::render(View& view) {
 
         // Schedule an update if we need to paint another frame due to transitions or
         // animations that are still in progress
-        if (renderStyle->hasTransitions() || painter->needsAnimation() || transform.inTransition()) {
+        if (renderStyle->hasTransitions() || painter->needsAnimation() || transform.inTransition() ||
+            annotationManager.isAnimating()) {
             onUpdate(Update::Repaint);
         }
     } else if (stillImageRequest && loaded) {
@@ -301,7 +317,8 @@ void Map::Impl::render(View& view) {
                               pixelRatio,
                               mode,
                               contextMode,
-                              debugOptions };
+                              debugOptions,
+                              std::move(animatedAnnotations) };
 
         backend.updateAssumedState();
 
@@ -730,6 +747,16 @@ void Map::updateAnnotation(AnnotationID id, const Annotation& annotation) {
     impl->onUpdate(impl->annotationManager.updateAnnotation(id, annotation, getMaxZoom()));
 }
 
+void Map::extendLineAnnotation(AnnotationID id, const LineString<double>& points) {
+    impl->onUpdate(impl->annotationManager.extendLineAnnotation(id, points));
+}
+
+void Map::animateSymbolAnnotations(const std::map<AnnotationID, Point<double>>& destinations,
+                                   Duration duration,
+                                   std::function<void (bool)> callback) {
+    impl->onUpdate(impl->annotationManager.animateSymbolAnnotations(destinations, duration, std::move(callback)));
+}
+
 void Map::removeAnnotation(AnnotationID annotation) {
     impl->annotationManager.removeAnnotation(annotation);
     impl->onUpdate(Update::AnnotationStyle | Update::AnnotationData);
@@ -772,6 +799,50 @@ std::vector<Feature> Map::querySourceFeatures(const std::string& sourceID, const
     return source->querySourceFeatures(options);
 }
 
+std::unique_ptr<FeatureQuerySnapshot> Map::snapshotRenderedFeatures(const ScreenCoordinate& point, const RenderedQueryOptions& options) {
+    if (!impl->renderStyle) {
+        return std::make_unique<RenderedFeatureQuerySnapshot>(
+            std::vector<std::shared_ptr<const TileFeatureQuery>>(), std::vector<std::unique_ptr<RenderLayer>>(), options);
+    }
+
+    return impl->renderStyle->snapshotRenderedFeatures(
+        { point },
+        impl->transform.getState(),
+        options
+    );
+}
+
+std::unique_ptr<FeatureQuerySnapshot> Map::snapshotRenderedFeatures(const ScreenBox& box, const RenderedQueryOptions& options) {
+    if (!impl->renderStyle) {
+        return std::make_unique<RenderedFeatureQuerySnapshot>(
+            std::vector<std::shared_ptr<const TileFeatureQuery>>(), std::vector<std::unique_ptr<RenderLayer>>(), options);
+    }
+
+    return impl->renderStyle->snapshotRenderedFeatures(
+        {
+            box.min,
+            { box.max.x, box.min.y },
+            box.max,
+            { box.min.x, box.max.y },
+            box.min
+        },
+        impl->transform.getState(),
+        options
+    );
+}
+
+std::unique_ptr<FeatureQuerySnapshot> Map::snapshotSourceFeatures(const std::string& sourceID, const SourceQueryOptions& options) {
+    std::vector<std::shared_ptr<const TileSourceFeatureQuery>> tiles;
+
+    if (impl->renderStyle) {
+        if (const RenderSource* source = impl->renderStyle->getRenderSource(sourceID)) {
+            tiles = source->snapshotSourceFeatures();
+        }
+    }
+
+    return std::make_unique<SourceFeatureQuerySnapshot>(std::move(tiles), options);
+}
+
 AnnotationIDs Map::queryPointAnnotations(const ScreenBox& box) {
     RenderedQueryOptions options;
     options.layerIDs = {{ AnnotationManager::PointLayerID }};
@@ -836,6 +907,59 @@ uint8_t Map::getPrefetchZoomDelta() const {
     return impl->prefetchZoomDelta;
 }
 
+void Map::setPredictivePrefetchEnabled(bool enabled) {
+    impl->predictivePrefetch = enabled;
+}
+
+bool Map::isPredictivePrefetchEnabled() const {
+    return impl->predictivePrefetch;
+}
+
+util::TilePrefetchStatistics Map::getTilePrefetchStatistics() const {
+    if (impl->renderStyle) {
+        return impl->renderStyle->getTilePrefetchStatistics();
+    }
+    return {};
+}
+
+void Map::setMaximumTileCacheSize(size_t tiles) {
+    impl->tileCacheSize = tiles;
+    impl->onUpdate(Update::Repaint);
+}
+
+size_t Map::getMaximumTileCacheSize() const {
+    return impl->tileCacheSize;
+}
+
+void Map::setMaximumTileCacheByteSize(size_t bytes) {
+    impl->tileCacheByteSize = bytes;
+    impl->onUpdate(Update::Repaint);
+}
+
+size_t Map::getMaximumTileCacheByteSize() const {
+    return impl->tileCacheByteSize;
+}
+
+void Map::trimMemory(float fraction) {
+    if (impl->renderStyle) {
+        impl->renderStyle->trimMemory(fraction);
+    }
+}
+
+util::TileMemoryUsage Map::getTileMemoryUsage() const {
+    if (impl->renderStyle) {
+        return impl->renderStyle->getTileMemoryUsage();
+    }
+    return {};
+}
+
+util::TileStatistics Map::getTileStatistics() const {
+    if (impl->renderStyle) {
+        return impl->renderStyle->getTileStatistics();
+    }
+    return {};
+}
+
 void Map::onLowMemory() {
     if (impl->painter) {
         BackendScope guard(impl->backend);
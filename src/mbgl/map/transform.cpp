@@ -135,6 +135,14 @@ void Transform::easeTo(const CameraOptions& camera, const AnimationOptions& anim
     state.scaling = scale != startScale;
     state.rotating = angle != startAngle;
 
+    TransformState destination = state;
+    destination.setLatLngZoom(latLng, zoom);
+    destination.angle = util::wrap(angle, -M_PI, M_PI);
+    destination.pitch = pitch;
+    if (!padding.isFlush()) {
+        destination.moveLatLng(latLng, center);
+    }
+
     startTransition(camera, animation, [=](double t) {
         Point<double> framePoint = util::interpolate(startPoint, endPoint, t);
         LatLng frameLatLng = Projection::unproject(framePoint, startScale);
@@ -151,7 +159,7 @@ void Transform::easeTo(const CameraOptions& camera, const AnimationOptions& anim
         if (!padding.isFlush()) {
             state.moveLatLng(frameLatLng, center);
         }
-    }, duration);
+    }, duration, destination);
 }
 
 /** This method implements an “optimal path” animation, as detailed in:
@@ -283,6 +291,14 @@ void Transform::flyTo(const CameraOptions &camera, const AnimationOptions &anima
     state.scaling = true;
     state.rotating = angle != startAngle;
 
+    TransformState destination = state;
+    destination.setLatLngZoom(latLng, zoom);
+    destination.angle = util::wrap(angle, -M_PI, M_PI);
+    destination.pitch = pitch;
+    if (!padding.isFlush()) {
+        destination.moveLatLng(latLng, center);
+    }
+
     startTransition(camera, animation, [=](double k) {
         /// s: The distance traveled along the flight path, measured in
         /// ρ-screenfuls.
@@ -312,7 +328,7 @@ void Transform::flyTo(const CameraOptions &camera, const AnimationOptions &anima
         if (!padding.isFlush()) {
             state.moveLatLng(frameLatLng, center);
         }
-    }, duration);
+    }, duration, destination);
 }
 
 #pragma mark - Position
@@ -533,7 +549,8 @@ ViewportMode Transform::getViewportMode() const {
 void Transform::startTransition(const CameraOptions& camera,
                                 const AnimationOptions& animation,
                                 std::function<void(double)> frame,
-                                const Duration& duration) {
+                                const Duration& duration,
+                                TransformState destination) {
     if (transitionFinishFn) {
         transitionFinishFn();
     }
@@ -547,6 +564,11 @@ void Transform::startTransition(const CameraOptions& camera,
     if (anchor) {
         anchor->y = state.size.height - anchor->y;
         anchorLatLng = state.screenCoordinateToLatLng(*anchor);
+        destination.moveLatLng(anchorLatLng, *anchor);
+    }
+
+    if (isAnimated) {
+        transitionDestination = destination;
     }
 
     transitionStart = Clock::now();
@@ -580,6 +602,7 @@ void Transform::startTransition(const CameraOptions& camera,
     };
 
     transitionFinishFn = [isAnimated, animation, this] {
+        transitionDestination = {};
         state.panning = false;
         state.scaling = false;
         state.rotating = false;
@@ -611,6 +634,7 @@ void Transform::cancelTransitions() {
 
     transitionFrameFn = nullptr;
     transitionFinishFn = nullptr;
+    transitionDestination = {};
 }
 
 void Transform::setGestureInProgress(bool inProgress) {
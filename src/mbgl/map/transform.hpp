@@ -132,6 +132,10 @@ public:
     Duration getTransitionDuration() const { return transitionDuration; }
     void cancelTransitions();
 
+    /** Returns the state the camera is going to have at the end of the animated
+        transition that is in progress, if any. */
+    const optional<TransformState>& getTransitionDestination() const { return transitionDestination; }
+
     // Gesture
     void setGestureInProgress(bool);
     bool isGestureInProgress() const { return state.isGestureInProgress(); }
@@ -153,10 +157,12 @@ private:
     void startTransition(const CameraOptions&,
                          const AnimationOptions&,
                          std::function<void(double)>,
-                         const Duration&);
+                         const Duration&,
+                         TransformState destination);
 
     TimePoint transitionStart;
     Duration transitionDuration;
+    optional<TransformState> transitionDestination;
     std::function<void(const TimePoint)> transitionFrameFn;
     std::function<void()> transitionFinishFn;
 };
@@ -44,6 +44,10 @@ public:
 
     virtual bool hasData() const = 0;
 
+    // Approximate amount of memory, in bytes, held by the geometry and images
+    // of this bucket. Uploaded data is retained, GPU copies aren't counted.
+    virtual std::size_t getByteSize() const = 0;
+
     virtual float getQueryRadius(const RenderLayer&) const {
         return 0;
     };
@@ -63,4 +63,12 @@ bool RasterBucket::hasData() const {
     return !!image;
 }
 
+std::size_t RasterBucket::getByteSize() const {
+    std::size_t size = vertices.byteSize() + indices.byteSize();
+    if (image) {
+        size += image->bytes();
+    }
+    return size;
+}
+
 } // namespace mbgl
@@ -72,6 +72,13 @@ bool SymbolBucket::hasData() const {
     return hasTextData() || hasIconData() || hasCollisionBoxData();
 }
 
+std::size_t SymbolBucket::getByteSize() const {
+    return text.vertices.byteSize() + text.dynamicVertices.byteSize() + text.triangles.byteSize() +
+        icon.vertices.byteSize() + icon.dynamicVertices.byteSize() + icon.triangles.byteSize() +
+        icon.atlasImage.bytes() +
+        collisionBox.vertices.byteSize() + collisionBox.lines.byteSize();
+}
+
 bool SymbolBucket::hasTextData() const {
     return !text.segments.empty();
 }
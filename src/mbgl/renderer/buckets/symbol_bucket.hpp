@@ -30,6 +30,8 @@ public:
     bool useVerticalMode;
     GeometryCoordinates line;
     std::vector<float> glyphOffsets;
+    // Set for icons, so that the icons of animated annotations can be moved at render time.
+    optional<FeatureIdentifier> featureID;
 };
 
 class SymbolBucket : public Bucket {
@@ -45,6 +47,7 @@ public:
     void upload(gl::Context&) override;
     void render(Painter&, PaintParameters&, const RenderLayer&, const RenderTile&) override;
     bool hasData() const override;
+    std::size_t getByteSize() const override;
     bool hasTextData() const;
     bool hasIconData() const;
     bool hasCollisionBoxData() const;
@@ -20,6 +20,12 @@ std::unique_ptr<Bucket> RenderCircleLayer::createBucket(const BucketParameters&
     return std::make_unique<CircleBucket>(parameters, layers);
 }
 
+std::unique_ptr<RenderLayer> RenderCircleLayer::cloneForQuery() const {
+    auto clone = std::make_unique<RenderCircleLayer>(*this);
+    clone->renderTiles.clear();
+    return std::move(clone);
+}
+
 void RenderCircleLayer::transition(const TransitionParameters& parameters) {
     unevaluated = impl().paint.transitioned(parameters, std::move(unevaluated));
 }
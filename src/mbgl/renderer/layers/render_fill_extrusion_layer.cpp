@@ -20,6 +20,12 @@ std::unique_ptr<Bucket> RenderFillExtrusionLayer::createBucket(const BucketParam
     return std::make_unique<FillExtrusionBucket>(parameters, layers);
 }
 
+std::unique_ptr<RenderLayer> RenderFillExtrusionLayer::cloneForQuery() const {
+    auto clone = std::make_unique<RenderFillExtrusionLayer>(*this);
+    clone->renderTiles.clear();
+    return std::move(clone);
+}
+
 void RenderFillExtrusionLayer::transition(const TransitionParameters& parameters) {
     unevaluated = impl().paint.transitioned(parameters, std::move(unevaluated));
 }
@@ -23,6 +23,7 @@ public:
         const float) const override;
 
     std::unique_ptr<Bucket> createBucket(const BucketParameters&, const std::vector<const RenderLayer*>&) const override;
+    std::unique_ptr<RenderLayer> cloneForQuery() const override;
 
     // Paint properties
     style::FillExtrusionPaintProperties::Unevaluated unevaluated;
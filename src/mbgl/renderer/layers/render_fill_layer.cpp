@@ -20,6 +20,12 @@ std::unique_ptr<Bucket> RenderFillLayer::createBucket(const BucketParameters& pa
     return std::make_unique<FillBucket>(parameters, layers);
 }
 
+std::unique_ptr<RenderLayer> RenderFillLayer::cloneForQuery() const {
+    auto clone = std::make_unique<RenderFillLayer>(*this);
+    clone->renderTiles.clear();
+    return std::move(clone);
+}
+
 void RenderFillLayer::transition(const TransitionParameters& parameters) {
     unevaluated = impl().paint.transitioned(parameters, std::move(unevaluated));
 }
@@ -20,6 +20,12 @@ std::unique_ptr<Bucket> RenderLineLayer::createBucket(const BucketParameters& pa
     return std::make_unique<LineBucket>(parameters, layers, impl().layout);
 }
 
+std::unique_ptr<RenderLayer> RenderLineLayer::cloneForQuery() const {
+    auto clone = std::make_unique<RenderLineLayer>(*this);
+    clone->renderTiles.clear();
+    return std::move(clone);
+}
+
 void RenderLineLayer::transition(const TransitionParameters& parameters) {
     unevaluated = impl().paint.transitioned(parameters, std::move(unevaluated));
 }
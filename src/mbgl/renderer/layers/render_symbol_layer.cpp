@@ -22,6 +22,12 @@ std::unique_ptr<Bucket> RenderSymbolLayer::createBucket(const BucketParameters&,
     return nullptr;
 }
 
+std::unique_ptr<RenderLayer> RenderSymbolLayer::cloneForQuery() const {
+    auto clone = std::make_unique<RenderSymbolLayer>(*this);
+    clone->renderTiles.clear();
+    return std::move(clone);
+}
+
 std::unique_ptr<SymbolLayout> RenderSymbolLayer::createLayout(const BucketParameters& parameters,
                                                               const std::vector<const RenderLayer*>& group,
                                                               std::unique_ptr<GeometryTileLayer> layer,
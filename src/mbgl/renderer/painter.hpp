@@ -2,6 +2,8 @@
 
 #include <mbgl/map/transform_state.hpp>
 
+#include <mbgl/annotation/annotation.hpp>
+
 #include <mbgl/tile/tile_id.hpp>
 
 #include <mbgl/renderer/frame_history.hpp>
@@ -20,6 +22,7 @@
 #include <mbgl/util/chrono.hpp>
 #include <mbgl/util/constants.hpp>
 #include <mbgl/util/offscreen_texture.hpp>
+#include <mbgl/util/geo.hpp>
 
 #include <mbgl/algorithm/generate_clip_ids.hpp>
 
@@ -27,6 +30,7 @@
 #include <vector>
 #include <set>
 #include <map>
+#include <unordered_map>
 
 namespace mbgl {
 
@@ -66,6 +70,8 @@ struct FrameData {
     MapMode mapMode;
     GLContextMode contextMode;
     MapDebugOptions debugOptions;
+    // Positions of the symbol annotations that are animated in this frame.
+    std::unordered_map<AnnotationID, LatLng> animatedAnnotations;
 };
 
 class Painter : private util::noncopyable {
@@ -11,6 +11,8 @@
 #include <mbgl/util/math.hpp>
 #include <mbgl/tile/geometry_tile.hpp>
 #include <mbgl/layout/symbol_projection.hpp>
+#include <mbgl/annotation/annotation_manager.hpp>
+#include <mbgl/util/tile_coordinate.hpp>
 
 #include <cmath>
 
@@ -18,6 +20,44 @@ namespace mbgl {
 
 using namespace style;
 
+namespace {
+
+// Moves the icons of animated annotations to their position in this frame. Animated annotations
+// are part of all tiles along their path, only the tile they are currently in draws them.
+void moveAnimatedAnnotations(SymbolBucket::IconBuffer& icon,
+                             const RenderTile& tile,
+                             const std::unordered_map<AnnotationID, LatLng>& positions) {
+    // Hides icons at all zoom levels that vertices can encode.
+    constexpr float hiddenPlacementZoom = 25.5f;
+
+    icon.dynamicVertices.clear();
+    for (const auto& symbol : icon.placedSymbols) {
+        Point<float> anchor = symbol.anchorPoint;
+        float placementZoom = symbol.placementZoom;
+
+        auto it = symbol.featureID && symbol.featureID->is<uint64_t>()
+            ? positions.find(symbol.featureID->get<uint64_t>())
+            : positions.end();
+        if (it != positions.end()) {
+            const GeometryCoordinate point = TileCoordinate::toGeometryCoordinate(
+                tile.id, TileCoordinate::fromLatLng(0, it->second).p);
+            if (point.x >= 0 && point.x < util::EXTENT && point.y >= 0 && point.y < util::EXTENT) {
+                anchor = convertPoint<float>(point);
+            } else {
+                placementZoom = hiddenPlacementZoom;
+            }
+        }
+
+        // One quad per icon, see SymbolLayout::addSymbol.
+        const auto vertex = SymbolDynamicLayoutAttributes::vertex(anchor, 0, placementZoom);
+        for (int i = 0; i < 4; i++) {
+            icon.dynamicVertices.emplace_back(vertex);
+        }
+    }
+}
+
+} // namespace
+
 void Painter::renderSymbol(PaintParameters& parameters,
                            SymbolBucket& bucket,
                            const RenderSymbolLayer& layer,
@@ -78,6 +118,9 @@ void Painter::renderSymbol(PaintParameters& parameters,
         if (alongLine) {
             reprojectLineLabels(bucket.icon.dynamicVertices, bucket.icon.placedSymbols, tile.matrix, values, tile, *(bucket.iconSizeBinder), state, frameHistory);
             context.updateVertexBuffer(*bucket.icon.dynamicVertexBuffer, std::move(bucket.icon.dynamicVertices));
+        } else if (!frame.animatedAnnotations.empty() && layer.getID() == AnnotationManager::PointLayerID) {
+            moveAnimatedAnnotations(bucket.icon, tile, frame.animatedAnnotations);
+            context.updateVertexBuffer(*bucket.icon.dynamicVertexBuffer, std::move(bucket.icon.dynamicVertices));
         }
 
         const bool iconScaled = layout.get<IconSize>().constantOr(1.0) != 1.0 || bucket.iconsNeedLinear;
@@ -0,0 +1,69 @@
+#include <mbgl/renderer/render_feature_query_snapshot.hpp>
+#include <mbgl/renderer/render_layer.hpp>
+#include <mbgl/tile/tile_feature_query.hpp>
+
+namespace mbgl {
+
+RenderedFeatureQuerySnapshot::RenderedFeatureQuerySnapshot(std::vector<std::shared_ptr<const TileFeatureQuery>> tiles_,
+                                                           std::vector<std::unique_ptr<RenderLayer>> layers_,
+                                                           RenderedQueryOptions options_)
+    : tiles(std::move(tiles_)),
+      layers(std::move(layers_)),
+      options(std::move(options_)) {
+    for (const auto& layer : layers) {
+        layersByID.emplace(layer->getID(), layer.get());
+    }
+}
+
+RenderedFeatureQuerySnapshot::~RenderedFeatureQuerySnapshot() = default;
+
+std::vector<Feature> RenderedFeatureQuerySnapshot::execute() const {
+    std::vector<Feature> result;
+    if (tiles.empty() || layers.empty()) {
+        return result;
+    }
+
+    auto getRenderLayer = [&] (const std::string& layerID) -> const RenderLayer* {
+        auto it = layersByID.find(layerID);
+        return it != layersByID.end() ? it->second : nullptr;
+    };
+
+    std::unordered_map<std::string, std::vector<Feature>> resultsByLayer;
+    for (const auto& tile : tiles) {
+        if (isCanceled()) {
+            return {};
+        }
+        tile->query(resultsByLayer, options, getRenderLayer);
+    }
+
+    // Combine all results based on the style layer order.
+    for (const auto& layer : layers) {
+        auto it = resultsByLayer.find(layer->getID());
+        if (it != resultsByLayer.end()) {
+            std::move(it->second.begin(), it->second.end(), std::back_inserter(result));
+        }
+    }
+
+    return result;
+}
+
+SourceFeatureQuerySnapshot::SourceFeatureQuerySnapshot(std::vector<std::shared_ptr<const TileSourceFeatureQuery>> tiles_,
+                                                       SourceQueryOptions options_)
+    : tiles(std::move(tiles_)),
+      options(std::move(options_)) {
+}
+
+SourceFeatureQuerySnapshot::~SourceFeatureQuerySnapshot() = default;
+
+std::vector<Feature> SourceFeatureQuerySnapshot::execute() const {
+    std::vector<Feature> result;
+    for (const auto& tile : tiles) {
+        if (isCanceled()) {
+            return {};
+        }
+        tile->query(result, options);
+    }
+    return result;
+}
+
+} // namespace mbgl
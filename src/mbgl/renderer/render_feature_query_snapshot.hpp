@@ -0,0 +1,49 @@
+#pragma once
+
+#include <mbgl/map/feature_query_snapshot.hpp>
+#include <mbgl/map/query.hpp>
+
+#include <memory>
+#include <string>
+#include <unordered_map>
+#include <vector>
+
+namespace mbgl {
+
+class RenderLayer;
+class TileFeatureQuery;
+class TileSourceFeatureQuery;
+
+class RenderedFeatureQuerySnapshot final : public FeatureQuerySnapshot {
+public:
+    // The layers must be in the order the results are returned in, i.e. the style layer order,
+    // and only contain layers that were rendered when the snapshot was taken.
+    RenderedFeatureQuerySnapshot(std::vector<std::shared_ptr<const TileFeatureQuery>>,
+                                 std::vector<std::unique_ptr<RenderLayer>>,
+                                 RenderedQueryOptions);
+    ~RenderedFeatureQuerySnapshot() final;
+
+    std::vector<Feature> execute() const final;
+
+private:
+    const std::vector<std::shared_ptr<const TileFeatureQuery>> tiles;
+    const std::vector<std::unique_ptr<RenderLayer>> layers;
+    const RenderedQueryOptions options;
+
+    std::unordered_map<std::string, const RenderLayer*> layersByID;
+};
+
+class SourceFeatureQuerySnapshot final : public FeatureQuerySnapshot {
+public:
+    SourceFeatureQuerySnapshot(std::vector<std::shared_ptr<const TileSourceFeatureQuery>>,
+                               SourceQueryOptions);
+    ~SourceFeatureQuerySnapshot() final;
+
+    std::vector<Feature> execute() const final;
+
+private:
+    const std::vector<std::shared_ptr<const TileSourceFeatureQuery>> tiles;
+    const SourceQueryOptions options;
+};
+
+} // namespace mbgl
@@ -75,6 +75,11 @@ public:
 
     virtual std::unique_ptr<Bucket> createBucket(const BucketParameters&, const std::vector<const RenderLayer*>&) const = 0;
 
+    // Returns a copy of this layer with its current evaluated properties, which feature queries
+    // executed off the render thread test intersections against. Returns null for layers whose
+    // features can't be queried.
+    virtual std::unique_ptr<RenderLayer> cloneForQuery() const { return nullptr; }
+
     void setRenderTiles(std::vector<std::reference_wrapper<RenderTile>>);
     // Private implementation
     Immutable<style::Layer::Impl> baseImpl;
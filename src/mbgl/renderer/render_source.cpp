@@ -7,6 +7,7 @@
 #include <mbgl/annotation/render_annotation_source.hpp>
 #include <mbgl/renderer/sources/render_image_source.hpp>
 #include <mbgl/tile/tile.hpp>
+#include <mbgl/tile/tile_feature_query.hpp>
 
 namespace mbgl {
 
@@ -57,4 +58,17 @@ bool RenderSource::isEnabled() const {
     return enabled;
 }
 
+std::vector<std::shared_ptr<const TileFeatureQuery>>
+RenderSource::snapshotRenderedFeatures(const ScreenLineString&,
+                                       const TransformState&,
+                                       const RenderStyle&,
+                                       const RenderedQueryOptions&) const {
+    return {};
+}
+
+std::vector<std::shared_ptr<const TileSourceFeatureQuery>>
+RenderSource::snapshotSourceFeatures() const {
+    return {};
+}
+
 } // namespace mbgl
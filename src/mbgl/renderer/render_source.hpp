@@ -7,6 +7,7 @@
 #include <mbgl/util/feature.hpp>
 #include <mbgl/style/source_impl.hpp>
 #include <mbgl/style/layer_impl.hpp>
+#include <mbgl/util/tile_statistics.hpp>
 
 #include <unordered_map>
 #include <vector>
@@ -23,6 +24,8 @@ class RenderLayer;
 class RenderedQueryOptions;
 class SourceQueryOptions;
 class Tile;
+class TileFeatureQuery;
+class TileSourceFeatureQuery;
 class RenderSourceObserver;
 class TileParameters;
 
@@ -69,7 +72,22 @@ public:
     virtual std::vector<Feature>
     querySourceFeatures(const SourceQueryOptions&) const = 0;
 
+    // Captures the tile state the queries above run against, so they can be executed on another
+    // thread. Sources that don't support feature queries return nothing.
+    virtual std::vector<std::shared_ptr<const TileFeatureQuery>>
+    snapshotRenderedFeatures(const ScreenLineString& geometry,
+                             const TransformState& transformState,
+                             const RenderStyle& style,
+                             const RenderedQueryOptions& options) const;
+
+    virtual std::vector<std::shared_ptr<const TileSourceFeatureQuery>>
+    snapshotSourceFeatures() const;
+
     virtual void onLowMemory() = 0;
+    virtual void trimMemory(float fraction) = 0;
+
+    virtual void addTileMemoryUsage(util::TileMemoryUsage&) const = 0;
+    virtual void addTilePrefetchStatistics(util::TilePrefetchStatistics&) const = 0;
 
     virtual void dumpDebugLogs() const = 0;
 
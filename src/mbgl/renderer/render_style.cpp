@@ -7,6 +7,7 @@
 #include <mbgl/renderer/render_source.hpp>
 #include <mbgl/renderer/render_item.hpp>
 #include <mbgl/renderer/render_tile.hpp>
+#include <mbgl/renderer/render_feature_query_snapshot.hpp>
 #include <mbgl/renderer/layers/render_background_layer.hpp>
 #include <mbgl/renderer/layers/render_circle_layer.hpp>
 #include <mbgl/renderer/layers/render_custom_layer.hpp>
@@ -26,10 +27,13 @@
 #include <mbgl/map/backend_scope.hpp>
 #include <mbgl/map/query.hpp>
 #include <mbgl/tile/tile.hpp>
+#include <mbgl/tile/tile_feature_query.hpp>
 #include <mbgl/util/math.hpp>
 #include <mbgl/util/string.hpp>
 #include <mbgl/util/logging.hpp>
 
+#include <algorithm>
+
 namespace mbgl {
 
 using namespace style;
@@ -97,6 +101,26 @@ void RenderStyle::update(const UpdateParameters& parameters) {
         parameters.mode == MapMode::Continuous ? util::DEFAULT_TRANSITION_DURATION : Duration::zero()
     };
 
+    // The tile cache limits apply to the whole map, they are shared evenly by the
+    // tiled sources.
+    size_t tileCacheSize = parameters.tileCacheSize;
+    size_t tileCacheByteSize = parameters.tileCacheByteSize;
+    if (tileCacheSize || tileCacheByteSize) {
+        const size_t tiledSources = std::max<size_t>(
+            std::count_if(parameters.sources->begin(), parameters.sources->end(),
+                [] (const Immutable<style::Source::Impl>& source) {
+                    return source->type == SourceType::Vector
+                        || source->type == SourceType::Raster
+                        || source->type == SourceType::GeoJSON;
+                }), 1);
+        if (tileCacheSize) {
+            tileCacheSize = std::max<size_t>(tileCacheSize / tiledSources, 1);
+        }
+        if (tileCacheByteSize) {
+            tileCacheByteSize = std::max<size_t>(tileCacheByteSize / tiledSources, 1);
+        }
+    }
+
     const TileParameters tileParameters {
         parameters.pixelRatio,
         parameters.debugOptions,
@@ -107,7 +131,11 @@ void RenderStyle::update(const UpdateParameters& parameters) {
         parameters.annotationManager,
         *imageManager,
         *glyphManager,
-        parameters.prefetchZoomDelta
+        tileStatistics,
+        parameters.prefetchZoomDelta,
+        tileCacheSize,
+        tileCacheByteSize,
+        parameters.predictedTransformState ? &*parameters.predictedTransformState : nullptr
     };
 
     glyphManager->setURL(parameters.glyphURL);
@@ -372,10 +400,16 @@ RenderData RenderStyle::getRenderData(MapDebugOptions debugOptions, float angle)
     return result;
 }
 
-std::vector<Feature> RenderStyle::queryRenderedFeatures(const ScreenLineString& geometry,
-                                                  const TransformState& transformState,
-                                                  const RenderedQueryOptions& options) const {
-    std::unordered_map<std::string, std::vector<Feature>> resultsByLayer;
+std::vector<std::shared_ptr<const TileFeatureQuery>>
+RenderStyle::snapshotTiles(const ScreenLineString& geometry,
+                           const TransformState& transformState,
+                           const RenderedQueryOptions& options) const {
+    std::vector<std::shared_ptr<const TileFeatureQuery>> result;
+
+    auto addSource = [&] (const RenderSource& renderSource) {
+        auto sourceTiles = renderSource.snapshotRenderedFeatures(geometry, transformState, *this, options);
+        std::move(sourceTiles.begin(), sourceTiles.end(), std::back_inserter(result));
+    };
 
     if (options.layerIDs) {
         std::unordered_set<std::string> sourceIDs;
@@ -386,17 +420,31 @@ std::vector<Feature> RenderStyle::queryRenderedFeatures(const ScreenLineString&
         }
         for (const auto& sourceID : sourceIDs) {
             if (RenderSource* renderSource = getRenderSource(sourceID)) {
-                auto sourceResults = renderSource->queryRenderedFeatures(geometry, transformState, *this, options);
-                std::move(sourceResults.begin(), sourceResults.end(), std::inserter(resultsByLayer, resultsByLayer.begin()));
+                addSource(*renderSource);
             }
         }
     } else {
         for (const auto& entry : renderSources) {
-            auto sourceResults = entry.second->queryRenderedFeatures(geometry, transformState, *this, options);
-            std::move(sourceResults.begin(), sourceResults.end(), std::inserter(resultsByLayer, resultsByLayer.begin()));
+            addSource(*entry.second);
         }
     }
 
+    return result;
+}
+
+std::vector<Feature> RenderStyle::queryRenderedFeatures(const ScreenLineString& geometry,
+                                                  const TransformState& transformState,
+                                                  const RenderedQueryOptions& options) const {
+    std::unordered_map<std::string, std::vector<Feature>> resultsByLayer;
+
+    auto lookupRenderLayer = [&] (const std::string& layerID) {
+        return getRenderLayer(layerID);
+    };
+
+    for (const auto& tile : snapshotTiles(geometry, transformState, options)) {
+        tile->query(resultsByLayer, options, lookupRenderLayer);
+    }
+
     std::vector<Feature> result;
 
     if (resultsByLayer.empty()) {
@@ -418,12 +466,62 @@ std::vector<Feature> RenderStyle::queryRenderedFeatures(const ScreenLineString&
     return result;
 }
 
+std::unique_ptr<FeatureQuerySnapshot> RenderStyle::snapshotRenderedFeatures(const ScreenLineString& geometry,
+                                                                            const TransformState& transformState,
+                                                                            const RenderedQueryOptions& options) const {
+    // Copy the layers that contribute to the result, in the order the results are combined in.
+    std::vector<std::unique_ptr<RenderLayer>> layers;
+    for (const auto& layerImpl : *layerImpls) {
+        const RenderLayer* layer = getRenderLayer(layerImpl->id);
+        if (!layer->needsRendering(zoomHistory.lastZoom)) {
+            continue;
+        }
+        if (options.layerIDs &&
+            std::find(options.layerIDs->begin(), options.layerIDs->end(), layerImpl->id) == options.layerIDs->end()) {
+            continue;
+        }
+        if (auto clone = layer->cloneForQuery()) {
+            layers.push_back(std::move(clone));
+        }
+    }
+
+    return std::make_unique<RenderedFeatureQuerySnapshot>(snapshotTiles(geometry, transformState, options),
+                                                          std::move(layers),
+                                                          options);
+}
+
 void RenderStyle::onLowMemory() {
     for (const auto& entry : renderSources) {
         entry.second->onLowMemory();
     }
 }
 
+void RenderStyle::trimMemory(float fraction) {
+    for (const auto& entry : renderSources) {
+        entry.second->trimMemory(fraction);
+    }
+}
+
+util::TileMemoryUsage RenderStyle::getTileMemoryUsage() const {
+    util::TileMemoryUsage usage;
+    for (const auto& entry : renderSources) {
+        entry.second->addTileMemoryUsage(usage);
+    }
+    return usage;
+}
+
+util::TilePrefetchStatistics RenderStyle::getTilePrefetchStatistics() const {
+    util::TilePrefetchStatistics statistics;
+    for (const auto& entry : renderSources) {
+        entry.second->addTilePrefetchStatistics(statistics);
+    }
+    return statistics;
+}
+
+util::TileStatistics RenderStyle::getTileStatistics() const {
+    return tileStatistics.snapshot();
+}
+
 void RenderStyle::onGlyphsError(const FontStack& fontStack, const GlyphRange& glyphRange, std::exception_ptr error) {
     Log::Error(Event::Style, "Failed to load glyph range %d-%d for font stack %s: %s",
                glyphRange.first, glyphRange.second, fontStackToString(fontStack).c_str(), util::toString(error).c_str());
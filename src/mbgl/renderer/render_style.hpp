@@ -8,6 +8,7 @@
 #include <mbgl/text/glyph_manager_observer.hpp>
 #include <mbgl/map/zoom_history.hpp>
 #include <mbgl/map/mode.hpp>
+#include <mbgl/util/tile_statistics_counters.hpp>
 
 #include <memory>
 #include <string>
@@ -22,6 +23,8 @@ class LineAtlas;
 class RenderData;
 class TransformState;
 class RenderedQueryOptions;
+class FeatureQuerySnapshot;
+class TileFeatureQuery;
 class Scheduler;
 class UpdateParameters;
 class RenderStyleObserver;
@@ -59,7 +62,17 @@ public:
                                                const TransformState& transformState,
                                                const RenderedQueryOptions& options) const;
 
+    // Captures the state the query above runs against, so that it can be executed on another thread.
+    std::unique_ptr<FeatureQuerySnapshot> snapshotRenderedFeatures(const ScreenLineString& geometry,
+                                                                   const TransformState& transformState,
+                                                                   const RenderedQueryOptions& options) const;
+
     void onLowMemory();
+    void trimMemory(float fraction);
+
+    util::TileMemoryUsage getTileMemoryUsage() const;
+    util::TilePrefetchStatistics getTilePrefetchStatistics() const;
+    util::TileStatistics getTileStatistics() const;
 
     void dumpDebugLogs() const;
 
@@ -70,6 +83,9 @@ public:
     std::unique_ptr<LineAtlas> lineAtlas;
 
 private:
+    // Declared ahead of the render sources, their tiles count into it until destroyed.
+    util::TileStatisticsCounters tileStatistics;
+
     Immutable<std::vector<Immutable<style::Image::Impl>>> imageImpls;
     Immutable<std::vector<Immutable<style::Source::Impl>>> sourceImpls;
     Immutable<std::vector<Immutable<style::Layer::Impl>>> layerImpls;
@@ -85,6 +101,11 @@ private:
     void onTileChanged(RenderSource&, const OverscaledTileID&) override;
     void onTileError(RenderSource&, const OverscaledTileID&, std::exception_ptr) override;
 
+    // The tiles of the sources that have features in the queried layers.
+    std::vector<std::shared_ptr<const TileFeatureQuery>> snapshotTiles(const ScreenLineString& geometry,
+                                                                       const TransformState& transformState,
+                                                                       const RenderedQueryOptions& options) const;
+
     RenderStyleObserver* observer;
     ZoomHistory zoomHistory;
 };
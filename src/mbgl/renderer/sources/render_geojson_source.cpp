@@ -84,10 +84,35 @@ std::vector<Feature> RenderGeoJSONSource::querySourceFeatures(const SourceQueryO
     return tilePyramid.querySourceFeatures(options);
 }
 
+std::vector<std::shared_ptr<const TileFeatureQuery>>
+RenderGeoJSONSource::snapshotRenderedFeatures(const ScreenLineString& geometry,
+                                              const TransformState& transformState,
+                                              const RenderStyle& style,
+                                              const RenderedQueryOptions& options) const {
+    return tilePyramid.snapshotRenderedFeatures(geometry, transformState, style, options);
+}
+
+std::vector<std::shared_ptr<const TileSourceFeatureQuery>>
+RenderGeoJSONSource::snapshotSourceFeatures() const {
+    return tilePyramid.snapshotSourceFeatures();
+}
+
 void RenderGeoJSONSource::onLowMemory() {
     tilePyramid.onLowMemory();
 }
 
+void RenderGeoJSONSource::trimMemory(float fraction) {
+    tilePyramid.trimCache(fraction);
+}
+
+void RenderGeoJSONSource::addTileMemoryUsage(util::TileMemoryUsage& usage) const {
+    tilePyramid.addMemoryUsage(usage);
+}
+
+void RenderGeoJSONSource::addTilePrefetchStatistics(util::TilePrefetchStatistics& statistics) const {
+    tilePyramid.addPrefetchStatistics(statistics);
+}
+
 void RenderGeoJSONSource::dumpDebugLogs() const {
     tilePyramid.dumpDebugLogs();
 }
@@ -45,6 +45,12 @@ public:
 
     void onLowMemory() final {
     }
+    void trimMemory(float) final {
+    }
+    void addTileMemoryUsage(util::TileMemoryUsage&) const final {
+    }
+    void addTilePrefetchStatistics(util::TilePrefetchStatistics&) const final {
+    }
     void dumpDebugLogs() const final;
 
 private:
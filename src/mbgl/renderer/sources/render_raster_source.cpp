@@ -84,6 +84,18 @@ void RenderRasterSource::onLowMemory() {
     tilePyramid.onLowMemory();
 }
 
+void RenderRasterSource::trimMemory(float fraction) {
+    tilePyramid.trimCache(fraction);
+}
+
+void RenderRasterSource::addTileMemoryUsage(util::TileMemoryUsage& usage) const {
+    tilePyramid.addMemoryUsage(usage);
+}
+
+void RenderRasterSource::addTilePrefetchStatistics(util::TilePrefetchStatistics& statistics) const {
+    tilePyramid.addPrefetchStatistics(statistics);
+}
+
 void RenderRasterSource::dumpDebugLogs() const {
     tilePyramid.dumpDebugLogs();
 }
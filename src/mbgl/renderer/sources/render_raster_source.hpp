@@ -33,6 +33,9 @@ public:
     querySourceFeatures(const SourceQueryOptions&) const final;
 
     void onLowMemory() final;
+    void trimMemory(float fraction) final;
+    void addTileMemoryUsage(util::TileMemoryUsage&) const final;
+    void addTilePrefetchStatistics(util::TilePrefetchStatistics&) const final;
     void dumpDebugLogs() const final;
 
 private:
@@ -85,10 +85,35 @@ std::vector<Feature> RenderVectorSource::querySourceFeatures(const SourceQueryOp
     return tilePyramid.querySourceFeatures(options);
 }
 
+std::vector<std::shared_ptr<const TileFeatureQuery>>
+RenderVectorSource::snapshotRenderedFeatures(const ScreenLineString& geometry,
+                                             const TransformState& transformState,
+                                             const RenderStyle& style,
+                                             const RenderedQueryOptions& options) const {
+    return tilePyramid.snapshotRenderedFeatures(geometry, transformState, style, options);
+}
+
+std::vector<std::shared_ptr<const TileSourceFeatureQuery>>
+RenderVectorSource::snapshotSourceFeatures() const {
+    return tilePyramid.snapshotSourceFeatures();
+}
+
 void RenderVectorSource::onLowMemory() {
     tilePyramid.onLowMemory();
 }
 
+void RenderVectorSource::trimMemory(float fraction) {
+    tilePyramid.trimCache(fraction);
+}
+
+void RenderVectorSource::addTileMemoryUsage(util::TileMemoryUsage& usage) const {
+    tilePyramid.addMemoryUsage(usage);
+}
+
+void RenderVectorSource::addTilePrefetchStatistics(util::TilePrefetchStatistics& statistics) const {
+    tilePyramid.addPrefetchStatistics(statistics);
+}
+
 void RenderVectorSource::dumpDebugLogs() const {
     tilePyramid.dumpDebugLogs();
 }
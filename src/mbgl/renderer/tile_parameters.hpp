@@ -11,6 +11,10 @@ class AnnotationManager;
 class ImageManager;
 class GlyphManager;
 
+namespace util {
+class TileStatisticsCounters;
+} // namespace util
+
 class TileParameters {
 public:
     TileParameters(const float pixelRatio_,
@@ -22,7 +26,11 @@ public:
                    AnnotationManager& annotationManager_,
                    ImageManager& imageManager_,
                    GlyphManager& glyphManager_,
-                   const uint8_t prefetchZoomDelta_)
+                   util::TileStatisticsCounters& tileStatistics_,
+                   const uint8_t prefetchZoomDelta_,
+                   const size_t tileCacheSize_,
+                   const size_t tileCacheByteSize_,
+                   const TransformState* predictedTransformState_)
         : pixelRatio(pixelRatio_),
           debugOptions(debugOptions_),
           transformState(std::move(transformState_)),
@@ -32,7 +40,11 @@ public:
           annotationManager(annotationManager_),
           imageManager(imageManager_),
           glyphManager(glyphManager_),
-          prefetchZoomDelta(prefetchZoomDelta_) {}
+          tileStatistics(tileStatistics_),
+          prefetchZoomDelta(prefetchZoomDelta_),
+          tileCacheSize(tileCacheSize_),
+          tileCacheByteSize(tileCacheByteSize_),
+          predictedTransformState(predictedTransformState_) {}
 
     const float pixelRatio;
     const MapDebugOptions debugOptions;
@@ -43,7 +55,11 @@ public:
     AnnotationManager& annotationManager;
     ImageManager& imageManager;
     GlyphManager& glyphManager;
+    util::TileStatisticsCounters& tileStatistics;
     const uint8_t prefetchZoomDelta;
+    const size_t tileCacheSize;
+    const size_t tileCacheByteSize;
+    const TransformState* predictedTransformState;
 };
 
 } // namespace mbgl
@@ -3,6 +3,8 @@
 #include <mbgl/renderer/painter.hpp>
 #include <mbgl/renderer/render_source.hpp>
 #include <mbgl/renderer/tile_parameters.hpp>
+#include <mbgl/renderer/render_style.hpp>
+#include <mbgl/tile/tile_feature_query.hpp>
 #include <mbgl/map/transform.hpp>
 #include <mbgl/map/query.hpp>
 #include <mbgl/text/placement_config.hpp>
@@ -75,6 +77,7 @@ void TilePyramid::update(const std::vector<Immutable<style::Layer::Impl>>& layer
     if (!needsRendering) {
         if (!needsRelayout) {
             for (auto& entry : tiles) {
+                entry.second->setDeferred(true);
                 cache.add(entry.first, std::move(entry.second));
             }
         }
@@ -138,7 +141,9 @@ void TilePyramid::update(const std::vector<Immutable<style::Layer::Impl>>& layer
     };
     auto createTileFn = [&](const OverscaledTileID& tileID) -> Tile* {
         std::unique_ptr<Tile> tile = cache.get(tileID);
-        if (!tile) {
+        if (tile) {
+            tile->setDeferred(false);
+        } else {
             tile = createTile(tileID);
             if (tile) {
                 tile->setObserver(observer);
@@ -152,6 +157,9 @@ void TilePyramid::update(const std::vector<Immutable<style::Layer::Impl>>& layer
     };
     auto renderTileFn = [&](const UnwrappedTileID& tileID, Tile& tile) {
         renderTiles.emplace_back(tileID, tile);
+        if (prefetchedTiles.erase(tile.id)) {
+            prefetchStatistics.rendered++;
+        }
     };
 
     renderTiles.clear();
@@ -161,21 +169,82 @@ void TilePyramid::update(const std::vector<Immutable<style::Layer::Impl>>& layer
                 [](const UnwrappedTileID&, Tile&) {}, panTiles, zoomRange, panZoom);
     }
 
-    algorithm::updateRenderables(getTileFn, createTileFn, retainTileFn, renderTileFn,
+    // Tiles that are required for the current frame are parsed first, prefetched
+    // tiles and fallbacks that are only used while loading come after.
+    std::set<OverscaledTileID> urgent;
+    auto retainIdealTileFn = [&](Tile& tile, Resource::Necessity necessity) -> void {
+        if (necessity == Resource::Necessity::Required) {
+            urgent.emplace(tile.id);
+        }
+        retainTileFn(tile, necessity);
+    };
+
+    algorithm::updateRenderables(getTileFn, createTileFn, retainIdealTileFn, renderTileFn,
                                  idealTiles, zoomRange, tileZoom);
 
+    // While the camera is moving towards a known destination, load the tiles for the destination
+    // ahead of time. They aren't rendered yet and their requests yield to those of the tiles
+    // needed for the current frame.
+    std::set<OverscaledTileID> predicted;
+    if (parameters.predictedTransformState && type != SourceType::Annotations) {
+        const TransformState& predictedState = *parameters.predictedTransformState;
+        int32_t predictedZoom = util::coveringZoomLevel(predictedState.getZoom(), type, tileSize);
+        if (predictedZoom >= zoomRange.min) {
+            int32_t predictedIdealZoom = std::min<int32_t>(zoomRange.max, predictedZoom);
+            if (type == SourceType::Raster) {
+                predictedZoom = predictedIdealZoom;
+            }
+
+            for (const auto& tileID : util::tileCover(predictedState, predictedIdealZoom)) {
+                const OverscaledTileID dataTileID(predictedZoom, tileID.wrap, tileID.canonical);
+                Tile* tile = getTileFn(dataTileID);
+                if (!tile) {
+                    const bool cached = cache.has(dataTileID);
+                    tile = createTileFn(dataTileID);
+                    if (tile && !cached) {
+                        prefetchedTiles.emplace(dataTileID);
+                        prefetchStatistics.prefetched++;
+                    }
+                }
+                if (tile && !retain.count(dataTileID)) {
+                    predicted.emplace(dataTileID);
+                    retainTileFn(*tile, Resource::Necessity::Required);
+                }
+            }
+        }
+    }
+
     if (type != SourceType::Annotations) {
-        size_t conservativeCacheSize =
-            std::max((float)parameters.transformState.getSize().width / tileSize, 1.0f) *
-            std::max((float)parameters.transformState.getSize().height / tileSize, 1.0f) *
-            (parameters.transformState.getMaxZoom() - parameters.transformState.getMinZoom() + 1) *
-            0.5;
-        cache.setSize(conservativeCacheSize);
+        if (parameters.tileCacheSize) {
+            cache.setSize(parameters.tileCacheSize);
+        } else {
+            size_t conservativeCacheSize =
+                std::max((float)parameters.transformState.getSize().width / tileSize, 1.0f) *
+                std::max((float)parameters.transformState.getSize().height / tileSize, 1.0f) *
+                (parameters.transformState.getMaxZoom() - parameters.transformState.getMinZoom() + 1) *
+                0.5;
+            cache.setSize(conservativeCacheSize);
+        }
+        if (cache.getByteSize() != parameters.tileCacheByteSize) {
+            cache.setByteSize(parameters.tileCacheByteSize);
+        }
     }
 
     removeStaleTiles(retain);
 
+    // Forget about prefetched tiles that were discarded before they were rendered.
+    for (auto it = prefetchedTiles.begin(); it != prefetchedTiles.end();) {
+        if (tiles.count(*it) || cache.has(*it)) {
+            ++it;
+        } else {
+            it = prefetchedTiles.erase(it);
+        }
+    }
+
     for (auto& pair : tiles) {
+        pair.second->setPriority(urgent.count(pair.first) ? Mailbox::Priority::High : Mailbox::Priority::Low);
+        pair.second->setRequestPriority(predicted.count(pair.first) ? Resource::Low : Resource::Regular);
+
         const PlacementConfig config { parameters.transformState.getAngle(),
                                        parameters.transformState.getPitch(),
                                        parameters.transformState.getCameraToCenterDistance(),
@@ -186,7 +255,9 @@ void TilePyramid::update(const std::vector<Immutable<style::Layer::Impl>>& layer
     }
 }
 
-// Moves all tiles to the cache except for those specified in the retain set.
+// Moves all tiles to the cache except for those specified in the retain set. Cached tiles
+// defer their queued parse and layout work until they are used again. Tiles that never became
+// renderable are discarded by the cache, which cancels their pending requests and parse jobs.
 void TilePyramid::removeStaleTiles(const std::set<OverscaledTileID>& retain) {
     // Remove stale tiles. This goes through the (sorted!) tiles map and retain set in lockstep
     // and removes items from tiles that don't have the corresponding key in the retain set.
@@ -195,6 +266,8 @@ void TilePyramid::removeStaleTiles(const std::set<OverscaledTileID>& retain) {
     while (tilesIt != tiles.end()) {
         if (retainIt == retain.end() || tilesIt->first < *retainIt) {
             tilesIt->second->setNecessity(Tile::Necessity::Optional);
+            tilesIt->second->setPriority(Mailbox::Priority::Low);
+            tilesIt->second->setDeferred(true);
             cache.add(tilesIt->first, std::move(tilesIt->second));
             tiles.erase(tilesIt++);
         } else {
@@ -211,6 +284,34 @@ std::unordered_map<std::string, std::vector<Feature>> TilePyramid::queryRendered
                                            const RenderStyle& style,
                                            const RenderedQueryOptions& options) const {
     std::unordered_map<std::string, std::vector<Feature>> result;
+
+    auto getRenderLayer = [&] (const std::string& layerID) {
+        return style.getRenderLayer(layerID);
+    };
+
+    for (const auto& query : snapshotRenderedFeatures(geometry, transformState, style, options)) {
+        query->query(result, options, getRenderLayer);
+    }
+
+    return result;
+}
+
+std::vector<Feature> TilePyramid::querySourceFeatures(const SourceQueryOptions& options) const {
+    std::vector<Feature> result;
+
+    for (const auto& query : snapshotSourceFeatures()) {
+        query->query(result, options);
+    }
+
+    return result;
+}
+
+std::vector<std::shared_ptr<const TileFeatureQuery>>
+TilePyramid::snapshotRenderedFeatures(const ScreenLineString& geometry,
+                                      const TransformState& transformState,
+                                      const RenderStyle& style,
+                                      const RenderedQueryOptions& options) const {
+    std::vector<std::shared_ptr<const TileFeatureQuery>> result;
     if (renderTiles.empty() || geometry.empty()) {
         return result;
     }
@@ -248,21 +349,24 @@ std::unordered_map<std::string, std::vector<Feature>> TilePyramid::queryRendered
             tileSpaceQueryGeometry.push_back(TileCoordinate::toGeometryCoordinate(renderTile.id, c));
         }
 
-        renderTile.tile.queryRenderedFeatures(result,
-                                              tileSpaceQueryGeometry,
-                                              transformState,
-                                              style,
-                                              options);
+        if (auto query = renderTile.tile.snapshotRenderedFeatures(tileSpaceQueryGeometry,
+                                                                  transformState,
+                                                                  style,
+                                                                  options)) {
+            result.push_back(std::move(query));
+        }
     }
 
     return result;
 }
 
-std::vector<Feature> TilePyramid::querySourceFeatures(const SourceQueryOptions& options) const {
-    std::vector<Feature> result;
+std::vector<std::shared_ptr<const TileSourceFeatureQuery>> TilePyramid::snapshotSourceFeatures() const {
+    std::vector<std::shared_ptr<const TileSourceFeatureQuery>> result;
 
     for (const auto& pair : tiles) {
-        pair.second->querySourceFeatures(result, options);
+        if (auto query = pair.second->snapshotSourceFeatures()) {
+            result.push_back(std::move(query));
+        }
     }
 
     return result;
@@ -272,10 +376,28 @@ void TilePyramid::setCacheSize(size_t size) {
     cache.setSize(size);
 }
 
+void TilePyramid::trimCache(float fraction) {
+    cache.trim(fraction);
+}
+
 void TilePyramid::onLowMemory() {
     cache.clear();
 }
 
+void TilePyramid::addMemoryUsage(util::TileMemoryUsage& usage) const {
+    for (const auto& pair : tiles) {
+        usage.tiles++;
+        usage.bytes += pair.second->getByteSize();
+    }
+    usage.cachedTiles += cache.count();
+    usage.cachedBytes += cache.getUsedByteSize();
+}
+
+void TilePyramid::addPrefetchStatistics(util::TilePrefetchStatistics& statistics) const {
+    statistics.prefetched += prefetchStatistics.prefetched;
+    statistics.rendered += prefetchStatistics.rendered;
+}
+
 void TilePyramid::setObserver(TileObserver* observer_) {
     observer = observer_;
 }
@@ -10,8 +10,10 @@
 #include <mbgl/util/mat4.hpp>
 #include <mbgl/util/feature.hpp>
 #include <mbgl/util/range.hpp>
+#include <mbgl/util/tile_statistics.hpp>
 
 #include <memory>
+#include <set>
 #include <unordered_map>
 #include <vector>
 #include <map>
@@ -25,6 +27,8 @@ class RenderStyle;
 class RenderedQueryOptions;
 class SourceQueryOptions;
 class TileParameters;
+class TileFeatureQuery;
+class TileSourceFeatureQuery;
 
 class TilePyramid {
 public:
@@ -55,9 +59,22 @@ public:
 
     std::vector<Feature> querySourceFeatures(const SourceQueryOptions&) const;
 
+    // The per-tile state the queries above run against, in the order they visit the tiles.
+    std::vector<std::shared_ptr<const TileFeatureQuery>>
+    snapshotRenderedFeatures(const ScreenLineString& geometry,
+                             const TransformState& transformState,
+                             const RenderStyle& style,
+                             const RenderedQueryOptions& options) const;
+
+    std::vector<std::shared_ptr<const TileSourceFeatureQuery>> snapshotSourceFeatures() const;
+
     void setCacheSize(size_t);
+    void trimCache(float fraction);
     void onLowMemory();
 
+    void addMemoryUsage(util::TileMemoryUsage&) const;
+    void addPrefetchStatistics(util::TilePrefetchStatistics&) const;
+
     void setObserver(TileObserver*);
     void dumpDebugLogs() const;
 
@@ -70,6 +87,10 @@ public:
 
     std::vector<RenderTile> renderTiles;
 
+    // Tiles that were loaded for a predicted camera and haven't been rendered yet.
+    std::set<OverscaledTileID> prefetchedTiles;
+    util::TilePrefetchStatistics prefetchStatistics;
+
     TileObserver* observer = nullptr;
 };
 
@@ -3,6 +3,7 @@
 #include <mbgl/map/mode.hpp>
 #include <mbgl/map/transform_state.hpp>
 #include <mbgl/util/chrono.hpp>
+#include <mbgl/util/optional.hpp>
 #include <mbgl/style/light.hpp>
 #include <mbgl/style/image.hpp>
 #include <mbgl/style/source.hpp>
@@ -31,7 +32,10 @@ public:
                      Scheduler& scheduler_,
                      FileSource& fileSource_,
                      AnnotationManager& annotationManager_,
-                     const uint8_t prefetchZoomDelta_)
+                     const uint8_t prefetchZoomDelta_,
+                     const size_t tileCacheSize_,
+                     const size_t tileCacheByteSize_,
+                     const optional<TransformState> predictedTransformState_)
         : mode(mode_),
           pixelRatio(pixelRatio_),
           debugOptions(debugOptions_),
@@ -47,7 +51,10 @@ public:
           scheduler(scheduler_),
           fileSource(fileSource_),
           annotationManager(annotationManager_),
-          prefetchZoomDelta(prefetchZoomDelta_) {}
+          prefetchZoomDelta(prefetchZoomDelta_),
+          tileCacheSize(tileCacheSize_),
+          tileCacheByteSize(tileCacheByteSize_),
+          predictedTransformState(std::move(predictedTransformState_)) {}
 
     const MapMode mode;
     const float pixelRatio;
@@ -68,6 +75,14 @@ public:
     AnnotationManager& annotationManager;
 
     const uint8_t prefetchZoomDelta;
+
+    // Tile cache limits, 0 selects the default size or no byte limit.
+    const size_t tileCacheSize;
+    const size_t tileCacheByteSize;
+
+    // The camera at the end of the transition in progress, set if tiles should be prefetched
+    // for it.
+    const optional<TransformState> predictedTransformState;
 };
 
 } // namespace mbgl
@@ -1,5 +1,6 @@
 #include <mbgl/tile/geojson_tile.hpp>
 #include <mbgl/tile/geometry_tile_data.hpp>
+#include <mbgl/tile/tile_feature_query.hpp>
 #include <mbgl/map/query.hpp>
 #include <mbgl/renderer/tile_parameters.hpp>
 
@@ -111,26 +112,12 @@ void GeoJSONTile::updateData(mapbox::geometry::feature_collection<int16_t> featu
 
 void GeoJSONTile::setNecessity(Necessity) {}
     
-void GeoJSONTile::querySourceFeatures(
-    std::vector<Feature>& result,
-    const SourceQueryOptions& options) {
-    
-    // Ignore the sourceLayer, there is only one
-    auto layer = getData()->getLayer({});
-    
-    if (layer) {
-        auto featureCount = layer->featureCount();
-        for (std::size_t i = 0; i < featureCount; i++) {
-            auto feature = layer->getFeature(i);
-            
-            // Apply filter, if any
-            if (options.filter && !(*options.filter)(*feature)) {
-                continue;
-            }
-            
-            result.push_back(convertFeature(*feature, id.canonical));
-        }
+std::unique_ptr<TileSourceFeatureQuery> GeoJSONTile::snapshotSourceFeatures() const {
+    auto query = GeometryTile::snapshotSourceFeatures();
+    if (query) {
+        query->singleLayer = true;
     }
+    return query;
 }
 
 } // namespace mbgl
@@ -18,9 +18,7 @@ public:
 
     void setNecessity(Necessity) final;
     
-    void querySourceFeatures(
-        std::vector<Feature>& result,
-        const SourceQueryOptions&) override;
+    std::unique_ptr<TileSourceFeatureQuery> snapshotSourceFeatures() const override;
 };
 
 } // namespace mbgl
@@ -1,6 +1,7 @@
 #include <mbgl/tile/geometry_tile.hpp>
 #include <mbgl/tile/geometry_tile_worker.hpp>
 #include <mbgl/tile/geometry_tile_data.hpp>
+#include <mbgl/tile/tile_feature_query.hpp>
 #include <mbgl/tile/tile_observer.hpp>
 #include <mbgl/style/layer_impl.hpp>
 #include <mbgl/style/layers/background_layer.hpp>
@@ -10,6 +11,7 @@
 #include <mbgl/renderer/layers/render_custom_layer.hpp>
 #include <mbgl/renderer/layers/render_symbol_layer.hpp>
 #include <mbgl/renderer/buckets/symbol_bucket.hpp>
+#include <mbgl/renderer/render_style.hpp>
 #include <mbgl/text/glyph_atlas.hpp>
 #include <mbgl/renderer/image_atlas.hpp>
 #include <mbgl/storage/file_source.hpp>
@@ -20,9 +22,12 @@
 #include <mbgl/util/run_loop.hpp>
 #include <mbgl/style/filter_evaluator.hpp>
 #include <mbgl/util/chrono.hpp>
+#include <mbgl/util/constants.hpp>
 #include <mbgl/util/logging.hpp>
+#include <mbgl/util/tile_statistics_counters.hpp>
 
 #include <iostream>
+#include <unordered_set>
 
 namespace mbgl {
 
@@ -38,10 +43,13 @@ GeometryTile::GeometryTile(const OverscaledTileID& id_,
              ActorRef<GeometryTile>(*this, mailbox),
              id_,
              obsolete,
+             deferred,
              parameters.mode,
-             parameters.pixelRatio),
+             parameters.pixelRatio,
+             parameters.tileStatistics),
       glyphManager(parameters.glyphManager),
       imageManager(parameters.imageManager),
+      tileStatistics(parameters.tileStatistics),
       placementThrottler(Milliseconds(300), [this] { invokePlacement(); }),
       lastYStretch(1.0f) {
 }
@@ -56,6 +64,16 @@ void GeometryTile::cancel() {
     markObsolete();
 }
 
+void GeometryTile::setPriority(Mailbox::Priority priority) {
+    worker.setPriority(priority);
+}
+
+void GeometryTile::setDeferred(bool deferred_) {
+    if (deferred.exchange(deferred_) && !deferred_) {
+        worker.invoke(&GeometryTileWorker::resume);
+    }
+}
+
 void GeometryTile::markObsolete() {
     obsolete = true;
 }
@@ -71,6 +89,8 @@ void GeometryTile::setData(std::unique_ptr<const GeometryTileData> data_) {
     // state despite pending parse operations.
     pending = true;
 
+    tileStatistics.countLoaded();
+
     ++correlationID;
     worker.invoke(&GeometryTileWorker::setData, std::move(data_), correlationID);
 }
@@ -174,9 +194,11 @@ void GeometryTile::getImages(ImageDependencies imageDependencies) {
 }
 
 void GeometryTile::upload(gl::Context& context) {
+    bool uploaded = false;
     auto uploadFn = [&] (Bucket& bucket) {
         if (bucket.needsUpload()) {
             bucket.upload(context);
+            uploaded = true;
         }
     };
 
@@ -191,11 +213,18 @@ void GeometryTile::upload(gl::Context& context) {
     if (glyphAtlasImage) {
         glyphAtlasTexture = context.createTexture(*glyphAtlasImage, 0);
         glyphAtlasImage = {};
+        uploaded = true;
     }
 
     if (iconAtlasImage) {
         iconAtlasTexture = context.createTexture(*iconAtlasImage, 0);
         iconAtlasImage = {};
+        uploaded = true;
+    }
+
+    // Counted once per tile, however many buckets were uploaded.
+    if (uploaded) {
+        tileStatistics.countUploaded();
     }
 }
 
@@ -210,6 +239,34 @@ Bucket* GeometryTile::getBucket(const Layer::Impl& layer) const {
     return it->second.get();
 }
 
+std::size_t GeometryTile::getByteSize() const {
+    std::size_t size = 0;
+
+    // Layers with identical layout properties share a bucket
+    std::unordered_set<const Bucket*> counted;
+    for (const auto& buckets : { std::cref(nonSymbolBuckets), std::cref(symbolBuckets) }) {
+        for (const auto& entry : buckets.get()) {
+            if (counted.insert(entry.second.get()).second) {
+                size += entry.second->getByteSize();
+            }
+        }
+    }
+
+    if (glyphAtlasImage) {
+        size += glyphAtlasImage->bytes();
+    } else if (glyphAtlasTexture) {
+        size += glyphAtlasTexture->size.width * glyphAtlasTexture->size.height;
+    }
+
+    if (iconAtlasImage) {
+        size += iconAtlasImage->bytes();
+    } else if (iconAtlasTexture) {
+        size += iconAtlasTexture->size.width * iconAtlasTexture->size.height * 4;
+    }
+
+    return size;
+}
+
 void GeometryTile::queryRenderedFeatures(
     std::unordered_map<std::string, std::vector<Feature>>& result,
     const GeometryCoordinates& queryGeometry,
@@ -217,55 +274,55 @@ void GeometryTile::queryRenderedFeatures(
     const RenderStyle& style,
     const RenderedQueryOptions& options) {
 
-    if (!featureIndex || !data) return;
-
-    featureIndex->query(result,
-                        queryGeometry,
-                        transformState.getAngle(),
-                        util::tileSize * id.overscaleFactor(),
-                        std::pow(2, transformState.getZoom() - id.overscaledZ),
-                        options,
-                        *data,
-                        id.canonical,
-                        style,
-                        collisionTile.get(),
-                        *this);
+    if (auto query = snapshotRenderedFeatures(queryGeometry, transformState, style, options)) {
+        query->query(result, options, [&] (const std::string& layerID) {
+            return style.getRenderLayer(layerID);
+        });
+    }
 }
 
 void GeometryTile::querySourceFeatures(
     std::vector<Feature>& result,
     const SourceQueryOptions& options) {
 
-    // Data not yet available
-    if (!data) {
-        return;
-    }
-    
-    // No source layers, specified, nothing to do
-    if (!options.sourceLayers) {
-        Log::Warning(Event::General, "At least one sourceLayer required");
-        return;
+    if (auto query = snapshotSourceFeatures()) {
+        query->query(result, options);
     }
+}
 
-    for (auto sourceLayer : *options.sourceLayers) {
-        // Go throught all sourceLayers, if any
-        // to gather all the features
-        auto layer = data->getLayer(sourceLayer);
-        
-        if (layer) {
-            auto featureCount = layer->featureCount();
-            for (std::size_t i = 0; i < featureCount; i++) {
-                auto feature = layer->getFeature(i);
-
-                // Apply filter, if any
-                if (options.filter && !(*options.filter)(*feature)) {
-                    continue;
-                }
-
-                result.push_back(convertFeature(*feature, id.canonical));
-            }
-        }
-    }
+std::unique_ptr<TileFeatureQuery> GeometryTile::snapshotRenderedFeatures(
+    const GeometryCoordinates& queryGeometry,
+    const TransformState& transformState,
+    const RenderStyle& style,
+    const RenderedQueryOptions& options) const {
+
+    if (!featureIndex || !data) return nullptr;
+
+    const double tileSize = util::tileSize * id.overscaleFactor();
+    const double scale = std::pow(2, transformState.getZoom() - id.overscaledZ);
+    const float pixelsToTileUnits = util::EXTENT / tileSize / scale;
+
+    auto query = std::make_unique<TileFeatureQuery>();
+    query->id = id.canonical;
+    query->queryGeometry = queryGeometry;
+    query->bearing = transformState.getAngle();
+    query->tileSize = tileSize;
+    query->scale = scale;
+    query->additionalRadius = FeatureIndex::getAdditionalQueryRadius(options, style, *this, pixelsToTileUnits);
+    query->featureIndex = featureIndex;
+    query->data = data;
+    query->collisionTile = collisionTile;
+    return query;
+}
+
+std::unique_ptr<TileSourceFeatureQuery> GeometryTile::snapshotSourceFeatures() const {
+    // Data not yet available
+    if (!data) return nullptr;
+
+    auto query = std::make_unique<TileSourceFeatureQuery>();
+    query->id = id.canonical;
+    query->data = data;
+    return query;
 }
 
 float GeometryTile::yStretch() const {
@@ -26,6 +26,10 @@ class TileParameters;
 class GlyphAtlas;
 class ImageAtlas;
 
+namespace util {
+class TileStatisticsCounters;
+} // namespace util
+
 class GeometryTile : public Tile, public GlyphRequestor, ImageRequestor {
 public:
     GeometryTile(const OverscaledTileID&,
@@ -48,6 +52,7 @@ public:
 
     void upload(gl::Context&) override;
     Bucket* getBucket(const style::Layer::Impl&) const override;
+    std::size_t getByteSize() const override;
 
     Size bindGlyphAtlas(gl::Context&);
     Size bindIconAtlas(gl::Context&);
@@ -63,7 +68,17 @@ public:
         std::vector<Feature>& result,
         const SourceQueryOptions&) override;
 
+    std::unique_ptr<TileFeatureQuery> snapshotRenderedFeatures(
+            const GeometryCoordinates& queryGeometry,
+            const TransformState&,
+            const RenderStyle&,
+            const RenderedQueryOptions& options) const override;
+
+    std::unique_ptr<TileSourceFeatureQuery> snapshotSourceFeatures() const override;
+
     void cancel() override;
+    void setPriority(Mailbox::Priority) override;
+    void setDeferred(bool) override;
 
     class LayoutResult {
     public:
@@ -108,11 +123,6 @@ public:
     
     float yStretch() const override;
     
-protected:
-    const GeometryTileData* getData() {
-        return data.get();
-    }
-
 private:
     void markObsolete();
     void invokePlacement();
@@ -122,24 +132,29 @@ private:
     // Used to signal the worker that it should abandon parsing this tile as soon as possible.
     std::atomic<bool> obsolete { false };
 
+    // Used to signal the worker that it should postpone work until the tile is used again.
+    std::atomic<bool> deferred { false };
+
     std::shared_ptr<Mailbox> mailbox;
     Actor<GeometryTileWorker> worker;
 
     GlyphManager& glyphManager;
     ImageManager& imageManager;
+    util::TileStatisticsCounters& tileStatistics;
 
     uint64_t correlationID = 0;
     optional<PlacementConfig> requestedConfig;
 
     std::unordered_map<std::string, std::shared_ptr<Bucket>> nonSymbolBuckets;
-    std::unique_ptr<FeatureIndex> featureIndex;
-    std::unique_ptr<const GeometryTileData> data;
+    // Shared with feature query snapshots, which may outlive the tile or the current layout.
+    std::shared_ptr<const FeatureIndex> featureIndex;
+    std::shared_ptr<const GeometryTileData> data;
 
     optional<AlphaImage> glyphAtlasImage;
     optional<PremultipliedImage> iconAtlasImage;
 
     std::unordered_map<std::string, std::shared_ptr<Bucket>> symbolBuckets;
-    std::unique_ptr<CollisionTile> collisionTile;
+    std::shared_ptr<const CollisionTile> collisionTile;
     
     util::Throttler placementThrottler;
     float lastYStretch;
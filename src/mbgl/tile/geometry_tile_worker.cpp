@@ -14,6 +14,8 @@
 #include <mbgl/util/constants.hpp>
 #include <mbgl/util/string.hpp>
 #include <mbgl/util/exception.hpp>
+#include <mbgl/util/chrono.hpp>
+#include <mbgl/util/tile_statistics_counters.hpp>
 
 #include <unordered_set>
 
@@ -25,14 +27,18 @@ GeometryTileWorker::GeometryTileWorker(ActorRef<GeometryTileWorker> self_,
                                        ActorRef<GeometryTile> parent_,
                                        OverscaledTileID id_,
                                        const std::atomic<bool>& obsolete_,
+                                       const std::atomic<bool>& deferred_,
                                        const MapMode mode_,
-                                       const float pixelRatio_)
+                                       const float pixelRatio_,
+                                       util::TileStatisticsCounters& tileStatistics_)
     : self(std::move(self_)),
       parent(std::move(parent_)),
       id(std::move(id_)),
       obsolete(obsolete_),
+      deferred(deferred_),
       mode(mode_),
-      pixelRatio(pixelRatio_) {
+      pixelRatio(pixelRatio_),
+      tileStatistics(tileStatistics_) {
 }
 
 GeometryTileWorker::~GeometryTileWorker() = default;
@@ -68,6 +74,10 @@ GeometryTileWorker::~GeometryTileWorker() = default;
    read all the queued messages until we get to "coalesced", and then redo either
    layout or placement if there were one or more "set"s (with layout taking priority,
    since it will trigger placement when complete), or return to the [idle] state if not.
+
+   While the tile is only kept in the cache, layout and placement are deferred: the
+   worker stays in [need layout] or [need placement] without self-sending "coalesced",
+   and continues with a "resume" message once the tile is used again.
 */
 
 void GeometryTileWorker::setData(std::unique_ptr<const GeometryTileData> data_, uint64_t correlationID_) {
@@ -77,8 +87,8 @@ void GeometryTileWorker::setData(std::unique_ptr<const GeometryTileData> data_,
 
         switch (state) {
         case Idle:
-            redoLayout();
-            coalesce();
+            state = NeedLayout;
+            process();
             break;
 
         case Coalescing:
@@ -99,8 +109,8 @@ void GeometryTileWorker::setLayers(std::vector<Immutable<Layer::Impl>> layers_,
 
         switch (state) {
         case Idle:
-            redoLayout();
-            coalesce();
+            state = NeedLayout;
+            process();
             break;
 
         case Coalescing:
@@ -123,8 +133,8 @@ void GeometryTileWorker::setPlacementConfig(PlacementConfig placementConfig_, ui
 
         switch (state) {
         case Idle:
-            attemptPlacement();
-            coalesce();
+            state = NeedPlacement;
+            process();
             break;
 
         case Coalescing:
@@ -145,8 +155,8 @@ void GeometryTileWorker::symbolDependenciesChanged() {
         switch (state) {
         case Idle:
             if (symbolLayoutsNeedPreparation) {
-                attemptPlacement();
-                coalesce();
+                state = NeedPlacement;
+                process();
             }
             break;
 
@@ -177,13 +187,8 @@ void GeometryTileWorker::coalesced() {
             break;
 
         case NeedLayout:
-            redoLayout();
-            coalesce();
-            break;
-
         case NeedPlacement:
-            attemptPlacement();
-            coalesce();
+            process();
             break;
         }
     } catch (...) {
@@ -191,6 +196,34 @@ void GeometryTileWorker::coalesced() {
     }
 }
 
+void GeometryTileWorker::resume() {
+    try {
+        if (parked) {
+            process();
+        }
+    } catch (...) {
+        parent.invoke(&GeometryTile::onError, std::current_exception());
+    }
+}
+
+// Does the layout or placement the worker needs, unless the tile is deferred. Deferred
+// work stays parked until resume() is received.
+void GeometryTileWorker::process() {
+    assert(state == NeedLayout || state == NeedPlacement);
+
+    parked = deferred;
+    if (parked) {
+        return;
+    }
+
+    if (state == NeedLayout) {
+        redoLayout();
+    } else {
+        attemptPlacement();
+    }
+    coalesce();
+}
+
 void GeometryTileWorker::coalesce() {
     state = Coalescing;
     self.invoke(&GeometryTileWorker::coalesced);
@@ -266,6 +299,8 @@ void GeometryTileWorker::redoLayout() {
         return;
     }
 
+    const auto start = Clock::now();
+
     std::vector<std::string> symbolOrder;
     for (auto it = layers->rbegin(); it != layers->rend(); it++) {
         if ((*it)->type == LayerType::Symbol) {
@@ -350,6 +385,8 @@ void GeometryTileWorker::redoLayout() {
     requestNewGlyphs(glyphDependencies);
     requestNewImages(imageDependencies);
 
+    tileStatistics.countParsed(std::chrono::duration_cast<std::chrono::nanoseconds>(Clock::now() - start).count());
+
     parent.invoke(&GeometryTile::onLayout, GeometryTile::LayoutResult {
         std::move(buckets),
         std::move(featureIndex),
@@ -19,6 +19,10 @@ class GeometryTile;
 class GeometryTileData;
 class SymbolLayout;
 
+namespace util {
+class TileStatisticsCounters;
+} // namespace util
+
 namespace style {
 class Layer;
 } // namespace style
@@ -28,9 +32,11 @@ public:
     GeometryTileWorker(ActorRef<GeometryTileWorker> self,
                        ActorRef<GeometryTile> parent,
                        OverscaledTileID,
-                       const std::atomic<bool>&,
+                       const std::atomic<bool>& obsolete,
+                       const std::atomic<bool>& deferred,
                        const MapMode,
-                       const float pixelRatio);
+                       const float pixelRatio,
+                       util::TileStatisticsCounters&);
     ~GeometryTileWorker();
 
     void setLayers(std::vector<Immutable<style::Layer::Impl>>, uint64_t correlationID);
@@ -40,8 +46,12 @@ public:
     void onGlyphsAvailable(GlyphMap glyphs);
     void onImagesAvailable(ImageMap images);
 
+    // Does the layout or placement that was deferred while the tile was only cached.
+    void resume();
+
 private:
     void coalesced();
+    void process();
     void redoLayout();
     void attemptPlacement();
     
@@ -58,8 +68,10 @@ private:
 
     const OverscaledTileID id;
     const std::atomic<bool>& obsolete;
+    const std::atomic<bool>& deferred;
     const MapMode mode;
     const float pixelRatio;
+    util::TileStatisticsCounters& tileStatistics;
 
     enum State {
         Idle,
@@ -71,6 +83,9 @@ private:
     State state = Idle;
     uint64_t correlationID = 0;
 
+    // Whether deferred work waits for resume() instead of a "coalesced" message.
+    bool parked = false;
+
     // Outer optional indicates whether we've received it or not.
     optional<std::vector<Immutable<style::Layer::Impl>>> layers;
     optional<std::unique_ptr<const GeometryTileData>> data;
@@ -9,6 +9,7 @@
 #include <mbgl/renderer/tile_parameters.hpp>
 #include <mbgl/renderer/buckets/raster_bucket.hpp>
 #include <mbgl/util/run_loop.hpp>
+#include <mbgl/util/tile_statistics_counters.hpp>
 
 namespace mbgl {
 
@@ -19,7 +20,9 @@ RasterTile::RasterTile(const OverscaledTileID& id_,
       loader(*this, id_, parameters, tileset),
       mailbox(std::make_shared<Mailbox>(*util::RunLoop::Get())),
       worker(parameters.workerScheduler,
-             ActorRef<RasterTile>(*this, mailbox)) {
+             ActorRef<RasterTile>(*this, mailbox),
+             parameters.tileStatistics),
+      tileStatistics(parameters.tileStatistics) {
 }
 
 RasterTile::~RasterTile() = default;
@@ -38,6 +41,7 @@ void RasterTile::setData(std::shared_ptr<const std::string> data,
                              optional<Timestamp> expires_) {
     modified = modified_;
     expires = expires_;
+    tileStatistics.countLoaded();
     worker.invoke(&RasterTileWorker::parse, data);
 }
 
@@ -57,6 +61,9 @@ void RasterTile::onError(std::exception_ptr err) {
 
 void RasterTile::upload(gl::Context& context) {
     if (bucket) {
+        if (bucket->needsUpload()) {
+            tileStatistics.countUploaded();
+        }
         bucket->upload(context);
     }
 }
@@ -65,8 +72,20 @@ Bucket* RasterTile::getBucket(const style::Layer::Impl&) const {
     return bucket.get();
 }
 
+std::size_t RasterTile::getByteSize() const {
+    return bucket ? bucket->getByteSize() : 0;
+}
+
 void RasterTile::setNecessity(Necessity necessity) {
     loader.setNecessity(necessity);
 }
 
+void RasterTile::setPriority(Mailbox::Priority priority) {
+    worker.setPriority(priority);
+}
+
+void RasterTile::setRequestPriority(Priority priority) {
+    loader.setPriority(priority);
+}
+
 } // namespace mbgl
@@ -22,6 +22,8 @@ public:
     ~RasterTile() final;
 
     void setNecessity(Necessity) final;
+    void setPriority(Mailbox::Priority) final;
+    void setRequestPriority(Priority) final;
 
     void setError(std::exception_ptr);
     void setData(std::shared_ptr<const std::string> data,
@@ -32,6 +34,7 @@ public:
 
     void upload(gl::Context&) override;
     Bucket* getBucket(const style::Layer::Impl&) const override;
+    std::size_t getByteSize() const override;
 
     void onParsed(std::unique_ptr<Bucket> result);
     void onError(std::exception_ptr);
@@ -42,6 +45,8 @@ private:
     std::shared_ptr<Mailbox> mailbox;
     Actor<RasterTileWorker> worker;
 
+    util::TileStatisticsCounters& tileStatistics;
+
     // Contains the Bucket object for the tile. Buckets are render
     // objects and they get added by tile parsing operations.
     std::unique_ptr<Bucket> bucket;
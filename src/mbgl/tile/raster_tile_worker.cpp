@@ -3,11 +3,16 @@
 #include <mbgl/renderer/buckets/raster_bucket.hpp>
 #include <mbgl/actor/actor.hpp>
 #include <mbgl/util/premultiply.hpp>
+#include <mbgl/util/chrono.hpp>
+#include <mbgl/util/tile_statistics_counters.hpp>
 
 namespace mbgl {
 
-RasterTileWorker::RasterTileWorker(ActorRef<RasterTileWorker>, ActorRef<RasterTile> parent_)
-    : parent(std::move(parent_)) {
+RasterTileWorker::RasterTileWorker(ActorRef<RasterTileWorker>,
+                                   ActorRef<RasterTile> parent_,
+                                   util::TileStatisticsCounters& tileStatistics_)
+    : parent(std::move(parent_)),
+      tileStatistics(tileStatistics_) {
 }
 
 void RasterTileWorker::parse(std::shared_ptr<const std::string> data) {
@@ -17,7 +22,9 @@ void RasterTileWorker::parse(std::shared_ptr<const std::string> data) {
     }
 
     try {
+        const auto start = Clock::now();
         auto bucket = std::make_unique<RasterBucket>(decodeImage(*data));
+        tileStatistics.countParsed(std::chrono::duration_cast<std::chrono::nanoseconds>(Clock::now() - start).count());
         parent.invoke(&RasterTile::onParsed, std::move(bucket));
     } catch (...) {
         parent.invoke(&RasterTile::onError, std::current_exception());
@@ -9,14 +9,19 @@ namespace mbgl {
 
 class RasterTile;
 
+namespace util {
+class TileStatisticsCounters;
+} // namespace util
+
 class RasterTileWorker {
 public:
-    RasterTileWorker(ActorRef<RasterTileWorker>, ActorRef<RasterTile>);
+    RasterTileWorker(ActorRef<RasterTileWorker>, ActorRef<RasterTile>, util::TileStatisticsCounters&);
 
     void parse(std::shared_ptr<const std::string> data);
 
 private:
     ActorRef<RasterTile> parent;
+    util::TileStatisticsCounters& tileStatistics;
 };
 
 } // namespace mbgl
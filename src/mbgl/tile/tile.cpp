@@ -1,5 +1,6 @@
 #include <mbgl/tile/tile.hpp>
 #include <mbgl/tile/tile_observer.hpp>
+#include <mbgl/tile/tile_feature_query.hpp>
 #include <mbgl/renderer/buckets/debug_bucket.hpp>
 #include <mbgl/util/string.hpp>
 #include <mbgl/util/logging.hpp>
@@ -40,4 +41,16 @@ void Tile::querySourceFeatures(
         std::vector<Feature>&,
         const SourceQueryOptions&) {}
 
+std::unique_ptr<TileFeatureQuery> Tile::snapshotRenderedFeatures(
+        const GeometryCoordinates&,
+        const TransformState&,
+        const RenderStyle&,
+        const RenderedQueryOptions&) const {
+    return nullptr;
+}
+
+std::unique_ptr<TileSourceFeatureQuery> Tile::snapshotSourceFeatures() const {
+    return nullptr;
+}
+
 } // namespace mbgl
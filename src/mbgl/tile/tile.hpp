@@ -1,5 +1,6 @@
 #pragma once
 
+#include <mbgl/actor/mailbox.hpp>
 #include <mbgl/util/noncopyable.hpp>
 #include <mbgl/util/chrono.hpp>
 #include <mbgl/util/optional.hpp>
@@ -25,6 +26,8 @@ class PlacementConfig;
 class RenderStyle;
 class RenderedQueryOptions;
 class SourceQueryOptions;
+class TileFeatureQuery;
+class TileSourceFeatureQuery;
 
 namespace gl {
 class Context;
@@ -46,12 +49,29 @@ public:
 
     virtual void setNecessity(Necessity) = 0;
 
+    // Parsing of tiles that are needed for the current frame takes precedence over
+    // tiles that are prefetched, only used as a fallback, or cached.
+    virtual void setPriority(Mailbox::Priority) {}
+
+    // Tiles that are only kept in the cache defer queued parse and layout work until
+    // they are used again.
+    virtual void setDeferred(bool) {}
+
+    // Network requests of tiles that are only loaded ahead of a camera transition have
+    // a low priority, they yield to requests for the tiles of the current viewport.
+    using Priority = Resource::Priority;
+
+    virtual void setRequestPriority(Priority) {}
+
     // Mark this tile as no longer needed and cancel any pending work.
     virtual void cancel() = 0;
 
     virtual void upload(gl::Context&) = 0;
     virtual Bucket* getBucket(const style::Layer::Impl&) const = 0;
 
+    // Approximate amount of memory, in bytes, held by the buckets and atlases of this tile.
+    virtual std::size_t getByteSize() const = 0;
+
     virtual void setPlacementConfig(const PlacementConfig&) {}
     virtual void setLayers(const std::vector<Immutable<style::Layer::Impl>>&) {}
 
@@ -66,6 +86,16 @@ public:
             std::vector<Feature>& result,
             const SourceQueryOptions&);
 
+    // Captures what is needed to run the queries above on another thread. Returns null when the
+    // tile has nothing to query.
+    virtual std::unique_ptr<TileFeatureQuery> snapshotRenderedFeatures(
+            const GeometryCoordinates& queryGeometry,
+            const TransformState&,
+            const RenderStyle&,
+            const RenderedQueryOptions& options) const;
+
+    virtual std::unique_ptr<TileSourceFeatureQuery> snapshotSourceFeatures() const;
+
     void setTriedOptional();
 
     // Returns true when the tile source has received a first response, regardless of whether a load
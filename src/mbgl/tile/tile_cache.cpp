@@ -1,6 +1,7 @@
 #include <mbgl/tile/tile_cache.hpp>
 #include <mbgl/tile/tile.hpp>
 
+#include <algorithm>
 #include <cassert>
 
 namespace mbgl {
@@ -8,22 +9,55 @@ namespace mbgl {
 void TileCache::setSize(size_t size_) {
     size = size_;
 
-    while (orderedKeys.size() > size) {
-        auto key = orderedKeys.front();
-        orderedKeys.pop_front();
-        tiles.erase(key);
-    }
+    evict(size);
 
     assert(orderedKeys.size() <= size);
 }
 
+void TileCache::setByteSize(size_t byteSize_) {
+    byteSize = byteSize_;
+    evictBytes();
+}
+
+void TileCache::trim(float fraction) {
+    evict(orderedKeys.size() * std::max(0.0f, std::min(fraction, 1.0f)));
+}
+
+void TileCache::evict(size_t count) {
+    while (orderedKeys.size() > count) {
+        evictOldest();
+    }
+}
+
+void TileCache::evictBytes() {
+    if (!byteSize) {
+        return;
+    }
+
+    while (usedByteSize > byteSize && !orderedKeys.empty()) {
+        evictOldest();
+    }
+}
+
+void TileCache::evictOldest() {
+    auto it = tiles.find(orderedKeys.front());
+    assert(it != tiles.end());
+    usedByteSize -= it->second.byteSize;
+    tiles.erase(it);
+    orderedKeys.pop_front();
+}
+
 void TileCache::add(const OverscaledTileID& key, std::unique_ptr<Tile> tile) {
     if (!tile->isRenderable() || !size) {
         return;
     }
 
     // insert new or query existing tile
-    if (tiles.emplace(key, std::move(tile)).second) {
+    const size_t tileByteSize = tile->getByteSize();
+    auto result = tiles.emplace(key, Entry { std::move(tile), tileByteSize });
+    if (result.second) {
+        usedByteSize += tileByteSize;
+    } else {
         // remove existing tile key
         orderedKeys.remove(key);
     }
@@ -33,9 +67,11 @@ void TileCache::add(const OverscaledTileID& key, std::unique_ptr<Tile> tile) {
 
     // purge oldest key/tile if necessary
     if (orderedKeys.size() > size) {
-        get(orderedKeys.front());
+        evictOldest();
     }
 
+    evictBytes();
+
     assert(orderedKeys.size() <= size);
 }
 
@@ -45,7 +81,8 @@ std::unique_ptr<Tile> TileCache::get(const OverscaledTileID& key) {
 
     auto it = tiles.find(key);
     if (it != tiles.end()) {
-        tile = std::move(it->second);
+        tile = std::move(it->second.tile);
+        usedByteSize -= it->second.byteSize;
         tiles.erase(it);
         orderedKeys.remove(key);
         assert(tile->isRenderable());
@@ -61,6 +98,7 @@ bool TileCache::has(const OverscaledTileID& key) {
 void TileCache::clear() {
     orderedKeys.clear();
     tiles.clear();
+    usedByteSize = 0;
 }
 
 } // namespace mbgl
@@ -16,16 +16,39 @@ public:
 
     void setSize(size_t);
     size_t getSize() const { return size; };
+
+    // Limits the memory held by cached tiles, in bytes. 0 means no limit.
+    void setByteSize(size_t);
+    size_t getByteSize() const { return byteSize; };
+
+    // Evicts the least recently used tiles, keeping the given fraction of the
+    // cached tiles.
+    void trim(float fraction);
+
+    size_t count() const { return orderedKeys.size(); }
+    size_t getUsedByteSize() const { return usedByteSize; }
     void add(const OverscaledTileID& key, std::unique_ptr<Tile> data);
     std::unique_ptr<Tile> get(const OverscaledTileID& key);
     bool has(const OverscaledTileID& key);
     void clear();
 
 private:
-    std::map<OverscaledTileID, std::unique_ptr<Tile>> tiles;
+    struct Entry {
+        std::unique_ptr<Tile> tile;
+        // The size of the tile when it was cached, tiles don't change while cached
+        size_t byteSize;
+    };
+
+    std::map<OverscaledTileID, Entry> tiles;
     std::list<OverscaledTileID> orderedKeys;
 
     size_t size;
+    size_t byteSize = 0;
+    size_t usedByteSize = 0;
+
+    void evict(size_t count);
+    void evictBytes();
+    void evictOldest();
 };
 
 } // namespace mbgl
@@ -0,0 +1,167 @@
+#include <mbgl/tile/tile_data_pool.hpp>
+#include <mbgl/util/string.hpp>
+#include <mbgl/util/tileset.hpp>
+
+#include <algorithm>
+
+namespace mbgl {
+
+SharedVectorTileData::SharedVectorTileData(std::shared_ptr<const VectorTileData> data_)
+    : data(std::move(data_)) {
+}
+
+std::unique_ptr<GeometryTileData> SharedVectorTileData::clone() const {
+    return std::make_unique<SharedVectorTileData>(data);
+}
+
+std::unique_ptr<GeometryTileLayer> SharedVectorTileData::getLayer(const std::string& name) const {
+    return data->getLayer(name);
+}
+
+TileDataPool& TileDataPool::get() {
+    static TileDataPool pool;
+    return pool;
+}
+
+std::string TileDataPool::key(const Tileset& tileset, float pixelRatio, const CanonicalTileID& id) {
+    std::vector<std::string> templates = tileset.tiles;
+    std::sort(templates.begin(), templates.end());
+
+    std::string key;
+    for (const auto& tileURL : templates) {
+        key += tileURL;
+        key += '\n';
+    }
+    key += util::toString(pixelRatio) + "/" + util::toString(id.z) + "/" + util::toString(id.x) + "/" +
+           util::toString(id.y) + (tileset.scheme == Tileset::Scheme::TMS ? "/tms" : "");
+    return key;
+}
+
+optional<TileDataPool::Lookup> TileDataPool::find(const std::string& key) {
+    std::lock_guard<std::mutex> lock(mutex);
+    if (!enabled) {
+        return {};
+    }
+
+    auto it = index.find(key);
+    if (it == index.end()) {
+        return {};
+    }
+
+    hits++;
+    entries.splice(entries.begin(), entries, it->second);
+    return Lookup { it->second->tileData, it->second->modified, it->second->expires };
+}
+
+std::shared_ptr<const VectorTileData> TileDataPool::obtain(const std::string& key,
+                                                           std::shared_ptr<const std::string> data,
+                                                           optional<Timestamp> modified,
+                                                           optional<Timestamp> expires) {
+    std::lock_guard<std::mutex> lock(mutex);
+    if (!enabled) {
+        return nullptr;
+    }
+
+    auto it = index.find(key);
+    if (it != index.end()) {
+        Entry& entry = *it->second;
+
+        // Tiles can be revalidated and replaced by one of the maps, only unchanged data is
+        // shared. Maps that get the tile from the memory cache of the file source share the
+        // buffer already, other copies are recognized by their modification time instead of
+        // comparing their contents.
+        const bool unchanged = entry.data == data ||
+            (modified && entry.modified == modified && entry.data->size() == data->size());
+        if (unchanged) {
+            hits++;
+            if (expires && (!entry.expires || *expires > *entry.expires)) {
+                entry.expires = expires;
+            }
+            entries.splice(entries.begin(), entries, it->second);
+            return entry.tileData;
+        }
+
+        size -= entry.data->size();
+        entries.erase(it->second);
+        index.erase(it);
+    }
+
+    misses++;
+    // Held while evicting, so the new entry counts as in use
+    auto tileData = std::make_shared<const VectorTileData>(data);
+    entries.push_front({ key, data, tileData, modified, expires });
+    index.emplace(key, entries.begin());
+    size += data->size();
+
+    evict();
+
+    return tileData;
+}
+
+void TileDataPool::setEnabled(bool enabled_) {
+    std::lock_guard<std::mutex> lock(mutex);
+    enabled = enabled_;
+    if (!enabled) {
+        // Tiles that are in use keep their data, they just aren't shared anymore
+        entries.clear();
+        index.clear();
+        size = 0;
+    }
+}
+
+bool TileDataPool::isEnabled() const {
+    std::lock_guard<std::mutex> lock(mutex);
+    return enabled;
+}
+
+void TileDataPool::setMaximumSize(uint64_t maximumSize_) {
+    std::lock_guard<std::mutex> lock(mutex);
+    maximumSize = maximumSize_;
+    evict();
+}
+
+util::TileDataPoolStatistics TileDataPool::getStatistics() const {
+    std::lock_guard<std::mutex> lock(mutex);
+    util::TileDataPoolStatistics statistics;
+    statistics.tiles = entries.size();
+    statistics.bytes = size;
+    statistics.hits = hits;
+    statistics.misses = misses;
+    return statistics;
+}
+
+// Releases the least recently used entries that aren't referenced by any map
+// until the pool fits its maximum size. The size includes entries in use, they
+// can't be released as their memory would stay allocated regardless.
+void TileDataPool::evict() {
+    auto it = entries.end();
+    while (size > maximumSize && it != entries.begin()) {
+        --it;
+        if (it->tileData.use_count() == 1) {
+            size -= it->data->size();
+            index.erase(it->key);
+            it = entries.erase(it);
+        }
+    }
+}
+
+namespace util {
+
+void setTileDataPoolEnabled(bool enabled) {
+    TileDataPool::get().setEnabled(enabled);
+}
+
+bool isTileDataPoolEnabled() {
+    return TileDataPool::get().isEnabled();
+}
+
+void setTileDataPoolMaximumSize(uint64_t bytes) {
+    TileDataPool::get().setMaximumSize(bytes);
+}
+
+TileDataPoolStatistics getTileDataPoolStatistics() {
+    return TileDataPool::get().getStatistics();
+}
+
+} // namespace util
+} // namespace mbgl
@@ -0,0 +1,91 @@
+#pragma once
+
+#include <mbgl/tile/tile_id.hpp>
+#include <mbgl/tile/vector_tile_data.hpp>
+#include <mbgl/util/chrono.hpp>
+#include <mbgl/util/noncopyable.hpp>
+#include <mbgl/util/optional.hpp>
+#include <mbgl/util/tile_data_pool.hpp>
+
+#include <list>
+#include <memory>
+#include <mutex>
+#include <string>
+#include <unordered_map>
+
+namespace mbgl {
+
+class Tileset;
+
+// Vector tile data shared by tiles of several maps.
+class SharedVectorTileData : public GeometryTileData {
+public:
+    SharedVectorTileData(std::shared_ptr<const VectorTileData>);
+
+    std::unique_ptr<GeometryTileData> clone() const override;
+    std::unique_ptr<GeometryTileLayer> getLayer(const std::string&) const override;
+
+private:
+    std::shared_ptr<const VectorTileData> data;
+};
+
+class TileDataPool : private util::noncopyable {
+public:
+    static TileDataPool& get();
+
+    // Identifies a tile of a tileset. All tile URL templates of the tileset are part of
+    // the key, in sorted order, so that tilesets listing the same mirrors in a different
+    // order share their tiles, and tilesets that only share a first mirror don't.
+    static std::string key(const Tileset&, float pixelRatio, const CanonicalTileID&);
+
+    struct Lookup {
+        std::shared_ptr<const VectorTileData> tileData;
+        optional<Timestamp> modified;
+        optional<Timestamp> expires;
+    };
+
+    // Returns the pooled data of a tile before it is requested, so that a map can skip
+    // fetching, decompressing and parsing a tile that another map already loaded.
+    optional<Lookup> find(const std::string& key);
+
+    // Returns the pooled data of a tile, or adds the data to the pool if the
+    // tile wasn't pooled yet or its data changed. Data is considered unchanged
+    // if it's the same buffer, or has the same size and modification time.
+    // Returns nullptr if the pool is disabled.
+    std::shared_ptr<const VectorTileData> obtain(const std::string& key,
+                                                 std::shared_ptr<const std::string> data,
+                                                 optional<Timestamp> modified,
+                                                 optional<Timestamp> expires);
+
+    void setEnabled(bool);
+    bool isEnabled() const;
+    void setMaximumSize(uint64_t);
+
+    util::TileDataPoolStatistics getStatistics() const;
+
+private:
+    TileDataPool() = default;
+
+    struct Entry {
+        std::string key;
+        std::shared_ptr<const std::string> data;
+        std::shared_ptr<const VectorTileData> tileData;
+        optional<Timestamp> modified;
+        optional<Timestamp> expires;
+    };
+
+    void evict();
+
+    mutable std::mutex mutex;
+    bool enabled = false;
+    uint64_t maximumSize = 32 * 1024 * 1024;
+    uint64_t size = 0;
+    uint64_t hits = 0;
+    uint64_t misses = 0;
+
+    // Most recently obtained entries are kept at the front
+    std::list<Entry> entries;
+    std::unordered_map<std::string, std::list<Entry>::iterator> index;
+};
+
+} // namespace mbgl
@@ -0,0 +1,63 @@
+#include <mbgl/tile/tile_feature_query.hpp>
+#include <mbgl/text/collision_tile.hpp>
+#include <mbgl/map/query.hpp>
+#include <mbgl/style/filter_evaluator.hpp>
+#include <mbgl/util/logging.hpp>
+
+namespace mbgl {
+
+void TileFeatureQuery::query(std::unordered_map<std::string, std::vector<Feature>>& result,
+                             const RenderedQueryOptions& options,
+                             const FeatureIndex::RenderLayerLookup& getRenderLayer) const {
+    featureIndex->query(result,
+                        queryGeometry,
+                        bearing,
+                        tileSize,
+                        scale,
+                        options,
+                        *data,
+                        id,
+                        getRenderLayer,
+                        collisionTile.get(),
+                        additionalRadius);
+}
+
+void TileSourceFeatureQuery::query(std::vector<Feature>& result, const SourceQueryOptions& options) const {
+    auto addLayer = [&] (const GeometryTileLayer& layer) {
+        auto featureCount = layer.featureCount();
+        for (std::size_t i = 0; i < featureCount; i++) {
+            auto feature = layer.getFeature(i);
+
+            // Apply filter, if any
+            if (options.filter && !(*options.filter)(*feature)) {
+                continue;
+            }
+
+            result.push_back(convertFeature(*feature, id));
+        }
+    };
+
+    if (singleLayer) {
+        // Ignore the sourceLayer, there is only one
+        if (auto layer = data->getLayer({})) {
+            addLayer(*layer);
+        }
+        return;
+    }
+
+    // No source layers, specified, nothing to do
+    if (!options.sourceLayers) {
+        Log::Warning(Event::General, "At least one sourceLayer required");
+        return;
+    }
+
+    for (const auto& sourceLayer : *options.sourceLayers) {
+        // Go throught all sourceLayers, if any
+        // to gather all the features
+        if (auto layer = data->getLayer(sourceLayer)) {
+            addLayer(*layer);
+        }
+    }
+}
+
+} // namespace mbgl
@@ -0,0 +1,53 @@
+#pragma once
+
+#include <mbgl/tile/tile_id.hpp>
+#include <mbgl/tile/geometry_tile_data.hpp>
+#include <mbgl/geometry/feature_index.hpp>
+#include <mbgl/util/feature.hpp>
+
+#include <memory>
+#include <string>
+#include <unordered_map>
+#include <vector>
+
+namespace mbgl {
+
+class CollisionTile;
+class RenderedQueryOptions;
+class SourceQueryOptions;
+
+// The state of a single tile needed to query its rendered features. Everything that depends on the
+// render thread (the query geometry in tile space, the camera and the query radius of the buckets)
+// is resolved when it is created, and the tile data is shared, so the query can run on any thread
+// even after the tile itself was replaced or destroyed.
+class TileFeatureQuery {
+public:
+    CanonicalTileID id;
+    GeometryCoordinates queryGeometry;
+    float bearing;
+    double tileSize;
+    double scale;
+    int16_t additionalRadius;
+
+    std::shared_ptr<const FeatureIndex> featureIndex;
+    std::shared_ptr<const GeometryTileData> data;
+    std::shared_ptr<const CollisionTile> collisionTile;
+
+    void query(std::unordered_map<std::string, std::vector<Feature>>& result,
+               const RenderedQueryOptions&,
+               const FeatureIndex::RenderLayerLookup&) const;
+};
+
+// The state of a single tile needed to query its source features.
+class TileSourceFeatureQuery {
+public:
+    CanonicalTileID id;
+    std::shared_ptr<const GeometryTileData> data;
+
+    // GeoJSON tiles have a single unnamed layer and ignore the requested source layers.
+    bool singleLayer = false;
+
+    void query(std::vector<Feature>& result, const SourceQueryOptions&) const;
+};
+
+} // namespace mbgl
@@ -2,26 +2,31 @@
 
 #include <mbgl/util/noncopyable.hpp>
 #include <mbgl/storage/resource.hpp>
+#include <mbgl/storage/response.hpp>
 #include <mbgl/tile/tile.hpp>
 
 namespace mbgl {
 
 class FileSource;
 class AsyncRequest;
-class Response;
 class Tileset;
 class TileParameters;
 
 template <typename T>
 class TileLoader : private util::noncopyable {
 public:
+    // A loader for a tile that already holds current data, eg. from the tile data pool, passes
+    // the modification and expiration time of that data as prior response. The optional
+    // request is skipped, once required, the data is revalidated instead of fetched again.
     TileLoader(T&,
                const OverscaledTileID&,
                const TileParameters&,
-               const Tileset&);
+               const Tileset&,
+               optional<Response> prior = {});
     ~TileLoader();
 
     using Necessity = Resource::Necessity;
+    using Priority = Resource::Priority;
 
     void setNecessity(Necessity newNecessity) {
         if (newNecessity != necessity) {
@@ -34,6 +39,18 @@ public:
         }
     }
 
+    // Sets the network priority of the tile request. A request that is still waiting for a
+    // connection is moved to the queue of the new priority, so a tile that becomes visible
+    // doesn't keep waiting behind prefetched tiles. Requests in flight are left alone.
+    void setPriority(Priority newPriority) {
+        if (newPriority != resource.priority) {
+            resource.priority = newPriority;
+            if (request) {
+                fileSource.setPriority(*request, resource.priority);
+            }
+        }
+    }
+
 private:
     // called when the tile is one of the ideal tiles that we want to show definitely. the tile source
     // should try to make every effort (e.g. fetch from internet, or revalidate existing resources).
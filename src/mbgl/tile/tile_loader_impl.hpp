@@ -13,7 +13,8 @@ template <typename T>
 TileLoader<T>::TileLoader(T& tile_,
                           const OverscaledTileID& id,
                           const TileParameters& parameters,
-                          const Tileset& tileset)
+                          const Tileset& tileset,
+                          optional<Response> prior)
     : tile(tile_),
       necessity(Necessity::Optional),
       resource(Resource::tile(
@@ -25,7 +26,14 @@ TileLoader<T>::TileLoader(T& tile_,
         tileset.scheme)),
       fileSource(parameters.fileSource) {
     assert(!request);
-    if (fileSource.supportsOptionalRequests()) {
+    if (prior) {
+        // The tile already has the data an optional request would return
+        resource.necessity = Resource::Optional;
+        resource.priorModified = prior->modified;
+        resource.priorExpires = prior->expires;
+        resource.priorEtag = prior->etag;
+        tile.setTriedOptional();
+    } else if (fileSource.supportsOptionalRequests()) {
         // When supported, the first request is always optional, even if the TileLoader
         // is marked as required. That way, we can let the first optional request continue
         // to load when the TileLoader is later changed from required to optional. If we
@@ -1,27 +1,69 @@
 #include <mbgl/tile/vector_tile.hpp>
 #include <mbgl/tile/vector_tile_data.hpp>
+#include <mbgl/tile/tile_data_pool.hpp>
 #include <mbgl/tile/tile_loader_impl.hpp>
 #include <mbgl/renderer/tile_parameters.hpp>
+#include <mbgl/storage/response.hpp>
+#include <mbgl/util/tileset.hpp>
 
 namespace mbgl {
 
+namespace {
+
+// Sets the data of a tile another map already loaded into the tile data pool, and returns the
+// prior response that lets the loader revalidate the data instead of fetching it again.
+optional<Response> obtainPooledData(GeometryTile& tile, const std::string& poolKey) {
+    if (!util::isTileDataPoolEnabled()) {
+        return {};
+    }
+
+    auto pooled = TileDataPool::get().find(poolKey);
+    if (!pooled) {
+        return {};
+    }
+
+    tile.modified = pooled->modified;
+    tile.expires = pooled->expires;
+    tile.GeometryTile::setData(std::make_unique<SharedVectorTileData>(std::move(pooled->tileData)));
+
+    Response prior;
+    prior.modified = pooled->modified;
+    prior.expires = pooled->expires;
+    return prior;
+}
+
+} // namespace
+
 VectorTile::VectorTile(const OverscaledTileID& id_,
                        std::string sourceID_,
                        const TileParameters& parameters,
                        const Tileset& tileset)
-    : GeometryTile(id_, sourceID_, parameters), loader(*this, id_, parameters, tileset) {
+    : GeometryTile(id_, sourceID_, parameters),
+      poolKey(TileDataPool::key(tileset, parameters.pixelRatio, id_.canonical)),
+      loader(*this, id_, parameters, tileset, obtainPooledData(*this, poolKey)) {
 }
 
 void VectorTile::setNecessity(Necessity necessity) {
     loader.setNecessity(necessity);
 }
 
+void VectorTile::setRequestPriority(Priority priority) {
+    loader.setPriority(priority);
+}
+
 void VectorTile::setData(std::shared_ptr<const std::string> data_,
                          optional<Timestamp> modified_,
                          optional<Timestamp> expires_) {
     modified = modified_;
     expires = expires_;
 
+    if (data_ && util::isTileDataPoolEnabled()) {
+        if (auto shared = TileDataPool::get().obtain(poolKey, data_, modified_, expires_)) {
+            GeometryTile::setData(std::make_unique<SharedVectorTileData>(std::move(shared)));
+            return;
+        }
+    }
+
     GeometryTile::setData(data_ ? std::make_unique<VectorTileData>(data_) : nullptr);
 }
 
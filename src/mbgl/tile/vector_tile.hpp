@@ -16,11 +16,15 @@ public:
                const Tileset&);
 
     void setNecessity(Necessity) final;
+    void setRequestPriority(Priority) final;
     void setData(std::shared_ptr<const std::string> data,
                  optional<Timestamp> modified,
                  optional<Timestamp> expires);
 
 private:
+    // Identifies the tile data in the process-wide tile data pool
+    const std::string poolKey;
+
     TileLoader<VectorTile> loader;
 };
 
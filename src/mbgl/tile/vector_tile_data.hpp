@@ -1,3 +1,5 @@
+#pragma once
+
 #include <mbgl/tile/geometry_tile_data.hpp>
 
 #include <mapbox/vector_tile.hpp>
@@ -5,6 +7,7 @@
 
 #include <unordered_map>
 #include <functional>
+#include <mutex>
 #include <utility>
 
 namespace mbgl {
@@ -47,7 +50,9 @@ public:
 
 private:
     std::shared_ptr<const std::string> data;
-    mutable bool parsed = false;
+
+    // Parsed at most once, the data may be shared by workers of several maps
+    mutable std::once_flag parsed;
     mutable std::map<std::string, const protozero::data_view> layers;
 };
 
@@ -0,0 +1,86 @@
+#pragma once
+
+#include <mbgl/util/noncopyable.hpp>
+#include <mbgl/util/optional.hpp>
+
+#include <atomic>
+#include <utility>
+
+namespace mbgl {
+namespace util {
+
+// Unbounded, lock-free multiple-producer single-consumer queue, based on
+// Dmitry Vyukov's node-based MPSC queue. Any thread can push, only a single
+// thread (the consumer) may call pop(), empty() and acknowledge().
+//
+// The queue also coalesces consumer notifications: push() and notify() only
+// return true if no notification is pending since the consumer last called
+// acknowledge(). A consumer acknowledges before draining the queue, so a burst
+// of pushes results in a single wakeup of the consumer.
+//
+// A push that is in progress while the consumer drains can make pop() return
+// nothing even though empty() is false. The consumer has to call notify()
+// (and wake up if it returns true) in that case, so that the item isn't
+// stranded.
+template <class T>
+class MPSCQueue : private util::noncopyable {
+public:
+    MPSCQueue() : head(new Node), tail(head.load()) {
+    }
+
+    ~MPSCQueue() {
+        while (pop()) {}
+        delete tail;
+    }
+
+    bool push(T value) {
+        Node* node = new Node(std::move(value));
+        Node* prev = head.exchange(node);
+        prev->next.store(node, std::memory_order_release);
+        return notify();
+    }
+
+    bool notify() {
+        return !notificationPending.exchange(true);
+    }
+
+    void acknowledge() {
+        notificationPending.exchange(false);
+    }
+
+    optional<T> pop() {
+        Node* next = tail->next.load(std::memory_order_acquire);
+        if (!next) {
+            return {};
+        }
+
+        optional<T> value = std::move(next->value);
+        next->value = {};
+        delete tail;
+        tail = next;
+        return value;
+    }
+
+    bool empty() const {
+        return tail == head.load();
+    }
+
+private:
+    struct Node {
+        Node() = default;
+        Node(T value_) : value(std::move(value_)) {}
+
+        std::atomic<Node*> next { nullptr };
+        optional<T> value;
+    };
+
+    // Producers append at the head, the consumer removes from the tail. The
+    // tail node is a stub whose value was already consumed.
+    std::atomic<Node*> head;
+    Node* tail;
+
+    std::atomic<bool> notificationPending { false };
+};
+
+} // namespace util
+} // namespace mbgl
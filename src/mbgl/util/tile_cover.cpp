@@ -155,6 +155,37 @@ std::vector<UnwrappedTileID> tileCover(const LatLngBounds& bounds_, int32_t z) {
         z);
 }
 
+uint64_t tileCount(const LatLngBounds& bounds_, int32_t z) {
+    if (bounds_.isEmpty() ||
+        bounds_.south() >  util::LATITUDE_MAX ||
+        bounds_.north() < -util::LATITUDE_MAX) {
+        return 0;
+    }
+
+    LatLngBounds bounds = LatLngBounds::hull(
+        { std::max(bounds_.south(), -util::LATITUDE_MAX), bounds_.west() },
+        { std::min(bounds_.north(),  util::LATITUDE_MAX), bounds_.east() });
+
+    const Point<double> nw = TileCoordinate::fromLatLng(z, bounds.northwest()).p;
+    const Point<double> se = TileCoordinate::fromLatLng(z, bounds.southeast()).p;
+
+    // The scan-line conversion doesn't yield any tiles for a cover without height.
+    if (nw.y == se.y) {
+        return 0;
+    }
+
+    const double x0 = std::floor(nw.x);
+    const double x1 = std::ceil(se.x);
+    const double y0 = std::max(0.0, std::floor(nw.y));
+    const double y1 = std::min(double(1 << z), std::ceil(se.y));
+
+    if (x1 <= x0 || y1 <= y0) {
+        return 0;
+    }
+
+    return uint64_t(x1 - x0) * uint64_t(y1 - y0);
+}
+
 std::vector<UnwrappedTileID> tileCover(const TransformState& state, int32_t z) {
     assert(state.valid());
 
@@ -0,0 +1,29 @@
+#include <mbgl/util/tile_statistics_counters.hpp>
+
+namespace mbgl {
+namespace util {
+
+TileStatistics TileStatisticsCounters::snapshot() const {
+    TileStatistics statistics;
+    statistics.loaded = loaded.load(std::memory_order_relaxed);
+    statistics.parsed = parsed.load(std::memory_order_relaxed);
+    statistics.uploaded = uploaded.load(std::memory_order_relaxed);
+    statistics.layoutTime = layoutTime.load(std::memory_order_relaxed);
+    return statistics;
+}
+
+void TileStatisticsCounters::countLoaded() {
+    loaded.fetch_add(1, std::memory_order_relaxed);
+}
+
+void TileStatisticsCounters::countParsed(uint64_t layoutTime_) {
+    parsed.fetch_add(1, std::memory_order_relaxed);
+    layoutTime.fetch_add(layoutTime_, std::memory_order_relaxed);
+}
+
+void TileStatisticsCounters::countUploaded() {
+    uploaded.fetch_add(1, std::memory_order_relaxed);
+}
+
+} // namespace util
+} // namespace mbgl
@@ -0,0 +1,31 @@
+#pragma once
+
+#include <mbgl/util/noncopyable.hpp>
+#include <mbgl/util/tile_statistics.hpp>
+
+#include <atomic>
+#include <cstdint>
+
+namespace mbgl {
+namespace util {
+
+// Counters of the work performed on the tiles of a single map. Tiles count
+// their work on the main thread, workers on their own threads.
+class TileStatisticsCounters : private util::noncopyable {
+public:
+    // Returns a snapshot of the current counters. May be called from any thread.
+    TileStatistics snapshot() const;
+
+    void countLoaded();
+    void countParsed(uint64_t layoutTime);
+    void countUploaded();
+
+private:
+    std::atomic<uint64_t> loaded { 0 };
+    std::atomic<uint64_t> parsed { 0 };
+    std::atomic<uint64_t> uploaded { 0 };
+    std::atomic<uint64_t> layoutTime { 0 };
+};
+
+} // namespace util
+} // namespace mbgl
@@ -7,6 +7,9 @@
 #include <functional>
 #include <future>
 #include <memory>
+#include <mutex>
+#include <string>
+#include <vector>
 
 using namespace mbgl;
 using namespace std::chrono_literals;
@@ -281,3 +284,124 @@ TEST(Actor, NonConcurrentMailbox) {
     test.invoke(&Test::end);
     endedFuture.wait();
 }
+
+TEST(Actor, Priority) {
+    // Mailboxes with a higher priority are received first, regardless of the order in
+    // which they were scheduled.
+
+    struct Blocker {
+        Blocker(ActorRef<Blocker>) {}
+
+        void block(std::promise<void> entered, std::shared_future<void> release) {
+            entered.set_value();
+            release.wait();
+        }
+    };
+
+    struct Test {
+        Test(ActorRef<Test>, std::string name_, std::vector<std::string>& received_, std::mutex& mutex_)
+            : name(std::move(name_)), received(received_), mutex(mutex_) {
+        }
+
+        void receive(std::promise<void> done) {
+            {
+                std::lock_guard<std::mutex> lock(mutex);
+                received.push_back(name);
+            }
+            done.set_value();
+        }
+
+        std::string name;
+        std::vector<std::string>& received;
+        std::mutex& mutex;
+    };
+
+    ThreadPool pool { 1 };
+    std::vector<std::string> received;
+    std::mutex mutex;
+
+    Actor<Blocker> blocker(pool);
+    Actor<Test> low(pool, "low", std::ref(received), std::ref(mutex));
+    Actor<Test> normal(pool, "normal", std::ref(received), std::ref(mutex));
+    Actor<Test> high(pool, "high", std::ref(received), std::ref(mutex));
+    low.setPriority(Mailbox::Priority::Low);
+    high.setPriority(Mailbox::Priority::High);
+
+    // Occupy the only thread of the pool while the other mailboxes are scheduled.
+    std::promise<void> entered;
+    std::future<void> enteredFuture = entered.get_future();
+    std::promise<void> release;
+    blocker.invoke(&Blocker::block, std::move(entered), release.get_future().share());
+    enteredFuture.wait();
+
+    std::promise<void> lowDone;
+    std::future<void> lowFuture = lowDone.get_future();
+    low.invoke(&Test::receive, std::move(lowDone));
+    normal.invoke(&Test::receive, std::promise<void>());
+    high.invoke(&Test::receive, std::promise<void>());
+
+    release.set_value();
+    lowFuture.wait();
+
+    std::lock_guard<std::mutex> lock(mutex);
+    EXPECT_EQ((std::vector<std::string>{ "high", "normal", "low" }), received);
+}
+
+TEST(Actor, PriorityChange) {
+    // A mailbox that is raised to a higher priority after it was scheduled is received
+    // before the mailboxes it now takes precedence over.
+
+    struct Blocker {
+        Blocker(ActorRef<Blocker>) {}
+
+        void block(std::promise<void> entered, std::shared_future<void> release) {
+            entered.set_value();
+            release.wait();
+        }
+    };
+
+    struct Test {
+        Test(ActorRef<Test>, std::string name_, std::vector<std::string>& received_, std::mutex& mutex_)
+            : name(std::move(name_)), received(received_), mutex(mutex_) {
+        }
+
+        void receive(std::promise<void> done) {
+            {
+                std::lock_guard<std::mutex> lock(mutex);
+                received.push_back(name);
+            }
+            done.set_value();
+        }
+
+        std::string name;
+        std::vector<std::string>& received;
+        std::mutex& mutex;
+    };
+
+    ThreadPool pool { 1 };
+    std::vector<std::string> received;
+    std::mutex mutex;
+
+    Actor<Blocker> blocker(pool);
+    Actor<Test> normal(pool, "normal", std::ref(received), std::ref(mutex));
+    Actor<Test> raised(pool, "raised", std::ref(received), std::ref(mutex));
+    raised.setPriority(Mailbox::Priority::Low);
+
+    std::promise<void> entered;
+    std::future<void> enteredFuture = entered.get_future();
+    std::promise<void> release;
+    blocker.invoke(&Blocker::block, std::move(entered), release.get_future().share());
+    enteredFuture.wait();
+
+    std::promise<void> normalDone;
+    std::future<void> normalFuture = normalDone.get_future();
+    raised.invoke(&Test::receive, std::promise<void>());
+    normal.invoke(&Test::receive, std::move(normalDone));
+    raised.setPriority(Mailbox::Priority::High);
+
+    release.set_value();
+    normalFuture.wait();
+
+    std::lock_guard<std::mutex> lock(mutex);
+    EXPECT_EQ((std::vector<std::string>{ "raised", "normal" }), received);
+}
@@ -5,6 +5,7 @@
 #include <mbgl/annotation/annotation.hpp>
 #include <mbgl/style/style.hpp>
 #include <mbgl/style/image.hpp>
+#include <mbgl/style/layer.hpp>
 #include <mbgl/map/map.hpp>
 #include <mbgl/map/backend_scope.hpp>
 #include <mbgl/gl/headless_backend.hpp>
@@ -301,6 +302,41 @@ TEST(Annotations, RemoveShape) {
     test.checkRendering("remove_shape");
 }
 
+TEST(Annotations, SharedShapeLayers) {
+    AnnotationTest test;
+
+    const auto shapeLayerCount = [&] {
+        test::render(test.map, test.view);
+        std::size_t count = 0;
+        for (const auto* layer : test.map.getStyle().getLayers()) {
+            count += layer->getID().find("com.mapbox.annotations.shape") == 0;
+        }
+        return count;
+    };
+
+    LineAnnotation red { LineString<double> {{ { 0, 0 }, { 45, 45 } }} };
+    red.color = Color::red();
+    red.width = { 5 };
+    LineAnnotation green { LineString<double> {{ { 0, 0 }, { 30, 0 } }} };
+    green.color = Color::green();
+
+    test.map.getStyle().loadJSON(util::read_file("test/fixtures/api/empty.json"));
+    AnnotationID first = test.map.addAnnotation(red);
+    red.geometry = LineString<double> {{ { 0, 0 }, { 0, 45 } }};
+    AnnotationID second = test.map.addAnnotation(red);
+    test.map.addAnnotation(green);
+    test.map.addAnnotation(FillAnnotation { Polygon<double> { {{ { 0, 0 }, { 0, -45 }, { -45, -45 } }} } });
+
+    // Shapes with identical paint properties share a layer.
+    EXPECT_EQ(3u, shapeLayerCount());
+
+    test.map.removeAnnotation(first);
+    EXPECT_EQ(3u, shapeLayerCount());
+
+    test.map.removeAnnotation(second);
+    EXPECT_EQ(2u, shapeLayerCount());
+}
+
 TEST(Annotations, ImmediateRemoveShape) {
     AnnotationTest test;
 
@@ -357,6 +393,32 @@ TEST(Annotations, QueryRenderedFeatures) {
     EXPECT_EQ(*features2[0].id, uint64_t(1));
 }
 
+TEST(Annotations, AnimateSymbolAnnotations) {
+    AnnotationTest test;
+
+    test.map.getStyle().loadJSON(util::read_file("test/fixtures/api/empty.json"));
+    test.map.addAnnotationImage(namedMarker("default_marker"));
+    AnnotationID point = test.map.addAnnotation(SymbolAnnotation { Point<double> { 0, 0 }, "default_marker" });
+
+    std::vector<bool> results;
+    const auto callback = [&] (bool completed) { results.push_back(completed); };
+
+    // Still images render the end of the animation.
+    test.map.animateSymbolAnnotations({{ point, { 0, 50 } }}, Seconds(1), callback);
+    test::render(test.map, test.view);
+    ASSERT_EQ(1u, results.size());
+    EXPECT_TRUE(results[0]);
+    EXPECT_TRUE(test.map.queryRenderedFeatures(test.map.pixelForLatLng({ 0, 0 })).empty());
+    EXPECT_EQ(1u, test.map.queryRenderedFeatures(test.map.pixelForLatLng({ 50, 0 })).size());
+
+    // Removing an animated annotation interrupts the animation.
+    test.map.animateSymbolAnnotations({{ point, { 0, 0 } }}, Seconds(1), callback);
+    test.map.removeAnnotation(point);
+    test::render(test.map, test.view);
+    ASSERT_EQ(2u, results.size());
+    EXPECT_FALSE(results[1]);
+}
+
 TEST(Annotations, QueryFractionalZoomLevels) {
     AnnotationTest test;
 
@@ -12,6 +12,8 @@
 #include <mbgl/style/image.hpp>
 #include <mbgl/style/source.hpp>
 
+#include <thread>
+
 using namespace mbgl;
 using namespace mbgl::style;
 
@@ -123,3 +125,50 @@ TEST(Query, QuerySourceFeaturesFilter) {
     EXPECT_EQ(features3.size(), 1u);
 }
 
+
+TEST(Query, SnapshotRenderedFeatures) {
+    QueryTest test;
+
+    auto zz = test.map.pixelForLatLng({ 0, 0 });
+    auto snapshot1 = test.map.snapshotRenderedFeatures(zz);
+    auto snapshot2 = test.map.snapshotRenderedFeatures(zz, {{{ "layer1", "layer2" }}, {}});
+
+    // The snapshots keep the state they were taken from after the map moved on.
+    test.map.setLatLngZoom({ 45, 90 }, 6);
+    test.map.getStyle().removeLayer("layer1");
+    test::render(test.map, test.view);
+    EXPECT_EQ(test.map.queryRenderedFeatures(zz).size(), 0u);
+
+    std::vector<Feature> features1;
+    std::vector<Feature> features2;
+    std::thread thread([&] {
+        features1 = snapshot1->execute();
+        features2 = snapshot2->execute();
+    });
+    thread.join();
+
+    EXPECT_EQ(features1.size(), 4u);
+    EXPECT_EQ(features2.size(), 2u);
+}
+
+TEST(Query, SnapshotCanceled) {
+    QueryTest test;
+
+    auto snapshot = test.map.snapshotRenderedFeatures(test.map.pixelForLatLng({ 0, 0 }));
+    snapshot->cancel();
+
+    EXPECT_TRUE(snapshot->isCanceled());
+    EXPECT_TRUE(snapshot->execute().empty());
+}
+
+TEST(Query, SnapshotSourceFeatures) {
+    QueryTest test;
+
+    EXPECT_EQ(test.map.snapshotSourceFeatures("source3")->execute().size(), 1u);
+    EXPECT_EQ(test.map.snapshotSourceFeatures("source5")->execute().size(), 0u);
+    EXPECT_EQ(test.map.snapshotSourceFeatures("source6")->execute().size(), 0u);
+    EXPECT_EQ(test.map.snapshotSourceFeatures("foobar")->execute().size(), 0u);
+
+    const EqualsFilter eqFilter = { "key1", std::string("value1") };
+    EXPECT_EQ(test.map.snapshotSourceFeatures("source4", {{}, { eqFilter }})->execute().size(), 1u);
+}
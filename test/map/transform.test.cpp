@@ -322,6 +322,44 @@ TEST(Transform, Padding) {
     ASSERT_DOUBLE_EQ(manualShiftedCenter.longitude(), shiftedCenter.longitude());
 }
 
+TEST(Transform, TransitionDestination) {
+    Transform transform;
+    transform.resize({ 1000, 1000 });
+    transform.setLatLngZoom({ 0, 0 }, 10);
+    ASSERT_FALSE(transform.getTransitionDestination());
+
+    // A fling pans the map by an offset derived from the gesture velocity.
+    transform.moveBy({ 300, -200 }, AnimationOptions(Milliseconds(500)));
+    ASSERT_TRUE(transform.inTransition());
+    ASSERT_TRUE(transform.getTransitionDestination());
+    const LatLng destination = transform.getTransitionDestination()->getLatLng();
+    ASSERT_DOUBLE_EQ(10, transform.getTransitionDestination()->getZoom());
+
+    transform.updateTransitions(transform.getTransitionStart() + Milliseconds(250));
+    ASSERT_TRUE(transform.getTransitionDestination());
+    transform.updateTransitions(transform.getTransitionStart() + transform.getTransitionDuration());
+    ASSERT_FALSE(transform.inTransition());
+    ASSERT_FALSE(transform.getTransitionDestination());
+    ASSERT_NEAR(destination.latitude(), transform.getLatLng().latitude(), 0.000001);
+    ASSERT_NEAR(destination.longitude(), transform.getLatLng().longitude(), 0.000001);
+
+    CameraOptions camera;
+    camera.center = LatLng { 45, 90 };
+    camera.zoom = 4;
+    transform.flyTo(camera, AnimationOptions(Seconds(1)));
+    ASSERT_TRUE(transform.getTransitionDestination());
+    ASSERT_NEAR(45, transform.getTransitionDestination()->getLatLng().latitude(), 0.000001);
+    ASSERT_NEAR(90, transform.getTransitionDestination()->getLatLng().longitude(), 0.000001);
+    ASSERT_DOUBLE_EQ(4, transform.getTransitionDestination()->getZoom());
+
+    transform.cancelTransitions();
+    ASSERT_FALSE(transform.getTransitionDestination());
+
+    // Instantaneous transitions don't have a destination to prefetch for.
+    transform.jumpTo(camera);
+    ASSERT_FALSE(transform.getTransitionDestination());
+}
+
 TEST(Transform, MoveBy) {
     Transform transform;
     transform.resize({ 1000, 1000 });
@@ -219,6 +219,57 @@ TEST(OfflineDatabase, PutTile) {
     EXPECT_EQ("second", *updateGetResult->data);
 }
 
+TEST(OfflineDatabase, BatchedWrites) {
+    using namespace mbgl;
+
+    OfflineDatabase db(":memory:");
+    db.setWriteBatching(3, Seconds(60));
+
+    Response response;
+    response.data = std::make_shared<std::string>("data");
+
+    for (uint32_t x = 0; x < 4; x++) {
+        Resource resource = Resource::tile("http://example.com/{z}-{x}-{y}.vector.pbf", 1.0, x, 0, 1, Tileset::Scheme::XYZ);
+        EXPECT_TRUE(db.put(resource, response).first);
+        EXPECT_EQ("data", *db.get(resource)->data);
+    }
+
+    // The fourth write started a new batch
+    EXPECT_TRUE(db.hasPendingWrites());
+    db.flushWrites();
+    EXPECT_FALSE(db.hasPendingWrites());
+
+    db.setWriteBatching(0, Seconds(0));
+    Resource resource { Resource::Style, "http://example.com/" };
+    EXPECT_TRUE(db.put(resource, response).first);
+    EXPECT_FALSE(db.hasPendingWrites());
+}
+
+TEST(OfflineDatabase, PendingWritesCallback) {
+    using namespace mbgl;
+
+    OfflineDatabase db(":memory:");
+    db.setWriteBatching(3, Seconds(60));
+
+    uint32_t calls = 0;
+    db.setPendingWritesCallback([&] {
+        calls++;
+    });
+
+    Response response;
+    response.data = std::make_shared<std::string>("data");
+
+    // Only the write that opens a batch reports pending writes
+    for (uint32_t x = 0; x < 4; x++) {
+        Resource resource = Resource::tile("http://example.com/{z}-{x}-{y}.vector.pbf", 1.0, x, 0, 1, Tileset::Scheme::XYZ);
+        db.put(resource, response);
+    }
+    EXPECT_EQ(2u, calls);
+
+    db.flushWrites();
+    EXPECT_EQ(2u, calls);
+}
+
 TEST(OfflineDatabase, PutResourceNoContent) {
     using namespace mbgl;
 
@@ -415,7 +466,7 @@ TEST(OfflineDatabase, PutReturnsSize) {
     EXPECT_EQ(0u, db.put(Resource::style("http://example.com/noContent"), noContent).second);
 }
 
-TEST(OfflineDatabase, PutEvictsLeastRecentlyUsedResources) {
+TEST(OfflineDatabase, EvictBatchRemovesLeastRecentlyUsedResources) {
     using namespace mbgl;
 
     OfflineDatabase db(":memory:", 1024 * 100);
@@ -423,13 +474,51 @@ TEST(OfflineDatabase, PutEvictsLeastRecentlyUsedResources) {
     Response response;
     response.data = randomString(1024);
 
+    // Writes don't evict, the cache is trimmed by evicting in batches afterwards
     for (uint32_t i = 1; i <= 100; i++) {
         Resource resource = Resource::style("http://example.com/"s + util::toString(i));
         db.put(resource, response);
         EXPECT_TRUE(bool(db.get(resource))) << i;
     }
+    EXPECT_TRUE(bool(db.get(Resource::style("http://example.com/1"))));
+    EXPECT_TRUE(db.needsEviction());
+
+    while (db.needsEviction()) {
+        ASSERT_NE(0u, db.evictBatch());
+    }
 
     EXPECT_FALSE(bool(db.get(Resource::style("http://example.com/1"))));
+    EXPECT_TRUE(bool(db.get(Resource::style("http://example.com/100"))));
+}
+
+TEST(OfflineDatabase, DeleteRegionUnpinsResources) {
+    using namespace mbgl;
+
+    OfflineDatabase db(":memory:", 1024 * 100);
+    OfflineRegionDefinition definition { "", LatLngBounds::world(), 0, INFINITY, 1.0 };
+    OfflineRegion region1 = db.createRegion(definition, OfflineRegionMetadata());
+    OfflineRegion region2 = db.createRegion(definition, OfflineRegionMetadata());
+
+    Response response;
+    response.data = randomString(1024);
+
+    Resource shared = Resource::style("http://example.com/shared");
+    Resource single = Resource::style("http://example.com/single");
+    db.putRegionResource(region1.getID(), shared, response);
+    db.putRegionResource(region2.getID(), shared, response);
+    db.putRegionResource(region1.getID(), single, response);
+
+    // Pinned resources aren't evicted
+    EXPECT_EQ(0u, db.evictBatch());
+
+    db.deleteRegion(std::move(region1));
+
+    // The resource is still used by the second region
+    EXPECT_TRUE(bool(db.get(shared)));
+    db.setMaximumCacheSize(0);
+    EXPECT_EQ(1u, db.evictBatch());
+    EXPECT_TRUE(bool(db.get(shared)));
+    EXPECT_FALSE(bool(db.get(single)));
 }
 
 TEST(OfflineDatabase, PutRegionResourceDoesNotEvict) {
@@ -462,6 +551,38 @@ TEST(OfflineDatabase, PutFailsWhenEvictionInsuffices) {
     EXPECT_FALSE(bool(db.get(Resource::style("http://example.com/big"))));
 }
 
+TEST(OfflineDatabase, EvictBatchAfterShrinkingCache) {
+    using namespace mbgl;
+
+    OfflineDatabase db(":memory:", 1024 * 1024);
+    OfflineRegionDefinition definition { "", LatLngBounds::world(), 0, INFINITY, 1.0 };
+    OfflineRegion region = db.createRegion(definition, OfflineRegionMetadata());
+
+    Response response;
+    response.data = randomString(1024);
+
+    db.putRegionResource(region.getID(), Resource::style("http://example.com/region"), response);
+    for (uint32_t i = 1; i <= 100; i++) {
+        db.put(Resource::style("http://example.com/"s + util::toString(i)), response);
+    }
+    EXPECT_FALSE(db.needsEviction());
+
+    db.setMaximumCacheSize(1024 * 50);
+    EXPECT_TRUE(db.needsEviction());
+
+    EXPECT_EQ(10u, db.evictBatch(10));
+    EXPECT_FALSE(bool(db.get(Resource::style("http://example.com/1"))));
+    EXPECT_FALSE(bool(db.get(Resource::style("http://example.com/10"))));
+    EXPECT_TRUE(bool(db.get(Resource::style("http://example.com/11"))));
+
+    while (db.needsEviction()) {
+        ASSERT_NE(0u, db.evictBatch());
+    }
+
+    EXPECT_TRUE(bool(db.get(Resource::style("http://example.com/100"))));
+    EXPECT_TRUE(bool(db.get(Resource::style("http://example.com/region"))));
+}
+
 TEST(OfflineDatabase, GetRegionCompletedStatus) {
     using namespace mbgl;
 
@@ -621,7 +742,8 @@ static int databaseUserVersion(const std::string& path) {
 }
 
 static std::string databaseJournalMode(const std::string& path) {
-    mapbox::sqlite::Database db(path, mapbox::sqlite::ReadOnly);
+    // Read-write, opening a database in WAL mode may need to create its shared memory file
+    mapbox::sqlite::Database db(path, mapbox::sqlite::ReadWrite);
     mapbox::sqlite::Statement stmt = db.prepare("pragma journal_mode");
     stmt.run();
     return stmt.get<std::string>(0);
@@ -639,19 +761,19 @@ TEST(OfflineDatabase, MigrateFromV2Schema) {
 
     // v2.db is a v2 database containing a single offline region with a small number of resources.
 
-    deleteFile("test/fixtures/offline_database/v5.db");
-    writeFile("test/fixtures/offline_database/v5.db", util::read_file("test/fixtures/offline_database/v2.db"));
+    deleteFile("test/fixtures/offline_database/v6.db");
+    writeFile("test/fixtures/offline_database/v6.db", util::read_file("test/fixtures/offline_database/v2.db"));
 
     {
-        OfflineDatabase db("test/fixtures/offline_database/v5.db", 0);
+        OfflineDatabase db("test/fixtures/offline_database/v6.db", 0);
         auto regions = db.listRegions();
         for (auto& region : regions) {
             db.deleteRegion(std::move(region));
         }
     }
 
-    EXPECT_EQ(5, databaseUserVersion("test/fixtures/offline_database/v5.db"));
-    EXPECT_LT(databasePageCount("test/fixtures/offline_database/v5.db"),
+    EXPECT_EQ(6, databaseUserVersion("test/fixtures/offline_database/v6.db"));
+    EXPECT_LT(databasePageCount("test/fixtures/offline_database/v6.db"),
               databasePageCount("test/fixtures/offline_database/v2.db"));
 }
 
@@ -660,18 +782,18 @@ TEST(OfflineDatabase, MigrateFromV3Schema) {
 
     // v3.db is a v3 database, migrated from v2.
 
-    deleteFile("test/fixtures/offline_database/v5.db");
-    writeFile("test/fixtures/offline_database/v5.db", util::read_file("test/fixtures/offline_database/v3.db"));
+    deleteFile("test/fixtures/offline_database/v6.db");
+    writeFile("test/fixtures/offline_database/v6.db", util::read_file("test/fixtures/offline_database/v3.db"));
 
     {
-        OfflineDatabase db("test/fixtures/offline_database/v5.db", 0);
+        OfflineDatabase db("test/fixtures/offline_database/v6.db", 0);
         auto regions = db.listRegions();
         for (auto& region : regions) {
             db.deleteRegion(std::move(region));
         }
     }
 
-    EXPECT_EQ(5, databaseUserVersion("test/fixtures/offline_database/v5.db"));
+    EXPECT_EQ(6, databaseUserVersion("test/fixtures/offline_database/v6.db"));
 }
 
 TEST(OfflineDatabase, MigrateFromV4Schema) {
@@ -679,22 +801,191 @@ TEST(OfflineDatabase, MigrateFromV4Schema) {
 
     // v4.db is a v4 database, migrated from v2 & v3. This database used `journal_mode = WAL` and `synchronous = NORMAL`.
 
-    deleteFile("test/fixtures/offline_database/v5.db");
-    writeFile("test/fixtures/offline_database/v5.db", util::read_file("test/fixtures/offline_database/v4.db"));
+    deleteFile("test/fixtures/offline_database/v6.db");
+    writeFile("test/fixtures/offline_database/v6.db", util::read_file("test/fixtures/offline_database/v4.db"));
 
     {
-        OfflineDatabase db("test/fixtures/offline_database/v5.db", 0);
+        OfflineDatabase db("test/fixtures/offline_database/v6.db", 0);
         auto regions = db.listRegions();
         for (auto& region : regions) {
             db.deleteRegion(std::move(region));
         }
     }
 
-    EXPECT_EQ(5, databaseUserVersion("test/fixtures/offline_database/v5.db"));
+    EXPECT_EQ(6, databaseUserVersion("test/fixtures/offline_database/v6.db"));
+
+    // Journal mode should be DELETE after migration to v6.
+    EXPECT_EQ("delete", databaseJournalMode("test/fixtures/offline_database/v6.db"));
+
+    // Synchronous setting should be FULL (2) after migration to v6.
+    EXPECT_EQ(2, databaseSyncMode("test/fixtures/offline_database/v6.db"));
+}
 
-    // Journal mode should be DELETE after migration to v5.
-    EXPECT_EQ("delete", databaseJournalMode("test/fixtures/offline_database/v5.db"));
+TEST(OfflineDatabase, TEST_REQUIRES_WRITE(WriteBatchingJournalMode)) {
+    using namespace mbgl;
 
-    // Synchronous setting should be FULL (2) after migration to v5.
-    EXPECT_EQ(2, databaseSyncMode("test/fixtures/offline_database/v5.db"));
+    createDir("test/fixtures/offline_database");
+    deleteFile("test/fixtures/offline_database/offline.db");
+    const std::string path("test/fixtures/offline_database/offline.db");
+
+    {
+        OfflineDatabase db(path);
+        db.setWriteBatching(3, Seconds(60));
+        EXPECT_EQ("wal", databaseJournalMode(path));
+
+        // Unchanged batching still applies the journal mode
+        db.setWriteBatching(3, Seconds(60));
+        EXPECT_EQ("wal", databaseJournalMode(path));
+    }
+
+    // The journal mode is stored in the database, a new connection doesn't
+    // batch writes until asked to.
+    {
+        OfflineDatabase db(path);
+        EXPECT_EQ("delete", databaseJournalMode(path));
+
+        db.setWriteBatching(3, Seconds(60));
+        db.setWriteBatching(1, Seconds(0));
+        EXPECT_EQ("delete", databaseJournalMode(path));
+    }
+}
+
+TEST(OfflineDatabase, TEST_REQUIRES_WRITE(FailedBatchedWriteKeepsBatch)) {
+    using namespace mbgl;
+
+    createDir("test/fixtures/offline_database");
+    deleteFile("test/fixtures/offline_database/offline.db");
+    const std::string path("test/fixtures/offline_database/offline.db");
+
+    OfflineDatabase db(path);
+
+    {
+        mapbox::sqlite::Database other(path, mapbox::sqlite::ReadWrite);
+        other.exec("CREATE TRIGGER fail BEFORE INSERT ON resources BEGIN SELECT RAISE(ABORT, 'failed'); END");
+    }
+
+    db.setWriteBatching(3, Seconds(60));
+
+    Response response;
+    response.data = std::make_shared<std::string>("data");
+
+    Resource tile = Resource::tile("http://example.com/{z}-{x}-{y}.vector.pbf", 1.0, 0, 0, 1, Tileset::Scheme::XYZ);
+    EXPECT_TRUE(db.put(tile, response).first);
+    EXPECT_TRUE(db.hasPendingWrites());
+
+    EXPECT_ANY_THROW(db.put({ Resource::Style, "http://example.com/" }, response));
+
+    // Only the failed write was rolled back, the batch is still open
+    EXPECT_TRUE(db.hasPendingWrites());
+    EXPECT_EQ("data", *db.get(tile)->data);
+    EXPECT_FALSE(bool(db.get({ Resource::Style, "http://example.com/" })));
+
+    Resource other = Resource::tile("http://example.com/{z}-{x}-{y}.vector.pbf", 1.0, 1, 0, 1, Tileset::Scheme::XYZ);
+    EXPECT_TRUE(db.put(other, response).first);
+    db.flushWrites();
+    EXPECT_FALSE(db.hasPendingWrites());
+
+    // Both tiles of the batch were committed
+    OfflineDatabase reopened(path);
+    EXPECT_EQ("data", *reopened.get(tile)->data);
+    EXPECT_EQ("data", *reopened.get(other)->data);
+}
+
+static int64_t resourceAccessed(const std::string& path, const std::string& url) {
+    mapbox::sqlite::Database db(path, mapbox::sqlite::ReadWrite);
+    mapbox::sqlite::Statement stmt = db.prepare("SELECT accessed FROM resources WHERE url = ?1");
+    stmt.bind(1, url);
+    stmt.run();
+    return stmt.get<int64_t>(0);
+}
+
+static void setResourceAccessed(const std::string& path, const std::string& url, int64_t accessed) {
+    mapbox::sqlite::Database db(path, mapbox::sqlite::ReadWrite);
+    mapbox::sqlite::Statement stmt = db.prepare("UPDATE resources SET accessed = ?1 WHERE url = ?2");
+    stmt.bind(1, accessed);
+    stmt.bind(2, url);
+    stmt.run();
+}
+
+static int64_t tileAccessed(const std::string& path) {
+    mapbox::sqlite::Database db(path, mapbox::sqlite::ReadWrite);
+    mapbox::sqlite::Statement stmt = db.prepare("SELECT accessed FROM tiles");
+    stmt.run();
+    return stmt.get<int64_t>(0);
+}
+
+static void setTileAccessed(const std::string& path, int64_t accessed) {
+    mapbox::sqlite::Database db(path, mapbox::sqlite::ReadWrite);
+    mapbox::sqlite::Statement stmt = db.prepare("UPDATE tiles SET accessed = ?1");
+    stmt.bind(1, accessed);
+    stmt.run();
+}
+
+TEST(OfflineDatabase, TEST_REQUIRES_WRITE(DeferredAccessTimes)) {
+    using namespace mbgl;
+
+    createDir("test/fixtures/offline_database");
+    deleteFile("test/fixtures/offline_database/offline.db");
+    const std::string path("test/fixtures/offline_database/offline.db");
+
+    Resource resource { Resource::Style, "http://example.com/" };
+    Response response;
+    response.data = std::make_shared<std::string>("data");
+
+    {
+        OfflineDatabase db(path);
+        db.put(resource, response);
+        setResourceAccessed(path, resource.url, 1);
+
+        // Reads don't write the access time
+        EXPECT_EQ("data", *db.get(resource)->data);
+        EXPECT_EQ("data", *db.get(resource)->data);
+        EXPECT_EQ(1, resourceAccessed(path, resource.url));
+
+        // Flushing writes it
+        db.flushWrites();
+        const int64_t accessed = resourceAccessed(path, resource.url);
+        EXPECT_LE(util::now().time_since_epoch().count() - 1, accessed);
+
+        // Recent access times aren't refreshed
+        setResourceAccessed(path, resource.url, accessed - 60);
+        EXPECT_EQ("data", *db.get(resource)->data);
+        db.flushWrites();
+        EXPECT_EQ(accessed - 60, resourceAccessed(path, resource.url));
+
+        // Pending access times are written when the database is closed
+        setResourceAccessed(path, resource.url, 1);
+        EXPECT_EQ("data", *db.get(resource)->data);
+    }
+
+    EXPECT_LT(1, resourceAccessed(path, resource.url));
+}
+
+TEST(OfflineDatabase, TEST_REQUIRES_WRITE(MarkAccessed)) {
+    using namespace mbgl;
+
+    createDir("test/fixtures/offline_database");
+    deleteFile("test/fixtures/offline_database/offline.db");
+    const std::string path("test/fixtures/offline_database/offline.db");
+
+    OfflineDatabase db(path);
+
+    Resource resource { Resource::Style, "http://example.com/" };
+    Resource tile = Resource::tile("http://example.com/{z}-{x}-{y}.vector.pbf", 1.0, 0, 0, 1, Tileset::Scheme::XYZ);
+    Response response;
+    response.data = std::make_shared<std::string>("data");
+    db.put(resource, response);
+    db.put(tile, response);
+
+    // Accesses that didn't read the database, e.g. memory cache hits, are recorded too
+    setResourceAccessed(path, resource.url, 1);
+    setTileAccessed(path, 1);
+    db.markAccessed(resource);
+    db.markAccessed(tile);
+    EXPECT_EQ(1, resourceAccessed(path, resource.url));
+    EXPECT_EQ(1, tileAccessed(path));
+
+    db.flushWrites();
+    EXPECT_LT(1, resourceAccessed(path, resource.url));
+    EXPECT_LT(1, tileAccessed(path));
 }
@@ -335,6 +335,51 @@ TEST(OfflineDownload, GetStatusStyleAndSourceComplete) {
     EXPECT_FALSE(status.complete());
 }
 
+TEST(OfflineDownload, GetPlan) {
+    OfflineTest test;
+    OfflineTilePyramidRegionDefinition definition("http://127.0.0.1:3000/style.json", LatLngBounds::world(), 0.0, 1.0, 1.0);
+
+    OfflineRegionDownloadPlan plan = OfflineDownload::getPlan(definition, test.db);
+    EXPECT_FALSE(plan.resourceCountIsPrecise);
+    EXPECT_EQ(1u, plan.resourceCount());
+    EXPECT_EQ(1u, plan.unestimatedResourceCount);
+    EXPECT_EQ(0u, plan.estimatedSize);
+
+    Response style = test.response("style.json");
+    Response source = test.response("streets.json");
+    test.db.put(Resource::style("http://127.0.0.1:3000/style.json"), style);
+    test.db.put(Resource::source("http://127.0.0.1:3000/streets.json"), source);
+    const uint64_t tileSize = test.db.put(
+        Resource::tile("http://127.0.0.1:3000/{z}-{x}-{y}.vector.pbf", 1, 0, 0, 0, Tileset::Scheme::XYZ),
+        test.response("0-0-0.vector.pbf")).second;
+    const uint64_t spriteSize = test.db.put(
+        Resource::spriteImage("http://127.0.0.1:3000/sprite", 1.0),
+        test.response("sprite.png")).second;
+
+    plan = OfflineDownload::getPlan(definition, test.db);
+    EXPECT_TRUE(plan.resourceCountIsPrecise);
+
+    ASSERT_EQ(2u, plan.tiles.size());
+    EXPECT_EQ("mapbox", plan.tiles[0].sourceID);
+    EXPECT_EQ(0u, plan.tiles[0].z);
+    EXPECT_EQ(1u, plan.tiles[0].count);
+    EXPECT_EQ(tileSize, plan.tiles[0].estimatedSize);
+    EXPECT_EQ("mapbox", plan.tiles[1].sourceID);
+    EXPECT_EQ(1u, plan.tiles[1].z);
+    EXPECT_EQ(4u, plan.tiles[1].count);
+    EXPECT_EQ(4 * tileSize, plan.tiles[1].estimatedSize);
+
+    EXPECT_EQ(3u, plan.styleResourceCount);
+    EXPECT_EQ(256u, plan.glyphResourceCount);
+    EXPECT_EQ(2u, plan.spriteResourceCount);
+    EXPECT_EQ(5u, plan.tileCount());
+    EXPECT_EQ(266u, plan.resourceCount());
+
+    // The image, the glyphs and the sprite metadata aren't cached.
+    EXPECT_EQ(258u, plan.unestimatedResourceCount);
+    EXPECT_EQ(style.data->size() + source.data->size() + 5 * tileSize + spriteSize, plan.estimatedSize);
+}
+
 TEST(OfflineDownload, RequestError) {
     OfflineTest test;
     OfflineRegion region = test.createRegion();
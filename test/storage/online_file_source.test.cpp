@@ -1,5 +1,6 @@
 #include <mbgl/test/util.hpp>
 #include <mbgl/storage/online_file_source.hpp>
+#include <mbgl/storage/http_file_source.hpp>
 #include <mbgl/storage/network_status.hpp>
 #include <mbgl/util/chrono.hpp>
 #include <mbgl/util/run_loop.hpp>
@@ -8,6 +9,8 @@
 
 #include <gtest/gtest.h>
 
+#include <algorithm>
+
 using namespace mbgl;
 
 TEST(OnlineFileSource, Cancel) {
@@ -258,6 +261,47 @@ TEST(OnlineFileSource, TEST_REQUIRES_SERVER(Load)) {
     loop.run();
 }
 
+TEST(OnlineFileSource, TEST_REQUIRES_SERVER(RaisePendingPriority)) {
+    util::RunLoop loop;
+    OnlineFileSource fs;
+
+    std::vector<std::string> completed;
+    std::vector<std::unique_ptr<AsyncRequest>> reqs;
+
+    auto request = [&](const std::string& name, Resource::Priority priority) {
+        Resource resource{ Resource::Unknown, "http://127.0.0.1:3000/load/" + name };
+        resource.priority = priority;
+        reqs.push_back(fs.request(resource, [&, name](Response res) {
+            EXPECT_EQ(nullptr, res.error);
+            completed.push_back(name);
+            if (completed.size() == reqs.size()) {
+                loop.stop();
+            }
+        }));
+    };
+
+    // Occupy all connections, so that the low priority requests have to wait.
+    const uint32_t maximum = HTTPFileSource::maximumConcurrentRequests();
+    for (uint32_t i = 0; i < maximum; i++) {
+        request(std::to_string(i), Resource::Regular);
+    }
+    request("low", Resource::Low);
+    request("raised", Resource::Low);
+
+    // Fires after the requests were queued.
+    util::Timer timer;
+    timer.start(Duration::zero(), Duration::zero(), [&] {
+        fs.setPriority(*reqs.back(), Resource::Regular);
+    });
+
+    loop.run();
+
+    // The raised request gets the first free connection, ahead of the other low priority one.
+    ASSERT_EQ(maximum + 2, completed.size());
+    EXPECT_LT(std::find(completed.begin(), completed.end(), "raised"),
+              std::find(completed.begin(), completed.end(), "low"));
+}
+
 // Test for https://github.com/mapbox/mapbox-gl-native/issues/2123
 //
 // A request is made. While the request is in progress, the network status changes. This should
@@ -0,0 +1,92 @@
+#include <mbgl/storage/resource_cache.hpp>
+
+#include <gtest/gtest.h>
+
+using namespace mbgl;
+
+namespace {
+
+Response responseWithData(std::string data) {
+    Response response;
+    response.data = std::make_shared<std::string>(std::move(data));
+    return response;
+}
+
+} // namespace
+
+TEST(ResourceCache, PutAndGet) {
+    ResourceCache cache(1024);
+    Resource resource = Resource::style("http://example.com/style.json");
+
+    EXPECT_FALSE(bool(cache.get(resource)));
+    cache.put(resource, responseWithData("style"));
+
+    auto response = cache.get(resource);
+    ASSERT_TRUE(bool(response));
+    EXPECT_EQ("style", *response->data);
+    EXPECT_EQ(1u, cache.getHitCount());
+    EXPECT_EQ(1u, cache.getMissCount());
+}
+
+TEST(ResourceCache, TilesAreKeyedByTemplate) {
+    ResourceCache cache(1024);
+
+    cache.put(Resource::tile("http://example.com/{z}/{x}/{y}.pbf", 1.0, 0, 0, 0, Tileset::Scheme::XYZ),
+              responseWithData("tile"));
+
+    EXPECT_TRUE(bool(cache.get(Resource::tile("http://example.com/{z}/{x}/{y}.pbf", 1.0, 0, 0, 0, Tileset::Scheme::XYZ))));
+    EXPECT_FALSE(bool(cache.get(Resource::tile("http://example.com/{z}/{x}/{y}.pbf", 1.0, 1, 0, 1, Tileset::Scheme::XYZ))));
+    EXPECT_FALSE(bool(cache.get(Resource::tile("http://example.com/{z}/{x}/{y}.pbf", 2.0, 0, 0, 0, Tileset::Scheme::XYZ))));
+}
+
+TEST(ResourceCache, EvictsLeastRecentlyUsed) {
+    Resource first = Resource::style("1");
+    Resource second = Resource::style("2");
+    Resource third = Resource::style("3");
+
+    // Every entry is 1 byte of key plus 10 bytes of data
+    ResourceCache cache(22);
+    cache.put(first, responseWithData("0123456789"));
+    cache.put(second, responseWithData("0123456789"));
+    EXPECT_TRUE(bool(cache.get(first)));
+
+    cache.put(third, responseWithData("0123456789"));
+    EXPECT_TRUE(bool(cache.get(first)));
+    EXPECT_FALSE(bool(cache.get(second)));
+    EXPECT_TRUE(bool(cache.get(third)));
+    EXPECT_EQ(22u, cache.getSize());
+
+    cache.setMaximumSize(11);
+    EXPECT_TRUE(bool(cache.get(third)));
+    EXPECT_FALSE(bool(cache.get(first)));
+
+    cache.setMaximumSize(0);
+    EXPECT_EQ(0u, cache.getSize());
+}
+
+TEST(ResourceCache, NotModifiedUpdatesExpiration) {
+    ResourceCache cache(1024);
+    Resource resource = Resource::style("http://example.com/style.json");
+    cache.put(resource, responseWithData("style"));
+
+    Response notModified;
+    notModified.notModified = true;
+    notModified.expires = Timestamp(Seconds(100));
+    cache.put(resource, notModified);
+
+    auto response = cache.get(resource);
+    ASSERT_TRUE(bool(response));
+    EXPECT_EQ("style", *response->data);
+    EXPECT_EQ(Timestamp(Seconds(100)), *response->expires);
+}
+
+TEST(ResourceCache, ErrorsAreNotStored) {
+    ResourceCache cache(1024);
+    Resource resource = Resource::style("http://example.com/style.json");
+
+    Response error;
+    error.error = std::make_unique<Response::Error>(Response::Error::Reason::Server, "500");
+    cache.put(resource, error);
+
+    EXPECT_FALSE(bool(cache.get(resource)));
+}
@@ -33,6 +33,7 @@
 #include <mbgl/annotation/annotation_source.hpp>
 #include <mbgl/renderer/image_manager.hpp>
 #include <mbgl/text/glyph_manager.hpp>
+#include <mbgl/util/tile_statistics_counters.hpp>
 
 #include <cstdint>
 
@@ -50,6 +51,7 @@ public:
     AnnotationManager annotationManager;
     ImageManager imageManager;
     GlyphManager glyphManager { fileSource };
+    util::TileStatisticsCounters tileStatistics;
 
     TileParameters tileParameters {
         1.0,
@@ -61,7 +63,11 @@ public:
         annotationManager,
         imageManager,
         glyphManager,
-        0
+        tileStatistics,
+        0,
+        0,
+        0,
+        nullptr
     };
 
     SourceTest() {
@@ -14,6 +14,7 @@
 #include <mbgl/annotation/annotation_tile.hpp>
 #include <mbgl/renderer/image_manager.hpp>
 #include <mbgl/text/glyph_manager.hpp>
+#include <mbgl/util/tile_statistics_counters.hpp>
 #include <mbgl/map/backend_scope.hpp>
 #include <mbgl/gl/headless_backend.hpp>
 
@@ -33,6 +34,7 @@ public:
     RenderStyle style { threadPool, fileSource };
     ImageManager imageManager;
     GlyphManager glyphManager { fileSource };
+    util::TileStatisticsCounters tileStatistics;
 
     TileParameters tileParameters {
         1.0,
@@ -44,7 +46,11 @@ public:
         annotationManager,
         imageManager,
         glyphManager,
-        0
+        tileStatistics,
+        0,
+        0,
+        0,
+        nullptr
     };
 };
 
@@ -97,3 +103,60 @@ TEST(AnnotationTile, Issue8289) {
     EXPECT_TRUE(result.empty());
 }
 
+
+TEST(AnnotationTile, RegenerateDirtyTilesOnly) {
+    AnnotationTileTest test;
+    AnnotationTile northWest(OverscaledTileID(1, 0, 0), test.tileParameters);
+    AnnotationTile southEast(OverscaledTileID(1, 1, 1), test.tileParameters);
+
+    uint64_t loaded = test.tileStatistics.snapshot().loaded;
+    const auto regenerated = [&] {
+        test.annotationManager.updateData();
+        const uint64_t previous = loaded;
+        loaded = test.tileStatistics.snapshot().loaded;
+        return loaded - previous;
+    };
+
+    const AnnotationID point = test.annotationManager.addAnnotation(SymbolAnnotation { Point<double>(-100, 40) }, 16);
+    EXPECT_EQ(1u, regenerated());
+
+    test.annotationManager.updateAnnotation(point, SymbolAnnotation { Point<double>(-90, 30) }, 16);
+    EXPECT_EQ(1u, regenerated());
+
+    const AnnotationID line = test.annotationManager.addAnnotation(
+        LineAnnotation { LineString<double> {{ 100, -40 }, { 110, -50 }} }, 16);
+    EXPECT_EQ(1u, regenerated());
+
+    // Moving a point into another tile affects both tiles.
+    test.annotationManager.updateAnnotation(point, SymbolAnnotation { Point<double>(100, -30) }, 16);
+    EXPECT_EQ(2u, regenerated());
+
+    test.annotationManager.removeAnnotation(line);
+    EXPECT_EQ(1u, regenerated());
+
+    EXPECT_EQ(0u, regenerated());
+}
+
+TEST(AnnotationTile, ExtendLineAnnotation) {
+    AnnotationTileTest test;
+    AnnotationTile northWest(OverscaledTileID(1, 0, 0), test.tileParameters);
+    AnnotationTile southEast(OverscaledTileID(1, 1, 1), test.tileParameters);
+
+    const AnnotationID line = test.annotationManager.addAnnotation(
+        LineAnnotation { LineString<double> {{ -100, 40 }, { -90, 40 }} }, 16);
+    test.annotationManager.updateData();
+
+    // Only the tiles touched by the end of the line are regenerated.
+    uint64_t loaded = test.tileStatistics.snapshot().loaded;
+    for (int i = 0; i < 300; i++) {
+        EXPECT_EQ(Update::AnnotationData,
+                  test.annotationManager.extendLineAnnotation(line, LineString<double> {{ -90, 40 - i * 0.1 }}));
+    }
+    test.annotationManager.updateData();
+    EXPECT_EQ(1u, test.tileStatistics.snapshot().loaded - loaded);
+
+    loaded = test.tileStatistics.snapshot().loaded;
+    test.annotationManager.extendLineAnnotation(line, LineString<double> {{ 100, -40 }});
+    test.annotationManager.updateData();
+    EXPECT_EQ(2u, test.tileStatistics.snapshot().loaded - loaded);
+}
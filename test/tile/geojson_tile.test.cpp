@@ -12,6 +12,7 @@
 #include <mbgl/annotation/annotation_manager.hpp>
 #include <mbgl/renderer/image_manager.hpp>
 #include <mbgl/text/glyph_manager.hpp>
+#include <mbgl/util/tile_statistics_counters.hpp>
 
 #include <memory>
 
@@ -27,6 +28,7 @@ public:
     AnnotationManager annotationManager;
     ImageManager imageManager;
     GlyphManager glyphManager { fileSource };
+    util::TileStatisticsCounters tileStatistics;
     Tileset tileset { { "https://example.com" }, { 0, 22 }, "none" };
 
     TileParameters tileParameters {
@@ -39,7 +41,11 @@ public:
         annotationManager,
         imageManager,
         glyphManager,
-        0
+        tileStatistics,
+        0,
+        0,
+        0,
+        nullptr
     };
 };
 
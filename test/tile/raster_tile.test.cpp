@@ -11,6 +11,7 @@
 #include <mbgl/renderer/buckets/raster_bucket.hpp>
 #include <mbgl/renderer/image_manager.hpp>
 #include <mbgl/text/glyph_manager.hpp>
+#include <mbgl/util/tile_statistics_counters.hpp>
 
 using namespace mbgl;
 
@@ -23,6 +24,7 @@ public:
     AnnotationManager annotationManager;
     ImageManager imageManager;
     GlyphManager glyphManager { fileSource };
+    util::TileStatisticsCounters tileStatistics;
     Tileset tileset { { "https://example.com" }, { 0, 22 }, "none" };
 
     TileParameters tileParameters {
@@ -35,7 +37,11 @@ public:
         annotationManager,
         imageManager,
         glyphManager,
-        0
+        tileStatistics,
+        0,
+        0,
+        0,
+        nullptr
     };
 };
 
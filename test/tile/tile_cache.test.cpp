@@ -0,0 +1,144 @@
+#include <mbgl/test/util.hpp>
+
+#include <mbgl/tile/tile.hpp>
+#include <mbgl/tile/tile_cache.hpp>
+
+#include <memory>
+
+using namespace mbgl;
+
+namespace {
+
+class FakeTile : public Tile {
+public:
+    FakeTile(const OverscaledTileID& id_, std::size_t byteSize_)
+        : Tile(id_), byteSize(byteSize_) {
+        renderable = true;
+    }
+
+    void setNecessity(Necessity) override {}
+    void cancel() override {}
+    void upload(gl::Context&) override {}
+    Bucket* getBucket(const style::Layer::Impl&) const override { return nullptr; }
+    std::size_t getByteSize() const override { return byteSize; }
+
+    std::size_t byteSize;
+};
+
+std::unique_ptr<Tile> makeTile(const OverscaledTileID& id, std::size_t byteSize) {
+    return std::make_unique<FakeTile>(id, byteSize);
+}
+
+} // namespace
+
+TEST(TileCache, ByteSize) {
+    TileCache cache(10);
+    const OverscaledTileID a(1, 0, 0), b(1, 0, 1), c(1, 1, 0);
+
+    cache.add(a, makeTile(a, 100));
+    cache.add(b, makeTile(b, 200));
+    EXPECT_EQ(2u, cache.count());
+    EXPECT_EQ(300u, cache.getUsedByteSize());
+
+    auto tile = cache.get(a);
+    ASSERT_TRUE(bool(tile));
+    EXPECT_EQ(200u, cache.getUsedByteSize());
+
+    cache.add(a, std::move(tile));
+    cache.add(c, makeTile(c, 300));
+    EXPECT_EQ(600u, cache.getUsedByteSize());
+
+    cache.clear();
+    EXPECT_EQ(0u, cache.count());
+    EXPECT_EQ(0u, cache.getUsedByteSize());
+}
+
+TEST(TileCache, ByteSizeLimit) {
+    TileCache cache(10);
+    cache.setByteSize(250);
+    const OverscaledTileID a(1, 0, 0), b(1, 0, 1), c(1, 1, 0);
+
+    cache.add(a, makeTile(a, 100));
+    cache.add(b, makeTile(b, 100));
+    EXPECT_EQ(2u, cache.count());
+
+    // Adding a tile over the limit evicts the least recently used tiles
+    cache.add(c, makeTile(c, 100));
+    EXPECT_EQ(2u, cache.count());
+    EXPECT_FALSE(cache.has(a));
+    EXPECT_TRUE(cache.has(b));
+    EXPECT_TRUE(cache.has(c));
+    EXPECT_EQ(200u, cache.getUsedByteSize());
+
+    // Lowering the limit evicts immediately
+    cache.setByteSize(150);
+    EXPECT_EQ(1u, cache.count());
+    EXPECT_TRUE(cache.has(c));
+    EXPECT_EQ(100u, cache.getUsedByteSize());
+
+    // A tile larger than the limit isn't kept
+    const OverscaledTileID d(2, 0, 0);
+    cache.add(d, makeTile(d, 200));
+    EXPECT_EQ(0u, cache.count());
+    EXPECT_EQ(0u, cache.getUsedByteSize());
+
+    // No limit
+    cache.setByteSize(0);
+    cache.add(a, makeTile(a, 1000));
+    cache.add(b, makeTile(b, 1000));
+    EXPECT_EQ(2u, cache.count());
+}
+
+TEST(TileCache, SizeLimit) {
+    TileCache cache(2);
+    const OverscaledTileID a(1, 0, 0), b(1, 0, 1), c(1, 1, 0);
+
+    cache.add(a, makeTile(a, 100));
+    cache.add(b, makeTile(b, 100));
+    cache.add(c, makeTile(c, 100));
+    EXPECT_EQ(2u, cache.count());
+    EXPECT_FALSE(cache.has(a));
+    EXPECT_EQ(200u, cache.getUsedByteSize());
+
+    cache.setSize(1);
+    EXPECT_EQ(1u, cache.count());
+    EXPECT_TRUE(cache.has(c));
+    EXPECT_EQ(100u, cache.getUsedByteSize());
+}
+
+TEST(TileCache, Trim) {
+    TileCache cache(10);
+    for (uint32_t x = 0; x < 4; x++) {
+        const OverscaledTileID id(2, x, 0);
+        cache.add(id, makeTile(id, 100));
+    }
+
+    // Keeps the most recently used half
+    cache.trim(0.5f);
+    EXPECT_EQ(2u, cache.count());
+    EXPECT_FALSE(cache.has(OverscaledTileID(2, 0, 0)));
+    EXPECT_FALSE(cache.has(OverscaledTileID(2, 1, 0)));
+    EXPECT_TRUE(cache.has(OverscaledTileID(2, 2, 0)));
+    EXPECT_TRUE(cache.has(OverscaledTileID(2, 3, 0)));
+    EXPECT_EQ(200u, cache.getUsedByteSize());
+
+    // Fractions are clamped
+    cache.trim(2.0f);
+    EXPECT_EQ(2u, cache.count());
+    cache.trim(-1.0f);
+    EXPECT_EQ(0u, cache.count());
+    EXPECT_EQ(0u, cache.getUsedByteSize());
+}
+
+TEST(TileCache, ReaddingTileDoesNotDuplicate) {
+    TileCache cache(2);
+    const OverscaledTileID a(1, 0, 0), b(1, 0, 1);
+
+    cache.add(a, makeTile(a, 100));
+    cache.add(a, makeTile(a, 100));
+    EXPECT_EQ(1u, cache.count());
+    EXPECT_EQ(100u, cache.getUsedByteSize());
+
+    cache.add(b, makeTile(b, 100));
+    EXPECT_EQ(2u, cache.count());
+}
@@ -0,0 +1,100 @@
+#include <mbgl/tile/tile_data_pool.hpp>
+#include <mbgl/util/tileset.hpp>
+
+#include <gtest/gtest.h>
+
+using namespace mbgl;
+
+namespace {
+
+std::shared_ptr<const VectorTileData> obtain(const std::string& key,
+                                             std::string data,
+                                             optional<Timestamp> modified = {}) {
+    return TileDataPool::get().obtain(key, std::make_shared<const std::string>(std::move(data)), modified, {});
+}
+
+} // namespace
+
+TEST(TileDataPool, Disabled) {
+    EXPECT_FALSE(util::isTileDataPoolEnabled());
+    EXPECT_EQ(nullptr, obtain("key", "tile"));
+    EXPECT_FALSE(TileDataPool::get().find("key"));
+}
+
+TEST(TileDataPool, SharesUnchangedData) {
+    util::setTileDataPoolEnabled(true);
+    const auto before = util::getTileDataPoolStatistics();
+    const Timestamp modified { Seconds(1000) };
+
+    auto data = std::make_shared<const std::string>("tile");
+    auto first = TileDataPool::get().obtain("key", data, modified, {});
+    EXPECT_EQ(first, TileDataPool::get().obtain("key", data, {}, {}));
+    EXPECT_EQ(first, obtain("key", "tile", modified));
+
+    // Copies without a modification time can't be told apart from changed data
+    auto copy = obtain("key", "tile");
+    EXPECT_NE(first, copy);
+
+    auto changed = obtain("key", "changed", modified);
+    EXPECT_NE(copy, changed);
+
+    const auto after = util::getTileDataPoolStatistics();
+    EXPECT_EQ(2u, after.hits - before.hits);
+    EXPECT_EQ(3u, after.misses - before.misses);
+    EXPECT_EQ(1u, after.tiles);
+
+    util::setTileDataPoolEnabled(false);
+    EXPECT_EQ(0u, util::getTileDataPoolStatistics().tiles);
+}
+
+TEST(TileDataPool, FindsPooledData) {
+    util::setTileDataPoolEnabled(true);
+    const Timestamp modified { Seconds(1000) };
+    const Timestamp expires { Seconds(2000) };
+
+    EXPECT_FALSE(TileDataPool::get().find("key"));
+
+    auto tileData = TileDataPool::get().obtain("key", std::make_shared<const std::string>("tile"), modified, expires);
+    auto lookup = TileDataPool::get().find("key");
+    ASSERT_TRUE(bool(lookup));
+    EXPECT_EQ(tileData, lookup->tileData);
+    EXPECT_EQ(modified, lookup->modified);
+    EXPECT_EQ(expires, lookup->expires);
+
+    util::setTileDataPoolEnabled(false);
+}
+
+TEST(TileDataPool, Key) {
+    const CanonicalTileID id { 1, 0, 1 };
+
+    Tileset tileset { std::vector<std::string>{ "a/{z}/{x}/{y}", "b/{z}/{x}/{y}" } };
+    Tileset reordered { std::vector<std::string>{ "b/{z}/{x}/{y}", "a/{z}/{x}/{y}" } };
+    Tileset otherMirror { std::vector<std::string>{ "a/{z}/{x}/{y}", "c/{z}/{x}/{y}" } };
+    Tileset tms = tileset;
+    tms.scheme = Tileset::Scheme::TMS;
+
+    const auto key = TileDataPool::key(tileset, 1, id);
+    EXPECT_EQ(key, TileDataPool::key(reordered, 1, id));
+    EXPECT_NE(key, TileDataPool::key(otherMirror, 1, id));
+    EXPECT_NE(key, TileDataPool::key(tms, 1, id));
+    EXPECT_NE(key, TileDataPool::key(tileset, 2, id));
+    EXPECT_NE(key, TileDataPool::key(tileset, 1, { 1, 1, 0 }));
+}
+
+TEST(TileDataPool, EvictsUnusedData) {
+    util::setTileDataPoolEnabled(true);
+    util::setTileDataPoolMaximumSize(8);
+
+    auto used = obtain("used", "0123");
+    obtain("unused", "0123");
+    obtain("new", "0123");
+
+    // The unused entry is released, the entry in use stays even though the pool is over its size.
+    auto statistics = util::getTileDataPoolStatistics();
+    EXPECT_EQ(2u, statistics.tiles);
+    EXPECT_EQ(8u, statistics.bytes);
+    EXPECT_EQ(used, TileDataPool::get().find("used")->tileData);
+
+    util::setTileDataPoolMaximumSize(32 * 1024 * 1024);
+    util::setTileDataPoolEnabled(false);
+}
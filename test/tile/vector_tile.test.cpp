@@ -15,6 +15,7 @@
 #include <mbgl/annotation/annotation_manager.hpp>
 #include <mbgl/renderer/image_manager.hpp>
 #include <mbgl/text/glyph_manager.hpp>
+#include <mbgl/util/tile_statistics_counters.hpp>
 
 #include <memory>
 
@@ -29,6 +30,7 @@ public:
     AnnotationManager annotationManager;
     ImageManager imageManager;
     GlyphManager glyphManager { fileSource };
+    util::TileStatisticsCounters tileStatistics;
     Tileset tileset { { "https://example.com" }, { 0, 22 }, "none" };
 
     TileParameters tileParameters {
@@ -41,7 +43,11 @@ public:
         annotationManager,
         imageManager,
         glyphManager,
-        0
+        tileStatistics,
+        0,
+        0,
+        0,
+        nullptr
     };
 };
 
@@ -106,3 +112,20 @@ TEST(VectorTile, Issue8542) {
     std::vector<Feature> result;
     tile.querySourceFeatures(result, { { {"layer"} }, {} });
 }
+
+TEST(VectorTile, RequestPriority) {
+    VectorTileTest test;
+    VectorTile tile(OverscaledTileID(0, 0, 0), "source", test.tileParameters, test.tileset);
+
+    tile.setRequestPriority(Resource::Low);
+    tile.setNecessity(Tile::Necessity::Required);
+    ASSERT_EQ(1u, test.fileSource.requests.size());
+    auto request = test.fileSource.requests.front();
+    EXPECT_EQ(Resource::Low, request->resource.priority);
+
+    // Raising the priority moves the request up instead of reissuing it.
+    tile.setRequestPriority(Resource::Regular);
+    ASSERT_EQ(1u, test.fileSource.requests.size());
+    EXPECT_EQ(request, test.fileSource.requests.front());
+    EXPECT_EQ(Resource::Regular, request->resource.priority);
+}
@@ -0,0 +1,74 @@
+#include <mbgl/util/mpsc_queue.hpp>
+
+#include <mbgl/test/util.hpp>
+
+#include <memory>
+#include <thread>
+#include <vector>
+
+using namespace mbgl::util;
+
+TEST(MPSCQueue, PushPop) {
+    MPSCQueue<std::unique_ptr<int>> queue;
+    EXPECT_TRUE(queue.empty());
+    EXPECT_FALSE(queue.pop());
+
+    queue.push(std::make_unique<int>(1));
+    queue.push(std::make_unique<int>(2));
+    EXPECT_FALSE(queue.empty());
+
+    EXPECT_EQ(1, **queue.pop());
+    EXPECT_EQ(2, **queue.pop());
+    EXPECT_FALSE(queue.pop());
+    EXPECT_TRUE(queue.empty());
+}
+
+TEST(MPSCQueue, CoalescesNotifications) {
+    MPSCQueue<int> queue;
+
+    // Only the first push after an acknowledgement notifies the consumer.
+    EXPECT_TRUE(queue.push(1));
+    EXPECT_FALSE(queue.push(2));
+    EXPECT_FALSE(queue.notify());
+
+    queue.acknowledge();
+    EXPECT_TRUE(queue.push(3));
+    EXPECT_FALSE(queue.push(4));
+
+    queue.acknowledge();
+    EXPECT_TRUE(queue.notify());
+}
+
+TEST(MPSCQueue, MultipleProducers) {
+    MPSCQueue<int> queue;
+
+    const int producerCount = 4;
+    const int itemCount = 10000;
+
+    std::vector<std::thread> producers;
+    for (int i = 0; i < producerCount; i++) {
+        producers.emplace_back([&queue, i] {
+            for (int j = 0; j < itemCount; j++) {
+                queue.push(i * itemCount + j);
+            }
+        });
+    }
+
+    // Items of each producer are received in the order they were pushed.
+    std::vector<int> last(producerCount, -1);
+    int received = 0;
+    while (received < producerCount * itemCount) {
+        if (auto item = queue.pop()) {
+            const int producer = *item / itemCount;
+            EXPECT_LT(last[producer], *item);
+            last[producer] = *item;
+            received++;
+        }
+    }
+
+    for (auto& producer : producers) {
+        producer.join();
+    }
+
+    EXPECT_TRUE(queue.empty());
+}
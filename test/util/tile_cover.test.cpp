@@ -84,3 +84,16 @@ TEST(TileCover, SanFranciscoZ0Wrapped) {
     EXPECT_EQ((std::vector<UnwrappedTileID>{ { 0, 1, 0 } }),
               util::tileCover(sanFranciscoWrapped, 0));
 }
+
+TEST(TileCover, TileCount) {
+    EXPECT_EQ(0u, util::tileCount(LatLngBounds::empty(), 0));
+    EXPECT_EQ(0u, util::tileCount(LatLngBounds::hull({ 86, -180 }, { 90, 180 }), 0));
+    EXPECT_EQ(0u, util::tileCount(LatLngBounds::singleton({ 0, 0 }), 1));
+    EXPECT_EQ(1u, util::tileCount(LatLngBounds::world(), 0));
+    EXPECT_EQ(4u, util::tileCount(LatLngBounds::world(), 1));
+    EXPECT_EQ(1u, util::tileCount(sanFranciscoWrapped, 0));
+
+    for (int32_t z = 0; z <= 16; z++) {
+        EXPECT_EQ(util::tileCover(sanFrancisco, z).size(), util::tileCount(sanFrancisco, z));
+    }
+}